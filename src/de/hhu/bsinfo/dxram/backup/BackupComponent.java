@@ -27,6 +27,7 @@ import de.hhu.bsinfo.dxram.backup.ReplicaPlacement.CopysetPlacement;
 import de.hhu.bsinfo.dxram.backup.ReplicaPlacement.RandomPlacement;
 import de.hhu.bsinfo.dxram.boot.AbstractBootComponent;
 import de.hhu.bsinfo.dxram.chunk.ChunkBackupComponent;
+import de.hhu.bsinfo.dxram.data.ChunkAnon;
 import de.hhu.bsinfo.dxram.data.ChunkID;
 import de.hhu.bsinfo.dxram.data.DataStructure;
 import de.hhu.bsinfo.dxram.engine.AbstractDXRAMComponent;
@@ -68,6 +69,7 @@ public class BackupComponent extends AbstractDXRAMComponent<BackupComponentConfi
 
     // private state
     private AbstractPlacementStrategy m_placementStrategy;
+    private ErasureCoding m_erasureCoding;
     private short m_nodeID;
     private long m_currentLocalID = -1;
 
@@ -117,6 +119,79 @@ public class BackupComponent extends AbstractDXRAMComponent<BackupComponentConfi
         return m_log.getSegmentSizeBytes();
     }
 
+    /**
+     * Returns whether backup ranges are erasure-coded instead of replicated
+     *
+     * @return true if erasure coding is active
+     */
+    public boolean isErasureCodingActive() {
+        return m_erasureCoding != null;
+    }
+
+    /**
+     * Returns the erasure coding used for all backup ranges
+     *
+     * @return the erasure coding or null if chunks are replicated
+     */
+    public ErasureCoding getErasureCoding() {
+        return m_erasureCoding;
+    }
+
+    /**
+     * Splits given chunks into one fragment per backup peer
+     *
+     * @param p_dataStructures
+     *         the chunks
+     * @return the fragments per backup peer ([backup peer][chunk], empty if the backup peer stores none of the chunks)
+     * or null if chunks are replicated
+     */
+    public DataStructure[][] encodeForBackupPeers(final DataStructure... p_dataStructures) {
+        if (m_erasureCoding == null) {
+            return null;
+        }
+
+        return m_erasureCoding.encode(p_dataStructures);
+    }
+
+    /**
+     * Splits given anonymous chunks into one fragment per backup peer
+     *
+     * @param p_chunks
+     *         the chunks
+     * @return the fragments per backup peer ([backup peer][chunk], empty if the backup peer stores none of the chunks)
+     * or null if chunks are replicated
+     */
+    public ChunkAnon[][] encodeForBackupPeers(final ChunkAnon... p_chunks) {
+        if (m_erasureCoding == null) {
+            return null;
+        }
+
+        return m_erasureCoding.encode(p_chunks);
+    }
+
+    /**
+     * Returns the index of the fragments a backup peer stores for given backup range
+     *
+     * @param p_rangeID
+     *         the RangeID
+     * @param p_backupPeer
+     *         the backup peer
+     * @return the fragment index or -1 if chunks are replicated
+     */
+    public int getFragmentIndex(final short p_rangeID, final short p_backupPeer) {
+        int ret;
+
+        if (m_erasureCoding == null) {
+            return -1;
+        }
+
+        m_lock.readLock().lock();
+        ret = m_backupRanges.get(p_rangeID).getBackupPeerIndex(p_backupPeer);
+        m_lock.readLock().unlock();
+
+        return ret;
+    }
+
     /**
      * Registers a chunk in a backup range. Creates a new backup range if necessary.
      *
@@ -217,6 +292,25 @@ public class BackupComponent extends AbstractDXRAMComponent<BackupComponentConfi
      * @return the replacement backup peer
      */
     public short registerRecoveredChunks(final RecoveryMetadata p_recoveryMetadata, final BackupRange p_backupRange, final short p_failedPeer) {
+        return registerRecoveredChunks(p_recoveryMetadata, p_backupRange, p_failedPeer, null);
+    }
+
+    /**
+     * Register recovered chunks of an erasure-coded backup range
+     *
+     * @param p_recoveryMetadata
+     *         the ChunkIDs of all recovered chunks, number of recovered chunks and bytes
+     * @param p_backupRange
+     *         the recovered backup range
+     * @param p_failedPeer
+     *         the failed peer
+     * @param p_fragmentHolders
+     *         the backup peer storing the fragments of every fragment index (INVALID_ID if unknown); used to arrange
+     *         the backup peers according to the fragments they store. Null for replicated backup ranges
+     * @return the replacement backup peer
+     */
+    public short registerRecoveredChunks(final RecoveryMetadata p_recoveryMetadata, final BackupRange p_backupRange, final short p_failedPeer,
+            final short[] p_fragmentHolders) {
         BackupPeer replacementPeer;
         final short oldBackupRange = p_backupRange.getRangeID();
 
@@ -231,7 +325,13 @@ public class BackupComponent extends AbstractDXRAMComponent<BackupComponentConfi
             return NodeID.INVALID_ID;
         }
 
-        p_backupRange.replaceBackupPeer(new BackupPeer(m_nodeID, m_boot.getRack(), m_boot.getSwitch()), replacementPeer);
+        if (p_fragmentHolders != null) {
+            // The position of a backup peer determines its fragments -> keep positions
+            p_backupRange.arrangeBackupPeers(p_fragmentHolders);
+            p_backupRange.replaceBackupPeerInPlace(new BackupPeer(m_nodeID, m_boot.getRack(), m_boot.getSwitch()), replacementPeer);
+        } else {
+            p_backupRange.replaceBackupPeer(new BackupPeer(m_nodeID, m_boot.getRack(), m_boot.getSwitch()), replacementPeer);
+        }
         p_backupRange.addChunks(p_recoveryMetadata.getSizeInBytes());
         p_backupRange.setRangeID((short) m_backupRanges.size());
 
@@ -371,22 +471,23 @@ public class BackupComponent extends AbstractDXRAMComponent<BackupComponentConfi
 
                 for (int j = 0; j < backupPeers.length; j++) {
                     currentBackupPeer = backupPeers[j];
-                    if (currentBackupPeer.getNodeID() == failedPeer.getNodeID()) {
+                    if (currentBackupPeer != null && currentBackupPeer.getNodeID() == failedPeer.getNodeID()) {
                         if (REREPLICATION_ACTIVE) {
                             // Determine new backup peer and replace it in backup range
                             newBackupPeer = m_placementStrategy.determineReplacementBackupPeer(backupPeers, m_boot.getIDsOfAvailableBackupPeers());
 
-                            currentBackupRange.replaceBackupPeer(failedPeer, newBackupPeer);
+                            replaceBackupPeer(currentBackupRange, failedPeer, newBackupPeer);
                             m_lock.writeLock().unlock();
 
-                            // Send new backup peer all chunks of backup range
+                            // Send new backup peer all chunks (or its fragments) of backup range
                             if (newBackupPeer != null) {
                                 m_chunkBackup
-                                        .replicateBackupRange(newBackupPeer.getNodeID(), m_backupRangeTree.getAllChunkIDRangesOfBackupRange(rangeID), rangeID);
+                                        .replicateBackupRange(newBackupPeer.getNodeID(), m_backupRangeTree.getAllChunkIDRangesOfBackupRange(rangeID), rangeID,
+                                                m_erasureCoding, j);
                             }
                         } else {
                             newBackupPeer = null;
-                            currentBackupRange.replaceBackupPeer(failedPeer, newBackupPeer);
+                            replaceBackupPeer(currentBackupRange, failedPeer, newBackupPeer);
                             m_lock.writeLock().unlock();
                         }
 
@@ -423,6 +524,7 @@ public class BackupComponent extends AbstractDXRAMComponent<BackupComponentConfi
 
                             m_lock.writeLock().lock();
                             if (currentBackupRange.addBackupPeer(joinedPeer)) {
+                                int fragmentIndex = currentBackupRange.getBackupPeerIndex(joinedPeer.getNodeID());
                                 m_lock.writeLock().unlock();
                                 // Inform responsible superpeer to update backup range
                                 m_lookup.replaceBackupPeer(rangeID, NodeID.INVALID_ID, joinedPeer.getNodeID());
@@ -433,7 +535,8 @@ public class BackupComponent extends AbstractDXRAMComponent<BackupComponentConfi
 
                                 // Backup range was not complete -> send all chunks to joined peer
                                 int num = m_chunkBackup
-                                        .replicateBackupRange(joinedPeer.getNodeID(), m_backupRangeTree.getAllChunkIDRangesOfBackupRange(rangeID), rangeID);
+                                        .replicateBackupRange(joinedPeer.getNodeID(), m_backupRangeTree.getAllChunkIDRangesOfBackupRange(rangeID), rangeID,
+                                                m_erasureCoding, fragmentIndex);
 
                                 // #if LOGGER >= INFO
                                 LOGGER.info("Replicated %d chunk(s) of backup range %d to new peer %s", num, i, joinedPeer);
@@ -497,23 +600,28 @@ public class BackupComponent extends AbstractDXRAMComponent<BackupComponentConfi
                 switch (placementStrategy.toLowerCase()) {
                     case "random":
                         m_placementStrategy =
-                                new RandomPlacement(getConfig().getReplicationFactor(), getConfig().disjunctiveFirstBackupPeer(), getConfig().rackAware(),
+                                new RandomPlacement(getConfig().getNumberOfBackupPeers(), getConfig().disjunctiveFirstBackupPeer(), getConfig().rackAware(),
                                         getConfig().switchAware());
                         break;
                     case "copyset":
                         m_placementStrategy =
-                                new CopysetPlacement(getConfig().getReplicationFactor(), getConfig().disjunctiveFirstBackupPeer(), getConfig().rackAware(),
+                                new CopysetPlacement(getConfig().getNumberOfBackupPeers(), getConfig().disjunctiveFirstBackupPeer(), getConfig().rackAware(),
                                         getConfig().switchAware());
                         break;
                     default:
                         // #if LOGGER >= WARN
                         LOGGER.warn("Unknown replica placement strategy %s. Using disjunctive random placement!", placementStrategy);
                         // #endif /* LOGGER >= WARN */
-                        m_placementStrategy = new RandomPlacement(getConfig().getReplicationFactor(), true, false, false);
+                        m_placementStrategy = new RandomPlacement(getConfig().getNumberOfBackupPeers(), true, false, false);
                         break;
                 }
                 // TODO: initialize when needed
 
+                if (getConfig().isErasureCodingActive()) {
+                    m_erasureCoding = new ErasureCoding(getConfig().getDataFragments(), getConfig().getParityFragments(),
+                            (int) getConfig().getErasureCodingThreshold().getBytes());
+                }
+
                 m_lock = new ReentrantReadWriteLock(false);
 
                 m_network.registerMessageType(DXRAMMessageTypes.LOG_MESSAGES_TYPE, LogMessages.SUBTYPE_INIT_BACKUP_RANGE_REQUEST, InitBackupRangeRequest.class);
@@ -675,4 +783,24 @@ public class BackupComponent extends AbstractDXRAMComponent<BackupComponentConfi
             // #endif /* LOGGER >= ERROR */
         }
     }
+
+    /**
+     * Replaces a backup peer of given backup range. Erasure-coded backup ranges keep the positions of all backup peers.
+     *
+     * @param p_backupRange
+     *         the backup range
+     * @param p_oldPeer
+     *         the old backup peer
+     * @param p_newPeer
+     *         the new backup peer
+     * @lock m_lock must be write locked
+     */
+    private void replaceBackupPeer(final BackupRange p_backupRange, final BackupPeer p_oldPeer, final BackupPeer p_newPeer) {
+        if (m_erasureCoding != null) {
+            p_backupRange.replaceBackupPeerInPlace(p_oldPeer, p_newPeer);
+        } else {
+            p_backupRange.replaceBackupPeer(p_oldPeer, p_newPeer);
+        }
+    }
+
 }
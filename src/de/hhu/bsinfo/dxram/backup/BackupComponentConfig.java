@@ -27,6 +27,19 @@ public class BackupComponentConfig extends AbstractDXRAMComponentConfig {
     @Expose
     private byte m_replicationFactor = 3;
 
+    @Expose
+    private boolean m_erasureCoding = false;
+
+    @Expose
+    private byte m_dataFragments = 2;
+
+    @Expose
+    private byte m_parityFragments = 1;
+
+    // With 2 + 1 fragments, fragments need less space than replicas from about 34 bytes on
+    @Expose
+    private StorageUnit m_erasureCodingThreshold = new StorageUnit(32, StorageUnit.BYTE);
+
     @Expose
     private String m_backupPlacementStrategy = "Random";
 
@@ -83,6 +96,48 @@ public class BackupComponentConfig extends AbstractDXRAMComponentConfig {
         return m_replicationFactor;
     }
 
+    /**
+     * If true, chunks are not replicated but split into dataFragments + parityFragments Reed-Solomon fragments (one per backup peer)
+     */
+    public boolean isErasureCodingActive() {
+        return m_erasureCoding;
+    }
+
+    /**
+     * Number of data fragments per chunk (erasure coding, only). Any dataFragments fragments suffice for recovery
+     */
+    public byte getDataFragments() {
+        return m_dataFragments;
+    }
+
+    /**
+     * Number of parity fragments per chunk (erasure coding, only). This many backup peers may fail without data loss
+     */
+    public byte getParityFragments() {
+        return m_parityFragments;
+    }
+
+    /**
+     * Chunks smaller than this are not split but replicated to parityFragments + 1 backup peers (erasure coding, only).
+     * Every fragment has a 17 byte header and the chunk data is padded to a multiple of dataFragments, so small chunks
+     * need less space as replicas: k + m fragments need (k + m) * (17 + size / k) bytes, m + 1 replicas need
+     * (m + 1) * (17 + size) bytes
+     */
+    public StorageUnit getErasureCodingThreshold() {
+        return m_erasureCodingThreshold;
+    }
+
+    /**
+     * Number of backup peers per backup range (replication factor or number of fragments if erasure coding is active)
+     */
+    public byte getNumberOfBackupPeers() {
+        if (m_erasureCoding) {
+            return (byte) (m_dataFragments + m_parityFragments);
+        }
+
+        return m_replicationFactor;
+    }
+
     /**
      * The backup placement strategy
      * "Random": all backup peers are selected randomly
@@ -125,6 +180,14 @@ public class BackupComponentConfig extends AbstractDXRAMComponentConfig {
             return false;
         }
 
+        if (m_erasureCoding && (m_dataFragments < 2 || m_parityFragments < 1 || m_dataFragments + m_parityFragments > 4)) {
+            // #if LOGGER >= ERROR
+            LOGGER.error("Erasure coding needs at least two data fragments and one parity fragment with at most four fragments in total!");
+            // #endif /* LOGGER >= ERROR */
+
+            return false;
+        }
+
         return true;
     }
 }
@@ -16,6 +16,7 @@
 
 package de.hhu.bsinfo.dxram.backup;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 
 import de.hhu.bsinfo.dxutils.NodeID;
@@ -362,6 +363,80 @@ public class BackupRange implements Comparable<BackupRange>, Importable, Exporta
         }
     }
 
+    /**
+     * Replaces the backup peer with another one at the same position. Used for erasure-coded backup ranges as the
+     * position of a backup peer determines the fragments it stores.
+     *
+     * @param p_oldPeer
+     *         the old backup peer
+     * @param p_newPeer
+     *         the new backup peer
+     */
+    void replaceBackupPeerInPlace(final BackupPeer p_oldPeer, final BackupPeer p_newPeer) {
+        for (int i = 0; i < m_backupPeers.length; i++) {
+            if (m_backupPeers[i] != null && m_backupPeers[i].getNodeID() == p_oldPeer.getNodeID()) {
+                m_backupPeers[i] = p_newPeer;
+                break;
+            }
+        }
+    }
+
+    /**
+     * Arranges the backup peers according to given order. Backup peers not included are moved to the free positions.
+     *
+     * @param p_nodeIDs
+     *         the NodeID of the backup peer for every position (INVALID_ID if unknown)
+     */
+    void arrangeBackupPeers(final short[] p_nodeIDs) {
+        BackupPeer[] arranged = new BackupPeer[m_backupPeers.length];
+        ArrayList<BackupPeer> remaining = new ArrayList<BackupPeer>();
+
+        for (BackupPeer peer : m_backupPeers) {
+            if (peer == null) {
+                continue;
+            }
+
+            int index = -1;
+            for (int i = 0; i < p_nodeIDs.length && i < arranged.length; i++) {
+                if (p_nodeIDs[i] == peer.getNodeID()) {
+                    index = i;
+                    break;
+                }
+            }
+
+            if (index != -1) {
+                arranged[index] = peer;
+            } else {
+                remaining.add(peer);
+            }
+        }
+
+        for (int i = 0; i < arranged.length && !remaining.isEmpty(); i++) {
+            if (arranged[i] == null) {
+                arranged[i] = remaining.remove(0);
+            }
+        }
+
+        m_backupPeers = arranged;
+    }
+
+    /**
+     * Returns the position of a backup peer
+     *
+     * @param p_nodeID
+     *         the NodeID of the backup peer
+     * @return the position or -1 if the peer is no backup peer of this range
+     */
+    int getBackupPeerIndex(final short p_nodeID) {
+        for (int i = 0; i < m_backupPeers.length; i++) {
+            if (m_backupPeers[i] != null && m_backupPeers[i].getNodeID() == p_nodeID) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
     /**
      * Get backup peers
      *
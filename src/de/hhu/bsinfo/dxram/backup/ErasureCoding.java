@@ -0,0 +1,505 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.backup;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import de.hhu.bsinfo.dxram.data.ChunkAnon;
+import de.hhu.bsinfo.dxram.data.DSByteArray;
+import de.hhu.bsinfo.dxram.data.DataStructure;
+import de.hhu.bsinfo.dxutils.serialization.ByteBufferImExporter;
+
+/**
+ * Splits chunks into k data and m parity fragments (Reed-Solomon) for erasure-coded backup ranges. The i-th fragment
+ * of every chunk is logged on the i-th backup peer of the backup range. Any k fragments of a chunk suffice to restore it.
+ * Every fragment starts with its index, the sequence number assigned by the owner, a checksum of the whole chunk and
+ * the chunk size, followed by 1/k of the (padded) chunk data or parity. Fragments of different versions (e.g.,
+ * concurrent puts or a crash while sending the fragments) must not be mixed, so a chunk is decoded from k fragments
+ * with distinct indices, the same checksum and the same sequence number only. Fragments re-encoded for a new backup
+ * peer cannot know the sequence number of the other fragments and are marked as re-encoded instead. They count for
+ * every version with the same checksum. If several versions have k fragments, the newest one is used.
+ * Chunks smaller than the threshold are not split as the fragment headers and padding would need more space than
+ * copies of the chunk. They are stored as replicas (same header, whole chunk data) on the first m + 1 backup peers
+ * instead which tolerates the same number of failed backup peers. The other backup peers do not store them.
+ */
+public final class ErasureCoding {
+
+    private static final int FRAGMENT_HEADER_SIZE = Byte.BYTES + Long.BYTES + 2 * Integer.BYTES;
+    // Sequence number of re-encoded fragments, lower than all assigned sequence numbers
+    private static final long REENCODED = 0;
+    // Set in the index byte of replicas
+    private static final byte REPLICA_FLAG = 0x40;
+
+    private final ReedSolomon m_codec;
+    private final int m_threshold;
+    // Sequence numbers increase with every encoded chunk version. Starts at the current time to keep them increasing
+    // across restarts (a recovered chunk is re-encoded by its new owner)
+    private final AtomicLong m_sequenceNumber;
+
+    /**
+     * Creates an instance of ErasureCoding
+     *
+     * @param p_dataFragments
+     *         the number of data fragments per chunk (k)
+     * @param p_parityFragments
+     *         the number of parity fragments per chunk (m)
+     * @param p_threshold
+     *         chunks smaller than this (in bytes) are replicated to m + 1 backup peers instead of being split
+     */
+    public ErasureCoding(final int p_dataFragments, final int p_parityFragments, final int p_threshold) {
+        m_codec = new ReedSolomon(p_dataFragments, p_parityFragments);
+        m_threshold = p_threshold;
+        m_sequenceNumber = new AtomicLong(System.currentTimeMillis() << 20);
+    }
+
+    /**
+     * Returns the index of a fragment
+     *
+     * @param p_fragment
+     *         the fragment
+     * @return the index in [0, k + m)
+     */
+    public static int getFragmentIndex(final byte[] p_fragment) {
+        return p_fragment[0] & ~REPLICA_FLAG;
+    }
+
+    /**
+     * Checks if a fragment is a replica of the whole chunk
+     *
+     * @param p_fragment
+     *         the fragment
+     * @return true if the fragment contains the whole chunk data
+     */
+    private static boolean isReplica(final byte[] p_fragment) {
+        return (p_fragment[0] & REPLICA_FLAG) != 0;
+    }
+
+    /**
+     * Returns the sequence number of a fragment
+     *
+     * @param p_fragment
+     *         the fragment
+     * @return the sequence number
+     */
+    private static long getSequenceNumber(final byte[] p_fragment) {
+        return ByteBuffer.wrap(p_fragment).getLong(Byte.BYTES);
+    }
+
+    /**
+     * Returns the checksum of the chunk version a fragment belongs to
+     *
+     * @param p_fragment
+     *         the fragment
+     * @return the checksum
+     */
+    private static int getChecksum(final byte[] p_fragment) {
+        return ByteBuffer.wrap(p_fragment).getInt(Byte.BYTES + Long.BYTES);
+    }
+
+    /**
+     * Serializes a data structure
+     *
+     * @param p_dataStructure
+     *         the data structure
+     * @return the serialized data structure
+     */
+    public static byte[] serialize(final DataStructure p_dataStructure) {
+        if (p_dataStructure instanceof DSByteArray) {
+            return ((DSByteArray) p_dataStructure).getData();
+        }
+
+        byte[] ret = new byte[p_dataStructure.sizeofObject()];
+        new ByteBufferImExporter(ByteBuffer.wrap(ret)).exportObject(p_dataStructure);
+
+        return ret;
+    }
+
+    /**
+     * Returns the number of data fragments per chunk
+     *
+     * @return k
+     */
+    public int getDataFragments() {
+        return m_codec.getDataShards();
+    }
+
+    /**
+     * Returns the number of fragments per chunk which is the number of backup peers per backup range
+     *
+     * @return k + m
+     */
+    public int getNumberOfFragments() {
+        return m_codec.getDataShards() + m_codec.getParityShards();
+    }
+
+    /**
+     * Splits data into k + m fragments
+     *
+     * @param p_data
+     *         the chunk data
+     * @return all fragments. For chunks below the threshold, replicas for the first m + 1 backup peers and null for
+     * the others
+     */
+    public byte[][] encode(final byte[] p_data) {
+        return encode(p_data, m_sequenceNumber.incrementAndGet());
+    }
+
+    /**
+     * Re-encodes a single fragment of data, e.g., for a new backup peer. The fragment is marked as re-encoded as the
+     * sequence number of the other fragments is unknown
+     *
+     * @param p_data
+     *         the chunk data
+     * @param p_index
+     *         the index of the fragment
+     * @return the fragment or null if the backup peer with given index does not store the chunk
+     */
+    public byte[] encodeFragment(final byte[] p_data, final int p_index) {
+        return encode(p_data, REENCODED)[p_index];
+    }
+
+    /**
+     * Splits data into k + m fragments
+     *
+     * @param p_data
+     *         the chunk data
+     * @param p_sequenceNumber
+     *         the sequence number to store in the fragments
+     * @return all fragments
+     */
+    private byte[][] encode(final byte[] p_data, final long p_sequenceNumber) {
+        if (p_data.length < m_threshold) {
+            return replicate(p_data, p_sequenceNumber);
+        }
+
+        final int dataFragments = m_codec.getDataShards();
+        final int shardSize = (p_data.length + dataFragments - 1) / dataFragments;
+        final CRC32 checksum = new CRC32();
+        byte[][] shards = new byte[getNumberOfFragments()][];
+        byte[][] ret = new byte[shards.length][];
+
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new byte[shardSize];
+            if (i < dataFragments) {
+                int offset = i * shardSize;
+                if (offset < p_data.length) {
+                    System.arraycopy(p_data, offset, shards[i], 0, Math.min(shardSize, p_data.length - offset));
+                }
+            }
+        }
+        m_codec.encodeParity(shards, shardSize);
+        checksum.update(p_data, 0, p_data.length);
+
+        for (int i = 0; i < shards.length; i++) {
+            ByteBuffer fragment = ByteBuffer.allocate(FRAGMENT_HEADER_SIZE + shardSize);
+            fragment.put((byte) i);
+            fragment.putLong(p_sequenceNumber);
+            fragment.putInt((int) checksum.getValue());
+            fragment.putInt(p_data.length);
+            fragment.put(shards[i]);
+            ret[i] = fragment.array();
+        }
+
+        return ret;
+    }
+
+    /**
+     * Creates replicas of small chunks for the first m + 1 backup peers
+     *
+     * @param p_data
+     *         the chunk data
+     * @param p_sequenceNumber
+     *         the sequence number to store in the replicas
+     * @return the replicas, null for backup peers not storing the chunk
+     */
+    private byte[][] replicate(final byte[] p_data, final long p_sequenceNumber) {
+        final CRC32 checksum = new CRC32();
+        byte[][] ret = new byte[getNumberOfFragments()][];
+
+        checksum.update(p_data, 0, p_data.length);
+        for (int i = 0; i <= m_codec.getParityShards(); i++) {
+            ByteBuffer replica = ByteBuffer.allocate(FRAGMENT_HEADER_SIZE + p_data.length);
+            replica.put((byte) (i | REPLICA_FLAG));
+            replica.putLong(p_sequenceNumber);
+            replica.putInt((int) checksum.getValue());
+            replica.putInt(p_data.length);
+            replica.put(p_data);
+            ret[i] = replica.array();
+        }
+
+        return ret;
+    }
+
+    /**
+     * Splits data structures into k + m fragments each
+     *
+     * @param p_dataStructures
+     *         the data structures
+     * @return the fragments per backup peer ([i] contains the i-th fragments of all data structures the i-th backup
+     * peer stores, small data structures are missing in the arrays of backup peers not storing a replica)
+     */
+    public DataStructure[][] encode(final DataStructure[] p_dataStructures) {
+        byte[][][] fragments = new byte[p_dataStructures.length][][];
+        DataStructure[][] ret = new DataStructure[getNumberOfFragments()][];
+
+        for (int j = 0; j < p_dataStructures.length; j++) {
+            fragments[j] = encode(serialize(p_dataStructures[j]));
+        }
+
+        for (int i = 0; i < ret.length; i++) {
+            ret[i] = new DataStructure[countFragments(fragments, i)];
+            int counter = 0;
+            for (int j = 0; j < p_dataStructures.length; j++) {
+                if (fragments[j][i] != null) {
+                    ret[i][counter++] = new DSByteArray(p_dataStructures[j].getID(), fragments[j][i]);
+                }
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Splits chunks into k + m fragments each
+     *
+     * @param p_chunks
+     *         the chunks
+     * @return the fragments per backup peer ([i] contains the i-th fragments of all chunks the i-th backup peer stores,
+     * small chunks are missing in the arrays of backup peers not storing a replica)
+     */
+    public ChunkAnon[][] encode(final ChunkAnon[] p_chunks) {
+        byte[][][] fragments = new byte[p_chunks.length][][];
+        ChunkAnon[][] ret = new ChunkAnon[getNumberOfFragments()][];
+
+        for (int j = 0; j < p_chunks.length; j++) {
+            fragments[j] = encode(p_chunks[j].getData());
+        }
+
+        for (int i = 0; i < ret.length; i++) {
+            ret[i] = new ChunkAnon[countFragments(fragments, i)];
+            int counter = 0;
+            for (int j = 0; j < p_chunks.length; j++) {
+                if (fragments[j][i] != null) {
+                    ret[i][counter++] = new ChunkAnon(p_chunks[j].getID(), fragments[j][i]);
+                }
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Counts the fragments a backup peer stores
+     *
+     * @param p_fragments
+     *         the fragments of all chunks
+     * @param p_index
+     *         the index of the backup peer
+     * @return the number of chunks with a fragment for the backup peer
+     */
+    private static int countFragments(final byte[][][] p_fragments, final int p_index) {
+        int ret = 0;
+
+        for (byte[][] chunkFragments : p_fragments) {
+            if (chunkFragments[p_index] != null) {
+                ret++;
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Checks if a chunk can be decoded from its fragments
+     *
+     * @param p_fragments
+     *         fragments of the same chunk in any order (null entries are ignored)
+     * @return true if there is a replica or there are at least k fragments with distinct indices of the same chunk
+     * version
+     */
+    public boolean isDecodable(final byte[][] p_fragments) {
+        return getDecodableVersion(p_fragments) != -1;
+    }
+
+    /**
+     * Restores chunk data from its fragments. Only fragments of the newest chunk version with a replica or at least k
+     * fragments are used
+     *
+     * @param p_fragments
+     *         fragments of the same chunk in any order (null entries are ignored)
+     * @return the chunk data or null if there are less than k distinct, consistent fragments of the same version
+     */
+    public byte[] decode(final byte[][] p_fragments) {
+        final int dataFragments = m_codec.getDataShards();
+        final int fragment = getDecodableVersion(p_fragments);
+
+        if (fragment == -1) {
+            return null;
+        }
+
+        final int checksum = getChecksum(p_fragments[fragment]);
+        final long sequenceNumber = getSequenceNumber(p_fragments[fragment]);
+        final int length = ByteBuffer.wrap(p_fragments[fragment]).getInt(FRAGMENT_HEADER_SIZE - Integer.BYTES);
+        final int fragmentSize = p_fragments[fragment].length;
+        byte[][] shards = new byte[getNumberOfFragments()][];
+
+        if (isReplica(p_fragments[fragment])) {
+            // Size and checksum were verified by getDecodableVersion
+            return Arrays.copyOfRange(p_fragments[fragment], FRAGMENT_HEADER_SIZE, fragmentSize);
+        }
+
+        for (byte[] current : p_fragments) {
+            if (!belongsToVersion(current, checksum, sequenceNumber) || shards[getFragmentIndex(current)] != null) {
+                continue;
+            }
+            if (current.length != fragmentSize || ByteBuffer.wrap(current).getInt(FRAGMENT_HEADER_SIZE - Integer.BYTES) != length) {
+                // Same checksum with another size -> corrupted
+                return null;
+            }
+
+            int index = getFragmentIndex(current);
+            shards[index] = new byte[fragmentSize - FRAGMENT_HEADER_SIZE];
+            System.arraycopy(current, FRAGMENT_HEADER_SIZE, shards[index], 0, shards[index].length);
+        }
+
+        if (!m_codec.reconstructData(shards, fragmentSize - FRAGMENT_HEADER_SIZE)) {
+            return null;
+        }
+
+        byte[] ret = new byte[length];
+        final int shardSize = fragmentSize - FRAGMENT_HEADER_SIZE;
+        for (int i = 0; i < dataFragments; i++) {
+            int offset = i * shardSize;
+            if (offset < length) {
+                System.arraycopy(shards[i], 0, ret, offset, Math.min(shardSize, length - offset));
+            }
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(ret, 0, ret.length);
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+
+        return ret;
+    }
+
+    /**
+     * Determines the newest chunk version with a replica or at least k fragments with distinct indices. A version is
+     * identified by checksum and sequence number, re-encoded fragments count for every version with the same checksum
+     *
+     * @param p_fragments
+     *         fragments of the same chunk in any order (null entries are ignored)
+     * @return the position of a fragment of the version in p_fragments or -1 if no version has k fragments
+     */
+    private int getDecodableVersion(final byte[][] p_fragments) {
+        int ret = -1;
+        long newest = Long.MIN_VALUE;
+        boolean[] indices = new boolean[getNumberOfFragments()];
+
+        for (int i = 0; i < p_fragments.length; i++) {
+            if (!isValid(p_fragments[i])) {
+                continue;
+            }
+
+            int checksum = getChecksum(p_fragments[i]);
+            long sequenceNumber = getSequenceNumber(p_fragments[i]);
+            if (sequenceNumber <= newest) {
+                // Same or older version than the one found already
+                continue;
+            }
+
+            if (isReplica(p_fragments[i])) {
+                if (isCompleteReplica(p_fragments[i])) {
+                    newest = sequenceNumber;
+                    ret = i;
+                }
+                continue;
+            }
+
+            int count = 0;
+            Arrays.fill(indices, false);
+            for (byte[] other : p_fragments) {
+                if (belongsToVersion(other, checksum, sequenceNumber) && !indices[getFragmentIndex(other)]) {
+                    indices[getFragmentIndex(other)] = true;
+                    count++;
+                }
+            }
+
+            if (count >= m_codec.getDataShards()) {
+                newest = sequenceNumber;
+                ret = i;
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Checks if a fragment belongs to a chunk version
+     *
+     * @param p_fragment
+     *         the fragment
+     * @param p_checksum
+     *         the checksum of the version
+     * @param p_sequenceNumber
+     *         the sequence number of the version
+     * @return true if the fragment is valid, no replica, has the checksum and the sequence number or was re-encoded
+     */
+    private boolean belongsToVersion(final byte[] p_fragment, final int p_checksum, final long p_sequenceNumber) {
+        if (!isValid(p_fragment) || isReplica(p_fragment) || getChecksum(p_fragment) != p_checksum) {
+            return false;
+        }
+
+        long sequenceNumber = getSequenceNumber(p_fragment);
+
+        return sequenceNumber == p_sequenceNumber || sequenceNumber == REENCODED;
+    }
+
+    /**
+     * Checks the header of a fragment
+     *
+     * @param p_fragment
+     *         the fragment
+     * @return true if the fragment has a header with a valid index
+     */
+    private boolean isValid(final byte[] p_fragment) {
+        return p_fragment != null && p_fragment.length >= FRAGMENT_HEADER_SIZE && p_fragment[0] >= 0 &&
+                getFragmentIndex(p_fragment) < getNumberOfFragments();
+    }
+
+    /**
+     * Checks if a replica contains the whole, intact chunk
+     *
+     * @param p_replica
+     *         the replica
+     * @return true if size and checksum in the header match the replica's data
+     */
+    private static boolean isCompleteReplica(final byte[] p_replica) {
+        if (ByteBuffer.wrap(p_replica).getInt(FRAGMENT_HEADER_SIZE - Integer.BYTES) != p_replica.length - FRAGMENT_HEADER_SIZE) {
+            return false;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(p_replica, FRAGMENT_HEADER_SIZE, p_replica.length - FRAGMENT_HEADER_SIZE);
+
+        return (int) crc.getValue() == getChecksum(p_replica);
+    }
+}
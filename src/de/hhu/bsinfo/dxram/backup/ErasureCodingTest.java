@@ -0,0 +1,270 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.backup;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Tests for the Reed-Solomon codec and the erasure coding of chunks: Decoding with every combination of erased
+ * fragments, duplicate fragments, mixed versions and replicated small chunks.
+ */
+public final class ErasureCodingTest {
+
+    // configurations (k, m) to test
+    private static final int[][] CONFIGURATIONS = {{2, 1}, {3, 1}, {2, 2}, {4, 2}};
+    private static final int[] DATA_SIZES = {1, 7, 64, 1000, 4096};
+    private static final int THRESHOLD = 32;
+
+    /**
+     * Unused constructor.
+     */
+    private ErasureCodingTest() {
+    }
+
+    /**
+     * Java main entry point.
+     *
+     * @param p_args
+     *         Command line arguments
+     */
+    public static void main(final String[] p_args) {
+        Random random = new Random(0);
+
+        for (int[] configuration : CONFIGURATIONS) {
+            testReedSolomon(configuration[0], configuration[1], random);
+            testErasureCoding(configuration[0], configuration[1], random);
+        }
+
+        testDuplicateFragments(random);
+        testVersions(random);
+        testSmallChunks(random);
+
+        System.out.println("All erasure coding tests passed.");
+    }
+
+    /**
+     * Encodes random shards and reconstructs them with every combination of at most m missing shards
+     *
+     * @param p_dataShards
+     *         k
+     * @param p_parityShards
+     *         m
+     * @param p_random
+     *         the random generator
+     */
+    private static void testReedSolomon(final int p_dataShards, final int p_parityShards, final Random p_random) {
+        final int shardSize = 128;
+        final int shards = p_dataShards + p_parityShards;
+        ReedSolomon codec = new ReedSolomon(p_dataShards, p_parityShards);
+
+        byte[][] encoded = new byte[shards][shardSize];
+        for (int i = 0; i < p_dataShards; i++) {
+            p_random.nextBytes(encoded[i]);
+        }
+        codec.encodeParity(encoded, shardSize);
+
+        for (int erased = 0; erased < 1 << shards; erased++) {
+            byte[][] received = new byte[shards][];
+            for (int i = 0; i < shards; i++) {
+                if ((erased & 1 << i) == 0) {
+                    received[i] = encoded[i].clone();
+                }
+            }
+
+            boolean reconstructed = codec.reconstructData(received, shardSize);
+            if (Integer.bitCount(erased) > p_parityShards) {
+                check(!reconstructed, "ReedSolomon(" + p_dataShards + ", " + p_parityShards + ") reconstructed with erasures " +
+                        Integer.toBinaryString(erased));
+                continue;
+            }
+
+            check(reconstructed, "ReedSolomon(" + p_dataShards + ", " + p_parityShards + ") failed with erasures " +
+                    Integer.toBinaryString(erased));
+            for (int i = 0; i < p_dataShards; i++) {
+                check(Arrays.equals(encoded[i], received[i]), "ReedSolomon(" + p_dataShards + ", " + p_parityShards +
+                        ") reconstructed wrong data shard " + i + " with erasures " + Integer.toBinaryString(erased));
+            }
+        }
+    }
+
+    /**
+     * Encodes chunks of different sizes and decodes them with every combination of at most m missing fragments
+     *
+     * @param p_dataFragments
+     *         k
+     * @param p_parityFragments
+     *         m
+     * @param p_random
+     *         the random generator
+     */
+    private static void testErasureCoding(final int p_dataFragments, final int p_parityFragments, final Random p_random) {
+        ErasureCoding erasureCoding = new ErasureCoding(p_dataFragments, p_parityFragments, 0);
+        final int fragments = erasureCoding.getNumberOfFragments();
+
+        for (int size : DATA_SIZES) {
+            byte[] data = new byte[size];
+            p_random.nextBytes(data);
+            byte[][] encoded = erasureCoding.encode(data);
+
+            for (int i = 0; i < fragments; i++) {
+                check(ErasureCoding.getFragmentIndex(encoded[i]) == i, "Fragment " + i + " has wrong index");
+            }
+
+            for (int erased = 0; erased < 1 << fragments; erased++) {
+                byte[][] received = new byte[fragments][];
+                for (int i = 0; i < fragments; i++) {
+                    if ((erased & 1 << i) == 0) {
+                        received[i] = encoded[i];
+                    }
+                }
+                // order of the fragments must not matter
+                reverse(received);
+
+                boolean decodable = Integer.bitCount(erased) <= p_parityFragments;
+                check(erasureCoding.isDecodable(received) == decodable, "isDecodable wrong for size " + size + " with erasures " +
+                        Integer.toBinaryString(erased));
+                byte[] decoded = erasureCoding.decode(received);
+                if (decodable) {
+                    check(Arrays.equals(data, decoded), "Decoding failed for size " + size + " with erasures " + Integer.toBinaryString(erased));
+                } else {
+                    check(decoded == null, "Decoded with too many erasures for size " + size);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fragments with the same index must be counted once
+     *
+     * @param p_random
+     *         the random generator
+     */
+    private static void testDuplicateFragments(final Random p_random) {
+        ErasureCoding erasureCoding = new ErasureCoding(3, 1, 0);
+        byte[] data = new byte[100];
+        p_random.nextBytes(data);
+        byte[][] encoded = erasureCoding.encode(data);
+
+        byte[][] received = {encoded[0], encoded[0], encoded[1], null};
+        check(!erasureCoding.isDecodable(received), "Duplicate fragments were counted twice");
+        check(erasureCoding.decode(received) == null, "Decoded from duplicate fragments");
+
+        received[3] = encoded[3];
+        check(Arrays.equals(data, erasureCoding.decode(received)), "Decoding with duplicate fragments failed");
+    }
+
+    /**
+     * Fragments of different versions must not be mixed, the newest decodable version wins. Re-encoded fragments
+     * count for every version with the same data
+     *
+     * @param p_random
+     *         the random generator
+     */
+    private static void testVersions(final Random p_random) {
+        ErasureCoding erasureCoding = new ErasureCoding(2, 2, 0);
+        byte[] oldData = new byte[100];
+        byte[] newData = new byte[100];
+        p_random.nextBytes(oldData);
+        p_random.nextBytes(newData);
+
+        byte[][] oldVersion = erasureCoding.encode(oldData);
+        byte[][] newVersion = erasureCoding.encode(newData);
+
+        // one fragment of the new version, only -> old version
+        byte[][] received = {oldVersion[0], newVersion[1], oldVersion[2], null};
+        check(Arrays.equals(oldData, erasureCoding.decode(received)), "Old version was not decoded");
+
+        // two fragments of each version -> newest
+        received = new byte[][] {oldVersion[0], newVersion[1], oldVersion[2], newVersion[3]};
+        check(Arrays.equals(newData, erasureCoding.decode(received)), "New version was not preferred");
+
+        // same data encoded twice (same checksum, different sequence numbers) must not be mixed
+        byte[][] again = erasureCoding.encode(newData);
+        received = new byte[][] {newVersion[0], again[1], null, null};
+        check(!erasureCoding.isDecodable(received), "Fragments of different sequence numbers were mixed");
+
+        // re-encoded fragments (e.g., for a new backup peer) complete any version with the same data
+        received = new byte[][] {newVersion[0], erasureCoding.encodeFragment(newData, 1), null, null};
+        check(Arrays.equals(newData, erasureCoding.decode(received)), "Re-encoded fragment was not used");
+        received = new byte[][] {oldVersion[0], erasureCoding.encodeFragment(newData, 1), null, null};
+        check(!erasureCoding.isDecodable(received), "Re-encoded fragment of other data was used");
+    }
+
+    /**
+     * Chunks below the threshold are replicated to the first m + 1 backup peers
+     *
+     * @param p_random
+     *         the random generator
+     */
+    private static void testSmallChunks(final Random p_random) {
+        ErasureCoding erasureCoding = new ErasureCoding(3, 1, THRESHOLD);
+        byte[] data = new byte[THRESHOLD - 1];
+        p_random.nextBytes(data);
+
+        byte[][] encoded = erasureCoding.encode(data);
+        check(encoded[0] != null && encoded[1] != null && encoded[2] == null && encoded[3] == null, "Small chunk was not replicated to m + 1 peers");
+        for (int i = 0; i <= 1; i++) {
+            check(ErasureCoding.getFragmentIndex(encoded[i]) == i, "Replica " + i + " has wrong index");
+            check(Arrays.equals(data, erasureCoding.decode(new byte[][] {null, null, null, encoded[i]})), "Replica " + i + " could not be decoded");
+        }
+        check(erasureCoding.encodeFragment(data, 3) == null, "Re-encoded replica for a peer without replica");
+
+        // a corrupted replica must not be used
+        byte[] corrupted = encoded[0].clone();
+        corrupted[corrupted.length - 1]++;
+        check(!erasureCoding.isDecodable(new byte[][] {corrupted, null, null, null}), "Corrupted replica was used");
+
+        // large chunks are split
+        data = new byte[THRESHOLD];
+        p_random.nextBytes(data);
+        encoded = erasureCoding.encode(data);
+        for (byte[] fragment : encoded) {
+            check(fragment != null, "Large chunk was not split");
+        }
+        check(Arrays.equals(data, erasureCoding.decode(new byte[][] {encoded[0], null, encoded[2], encoded[3]})), "Large chunk could not be decoded");
+    }
+
+    /**
+     * Reverses an array
+     *
+     * @param p_array
+     *         the array
+     */
+    private static void reverse(final byte[][] p_array) {
+        for (int i = 0; i < p_array.length / 2; i++) {
+            byte[] tmp = p_array[i];
+            p_array[i] = p_array[p_array.length - 1 - i];
+            p_array[p_array.length - 1 - i] = tmp;
+        }
+    }
+
+    /**
+     * Aborts if a condition does not hold
+     *
+     * @param p_condition
+     *         the condition
+     * @param p_message
+     *         the error message
+     */
+    private static void check(final boolean p_condition, final String p_message) {
+        if (!p_condition) {
+            System.out.println("Test failed: " + p_message);
+            System.exit(-1);
+        }
+    }
+}
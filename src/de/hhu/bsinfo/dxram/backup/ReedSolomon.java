@@ -0,0 +1,317 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.backup;
+
+/**
+ * Systematic Reed-Solomon code over GF(2^8). The first k shards hold the data, the remaining m shards the parity.
+ * Any k of the k + m shards suffice to reconstruct the data shards.
+ * The coding matrix is derived from a Vandermonde matrix whose upper k x k part is transformed into the identity
+ * matrix. This keeps every k x k sub-matrix invertible.
+ */
+public final class ReedSolomon {
+
+    private static final int FIELD_SIZE = 256;
+    private static final int GENERATOR_POLYNOMIAL = 0x11D;
+
+    private static final int[] LOG_TABLE = new int[FIELD_SIZE];
+    private static final int[] EXP_TABLE = new int[2 * FIELD_SIZE - 2];
+    // Products of all field elements (MUL_TABLE[a][b] = a * b)
+    private static final byte[][] MUL_TABLE = new byte[FIELD_SIZE][FIELD_SIZE];
+
+    static {
+        int x = 1;
+        for (int i = 0; i < FIELD_SIZE - 1; i++) {
+            EXP_TABLE[i] = x;
+            EXP_TABLE[i + FIELD_SIZE - 1] = x;
+            LOG_TABLE[x] = i;
+
+            x <<= 1;
+            if (x >= FIELD_SIZE) {
+                x ^= GENERATOR_POLYNOMIAL;
+            }
+        }
+
+        for (int a = 1; a < FIELD_SIZE; a++) {
+            for (int b = 1; b < FIELD_SIZE; b++) {
+                MUL_TABLE[a][b] = (byte) EXP_TABLE[LOG_TABLE[a] + LOG_TABLE[b]];
+            }
+        }
+    }
+
+    private final int m_dataShards;
+    private final int m_parityShards;
+    // (k + m) x k; the first k rows form the identity matrix
+    private final int[][] m_codingMatrix;
+
+    /**
+     * Creates an instance of ReedSolomon
+     *
+     * @param p_dataShards
+     *         the number of data shards (k)
+     * @param p_parityShards
+     *         the number of parity shards (m)
+     */
+    public ReedSolomon(final int p_dataShards, final int p_parityShards) {
+        if (p_dataShards < 1 || p_parityShards < 0 || p_dataShards + p_parityShards > FIELD_SIZE) {
+            throw new IllegalArgumentException("Invalid number of shards: " + p_dataShards + " data shards, " + p_parityShards + " parity shards");
+        }
+
+        m_dataShards = p_dataShards;
+        m_parityShards = p_parityShards;
+
+        int[][] vandermonde = new int[p_dataShards + p_parityShards][p_dataShards];
+        for (int row = 0; row < vandermonde.length; row++) {
+            for (int column = 0; column < p_dataShards; column++) {
+                vandermonde[row][column] = power(row, column);
+            }
+        }
+
+        int[][] top = new int[p_dataShards][];
+        System.arraycopy(vandermonde, 0, top, 0, p_dataShards);
+        m_codingMatrix = multiply(vandermonde, invert(top));
+    }
+
+    /**
+     * Returns the number of data shards
+     *
+     * @return the number of data shards
+     */
+    public int getDataShards() {
+        return m_dataShards;
+    }
+
+    /**
+     * Returns the number of parity shards
+     *
+     * @return the number of parity shards
+     */
+    public int getParityShards() {
+        return m_parityShards;
+    }
+
+    /**
+     * Computes the parity shards
+     *
+     * @param p_shards
+     *         all k + m shards of the same size; the parity shards (k to k + m - 1) are overwritten
+     * @param p_shardSize
+     *         the number of bytes per shard to encode
+     */
+    public void encodeParity(final byte[][] p_shards, final int p_shardSize) {
+        for (int i = 0; i < m_parityShards; i++) {
+            codeShard(m_codingMatrix[m_dataShards + i], p_shards, p_shards[m_dataShards + i], p_shardSize);
+        }
+    }
+
+    /**
+     * Reconstructs the missing data shards. Missing parity shards are not reconstructed.
+     *
+     * @param p_shards
+     *         all k + m shards; missing shards are null and replaced by new arrays if they are data shards
+     * @param p_shardSize
+     *         the number of bytes per shard
+     * @return false if less than k shards are available
+     */
+    public boolean reconstructData(final byte[][] p_shards, final int p_shardSize) {
+        int available = 0;
+        boolean complete = true;
+        int[] rows = new int[m_dataShards];
+
+        for (int i = 0; i < p_shards.length && available < m_dataShards; i++) {
+            if (p_shards[i] != null) {
+                rows[available++] = i;
+            } else if (i < m_dataShards) {
+                complete = false;
+            }
+        }
+
+        if (available < m_dataShards) {
+            return false;
+        }
+        if (complete) {
+            return true;
+        }
+
+        // Invert the coding matrix restricted to the available shards to get the data shards back
+        int[][] subMatrix = new int[m_dataShards][];
+        byte[][] inputs = new byte[m_dataShards][];
+        for (int i = 0; i < m_dataShards; i++) {
+            subMatrix[i] = m_codingMatrix[rows[i]];
+            inputs[i] = p_shards[rows[i]];
+        }
+        int[][] decodingMatrix = invert(subMatrix);
+
+        for (int i = 0; i < m_dataShards; i++) {
+            if (p_shards[i] == null) {
+                p_shards[i] = new byte[p_shardSize];
+                codeShard(decodingMatrix[i], inputs, p_shards[i], p_shardSize);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Computes the linear combination of the first k input shards with given coefficients
+     *
+     * @param p_coefficients
+     *         the coefficients (one per input shard)
+     * @param p_inputs
+     *         the input shards
+     * @param p_output
+     *         the output shard
+     * @param p_shardSize
+     *         the number of bytes per shard
+     */
+    private void codeShard(final int[] p_coefficients, final byte[][] p_inputs, final byte[] p_output, final int p_shardSize) {
+        byte[] products = MUL_TABLE[p_coefficients[0]];
+        byte[] input = p_inputs[0];
+        for (int j = 0; j < p_shardSize; j++) {
+            p_output[j] = products[input[j] & 0xFF];
+        }
+
+        for (int i = 1; i < m_dataShards; i++) {
+            products = MUL_TABLE[p_coefficients[i]];
+            input = p_inputs[i];
+            for (int j = 0; j < p_shardSize; j++) {
+                p_output[j] ^= products[input[j] & 0xFF];
+            }
+        }
+    }
+
+    /**
+     * Multiplies two field elements
+     *
+     * @param p_a
+     *         the first factor
+     * @param p_b
+     *         the second factor
+     * @return the product
+     */
+    private static int multiply(final int p_a, final int p_b) {
+        return MUL_TABLE[p_a][p_b] & 0xFF;
+    }
+
+    /**
+     * Computes p_a^p_n in the field
+     *
+     * @param p_a
+     *         the base
+     * @param p_n
+     *         the exponent
+     * @return the power
+     */
+    private static int power(final int p_a, final int p_n) {
+        if (p_n == 0) {
+            return 1;
+        }
+        if (p_a == 0) {
+            return 0;
+        }
+
+        return EXP_TABLE[LOG_TABLE[p_a] * p_n % (FIELD_SIZE - 1)];
+    }
+
+    /**
+     * Computes the multiplicative inverse of a field element
+     *
+     * @param p_a
+     *         the element (must not be 0)
+     * @return the inverse
+     */
+    private static int inverse(final int p_a) {
+        return EXP_TABLE[FIELD_SIZE - 1 - LOG_TABLE[p_a]];
+    }
+
+    /**
+     * Multiplies two matrices
+     *
+     * @param p_left
+     *         the left matrix
+     * @param p_right
+     *         the right matrix
+     * @return the product
+     */
+    private static int[][] multiply(final int[][] p_left, final int[][] p_right) {
+        int[][] ret = new int[p_left.length][p_right[0].length];
+
+        for (int row = 0; row < p_left.length; row++) {
+            for (int column = 0; column < p_right[0].length; column++) {
+                int value = 0;
+                for (int i = 0; i < p_right.length; i++) {
+                    value ^= multiply(p_left[row][i], p_right[i][column]);
+                }
+                ret[row][column] = value;
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Inverts a square matrix with Gauss-Jordan elimination
+     *
+     * @param p_matrix
+     *         the matrix (not modified)
+     * @return the inverse
+     */
+    private static int[][] invert(final int[][] p_matrix) {
+        final int size = p_matrix.length;
+        int[][] work = new int[size][2 * size];
+
+        for (int row = 0; row < size; row++) {
+            System.arraycopy(p_matrix[row], 0, work[row], 0, size);
+            work[row][size + row] = 1;
+        }
+
+        for (int column = 0; column < size; column++) {
+            int pivot = column;
+            while (pivot < size && work[pivot][column] == 0) {
+                pivot++;
+            }
+            if (pivot == size) {
+                throw new IllegalStateException("Matrix is singular");
+            }
+            if (pivot != column) {
+                int[] tmp = work[pivot];
+                work[pivot] = work[column];
+                work[column] = tmp;
+            }
+
+            int factor = inverse(work[column][column]);
+            for (int i = 0; i < 2 * size; i++) {
+                work[column][i] = multiply(work[column][i], factor);
+            }
+
+            for (int row = 0; row < size; row++) {
+                if (row != column && work[row][column] != 0) {
+                    factor = work[row][column];
+                    for (int i = 0; i < 2 * size; i++) {
+                        work[row][i] ^= multiply(factor, work[column][i]);
+                    }
+                }
+            }
+        }
+
+        int[][] ret = new int[size][size];
+        for (int row = 0; row < size; row++) {
+            System.arraycopy(work[row], size, ret[row], 0, size);
+        }
+
+        return ret;
+    }
+}
@@ -447,20 +447,24 @@ public class ChunkAnonService extends AbstractDXRAMService<ChunkAnonServiceConfi
             BackupRange backupRange;
             BackupPeer[] backupPeers;
             ChunkAnon[] chunks;
+            ChunkAnon[][] fragments;
             for (Map.Entry<BackupRange, ArrayList<ChunkAnon>> entry : remoteChunksByBackupRange.entrySet()) {
                 backupRange = entry.getKey();
                 chunks = entry.getValue().toArray(new ChunkAnon[entry.getValue().size()]);
+                // Erasure coding: every backup peer gets its own fragments
+                fragments = m_backup.encodeForBackupPeers(chunks);
 
                 backupPeers = backupRange.getBackupPeers();
-                for (BackupPeer backupPeer : backupPeers) {
-                    if (backupPeer != null) {
+                for (int i = 0; i < backupPeers.length; i++) {
+                    BackupPeer backupPeer = backupPeers[i];
+                    if (backupPeer != null && (fragments == null || fragments[i].length > 0)) {
                         // #if LOGGER == TRACE
                         LOGGER.trace("Logging %d chunks to 0x%X", chunks.length, backupPeer.getNodeID());
                         // #endif /* LOGGER == TRACE */
 
                         try {
                             m_network.sendMessage(new LogAnonMessage(backupPeer.getNodeID(), backupRange.getRangeID(),
-                                    chunks));
+                                    fragments == null ? chunks : fragments[i]));
                         } catch (final NetworkException ignore) {
 
                         }
@@ -699,20 +703,24 @@ public class ChunkAnonService extends AbstractDXRAMService<ChunkAnonServiceConfi
             BackupRange backupRange;
             BackupPeer[] backupPeers;
             ChunkAnon[] chunks;
+            ChunkAnon[][] fragments;
             for (Map.Entry<BackupRange, ArrayList<ChunkAnon>> entry : remoteChunksByBackupRange.entrySet()) {
                 backupRange = entry.getKey();
                 chunks = entry.getValue().toArray(new ChunkAnon[entry.getValue().size()]);
+                // Erasure coding: every backup peer gets its own fragments
+                fragments = m_backup.encodeForBackupPeers(chunks);
 
                 backupPeers = backupRange.getBackupPeers();
-                for (BackupPeer backupPeer : backupPeers) {
-                    if (backupPeer != null) {
+                for (int i = 0; i < backupPeers.length; i++) {
+                    BackupPeer backupPeer = backupPeers[i];
+                    if (backupPeer != null && (fragments == null || fragments[i].length > 0)) {
                         // #if LOGGER == TRACE
                         LOGGER.trace("Logging %d chunks to 0x%X", chunks.length, backupPeer.getNodeID());
                         // #endif /* LOGGER == TRACE */
 
                         try {
                             m_network.sendMessage(new LogAnonMessage(backupPeer.getNodeID(), backupRange.getRangeID(),
-                                    chunks));
+                                    fragments == null ? chunks : fragments[i]));
                         } catch (final NetworkException ignore) {
 
                         }
@@ -17,17 +17,29 @@
 package de.hhu.bsinfo.dxram.chunk;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import de.hhu.bsinfo.dxnet.MessageReceiver;
 import de.hhu.bsinfo.dxnet.core.Message;
 import de.hhu.bsinfo.dxnet.core.NetworkException;
 import de.hhu.bsinfo.dxram.DXRAMMessageTypes;
+import de.hhu.bsinfo.dxram.backup.BackupComponent;
 import de.hhu.bsinfo.dxram.boot.AbstractBootComponent;
 import de.hhu.bsinfo.dxram.chunk.messages.ChunkMessages;
+import de.hhu.bsinfo.dxram.chunk.messages.CreateRequest;
+import de.hhu.bsinfo.dxram.chunk.messages.CreateResponse;
+import de.hhu.bsinfo.dxram.chunk.messages.GetRequest;
+import de.hhu.bsinfo.dxram.chunk.messages.GetResponse;
 import de.hhu.bsinfo.dxram.chunk.messages.PutMessage;
+import de.hhu.bsinfo.dxram.chunk.messages.PutRequest;
+import de.hhu.bsinfo.dxram.chunk.messages.PutResponse;
+import de.hhu.bsinfo.dxram.chunk.messages.RemoveRequest;
+import de.hhu.bsinfo.dxram.chunk.messages.RemoveResponse;
 import de.hhu.bsinfo.dxram.data.ChunkID;
 import de.hhu.bsinfo.dxram.data.ChunkLockOperation;
 import de.hhu.bsinfo.dxram.data.ChunkState;
@@ -41,6 +53,8 @@ import de.hhu.bsinfo.dxram.lookup.LookupRange;
 import de.hhu.bsinfo.dxram.lookup.LookupState;
 import de.hhu.bsinfo.dxram.mem.MemoryManagerComponent;
 import de.hhu.bsinfo.dxram.net.NetworkComponent;
+import de.hhu.bsinfo.dxram.util.ArrayListLong;
+import de.hhu.bsinfo.dxram.util.NodeRole;
 import de.hhu.bsinfo.dxutils.NodeID;
 import de.hhu.bsinfo.dxutils.stats.StatisticsManager;
 import de.hhu.bsinfo.dxutils.stats.ThroughputPool;
@@ -49,6 +63,7 @@ import de.hhu.bsinfo.dxutils.stats.Value;
 /**
  * This service provides access to the backend storage system.
  * It does not replace the normal ChunkService, but extends it capabilities with async operations.
+ * Remote removals are answered by the ChunkRemoveService.
  *
  * @author Stefan Nothaas, stefan.nothaas@hhu.de, 17.02.2016
  */
@@ -58,9 +73,22 @@ public class ChunkAsyncService extends AbstractDXRAMService<ChunkAsyncServiceCon
     private static final ThroughputPool SOP_INCOMING_PUT_ASYNC = new ThroughputPool(ChunkAnonService.class,
             "IncomingPutAsync", Value.Base.B_10);
 
+    private static final ThroughputPool SOP_GET_FUTURE = new ThroughputPool(ChunkAsyncService.class, "GetFuture",
+            Value.Base.B_10);
+    private static final ThroughputPool SOP_PUT_FUTURE = new ThroughputPool(ChunkAsyncService.class, "PutFuture",
+            Value.Base.B_10);
+    private static final ThroughputPool SOP_CREATE_REMOTE_FUTURE = new ThroughputPool(ChunkAsyncService.class,
+            "CreateRemoteFuture", Value.Base.B_10);
+    private static final ThroughputPool SOP_REMOVE_FUTURE = new ThroughputPool(ChunkAsyncService.class,
+            "RemoveFuture", Value.Base.B_10);
+
     static {
         StatisticsManager.get().registerOperation(ChunkAsyncService.class, SOP_PUT_ASYNC);
         StatisticsManager.get().registerOperation(ChunkAsyncService.class, SOP_INCOMING_PUT_ASYNC);
+        StatisticsManager.get().registerOperation(ChunkAsyncService.class, SOP_GET_FUTURE);
+        StatisticsManager.get().registerOperation(ChunkAsyncService.class, SOP_PUT_FUTURE);
+        StatisticsManager.get().registerOperation(ChunkAsyncService.class, SOP_CREATE_REMOTE_FUTURE);
+        StatisticsManager.get().registerOperation(ChunkAsyncService.class, SOP_REMOVE_FUTURE);
     }
 
     // component dependencies
@@ -69,6 +97,10 @@ public class ChunkAsyncService extends AbstractDXRAMService<ChunkAsyncServiceCon
     private NetworkComponent m_network;
     private LookupComponent m_lookup;
     private AbstractLockComponent m_lock;
+    private BackupComponent m_backup;
+    private ChunkComponent m_chunk;
+
+    private ResponseCollector m_responseCollector;
 
     /**
      * Constructor
@@ -224,6 +256,434 @@ public class ChunkAsyncService extends AbstractDXRAMService<ChunkAsyncServiceCon
         return chunksPut;
     }
 
+    /**
+     * Get/Read the data stored in the backend storage into the provided data structures without blocking on remote
+     * chunks. Local chunks are read right away, the requests for remote chunks are sent to all peers at once.
+     * The future completes once all responses arrived, right away if all chunks are stored locally. Dependent
+     * stages attached without an executor run on the response collector thread and must not block.
+     *
+     * @param p_dataStructures
+     *         Data structures to read the stored data into. Null values or invalid IDs are ignored.
+     * @return Future completing with the number of successfully read data structures
+     */
+    public CompletableFuture<Integer> getAsync(final DataStructure... p_dataStructures) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        if (p_dataStructures.length == 0) {
+            future.complete(0);
+            return future;
+        }
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("getAsync[dataStructures(%d) ...]", p_dataStructures.length);
+        // #endif /* LOGGER == TRACE */
+
+        // #ifdef STATISTICS
+        SOP_GET_FUTURE.start(p_dataStructures.length);
+        // #endif /* STATISTICS */
+
+        int chunksGot = 0;
+        Map<Short, ArrayList<DataStructure>> remoteChunksByPeers = new TreeMap<>();
+
+        m_memoryManager.lockAccess();
+        try {
+            // try to get locally with a single batch, will check first if they exist
+            chunksGot += m_memoryManager.get(p_dataStructures, 0, p_dataStructures.length);
+
+            for (DataStructure dataStructure : p_dataStructures) {
+                // filter null values and invalid IDs (state set by memory manager)
+                if (dataStructure == null || dataStructure.getID() == ChunkID.INVALID_ID ||
+                        dataStructure.getState() == ChunkState.OK) {
+                    continue;
+                }
+
+                short peer = lookupPrimaryPeer(dataStructure);
+
+                if (peer == m_boot.getNodeID()) {
+                    // migrated data to current node
+                    if (m_memoryManager.get(dataStructure)) {
+                        chunksGot++;
+                        dataStructure.setState(ChunkState.OK);
+                    } else {
+                        dataStructure.setState(ChunkState.DOES_NOT_EXIST);
+                    }
+                } else if (peer != NodeID.INVALID_ID) {
+                    remoteChunksByPeers.computeIfAbsent(peer, a -> new ArrayList<>()).add(dataStructure);
+                }
+            }
+        } finally {
+            m_memoryManager.unlockAccess();
+        }
+
+        if (remoteChunksByPeers.isEmpty()) {
+            // #ifdef STATISTICS
+            SOP_GET_FUTURE.stop();
+            // #endif /* STATISTICS */
+
+            future.complete(chunksGot);
+            return future;
+        }
+
+        PendingResult result = new PendingResult(future, chunksGot, remoteChunksByPeers.size());
+
+        for (Entry<Short, ArrayList<DataStructure>> entry : remoteChunksByPeers.entrySet()) {
+            ArrayList<DataStructure> remoteChunks = entry.getValue();
+            GetRequest request = new GetRequest(entry.getKey(),
+                    remoteChunks.toArray(new DataStructure[remoteChunks.size()]));
+
+            try {
+                m_network.sendSync(request, false);
+            } catch (final NetworkException e) {
+                failRemoteChunks(remoteChunks);
+                result.peerDone(0);
+                continue;
+            }
+
+            m_responseCollector.add(request, future, () -> {
+                // chunk data is written directly to the provided data structures on receive
+                GetResponse response = request.getResponse(GetResponse.class);
+
+                if (response.getTotalSuccessful() != remoteChunks.size()) {
+                    for (DataStructure chunk : remoteChunks) {
+                        if (chunk.getState() != ChunkState.OK) {
+                            m_lookup.invalidateRange(chunk.getID());
+                        }
+                    }
+                }
+
+                result.peerDone(response.getTotalSuccessful());
+            }, () -> {
+                failRemoteChunks(remoteChunks);
+                result.peerDone(0);
+            });
+        }
+
+        // #ifdef STATISTICS
+        SOP_GET_FUTURE.stop();
+        // #endif /* STATISTICS */
+
+        return future;
+    }
+
+    /**
+     * Put/Update the contents of the provided data structures in the backend storage without blocking on remote
+     * chunks. Unlike put, the future reports the chunks actually updated by the remote peers.
+     *
+     * @param p_dataStructures
+     *         Data structures to put/update. Null values or invalid IDs are ignored.
+     * @return Future completing with the number of successfully updated data structures
+     */
+    public CompletableFuture<Integer> putAsync(final DataStructure... p_dataStructures) {
+        return putAsync(ChunkLockOperation.NO_LOCK_OPERATION, p_dataStructures);
+    }
+
+    /**
+     * Put/Update the contents of the provided data structures in the backend storage without blocking on remote
+     * chunks. Unlike put, the future reports the chunks actually updated by the remote peers. Dependent stages
+     * attached without an executor run on the response collector thread and must not block.
+     *
+     * @param p_chunkUnlockOperation
+     *         Unlock operation to execute right after the put operation.
+     * @param p_dataStructures
+     *         Data structures to put/update. Null values or invalid IDs are ignored.
+     * @return Future completing with the number of successfully updated data structures
+     */
+    public CompletableFuture<Integer> putAsync(final ChunkLockOperation p_chunkUnlockOperation,
+            final DataStructure... p_dataStructures) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        if (p_dataStructures.length == 0) {
+            future.complete(0);
+            return future;
+        }
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("putAsync[unlockOp %s, dataStructures(%d) ...]", p_chunkUnlockOperation,
+                p_dataStructures.length);
+        // #endif /* LOGGER == TRACE */
+
+        // #ifdef STATISTICS
+        SOP_PUT_FUTURE.start(p_dataStructures.length);
+        // #endif /* STATISTICS */
+
+        int chunksPut = 0;
+        Map<Short, ArrayList<DataStructure>> remoteChunksByPeers = new TreeMap<>();
+
+        m_memoryManager.lockAccess();
+        try {
+            for (DataStructure dataStructure : p_dataStructures) {
+                // allowing nulls -> filter
+                if (dataStructure == null || dataStructure.getID() == ChunkID.INVALID_ID) {
+                    continue;
+                }
+
+                if (m_memoryManager.put(dataStructure)) {
+                    chunksPut++;
+                    dataStructure.setState(ChunkState.OK);
+
+                    // unlock chunks
+                    if (p_chunkUnlockOperation != ChunkLockOperation.NO_LOCK_OPERATION) {
+                        m_lock.unlock(dataStructure.getID(), m_boot.getNodeID(),
+                                p_chunkUnlockOperation == ChunkLockOperation.WRITE_LOCK);
+                    }
+                } else {
+                    short peer = lookupPrimaryPeer(dataStructure);
+
+                    if (peer == m_boot.getNodeID()) {
+                        // migrated data to current node
+                        if (m_memoryManager.put(dataStructure)) {
+                            chunksPut++;
+                            dataStructure.setState(ChunkState.OK);
+                        } else {
+                            dataStructure.setState(ChunkState.DOES_NOT_EXIST);
+                        }
+                    } else if (peer != NodeID.INVALID_ID) {
+                        remoteChunksByPeers.computeIfAbsent(peer, a -> new ArrayList<>()).add(dataStructure);
+                    }
+                }
+            }
+        } finally {
+            m_memoryManager.unlockAccess();
+        }
+
+        if (remoteChunksByPeers.isEmpty()) {
+            // #ifdef STATISTICS
+            SOP_PUT_FUTURE.stop();
+            // #endif /* STATISTICS */
+
+            future.complete(chunksPut);
+            return future;
+        }
+
+        PendingResult result = new PendingResult(future, chunksPut, remoteChunksByPeers.size());
+
+        for (Entry<Short, ArrayList<DataStructure>> entry : remoteChunksByPeers.entrySet()) {
+            ArrayList<DataStructure> remoteChunks = entry.getValue();
+            PutRequest request = new PutRequest(entry.getKey(), p_chunkUnlockOperation,
+                    remoteChunks.toArray(new DataStructure[remoteChunks.size()]));
+
+            try {
+                m_network.sendSync(request, false);
+            } catch (final NetworkException e) {
+                failRemoteChunks(remoteChunks);
+                result.peerDone(0);
+                continue;
+            }
+
+            m_responseCollector.add(request, future, () -> {
+                byte[] statusCodes = request.getResponse(PutResponse.class).getStatusCodes();
+                int successful = 0;
+
+                // try short cut, i.e. all puts successful
+                if (statusCodes.length == 1 && statusCodes[0] == ChunkState.OK.ordinal()) {
+                    successful = remoteChunks.size();
+
+                    for (DataStructure ds : remoteChunks) {
+                        ds.setState(ChunkState.OK);
+                    }
+                } else {
+                    for (int i = 0; i < statusCodes.length; i++) {
+                        remoteChunks.get(i).setState(ChunkState.values()[statusCodes[i]]);
+
+                        if (statusCodes[i] == ChunkState.OK.ordinal()) {
+                            successful++;
+                        } else {
+                            m_lookup.invalidateRange(remoteChunks.get(i).getID());
+                        }
+                    }
+                }
+
+                result.peerDone(successful);
+            }, () -> {
+                failRemoteChunks(remoteChunks);
+                result.peerDone(0);
+            });
+        }
+
+        // #ifdef STATISTICS
+        SOP_PUT_FUTURE.stop();
+        // #endif /* STATISTICS */
+
+        return future;
+    }
+
+    /**
+     * Create chunks on another node without blocking. Creating chunks locally (ChunkService.create) does not
+     * involve the network and is not offered here.
+     *
+     * @param p_peer
+     *         NodeID of the peer to create the chunks on.
+     * @param p_sizes
+     *         Sizes to create chunks of.
+     * @return Future completing with the ChunkIDs of the created chunks. Null if the remote is unreachable
+     */
+    public CompletableFuture<long[]> createRemoteAsync(final short p_peer, final int... p_sizes) {
+        CompletableFuture<long[]> future = new CompletableFuture<>();
+
+        if (p_sizes.length == 0) {
+            future.complete(new long[0]);
+            return future;
+        }
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("createRemoteAsync[peer %s, sizes(%d) %d, ...]", NodeID.toHexString(p_peer), p_sizes.length,
+                p_sizes[0]);
+        // #endif /* LOGGER == TRACE */
+
+        // check if remote node is a peer
+        NodeRole role = m_boot.getNodeRole(p_peer);
+        if (role == null) {
+            // #if LOGGER >= ERROR
+            LOGGER.error("Remote node %s does not exist for remote create", NodeID.toHexString(p_peer));
+            // #endif /* LOGGER >= ERROR */
+
+            future.complete(null);
+            return future;
+        }
+
+        // #ifdef STATISTICS
+        SOP_CREATE_REMOTE_FUTURE.start(p_sizes.length);
+        // #endif /* STATISTICS */
+
+        CreateRequest request = new CreateRequest(p_peer, p_sizes);
+        try {
+            m_network.sendSync(request, false);
+
+            m_responseCollector.add(request, future,
+                    () -> future.complete(request.getResponse(CreateResponse.class).getChunkIDs()),
+                    () -> future.complete(null));
+        } catch (final NetworkException e) {
+            // #if LOGGER >= ERROR
+            LOGGER.error("Sending chunk create request to peer %s failed: %s", NodeID.toHexString(p_peer), e);
+            // #endif /* LOGGER >= ERROR */
+
+            future.complete(null);
+        }
+
+        // #ifdef STATISTICS
+        SOP_CREATE_REMOTE_FUTURE.stop();
+        // #endif /* STATISTICS */
+
+        return future;
+    }
+
+    /**
+     * Remove chunks/data structures from the storage without blocking on remote chunks.
+     *
+     * @param p_dataStructures
+     *         Data structures to remove from the storage. Null values or invalid IDs are ignored.
+     * @return Future completing with the number of successfully removed data structures
+     */
+    public CompletableFuture<Integer> removeAsync(final DataStructure... p_dataStructures) {
+        long[] chunkIDs = new long[p_dataStructures.length];
+        for (int i = 0; i < chunkIDs.length; i++) {
+            chunkIDs[i] = p_dataStructures[i] == null ? ChunkID.INVALID_ID : p_dataStructures[i].getID();
+        }
+
+        return removeAsync(chunkIDs);
+    }
+
+    /**
+     * Remove chunks/data structures from the storage (by handle/ID) without blocking on remote chunks. Local chunks
+     * are removed right away, the requests for remote chunks are sent to all peers at once. The future completes
+     * once all peers removed their chunks, right away if all chunks are stored locally. Dependent stages attached
+     * without an executor run on the response collector thread and must not block.
+     *
+     * @param p_chunkIDs
+     *         ChunkIDs/Handles of the data structures to remove. Invalid values are ignored.
+     * @return Future completing with the number of successfully removed data structures
+     */
+    public CompletableFuture<Integer> removeAsync(final long... p_chunkIDs) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        if (p_chunkIDs.length == 0) {
+            future.complete(0);
+            return future;
+        }
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("removeAsync[chunkIDs(%d) %s, ...]", p_chunkIDs.length, ChunkID.toHexString(p_chunkIDs[0]));
+        // #endif /* LOGGER == TRACE */
+
+        // #ifdef STATISTICS
+        SOP_REMOVE_FUTURE.start(p_chunkIDs.length);
+        // #endif /* STATISTICS */
+
+        ArrayListLong localChunks = new ArrayListLong();
+        Map<Short, ArrayListLong> remoteChunksByPeers = new TreeMap<>();
+
+        m_memoryManager.lockAccess();
+        try {
+            for (long chunkID : p_chunkIDs) {
+                // invalid values allowed -> filter
+                if (chunkID == ChunkID.INVALID_ID) {
+                    continue;
+                }
+
+                if (m_memoryManager.exists(chunkID)) {
+                    // local and locally stored migrated chunks
+                    localChunks.add(chunkID);
+                } else {
+                    LookupRange location = lookupLocation(chunkID);
+
+                    if (location.getState() == LookupState.OK) {
+                        remoteChunksByPeers.computeIfAbsent(location.getPrimaryPeer(), a -> new ArrayListLong())
+                                .add(chunkID);
+                    }
+                }
+            }
+        } finally {
+            m_memoryManager.unlockAccess();
+        }
+
+        // migrated to current node in the meantime
+        ArrayListLong migratedChunks = remoteChunksByPeers.remove(m_boot.getNodeID());
+        if (migratedChunks != null) {
+            localChunks.addAll(migratedChunks);
+        }
+
+        int chunksRemoved = 0;
+        if (!localChunks.isEmpty()) {
+            chunksRemoved = m_chunk.removeLocalChunks(Arrays.copyOf(localChunks.getArray(), localChunks.getSize()));
+        }
+
+        if (remoteChunksByPeers.isEmpty()) {
+            // #ifdef STATISTICS
+            SOP_REMOVE_FUTURE.stop();
+            // #endif /* STATISTICS */
+
+            future.complete(chunksRemoved);
+            return future;
+        }
+
+        PendingResult result = new PendingResult(future, chunksRemoved, remoteChunksByPeers.size());
+
+        for (Entry<Short, ArrayListLong> entry : remoteChunksByPeers.entrySet()) {
+            ArrayListLong remoteChunks = entry.getValue();
+            RemoveRequest request = new RemoveRequest(entry.getKey(), remoteChunks);
+
+            try {
+                m_network.sendSync(request, false);
+            } catch (final NetworkException e) {
+                invalidateRemoteChunks(remoteChunks);
+                result.peerDone(0);
+                continue;
+            }
+
+            m_responseCollector.add(request, future,
+                    () -> result.peerDone(request.getResponse(RemoveResponse.class).getChunksRemoved()), () -> {
+                        invalidateRemoteChunks(remoteChunks);
+                        result.peerDone(0);
+                    });
+        }
+
+        // #ifdef STATISTICS
+        SOP_REMOVE_FUTURE.stop();
+        // #endif /* STATISTICS */
+
+        return future;
+    }
+
     @Override
     public void onIncomingMessage(final Message p_message) {
         // #if LOGGER == TRACE
@@ -264,6 +724,8 @@ public class ChunkAsyncService extends AbstractDXRAMService<ChunkAsyncServiceCon
         m_network = p_componentAccessor.getComponent(NetworkComponent.class);
         m_lookup = p_componentAccessor.getComponent(LookupComponent.class);
         m_lock = p_componentAccessor.getComponent(AbstractLockComponent.class);
+        m_backup = p_componentAccessor.getComponent(BackupComponent.class);
+        m_chunk = p_componentAccessor.getComponent(ChunkComponent.class);
     }
 
     @Override
@@ -271,11 +733,17 @@ public class ChunkAsyncService extends AbstractDXRAMService<ChunkAsyncServiceCon
         registerNetworkMessages();
         registerNetworkMessageListener();
 
+        m_responseCollector = new ResponseCollector(m_network, getConfig().getRequestTimeout().getMs());
+        m_responseCollector.start();
+
         return true;
     }
 
     @Override
     protected boolean shutdownService() {
+        m_responseCollector.shutdown();
+        m_responseCollector = null;
+
         return true;
     }
 
@@ -298,6 +766,76 @@ public class ChunkAsyncService extends AbstractDXRAMService<ChunkAsyncServiceCon
 
     // -----------------------------------------------------------------------------------
 
+    /**
+     * Figure out the primary peer of a chunk which is not stored locally. Sets the state of the data structure
+     *
+     * @param p_dataStructure
+     *         Data structure of the chunk
+     * @return NodeID of the primary peer or NodeID.INVALID_ID if the chunk does not exist or was lost
+     */
+    private short lookupPrimaryPeer(final DataStructure p_dataStructure) {
+        LookupRange location = lookupLocation(p_dataStructure.getID());
+
+        if (location.getState() == LookupState.OK) {
+            // currently undefined because we still have to get it from remote
+            p_dataStructure.setState(ChunkState.UNDEFINED);
+            return location.getPrimaryPeer();
+        } else if (location.getState() == LookupState.DOES_NOT_EXIST) {
+            p_dataStructure.setState(ChunkState.DOES_NOT_EXIST);
+        } else if (location.getState() == LookupState.DATA_LOST) {
+            p_dataStructure.setState(ChunkState.DATA_LOST);
+        }
+
+        return NodeID.INVALID_ID;
+    }
+
+    /**
+     * Look up the location of a chunk which is not stored locally. Waits while the chunk is temporarily unavailable
+     *
+     * @param p_chunkID
+     *         ChunkID of the chunk
+     * @return Location of the chunk
+     */
+    private LookupRange lookupLocation(final long p_chunkID) {
+        LookupRange location = m_lookup.getLookupRange(p_chunkID);
+        while (location.getState() == LookupState.DATA_TEMPORARY_UNAVAILABLE) {
+            try {
+                Thread.sleep(100);
+            } catch (final InterruptedException ignore) {
+            }
+            location = m_lookup.getLookupRange(p_chunkID);
+        }
+
+        return location;
+    }
+
+    /**
+     * Invalidate the cached locations of remote chunks which could not be reached
+     *
+     * @param p_remoteChunks
+     *         ChunkIDs of the unreachable peer
+     */
+    private void invalidateRemoteChunks(final ArrayListLong p_remoteChunks) {
+        for (int i = 0; i < p_remoteChunks.getSize(); i++) {
+            m_lookup.invalidate(p_remoteChunks.get(i));
+        }
+    }
+
+    /**
+     * Set the state of remote chunks which could not be reached and invalidate their cached locations
+     *
+     * @param p_remoteChunks
+     *         Chunks of the unreachable peer
+     */
+    private void failRemoteChunks(final ArrayList<DataStructure> p_remoteChunks) {
+        ChunkState state = m_backup.isActive() ? ChunkState.DATA_TEMPORARY_UNAVAILABLE : ChunkState.DATA_LOST;
+
+        for (DataStructure chunk : p_remoteChunks) {
+            chunk.setState(state);
+            m_lookup.invalidate(chunk.getID());
+        }
+    }
+
     /**
      * Handles an incoming PutRequest
      *
@@ -341,4 +879,44 @@ public class ChunkAsyncService extends AbstractDXRAMService<ChunkAsyncServiceCon
         SOP_INCOMING_PUT_ASYNC.stop();
         // #endif /* STATISTICS */
     }
+
+    /**
+     * Result of an operation spanning multiple peers. Completes the future once all peers answered
+     */
+    private static final class PendingResult {
+        private final CompletableFuture<Integer> m_future;
+        private final AtomicInteger m_successful;
+        private final AtomicInteger m_outstandingPeers;
+
+        /**
+         * Constructor
+         *
+         * @param p_future
+         *         Future to complete
+         * @param p_localSuccessful
+         *         Number of chunks already processed locally
+         * @param p_peers
+         *         Number of peers to wait for
+         */
+        private PendingResult(final CompletableFuture<Integer> p_future, final int p_localSuccessful,
+                final int p_peers) {
+            m_future = p_future;
+            m_successful = new AtomicInteger(p_localSuccessful);
+            m_outstandingPeers = new AtomicInteger(p_peers);
+        }
+
+        /**
+         * A peer answered or failed
+         *
+         * @param p_successful
+         *         Number of chunks successfully processed by the peer
+         */
+        private void peerDone(final int p_successful) {
+            m_successful.addAndGet(p_successful);
+
+            if (m_outstandingPeers.decrementAndGet() == 0) {
+                m_future.complete(m_successful.get());
+            }
+        }
+    }
 }
@@ -1,7 +1,10 @@
 package de.hhu.bsinfo.dxram.chunk;
 
+import com.google.gson.annotations.Expose;
+
 import de.hhu.bsinfo.dxram.engine.DXRAMContext;
 import de.hhu.bsinfo.dxram.engine.AbstractDXRAMServiceConfig;
+import de.hhu.bsinfo.dxutils.unit.TimeUnit;
 
 /**
  * Config for the ChunkAsyncService
@@ -9,6 +12,9 @@ import de.hhu.bsinfo.dxram.engine.AbstractDXRAMServiceConfig;
  * @author Stefan Nothaas, stefan.nothaas@hhu.de, 24.05.2017
  */
 public class ChunkAsyncServiceConfig extends AbstractDXRAMServiceConfig {
+    @Expose
+    private TimeUnit m_requestTimeout = new TimeUnit(1, TimeUnit.SEC);
+
     /**
      * Constructor
      */
@@ -16,8 +22,22 @@ public class ChunkAsyncServiceConfig extends AbstractDXRAMServiceConfig {
         super(ChunkAsyncService.class, false, true);
     }
 
+    /**
+     * Time to wait for the response of a request sent by the future based operations
+     */
+    public TimeUnit getRequestTimeout() {
+        return m_requestTimeout;
+    }
+
     @Override
     protected boolean verify(final DXRAMContext.Config p_config) {
+        if (m_requestTimeout.getMs() < 1) {
+            // #if LOGGER >= ERROR
+            LOGGER.error("m_requestTimeout must be at least 1 ms");
+            // #endif /* LOGGER >= ERROR */
+            return false;
+        }
+
         return true;
     }
 }
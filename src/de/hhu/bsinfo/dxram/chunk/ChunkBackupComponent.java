@@ -17,10 +17,12 @@
 package de.hhu.bsinfo.dxram.chunk;
 
 import java.nio.ByteBuffer;
+import java.util.HashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 import de.hhu.bsinfo.dxnet.core.NetworkException;
 import de.hhu.bsinfo.dxram.DXRAMComponentOrder;
+import de.hhu.bsinfo.dxram.backup.ErasureCoding;
 import de.hhu.bsinfo.dxram.boot.AbstractBootComponent;
 import de.hhu.bsinfo.dxram.data.ChunkID;
 import de.hhu.bsinfo.dxram.data.DataStructure;
@@ -32,6 +34,7 @@ import de.hhu.bsinfo.dxram.log.messages.LogBufferMessage;
 import de.hhu.bsinfo.dxram.mem.MemoryManagerComponent;
 import de.hhu.bsinfo.dxram.net.NetworkComponent;
 import de.hhu.bsinfo.dxram.recovery.RecoveryMetadata;
+import de.hhu.bsinfo.dxutils.UnsafeHandler;
 
 /**
  * Component for chunk handling.
@@ -47,6 +50,9 @@ public class ChunkBackupComponent extends AbstractDXRAMComponent<ChunkBackupComp
     private NetworkComponent m_network;
 
     private ConcurrentLinkedQueue<Entry> m_recoveryChunkQueue;
+    // If not null, recovered chunks are collected here instead of being stored in memory (fragments of erasure-coded backup ranges)
+    // Set before and read after the recovery writer thread runs
+    private HashMap<Long, byte[]> m_collectedChunks;
 
     /**
      * Constructor
@@ -64,9 +70,14 @@ public class ChunkBackupComponent extends AbstractDXRAMComponent<ChunkBackupComp
      *         the ChunkIDs of the Chunks to replicate arranged in ranges
      * @param p_rangeID
      *         the RangeID
+     * @param p_erasureCoding
+     *         the erasure coding if the backup range is erasure-coded, null otherwise
+     * @param p_fragmentIndex
+     *         the index of the fragments to send (erasure coding, only)
      * @return the number of replicated Chunks
      */
-    public int replicateBackupRange(final short p_backupPeer, final long[] p_chunkIDRanges, final short p_rangeID) {
+    public int replicateBackupRange(final short p_backupPeer, final long[] p_chunkIDRanges, final short p_rangeID,
+            final ErasureCoding p_erasureCoding, final int p_fragmentIndex) {
         int numberOfChunks = 0;
 
         for (int i = 0; i < p_chunkIDRanges.length; i += 2) {
@@ -79,7 +90,7 @@ public class ChunkBackupComponent extends AbstractDXRAMComponent<ChunkBackupComp
             numberOfChunks += p_chunkIDRanges[i + 1] - p_chunkIDRanges[i] + 1;
         }
 
-        return replicateBackupRange(p_backupPeer, p_chunkIDRanges, numberOfChunks, p_rangeID);
+        return replicateBackupRange(p_backupPeer, p_chunkIDRanges, numberOfChunks, p_rangeID, p_erasureCoding, p_fragmentIndex);
     }
 
     /**
@@ -93,9 +104,14 @@ public class ChunkBackupComponent extends AbstractDXRAMComponent<ChunkBackupComp
      *         the number of Chunks
      * @param p_rangeID
      *         the RangeID
+     * @param p_erasureCoding
+     *         the erasure coding if the backup range is erasure-coded, null otherwise
+     * @param p_fragmentIndex
+     *         the index of the fragments to send (erasure coding, only)
      * @return the number of replicated Chunks
      */
-    public int replicateBackupRange(final short p_backupPeer, final long[] p_chunkIDRanges, final int p_numberOfChunks, final short p_rangeID) {
+    public int replicateBackupRange(final short p_backupPeer, final long[] p_chunkIDRanges, final int p_numberOfChunks, final short p_rangeID,
+            final ErasureCoding p_erasureCoding, final int p_fragmentIndex) {
         int counter = 0;
         int allCounter = 0;
 
@@ -119,6 +135,43 @@ public class ChunkBackupComponent extends AbstractDXRAMComponent<ChunkBackupComp
         m_memoryManager.lockAccess();
         for (int i = 0; i < p_chunkIDRanges.length; i += 2) {
             for (long currentChunkID = p_chunkIDRanges[i]; currentChunkID <= p_chunkIDRanges[i + 1]; currentChunkID++) {
+                if (p_erasureCoding != null) {
+                    // Erasure-coded backup range -> send the backup peer's fragment, only
+                    byte[] data = m_memoryManager.get(currentChunkID);
+                    if (data == null) {
+                        // #if LOGGER == ERROR
+                        LOGGER.error("Could not replicate 0x%X", currentChunkID);
+                        // #endif /* LOGGER == ERROR */
+                        continue;
+                    }
+
+                    byte[] fragment = p_erasureCoding.encodeFragment(data, p_fragmentIndex);
+                    if (fragment == null) {
+                        // Small chunk which is replicated to other backup peers, only
+                        continue;
+                    }
+
+                    if (chunkBuffer.remaining() < Long.BYTES + Integer.BYTES + fragment.length) {
+                        // Fragment does not fit in current buffer -> send buffer
+                        chunkBuffer.flip();
+
+                        try {
+                            m_network.sendMessage(new LogBufferMessage(p_backupPeer, p_rangeID, counter, chunkBuffer));
+                        } catch (final NetworkException ignore) {
+
+                        }
+                        chunkBuffer.clear();
+                        allCounter += counter;
+                        counter = 0;
+                    }
+
+                    chunkBuffer.putLong(currentChunkID);
+                    chunkBuffer.putInt(fragment.length);
+                    chunkBuffer.put(fragment);
+                    counter++;
+                    continue;
+                }
+
                 // Store payload behind ChunkID and size
                 int bytes = m_memoryManager.get(currentChunkID, chunkArray, chunkBuffer.position() + Long.BYTES + Integer.BYTES, chunkArray.length);
                 if (bytes == 0) {
@@ -171,6 +224,26 @@ public class ChunkBackupComponent extends AbstractDXRAMComponent<ChunkBackupComp
         return thread;
     }
 
+    /**
+     * Collect all chunks of the next recovery instead of storing them in local memory. Used to gather the fragments of
+     * erasure-coded backup ranges.
+     */
+    public void startCollectingRecoveredChunks() {
+        m_collectedChunks = new HashMap<Long, byte[]>();
+    }
+
+    /**
+     * Stop collecting recovered chunks
+     *
+     * @return all collected chunks (ChunkID -> data)
+     */
+    public HashMap<Long, byte[]> stopCollectingRecoveredChunks() {
+        HashMap<Long, byte[]> ret = m_collectedChunks;
+        m_collectedChunks = null;
+
+        return ret;
+    }
+
     /**
      * Put recovered chunks into local memory.
      *
@@ -214,6 +287,18 @@ public class ChunkBackupComponent extends AbstractDXRAMComponent<ChunkBackupComp
         int ret;
         int size;
 
+        if (m_collectedChunks != null) {
+            size = 0;
+            for (DataStructure chunk : p_chunks) {
+                byte[] data = ErasureCoding.serialize(chunk);
+                m_collectedChunks.put(chunk.getID(), data);
+                size += data.length;
+            }
+            p_metadata.add(p_chunks.length, size);
+
+            return p_chunks.length;
+        }
+
         m_memoryManager.lockManage();
         size = m_memoryManager.createAndPutRecovered(p_chunks);
         m_memoryManager.unlockManage();
@@ -323,6 +408,11 @@ public class ChunkBackupComponent extends AbstractDXRAMComponent<ChunkBackupComp
                     }
                 }
 
+                if (m_collectedChunks != null) {
+                    collect(entry);
+                    continue;
+                }
+
                 time = System.currentTimeMillis();
                 m_memoryManager.lockManage();
                 m_memoryManager.createAndPutRecovered(entry.m_chunkIDs, entry.m_dataAddress, entry.m_offsets, entry.m_lengths, entry.m_usedEntries);
@@ -330,6 +420,23 @@ public class ChunkBackupComponent extends AbstractDXRAMComponent<ChunkBackupComp
                 m_timeToPut += System.currentTimeMillis() - time;
             }
         }
+
+        /**
+         * Copies all chunks of given entry to the collected chunks
+         *
+         * @param p_entry
+         *         the entry
+         */
+        private void collect(final Entry p_entry) {
+            final long arrayOffset = UnsafeHandler.getInstance().getUnsafe().arrayBaseOffset(byte[].class);
+
+            for (int i = 0; i < p_entry.m_usedEntries; i++) {
+                byte[] data = new byte[p_entry.m_lengths[i]];
+                UnsafeHandler.getInstance().getUnsafe()
+                        .copyMemory(null, p_entry.m_dataAddress + p_entry.m_offsets[i], data, arrayOffset, p_entry.m_lengths[i]);
+                m_collectedChunks.put(p_entry.m_chunkIDs[i], data);
+            }
+        }
     }
 
 }
@@ -16,20 +16,27 @@
 
 package de.hhu.bsinfo.dxram.chunk;
 
+import java.util.Map;
+import java.util.TreeMap;
+
 import de.hhu.bsinfo.dxnet.core.NetworkException;
 import de.hhu.bsinfo.dxram.DXRAMComponentOrder;
 import de.hhu.bsinfo.dxram.backup.BackupComponent;
 import de.hhu.bsinfo.dxram.backup.BackupPeer;
 import de.hhu.bsinfo.dxram.backup.BackupRange;
 import de.hhu.bsinfo.dxram.boot.AbstractBootComponent;
+import de.hhu.bsinfo.dxram.chunk.messages.ReuseIDMessage;
 import de.hhu.bsinfo.dxram.data.ChunkID;
 import de.hhu.bsinfo.dxram.data.DataStructure;
 import de.hhu.bsinfo.dxram.engine.AbstractDXRAMComponent;
 import de.hhu.bsinfo.dxram.engine.DXRAMComponentAccessor;
 import de.hhu.bsinfo.dxram.engine.DXRAMContext;
 import de.hhu.bsinfo.dxram.log.messages.LogMessage;
+import de.hhu.bsinfo.dxram.log.messages.RemoveMessage;
+import de.hhu.bsinfo.dxram.lookup.LookupComponent;
 import de.hhu.bsinfo.dxram.mem.MemoryManagerComponent;
 import de.hhu.bsinfo.dxram.net.NetworkComponent;
+import de.hhu.bsinfo.dxram.util.ArrayListLong;
 import de.hhu.bsinfo.dxutils.NodeID;
 
 /**
@@ -41,6 +48,7 @@ public class ChunkComponent extends AbstractDXRAMComponent<ChunkComponentConfig>
     // component dependencies
     private AbstractBootComponent m_boot;
     private BackupComponent m_backup;
+    private LookupComponent m_lookup;
     private MemoryManagerComponent m_memoryManager;
     private NetworkComponent m_network;
 
@@ -106,14 +114,17 @@ public class ChunkComponent extends AbstractDXRAMComponent<ChunkComponentConfig>
             BackupPeer[] backupPeers = backupRange.getBackupPeers();
 
             if (backupPeers != null) {
-                for (BackupPeer peer : backupPeers) {
-                    if (peer != null && peer.getNodeID() != m_boot.getNodeID()) {
+                DataStructure[][] fragments = m_backup.encodeForBackupPeers(p_dataStructure);
+                for (int i = 0; i < backupPeers.length; i++) {
+                    BackupPeer peer = backupPeers[i];
+                    if (peer != null && peer.getNodeID() != m_boot.getNodeID() && (fragments == null || fragments[i].length > 0)) {
                         // #if LOGGER == TRACE
                         LOGGER.trace("Logging 0x%x to %s", p_dataStructure.getID(), NodeID.toHexString(peer.getNodeID()));
                         // #endif /* LOGGER == TRACE */
 
                         try {
-                            m_network.sendMessage(new LogMessage(peer.getNodeID(), backupRange.getRangeID(), p_dataStructure));
+                            m_network.sendMessage(new LogMessage(peer.getNodeID(), backupRange.getRangeID(),
+                                    fragments == null ? new DataStructure[] {p_dataStructure} : fragments[i]));
                         } catch (final NetworkException ignore) {
 
                         }
@@ -125,6 +136,101 @@ public class ChunkComponent extends AbstractDXRAMComponent<ChunkComponentConfig>
         return true;
     }
 
+    /**
+     * Remove chunks stored on this node. Removes the chunks from the superpeer overlay, the memory and the backup
+     * peers and returns the ChunkIDs of migrated chunks to their creators for reuse.
+     *
+     * @param p_chunkIDs
+     *         ChunkIDs of the chunks to remove
+     * @return Number of removed chunks
+     */
+    public int removeLocalChunks(final long[] p_chunkIDs) {
+        int chunksRemoved = 0;
+        int size;
+
+        Map<Long, ArrayListLong> remoteChunksByBackupPeers = new TreeMap<>();
+        Map<Short, ArrayListLong> reuseChunkIDsByPeers = new TreeMap<>();
+
+        // remove chunks from superpeer overlay first, so cannot be found before being deleted
+        m_lookup.removeChunkIDs(ArrayListLong.wrap(p_chunkIDs));
+
+        for (int i = 0; i < p_chunkIDs.length; i++) {
+            if (m_backup.isActive()) {
+                // sort by backup peers
+                long backupPeersAsLong = m_backup.getBackupPeersForLocalChunks(p_chunkIDs[i]);
+                ArrayListLong remoteChunkIDsOfBackupPeers = remoteChunksByBackupPeers.computeIfAbsent(
+                        backupPeersAsLong, k -> new ArrayListLong());
+                remoteChunkIDsOfBackupPeers.add(p_chunkIDs[i]);
+            }
+        }
+
+        // remove chunks first (local)
+        try {
+            m_memoryManager.lockAllocate();
+            for (int i = 0; i < p_chunkIDs.length; i++) {
+                size = m_memoryManager.remove(p_chunkIDs[i], false);
+                if (size == -1) {
+                    // #if LOGGER >= ERROR
+                    LOGGER.warn("Removing chunk 0x%X failed, does not exist", p_chunkIDs[i]);
+                    // #endif /* LOGGER >= ERROR */
+                } else {
+                    chunksRemoved++;
+                    m_backup.deregisterChunk(p_chunkIDs[i], size);
+
+                    if (ChunkID.getCreatorID(p_chunkIDs[i]) != m_boot.getNodeID()) {
+                        // sort by initial owner/creator for chunk ID reuse
+                        ArrayListLong reuseChunkIDsOfPeer = reuseChunkIDsByPeers.computeIfAbsent(
+                                ChunkID.getCreatorID(p_chunkIDs[i]), a -> new ArrayListLong());
+                        reuseChunkIDsOfPeer.add(p_chunkIDs[i]);
+                    }
+                }
+            }
+        } finally {
+            m_memoryManager.unlockAllocate();
+        }
+
+        // send message to initial creator of locally stored but migrated removed chunks to allow re-use of chunk
+        // ID, otherwise chunk ID gets lost here
+        for (final Map.Entry<Short, ArrayListLong> reuseChunkIDs : reuseChunkIDsByPeers.entrySet()) {
+            short peer = reuseChunkIDs.getKey();
+            ArrayListLong chunkIDs = reuseChunkIDs.getValue();
+
+            ReuseIDMessage message = new ReuseIDMessage(peer, chunkIDs);
+
+            try {
+                m_network.sendMessage(message);
+            } catch (final NetworkException e) {
+                // #if LOGGER >= ERROR
+                LOGGER.error("Sending reuse chunk ID message to peer 0x%X failed: %s", peer, e);
+                // #endif /* LOGGER >= ERROR */
+            }
+        }
+
+        // Inform backups
+        if (m_backup.isActive()) {
+            long backupPeersAsLong;
+            BackupPeer[] backupPeers;
+            ArrayListLong ids;
+            for (Map.Entry<Long, ArrayListLong> entry : remoteChunksByBackupPeers.entrySet()) {
+                backupPeersAsLong = entry.getKey();
+                ids = entry.getValue();
+
+                backupPeers = BackupRange.convert(backupPeersAsLong);
+                for (int i = 0; i < backupPeers.length; i++) {
+                    if (backupPeers[i] != null && backupPeers[i].getNodeID() != m_boot.getNodeID()) {
+                        try {
+                            m_network.sendMessage(new RemoveMessage(backupPeers[i].getNodeID(), ids));
+                        } catch (final NetworkException ignore) {
+
+                        }
+                    }
+                }
+            }
+        }
+
+        return chunksRemoved;
+    }
+
     @Override
     protected boolean supportsSuperpeer() {
         return false;
@@ -139,6 +245,7 @@ public class ChunkComponent extends AbstractDXRAMComponent<ChunkComponentConfig>
     protected void resolveComponentDependencies(final DXRAMComponentAccessor p_componentAccessor) {
         m_boot = p_componentAccessor.getComponent(AbstractBootComponent.class);
         m_backup = p_componentAccessor.getComponent(BackupComponent.class);
+        m_lookup = p_componentAccessor.getComponent(LookupComponent.class);
         m_memoryManager = p_componentAccessor.getComponent(MemoryManagerComponent.class);
         m_network = p_componentAccessor.getComponent(NetworkComponent.class);
     }
@@ -16,6 +16,8 @@
 
 package de.hhu.bsinfo.dxram.chunk;
 
+import java.nio.ByteBuffer;
+
 import de.hhu.bsinfo.dxram.boot.AbstractBootComponent;
 import de.hhu.bsinfo.dxram.data.ChunkID;
 import de.hhu.bsinfo.dxram.engine.AbstractDXRAMService;
@@ -231,6 +233,52 @@ public class ChunkMemoryService extends AbstractDXRAMService<ChunkMemoryServiceC
         return ret;
     }
 
+    /**
+     * Read a whole chunk into a buffer. The data is written at the position of the buffer which is advanced
+     * by the chunk size. Direct buffers are filled straight from the key value store without copying the data
+     * to the java heap.
+     *
+     * @param p_chunkID
+     *         Chunk id of the chunk to read.
+     * @param p_buffer
+     *         Buffer to read the chunk into.
+     * @return Number of bytes read, 0 if the remaining buffer is too small, -1 if the chunk does not exist.
+     */
+    public int get(final long p_chunkID, final ByteBuffer p_buffer) {
+        if (ChunkID.getCreatorID(p_chunkID) != m_boot.getNodeID()) {
+            LOGGER.error("Cannot read data from non local chunk %s", ChunkID.toHexString(p_chunkID));
+            return -1;
+        }
+
+        m_memoryManager.lockAccess();
+        int ret = m_memoryManager.get(p_chunkID, p_buffer);
+        m_memoryManager.unlockAccess();
+        return ret;
+    }
+
+    /**
+     * Write the remaining data of a buffer to a chunk. The position of the buffer is advanced by the number
+     * of bytes written. Direct buffers are written straight to the key value store without copying the data
+     * to the java heap.
+     *
+     * @param p_chunkID
+     *         Chunk id of the chunk to write.
+     * @param p_buffer
+     *         Buffer with the data to write.
+     * @return True if writing chunk was successful, false otherwise.
+     */
+    public boolean put(final long p_chunkID, final ByteBuffer p_buffer) {
+        if (ChunkID.getCreatorID(p_chunkID) != m_boot.getNodeID()) {
+            LOGGER.error("Cannot write data to non local chunk %s", ChunkID.toHexString(p_chunkID));
+            return false;
+        }
+
+        m_memoryManager.lockAccess();
+        boolean ret = m_memoryManager.put(p_chunkID, p_buffer);
+        m_memoryManager.unlockAccess();
+        return ret;
+    }
+
     @Override
     protected boolean supportsSuperpeer() {
         return false;
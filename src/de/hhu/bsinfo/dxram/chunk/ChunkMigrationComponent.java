@@ -24,6 +24,7 @@ import de.hhu.bsinfo.dxram.backup.BackupComponent;
 import de.hhu.bsinfo.dxram.backup.BackupPeer;
 import de.hhu.bsinfo.dxram.backup.BackupRange;
 import de.hhu.bsinfo.dxram.data.DSByteArray;
+import de.hhu.bsinfo.dxram.data.DataStructure;
 import de.hhu.bsinfo.dxram.engine.AbstractDXRAMComponent;
 import de.hhu.bsinfo.dxram.engine.DXRAMComponentAccessor;
 import de.hhu.bsinfo.dxram.engine.DXRAMContext;
@@ -159,10 +160,14 @@ public class ChunkMigrationComponent extends AbstractDXRAMComponent<ChunkMigrati
                 rangeID = backupRange.getRangeID();
             }
 
-            for (BackupPeer backupPeer : backupPeers) {
-                if (backupPeer != null) {
+            DSByteArray chunk = new DSByteArray(p_chunkIDs[i], p_data[i]);
+            DataStructure[][] fragments = m_backup.encodeForBackupPeers(chunk);
+            for (int j = 0; j < backupPeers.length; j++) {
+                BackupPeer backupPeer = backupPeers[j];
+                if (backupPeer != null && (fragments == null || fragments[j].length > 0)) {
                     try {
-                        m_network.sendMessage(new LogMessage(backupPeer.getNodeID(), rangeID, new DSByteArray(p_chunkIDs[i], p_data[i])));
+                        m_network.sendMessage(
+                                new LogMessage(backupPeer.getNodeID(), rangeID, fragments == null ? new DataStructure[] {chunk} : fragments[j]));
                     } catch (final NetworkException ignore) {
 
                     }
@@ -16,6 +16,8 @@ import de.hhu.bsinfo.dxram.backup.BackupRange;
 import de.hhu.bsinfo.dxram.boot.AbstractBootComponent;
 import de.hhu.bsinfo.dxram.chunk.messages.ChunkMessages;
 import de.hhu.bsinfo.dxram.chunk.messages.RemoveMessage;
+import de.hhu.bsinfo.dxram.chunk.messages.RemoveRequest;
+import de.hhu.bsinfo.dxram.chunk.messages.RemoveResponse;
 import de.hhu.bsinfo.dxram.chunk.messages.ReuseIDMessage;
 import de.hhu.bsinfo.dxram.data.ChunkID;
 import de.hhu.bsinfo.dxram.data.DataStructure;
@@ -53,6 +55,7 @@ public class ChunkRemoveService extends AbstractDXRAMService<ChunkRemoveServiceC
     // component dependencies
     private AbstractBootComponent m_boot;
     private BackupComponent m_backup;
+    private ChunkComponent m_chunk;
     private MemoryManagerComponent m_memoryManager;
     private NetworkComponent m_network;
     private LookupComponent m_lookup;
@@ -167,7 +170,7 @@ public class ChunkRemoveService extends AbstractDXRAMService<ChunkRemoveServiceC
 
         try {
             // remove local chunkIDs
-            m_memoryManager.lockManage();
+            m_memoryManager.lockAllocate();
             for (int i = 0; i < localChunks.getSize(); i++) {
                 size = m_memoryManager.remove(localChunks.get(i), false);
                 if (size > 0) {
@@ -180,7 +183,7 @@ public class ChunkRemoveService extends AbstractDXRAMService<ChunkRemoveServiceC
                 }
             }
         } finally {
-            m_memoryManager.unlockManage();
+            m_memoryManager.unlockAllocate();
         }
 
         // send message to initial creator of locally stored but migrated removed chunks to allow re-use of chunk ID,
@@ -211,7 +214,7 @@ public class ChunkRemoveService extends AbstractDXRAMService<ChunkRemoveServiceC
                 m_lookup.removeChunkIDs(remoteChunks);
 
                 try {
-                    m_memoryManager.lockManage();
+                    m_memoryManager.lockAllocate();
                     for (int i = 0; i < remoteChunks.getSize(); i++) {
                         size = m_memoryManager.remove(localChunks.get(i), false);
                         if (size > 0) {
@@ -224,7 +227,7 @@ public class ChunkRemoveService extends AbstractDXRAMService<ChunkRemoveServiceC
                         }
                     }
                 } finally {
-                    m_memoryManager.unlockManage();
+                    m_memoryManager.unlockAllocate();
                 }
             } else {
                 // Remote remove from specified peer
@@ -288,6 +291,9 @@ public class ChunkRemoveService extends AbstractDXRAMService<ChunkRemoveServiceC
                     case ChunkMessages.SUBTYPE_REMOVE_MESSAGE:
                         incomingRemoveMessage((RemoveMessage) p_message);
                         break;
+                    case ChunkMessages.SUBTYPE_REMOVE_REQUEST:
+                        incomingRemoveMessage((RemoveRequest) p_message);
+                        break;
                     case ChunkMessages.SUBTYPE_REUSE_ID_MESSAGE:
                         incomingReuseIDMessage((ReuseIDMessage) p_message);
                         break;
@@ -316,6 +322,7 @@ public class ChunkRemoveService extends AbstractDXRAMService<ChunkRemoveServiceC
     protected void resolveComponentDependencies(final DXRAMComponentAccessor p_componentAccessor) {
         m_boot = p_componentAccessor.getComponent(AbstractBootComponent.class);
         m_backup = p_componentAccessor.getComponent(BackupComponent.class);
+        m_chunk = p_componentAccessor.getComponent(ChunkComponent.class);
         m_memoryManager = p_componentAccessor.getComponent(MemoryManagerComponent.class);
         m_network = p_componentAccessor.getComponent(NetworkComponent.class);
         m_lookup = p_componentAccessor.getComponent(LookupComponent.class);
@@ -330,8 +337,13 @@ public class ChunkRemoveService extends AbstractDXRAMService<ChunkRemoveServiceC
                 RemoveMessage.class);
         m_network.registerMessageType(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_REUSE_ID_MESSAGE,
                 ReuseIDMessage.class);
+        m_network.registerMessageType(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_REMOVE_REQUEST,
+                RemoveRequest.class);
+        m_network.registerMessageType(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_REMOVE_RESPONSE,
+                RemoveResponse.class);
 
         m_network.register(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_REMOVE_MESSAGE, this);
+        m_network.register(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_REMOVE_REQUEST, this);
         m_network.register(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_REUSE_ID_MESSAGE, this);
 
         return true;
@@ -346,13 +358,13 @@ public class ChunkRemoveService extends AbstractDXRAMService<ChunkRemoveServiceC
     }
 
     /**
-     * Handles an incoming RemoveMessage
+     * Handles an incoming RemoveMessage or RemoveRequest
      *
      * @param p_message
-     *         the RemoveMessage
+     *         the RemoveMessage or RemoveRequest
      */
-    private void incomingRemoveMessage(final RemoveMessage p_message) {
-        while (!m_remover.push(p_message.getChunkIDs())) {
+    private void incomingRemoveMessage(final Message p_message) {
+        while (!m_remover.push(p_message)) {
             // #if LOGGER == WARN
             LOGGER.warn("Remover queue full, delaying remove and retry...");
             // #endif /* LOGGER == WARN */
@@ -373,13 +385,13 @@ public class ChunkRemoveService extends AbstractDXRAMService<ChunkRemoveServiceC
      */
     private void incomingReuseIDMessage(final ReuseIDMessage p_message) {
         try {
-            m_memoryManager.lockAccess();
+            m_memoryManager.lockAllocate();
 
             for (long chunkID : p_message.getChunkIDs()) {
                 m_memoryManager.prepareChunkIDForReuse(chunkID);
             }
         } finally {
-            m_memoryManager.unlockAccess();
+            m_memoryManager.unlockAllocate();
         }
     }
 
@@ -389,7 +401,8 @@ public class ChunkRemoveService extends AbstractDXRAMService<ChunkRemoveServiceC
     private class ChunkRemover extends Thread {
         private int m_queueMaxSize;
         private volatile boolean m_run = true;
-        private ArrayDeque<long[]> m_queue = new ArrayDeque<>();
+        // RemoveMessages and RemoveRequests
+        private ArrayDeque<Message> m_queue = new ArrayDeque<>();
         private ReentrantLock m_lock = new ReentrantLock(false);
         private ReentrantLock m_condLock = new ReentrantLock(false);
         private Condition m_cond;
@@ -422,13 +435,13 @@ public class ChunkRemoveService extends AbstractDXRAMService<ChunkRemoveServiceC
         }
 
         /**
-         * Push one or multiple chunk IDs to the queue to schedule remove jobs
+         * Push a RemoveMessage or RemoveRequest to the queue to schedule remove jobs
          *
-         * @param p_chunkIds
-         *         Chunk IDs to remove
+         * @param p_message
+         *         RemoveMessage or RemoveRequest with the chunk IDs to remove
          * @return True if pushing to queue successful, false if not enough space in queue to add all IDs
          */
-        public boolean push(final long[] p_chunkIds) {
+        public boolean push(final Message p_message) {
             boolean ret;
 
             m_lock.lock();
@@ -438,7 +451,7 @@ public class ChunkRemoveService extends AbstractDXRAMService<ChunkRemoveServiceC
                 return false;
             }
 
-            ret = m_queue.offer(p_chunkIds);
+            ret = m_queue.offer(p_message);
             m_lock.unlock();
 
             m_condLock.lock();
@@ -461,7 +474,7 @@ public class ChunkRemoveService extends AbstractDXRAMService<ChunkRemoveServiceC
 
                 m_lock.lock();
 
-                long[] elem;
+                Message elem;
                 while (true) {
                     elem = m_queue.poll();
 
@@ -469,7 +482,21 @@ public class ChunkRemoveService extends AbstractDXRAMService<ChunkRemoveServiceC
                         break;
                     }
 
-                    remove(elem);
+                    if (elem instanceof RemoveRequest) {
+                        RemoveRequest request = (RemoveRequest) elem;
+                        int chunksRemoved = remove(request.getChunkIDs());
+
+                        try {
+                            m_network.sendMessage(new RemoveResponse(request, chunksRemoved));
+                        } catch (final NetworkException e) {
+                            // #if LOGGER >= ERROR
+                            LOGGER.error("Sending chunk remove response to peer 0x%X failed: %s", request.getSource(),
+                                    e);
+                            // #endif /* LOGGER >= ERROR */
+                        }
+                    } else {
+                        remove(((RemoveMessage) elem).getChunkIDs());
+                    }
                 }
 
                 m_lock.unlock();
@@ -481,98 +508,23 @@ public class ChunkRemoveService extends AbstractDXRAMService<ChunkRemoveServiceC
          *
          * @param p_chunkIDs
          *         Chunk IDs of the chunks to remove
+         * @return Number of removed chunks
          */
-        private void remove(final long[] p_chunkIDs) {
-            int size;
+        private int remove(final long[] p_chunkIDs) {
+            int chunksRemoved;
 
             // #ifdef STATISTICS
             SOP_INCOMING_REMOVE.add(p_chunkIDs.length);
             SOP_INCOMING_REMOVE_TIME.start();
             // #endif /* STATISTICS */
 
-            Map<Long, ArrayListLong> remoteChunksByBackupPeers = new TreeMap<>();
-            Map<Short, ArrayListLong> reuseChunkIDsByPeers = new TreeMap<>();
-
-            // remove chunks from superpeer overlay first, so cannot be found before being deleted
-            m_lookup.removeChunkIDs(ArrayListLong.wrap(p_chunkIDs));
-
-            for (int i = 0; i < p_chunkIDs.length; i++) {
-                if (m_backup.isActive()) {
-                    // sort by backup peers
-                    long backupPeersAsLong = m_backup.getBackupPeersForLocalChunks(p_chunkIDs[i]);
-                    ArrayListLong remoteChunkIDsOfBackupPeers = remoteChunksByBackupPeers.computeIfAbsent(
-                            backupPeersAsLong, k -> new ArrayListLong());
-                    remoteChunkIDsOfBackupPeers.add(p_chunkIDs[i]);
-                }
-            }
-
-            // remove chunks first (local)
-            try {
-                m_memoryManager.lockManage();
-                for (int i = 0; i < p_chunkIDs.length; i++) {
-                    size = m_memoryManager.remove(p_chunkIDs[i], false);
-                    if (size == -1) {
-                        // #if LOGGER >= ERROR
-                        LOGGER.warn("Removing chunk 0x%X failed, does not exist", p_chunkIDs[i]);
-                        // #endif /* LOGGER >= ERROR */
-                    } else {
-                        m_backup.deregisterChunk(p_chunkIDs[i], size);
-
-                        if (ChunkID.getCreatorID(p_chunkIDs[i]) != m_boot.getNodeID()) {
-                            // sort by initial owner/creator for chunk ID reuse
-                            ArrayListLong reuseChunkIDsOfPeer = reuseChunkIDsByPeers.computeIfAbsent(
-                                    ChunkID.getCreatorID(p_chunkIDs[i]), a -> new ArrayListLong());
-                            reuseChunkIDsOfPeer.add(p_chunkIDs[i]);
-                        }
-                    }
-                }
-            } finally {
-                m_memoryManager.unlockManage();
-            }
-
-            // send message to initial creator of locally stored but migrated removed chunks to allow re-use of chunk
-            // ID, otherwise chunk ID gets lost here
-            for (final Map.Entry<Short, ArrayListLong> reuseChunkIDs : reuseChunkIDsByPeers.entrySet()) {
-                short peer = reuseChunkIDs.getKey();
-                ArrayListLong chunkIDs = reuseChunkIDs.getValue();
-
-                ReuseIDMessage message = new ReuseIDMessage(peer, chunkIDs);
-
-                try {
-                    m_network.sendMessage(message);
-                } catch (final NetworkException e) {
-                    // #if LOGGER >= ERROR
-                    LOGGER.error("Sending reuse chunk ID message to peer 0x%X failed: %s", peer, e);
-                    // #endif /* LOGGER >= ERROR */
-                }
-            }
-
-            // Inform backups
-            if (m_backup.isActive()) {
-                long backupPeersAsLong;
-                BackupPeer[] backupPeers;
-                ArrayListLong ids;
-                for (Map.Entry<Long, ArrayListLong> entry : remoteChunksByBackupPeers.entrySet()) {
-                    backupPeersAsLong = entry.getKey();
-                    ids = entry.getValue();
-
-                    backupPeers = BackupRange.convert(backupPeersAsLong);
-                    for (int i = 0; i < backupPeers.length; i++) {
-                        if (backupPeers[i] != null && backupPeers[i].getNodeID() != m_boot.getNodeID()) {
-                            try {
-                                m_network.sendMessage(new de.hhu.bsinfo.dxram.log.messages.RemoveMessage(
-                                        backupPeers[i].getNodeID(), ids));
-                            } catch (final NetworkException ignore) {
-
-                            }
-                        }
-                    }
-                }
-            }
+            chunksRemoved = m_chunk.removeLocalChunks(p_chunkIDs);
 
             // #ifdef STATISTICS
             SOP_INCOMING_REMOVE_TIME.stop();
             // #endif /* STATISTICS */
+
+            return chunksRemoved;
         }
     }
 }
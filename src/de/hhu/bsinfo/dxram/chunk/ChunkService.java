@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import de.hhu.bsinfo.dxnet.MessageReceiver;
 import de.hhu.bsinfo.dxnet.core.Message;
@@ -29,6 +30,8 @@ import de.hhu.bsinfo.dxram.backup.BackupComponent;
 import de.hhu.bsinfo.dxram.backup.BackupPeer;
 import de.hhu.bsinfo.dxram.backup.BackupRange;
 import de.hhu.bsinfo.dxram.boot.AbstractBootComponent;
+import de.hhu.bsinfo.dxram.chunk.messages.AtomicRequest;
+import de.hhu.bsinfo.dxram.chunk.messages.AtomicResponse;
 import de.hhu.bsinfo.dxram.chunk.messages.ChunkMessages;
 import de.hhu.bsinfo.dxram.chunk.messages.CreateRequest;
 import de.hhu.bsinfo.dxram.chunk.messages.CreateResponse;
@@ -36,12 +39,18 @@ import de.hhu.bsinfo.dxram.chunk.messages.GetLocalChunkIDRangesRequest;
 import de.hhu.bsinfo.dxram.chunk.messages.GetLocalChunkIDRangesResponse;
 import de.hhu.bsinfo.dxram.chunk.messages.GetMigratedChunkIDRangesRequest;
 import de.hhu.bsinfo.dxram.chunk.messages.GetMigratedChunkIDRangesResponse;
+import de.hhu.bsinfo.dxram.chunk.messages.GetPartRequest;
+import de.hhu.bsinfo.dxram.chunk.messages.GetPartResponse;
 import de.hhu.bsinfo.dxram.chunk.messages.GetRequest;
 import de.hhu.bsinfo.dxram.chunk.messages.GetResponse;
+import de.hhu.bsinfo.dxram.chunk.messages.PutPartRequest;
+import de.hhu.bsinfo.dxram.chunk.messages.PutPartResponse;
 import de.hhu.bsinfo.dxram.chunk.messages.PutRequest;
 import de.hhu.bsinfo.dxram.chunk.messages.PutResponse;
 import de.hhu.bsinfo.dxram.chunk.messages.StatusRequest;
 import de.hhu.bsinfo.dxram.chunk.messages.StatusResponse;
+import de.hhu.bsinfo.dxram.data.ChunkAtomicOperation;
+import de.hhu.bsinfo.dxram.data.ChunkAtomicResult;
 import de.hhu.bsinfo.dxram.data.ChunkID;
 import de.hhu.bsinfo.dxram.data.ChunkIDRanges;
 import de.hhu.bsinfo.dxram.data.ChunkLockOperation;
@@ -85,6 +94,15 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
             Value.Base.B_10);
     private static final ThroughputPool SOP_INCOMING_PUT = new ThroughputPool(ChunkAnonService.class, "IncomingPut",
             Value.Base.B_10);
+    private static final ThroughputPool SOP_GET_PART = new ThroughputPool(ChunkService.class, "GetPart",
+            Value.Base.B_10);
+    private static final ThroughputPool SOP_PUT_PART = new ThroughputPool(ChunkService.class, "PutPart",
+            Value.Base.B_10);
+    private static final ThroughputPool SOP_ATOMIC = new ThroughputPool(ChunkService.class, "Atomic",
+            Value.Base.B_10);
+
+    // number of locks ordering partial updates of chunks and their log messages (power of two)
+    private static final int LOG_LOCK_STRIPES = 256;
 
     static {
         StatisticsManager.get().registerOperation(ChunkService.class, SOP_CREATE);
@@ -94,6 +112,9 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
         StatisticsManager.get().registerOperation(ChunkService.class, SOP_INCOMING_CREATE);
         StatisticsManager.get().registerOperation(ChunkService.class, SOP_INCOMING_GET);
         StatisticsManager.get().registerOperation(ChunkService.class, SOP_INCOMING_PUT);
+        StatisticsManager.get().registerOperation(ChunkService.class, SOP_GET_PART);
+        StatisticsManager.get().registerOperation(ChunkService.class, SOP_PUT_PART);
+        StatisticsManager.get().registerOperation(ChunkService.class, SOP_ATOMIC);
     }
 
     // component dependencies
@@ -104,6 +125,9 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
     private LookupComponent m_lookup;
     private AbstractLockComponent m_lock;
 
+    // serialize partial updates of a chunk with logging the new version to keep the backup peers up to date
+    private ReentrantLock[] m_logLocks;
+
     /**
      * Constructor
      */
@@ -234,14 +258,14 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
         if (p_count == 1) {
             long chunkId;
             try {
-                m_memoryManager.lockManage();
+                m_memoryManager.lockAllocate();
                 chunkId = m_memoryManager.create(p_size);
 
                 // Initialize a new backup range every e.g. 256 MB and inform superpeer
                 // Must be locked together with create call to memory manager
                 m_backup.registerChunk(chunkId, p_size);
             } finally {
-                m_memoryManager.unlockManage();
+                m_memoryManager.unlockAllocate();
             }
 
             if (chunkId != ChunkID.INVALID_ID) {
@@ -249,14 +273,14 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
             }
         } else {
             try {
-                m_memoryManager.lockManage();
+                m_memoryManager.lockAllocate();
                 chunkIDs = m_memoryManager.createMulti(p_size, p_count, p_consecutive);
 
                 // Initialize a new backup range every e.g. 256 MB and inform superpeer
                 // Must be locked together with create call to memory manager
                 m_backup.registerChunks(chunkIDs, p_size);
             } finally {
-                m_memoryManager.unlockManage();
+                m_memoryManager.unlockAllocate();
             }
         }
 
@@ -311,27 +335,27 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
         if (p_dataStructures.length == 1) {
             long chunkID;
             try {
-                m_memoryManager.lockManage();
+                m_memoryManager.lockAllocate();
                 chunkID = m_memoryManager.create(p_dataStructures[0].sizeofObject());
 
                 // Initialize a new backup range every e.g. 256 MB and inform superpeer
                 // Must be locked together with create call to memory manager
                 m_backup.registerChunk(chunkID, p_dataStructures[0].sizeofObject());
             } finally {
-                m_memoryManager.unlockManage();
+                m_memoryManager.unlockAllocate();
             }
 
             p_dataStructures[0].setID(chunkID);
         } else {
             try {
-                m_memoryManager.lockManage();
+                m_memoryManager.lockAllocate();
                 m_memoryManager.createMulti(p_consecutive, p_dataStructures);
 
                 // Initialize a new backup range every e.g. 256 MB and inform superpeer
                 // Must be locked together with create call to memory manager
                 m_backup.registerChunks(p_dataStructures);
             } finally {
-                m_memoryManager.unlockManage();
+                m_memoryManager.unlockAllocate();
             }
         }
 
@@ -383,25 +407,25 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
 
         if (p_sizes.length == 1) {
             try {
-                m_memoryManager.lockManage();
+                m_memoryManager.lockAllocate();
                 chunkIDs[0] = m_memoryManager.create(p_sizes[0]);
 
                 // Initialize a new backup range every e.g. 256 MB and inform superpeer
                 // Must be locked together with create call to memory manager
                 m_backup.registerChunk(chunkIDs[0], p_sizes[0]);
             } finally {
-                m_memoryManager.unlockManage();
+                m_memoryManager.unlockAllocate();
             }
         } else {
             try {
-                m_memoryManager.lockManage();
+                m_memoryManager.lockAllocate();
                 chunkIDs = m_memoryManager.createMultiSizes(p_consecutive, p_sizes);
 
                 // Initialize a new backup range every e.g. 256 MB and inform superpeer
                 // Must be locked together with create call to memory manager
                 m_backup.registerChunks(chunkIDs, p_sizes);
             } finally {
-                m_memoryManager.unlockManage();
+                m_memoryManager.unlockAllocate();
             }
         }
 
@@ -565,22 +589,23 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
 
         Map<Short, ArrayList<DataStructure>> remoteChunksByPeers = new TreeMap<>();
         Map<BackupRange, ArrayList<DataStructure>> remoteChunksByBackupRange = new TreeMap<>();
+        ArrayList<DataStructure> remoteChunks = new ArrayList<>();
 
         // sort by local/remote chunks
         try {
             m_memoryManager.lockAccess();
+
+            // try to put every chunk locally with a single batch, chunks which do not exist locally
+            // are flagged by their state which saves us an additional check
+            totalChunksPut += m_memoryManager.put(p_chunks, p_offset, p_count);
+
             for (int i = 0; i < p_count; i++) {
                 // filter null values
                 if (p_chunks[i + p_offset] == null || p_chunks[i + p_offset].getID() == ChunkID.INVALID_ID) {
                     continue;
                 }
 
-                // try to put every chunk locally, returns false if it does not exist
-                // and saves us an additional check
-                if (m_memoryManager.put(p_chunks[i + p_offset])) {
-                    totalChunksPut++;
-                    p_chunks[i + p_offset].setState(ChunkState.OK);
-
+                if (p_chunks[i + p_offset].getState() == ChunkState.OK) {
                     // unlock chunk as well
                     if (p_chunkUnlockOperation != ChunkLockOperation.NO_LOCK_OPERATION) {
                         boolean writeLock = false;
@@ -598,36 +623,20 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
                         remoteChunksOfBackupRange.add(p_chunks[i + p_offset]);
                     }
                 } else {
-                    // remote or migrated, figure out location and sort by peers
-                    LookupRange location = m_lookup.getLookupRange(p_chunks[i + p_offset].getID());
-                    while (location.getState() == LookupState.DATA_TEMPORARY_UNAVAILABLE) {
-                        try {
-                            Thread.sleep(100);
-                        } catch (final InterruptedException ignore) {
-                        }
-                        location = m_lookup.getLookupRange(p_chunks[i + p_offset].getID());
-                    }
-
-                    if (location.getState() == LookupState.OK) {
-                        // currently undefined because we still have to get it from remote
-                        p_chunks[i + p_offset].setState(ChunkState.UNDEFINED);
-                        short peer = location.getPrimaryPeer();
-
-                        ArrayList<DataStructure> remoteChunksOfPeer =
-                                remoteChunksByPeers.computeIfAbsent(peer, a -> new ArrayList<>());
-                        remoteChunksOfPeer.add(p_chunks[i + p_offset]);
-                    } else if (location.getState() == LookupState.DOES_NOT_EXIST) {
-                        p_chunks[i + p_offset].setState(ChunkState.DOES_NOT_EXIST);
-                    } else if (location.getState() == LookupState.DATA_LOST) {
-                        p_chunks[i + p_offset].setState(ChunkState.DATA_LOST);
-                    }
+                    // remote or migrated, figure out location later
+                    remoteChunks.add(p_chunks[i + p_offset]);
                 }
             }
+
+            sortByPrimaryPeers(remoteChunks, remoteChunksByPeers);
         } finally {
             m_memoryManager.unlockAccess();
         }
 
-        // go for remote chunks
+        // go for remote chunks, send the requests to all peers first and wait for the responses afterwards
+        ArrayList<PutRequest> remotePuts = new ArrayList<>();
+        ArrayList<ArrayList<DataStructure>> remotePutChunks = new ArrayList<>();
+
         for (Entry<Short, ArrayList<DataStructure>> entry : remoteChunksByPeers.entrySet()) {
             short peer = entry.getKey();
 
@@ -645,71 +654,41 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
                     m_memoryManager.unlockAccess();
                 }
             } else {
-                // Remote put
-                ArrayList<DataStructure> chunksToPut = entry.getValue();
-                PutRequest request = new PutRequest(peer, p_chunkUnlockOperation,
-                        chunksToPut.toArray(new DataStructure[chunksToPut.size()]));
-
-                try {
-                    m_network.sendSync(request);
-                } catch (final NetworkException e) {
-                    if (m_backup.isActive()) {
-                        for (DataStructure ds : chunksToPut) {
-                            ds.setState(ChunkState.DATA_TEMPORARY_UNAVAILABLE);
-                            m_lookup.invalidate(ds.getID());
-                        }
-                    } else {
-                        for (DataStructure ds : chunksToPut) {
-                            ds.setState(ChunkState.DATA_LOST);
-                            m_lookup.invalidate(ds.getID());
-                        }
-                    }
-                    continue;
-                }
-
-                PutResponse response = request.getResponse(PutResponse.class);
-
-                byte[] statusCodes = response.getStatusCodes();
-
-                // try short cut, i.e. all puts successful
-                if (statusCodes.length == 1 && statusCodes[0] == ChunkState.OK.ordinal()) {
-                    totalChunksPut += chunksToPut.size();
-
-                    for (DataStructure ds : chunksToPut) {
-                        ds.setState(ChunkState.OK);
-                    }
-                } else {
-                    for (int i = 0; i < statusCodes.length; i++) {
-                        chunksToPut.get(i).setState(ChunkState.values()[statusCodes[i]]);
-                        if (statusCodes[i] == ChunkState.OK.ordinal()) {
-                            totalChunksPut++;
-                        } else {
-                            m_lookup.invalidateRange(chunksToPut.get(i).getID());
-                        }
-                    }
+                PutRequest request = sendPutRequest(peer, p_chunkUnlockOperation, entry.getValue());
+                if (request != null) {
+                    remotePuts.add(request);
+                    remotePutChunks.add(entry.getValue());
                 }
             }
         }
 
+        for (int i = 0; i < remotePuts.size(); i++) {
+            totalChunksPut += handlePutResponse(remotePuts.get(i), remotePutChunks.get(i));
+        }
+
         // Send backups
         if (m_backup.isActive()) {
             BackupRange backupRange;
             BackupPeer[] backupPeers;
             DataStructure[] dataStructures;
+            DataStructure[][] fragments;
             for (Entry<BackupRange, ArrayList<DataStructure>> entry : remoteChunksByBackupRange.entrySet()) {
                 backupRange = entry.getKey();
                 dataStructures = entry.getValue().toArray(new DataStructure[entry.getValue().size()]);
+                // Erasure coding: every backup peer gets its own fragments
+                fragments = m_backup.encodeForBackupPeers(dataStructures);
 
                 backupPeers = backupRange.getBackupPeers();
-                for (BackupPeer backupPeer : backupPeers) {
-                    if (backupPeer != null) {
+                for (int i = 0; i < backupPeers.length; i++) {
+                    BackupPeer backupPeer = backupPeers[i];
+                    if (backupPeer != null && (fragments == null || fragments[i].length > 0)) {
                         // #if LOGGER == TRACE
                         LOGGER.trace("Logging %d chunks to 0x%X", dataStructures.length, backupPeer.getNodeID());
                         // #endif /* LOGGER == TRACE */
 
                         try {
                             m_network.sendMessage(new LogMessage(backupPeer.getNodeID(), backupRange.getRangeID(),
-                                    dataStructures));
+                                    fragments == null ? dataStructures : fragments[i]));
                         } catch (final NetworkException ignore) {
 
                         }
@@ -767,63 +746,44 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
 
         // sort by local and remote data first
         Map<Short, ArrayList<DataStructure>> remoteChunksByPeers = new TreeMap<>();
+        ArrayList<DataStructure> remoteChunks = new ArrayList<>();
 
         try {
             m_memoryManager.lockAccess();
+
+            // try to get locally with a single batch, will check first if they exist
+            totalChunksGot += m_memoryManager.get(p_chunks, p_offset, p_count);
+
             for (int i = 0; i < p_count; i++) {
-                // filter null values
-                if (p_chunks[i + p_offset] == null) {
+                // filter null values and invalid IDs (state set by memory manager)
+                if (p_chunks[i + p_offset] == null || p_chunks[i + p_offset].getID() == ChunkID.INVALID_ID) {
                     continue;
                 }
 
-                if (p_chunks[i + p_offset].getID() == ChunkID.INVALID_ID) {
-                    p_chunks[i + p_offset].setState(ChunkState.INVALID_ID);
-                }
-
-                // try to get locally, will check first if it exists
-                if (m_memoryManager.get(p_chunks[i + p_offset])) {
-                    totalChunksGot++;
-                    p_chunks[i + p_offset].setState(ChunkState.OK);
-                } else {
-                    // remote or migrated, figure out location and sort by peers
-                    LookupRange location = m_lookup.getLookupRange(p_chunks[i + p_offset].getID());
-                    while (location.getState() == LookupState.DATA_TEMPORARY_UNAVAILABLE) {
-                        try {
-                            Thread.sleep(100);
-                        } catch (final InterruptedException ignore) {
-                        }
-                        location = m_lookup.getLookupRange(p_chunks[i + p_offset].getID());
-                    }
-
-                    if (location.getState() == LookupState.OK) {
-                        // currently undefined because we still have to get it from remote
-                        p_chunks[i + p_offset].setState(ChunkState.UNDEFINED);
-                        short peer = location.getPrimaryPeer();
-
-                        ArrayList<DataStructure> remoteChunksOfPeer =
-                                remoteChunksByPeers.computeIfAbsent(peer, a -> new ArrayList<>());
-                        remoteChunksOfPeer.add(p_chunks[i + p_offset]);
-                    } else if (location.getState() == LookupState.DOES_NOT_EXIST) {
-                        p_chunks[i + p_offset].setState(ChunkState.DOES_NOT_EXIST);
-                    } else if (location.getState() == LookupState.DATA_LOST) {
-                        p_chunks[i + p_offset].setState(ChunkState.DATA_LOST);
-                    }
+                if (p_chunks[i + p_offset].getState() != ChunkState.OK) {
+                    // remote or migrated, figure out location later
+                    remoteChunks.add(p_chunks[i + p_offset]);
                 }
             }
+
+            sortByPrimaryPeers(remoteChunks, remoteChunksByPeers);
         } finally {
             m_memoryManager.unlockAccess();
         }
 
-        // go for remote ones by each peer
+        // go for remote ones by each peer, send the requests to all peers first and wait for the responses afterwards
+        ArrayList<GetRequest> remoteGets = new ArrayList<>();
+        ArrayList<ArrayList<DataStructure>> remoteGetChunks = new ArrayList<>();
+
         for (final Entry<Short, ArrayList<DataStructure>> peerWithChunks : remoteChunksByPeers.entrySet()) {
             short peer = peerWithChunks.getKey();
-            ArrayList<DataStructure> remoteChunks = peerWithChunks.getValue();
+            ArrayList<DataStructure> chunksOfPeer = peerWithChunks.getValue();
 
             if (peer == m_boot.getNodeID()) {
                 // local get, migrated data to current node
                 try {
                     m_memoryManager.lockAccess();
-                    for (DataStructure chunk : remoteChunks) {
+                    for (DataStructure chunk : chunksOfPeer) {
                         if (m_memoryManager.get(chunk)) {
                             totalChunksGot++;
                             chunk.setState(ChunkState.OK);
@@ -835,50 +795,285 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
                     m_memoryManager.unlockAccess();
                 }
             } else {
-                // Remote get from specified peer
-                GetRequest request = new GetRequest(peer, remoteChunks.toArray(new DataStructure[remoteChunks.size()]));
+                GetRequest request = sendGetRequest(peer, chunksOfPeer);
+                if (request != null) {
+                    remoteGets.add(request);
+                    remoteGetChunks.add(chunksOfPeer);
+                }
+            }
+        }
+
+        for (int i = 0; i < remoteGets.size(); i++) {
+            totalChunksGot += handleGetResponse(remoteGets.get(i), remoteGetChunks.get(i));
+        }
+
+        // #ifdef STATISTICS
+        SOP_GET.stop();
+        // #endif /* STATISTICS */
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("get[dataStructures(%d) ...] -> %d", p_chunks.length, totalChunksGot);
+        // #endif /* LOGGER == TRACE */
+
+        return totalChunksGot;
+    }
+
+    /**
+     * Get/Read a part (offset and length) of a chunk. If the chunk is stored on a remote peer, only the requested
+     * part is transferred.
+     *
+     * @param p_chunkID
+     *         ID of the chunk to read from.
+     * @param p_offset
+     *         Offset within the chunk to start reading at.
+     * @param p_buffer
+     *         Buffer to read the data into.
+     * @param p_bufferOffset
+     *         Offset within the buffer.
+     * @param p_length
+     *         Number of bytes to read.
+     * @return OK on success, INVALID_RANGE if the part exceeds the chunk, otherwise the error state of the chunk
+     */
+    public ChunkState getPart(final long p_chunkID, final int p_offset, final byte[] p_buffer,
+            final int p_bufferOffset, final int p_length) {
+        ChunkState state;
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("getPart[chunkID %s, offset %d, length %d]", ChunkID.toHexString(p_chunkID), p_offset,
+                p_length);
+        // #endif /* LOGGER == TRACE */
+
+        if (p_chunkID == ChunkID.INVALID_ID) {
+            return ChunkState.INVALID_ID;
+        }
+
+        // #ifdef STATISTICS
+        SOP_GET_PART.start(1);
+        // #endif /* STATISTICS */
+
+        try {
+            m_memoryManager.lockAccess();
+            state = m_memoryManager.getPart(p_chunkID, p_offset, p_buffer, p_bufferOffset, p_length);
+        } finally {
+            m_memoryManager.unlockAccess();
+        }
+
+        if (state == ChunkState.DOES_NOT_EXIST) {
+            // remote or migrated, figure out location
+            LookupRange location = getLookupRange(p_chunkID);
+
+            if (location.getState() != LookupState.OK) {
+                state = toChunkState(location.getState());
+            } else if (location.getPrimaryPeer() == m_boot.getNodeID()) {
+                // migrated data to current node
+                try {
+                    m_memoryManager.lockAccess();
+                    state = m_memoryManager.getPart(p_chunkID, p_offset, p_buffer, p_bufferOffset, p_length);
+                } finally {
+                    m_memoryManager.unlockAccess();
+                }
+            } else {
+                // the response writes the data to the buffer directly
+                GetPartRequest request = new GetPartRequest(location.getPrimaryPeer(), p_chunkID, p_offset, p_length,
+                        p_buffer, p_bufferOffset);
 
                 try {
                     m_network.sendSync(request);
-                } catch (final NetworkException e) {
-                    if (m_backup.isActive()) {
-                        for (DataStructure chunk : remoteChunks) {
-                            chunk.setState(ChunkState.DATA_TEMPORARY_UNAVAILABLE);
-                            m_lookup.invalidate(chunk.getID());
-                        }
-                    } else {
-                        for (DataStructure chunk : remoteChunks) {
-                            chunk.setState(ChunkState.DATA_LOST);
-                            m_lookup.invalidate(chunk.getID());
-                        }
-                    }
-                    continue;
-                }
 
-                GetResponse response = request.getResponse(GetResponse.class);
-                totalChunksGot += response.getTotalSuccessful();
+                    state = request.getResponse(GetPartResponse.class).getState();
 
-                if (response.getTotalSuccessful() != remoteChunks.size()) {
-                    for (DataStructure chunk : remoteChunks) {
-                        if (chunk.getState() != ChunkState.OK) {
-                            m_lookup.invalidateRange(chunk.getID());
-                        }
+                    if (state != ChunkState.OK && state != ChunkState.INVALID_RANGE) {
+                        m_lookup.invalidateRange(p_chunkID);
                     }
+                } catch (final NetworkException e) {
+                    state = m_backup.isActive() ? ChunkState.DATA_TEMPORARY_UNAVAILABLE : ChunkState.DATA_LOST;
+                    m_lookup.invalidate(p_chunkID);
                 }
-
-                // Chunk data is written directly to the provided data structure on receive
             }
         }
 
         // #ifdef STATISTICS
-        SOP_GET.stop();
+        SOP_GET_PART.stop();
         // #endif /* STATISTICS */
 
+        return state;
+    }
+
+    /**
+     * Put/Update a part (offset and length) of a chunk. If the chunk is stored on a remote peer, only the
+     * modified part is transferred.
+     *
+     * @param p_chunkID
+     *         ID of the chunk to update.
+     * @param p_offset
+     *         Offset within the chunk to start writing at.
+     * @param p_data
+     *         Array with the data to write.
+     * @param p_dataOffset
+     *         Offset within the array.
+     * @param p_length
+     *         Number of bytes to write.
+     * @return OK on success, INVALID_RANGE if the part exceeds the chunk, otherwise the error state of the chunk
+     */
+    public ChunkState putPart(final long p_chunkID, final int p_offset, final byte[] p_data, final int p_dataOffset,
+            final int p_length) {
+        ChunkState state;
+
         // #if LOGGER == TRACE
-        LOGGER.trace("get[dataStructures(%d) ...] -> %d", p_chunks.length, totalChunksGot);
+        LOGGER.trace("putPart[chunkID %s, offset %d, length %d]", ChunkID.toHexString(p_chunkID), p_offset,
+                p_length);
         // #endif /* LOGGER == TRACE */
 
-        return totalChunksGot;
+        if (p_chunkID == ChunkID.INVALID_ID) {
+            return ChunkState.INVALID_ID;
+        }
+
+        // #ifdef STATISTICS
+        SOP_PUT_PART.start(1);
+        // #endif /* STATISTICS */
+
+        state = putPartLocal(p_chunkID, p_offset, p_data, p_dataOffset, p_length);
+
+        if (state == ChunkState.DOES_NOT_EXIST) {
+            // remote or migrated, figure out location
+            LookupRange location = getLookupRange(p_chunkID);
+
+            if (location.getState() != LookupState.OK) {
+                state = toChunkState(location.getState());
+            } else if (location.getPrimaryPeer() == m_boot.getNodeID()) {
+                // migrated data to current node
+                state = putPartLocal(p_chunkID, p_offset, p_data, p_dataOffset, p_length);
+            } else {
+                // the owner logs the update to the backup peers
+                PutPartRequest request = new PutPartRequest(location.getPrimaryPeer(), p_chunkID, p_offset, p_data,
+                        p_dataOffset, p_length);
+
+                try {
+                    m_network.sendSync(request);
+
+                    state = request.getResponse(PutPartResponse.class).getState();
+
+                    if (state != ChunkState.OK && state != ChunkState.INVALID_RANGE) {
+                        m_lookup.invalidateRange(p_chunkID);
+                    }
+                } catch (final NetworkException e) {
+                    state = m_backup.isActive() ? ChunkState.DATA_TEMPORARY_UNAVAILABLE : ChunkState.DATA_LOST;
+                    m_lookup.invalidate(p_chunkID);
+                }
+            }
+        }
+
+        // #ifdef STATISTICS
+        SOP_PUT_PART.stop();
+        // #endif /* STATISTICS */
+
+        return state;
+    }
+
+    /**
+     * Atomically compare and swap a 4 byte field of a chunk. The operation is executed on the node storing the
+     * chunk, no lock is required.
+     *
+     * @param p_chunkID
+     *         ID of the chunk
+     * @param p_offset
+     *         Offset of the field within the chunk
+     * @param p_expected
+     *         Expected value of the field
+     * @param p_newValue
+     *         Value to set if the field has the expected value
+     * @return Result with the value of the field before the operation. The swap succeeded if it equals the
+     * expected value
+     */
+    public ChunkAtomicResult compareAndSwapInt(final long p_chunkID, final int p_offset, final int p_expected,
+            final int p_newValue) {
+        return atomic(p_chunkID, p_offset, Integer.BYTES, ChunkAtomicOperation.COMPARE_AND_SWAP, p_expected,
+                p_newValue);
+    }
+
+    /**
+     * Atomically compare and swap an 8 byte field of a chunk. The operation is executed on the node storing the
+     * chunk, no lock is required.
+     *
+     * @param p_chunkID
+     *         ID of the chunk
+     * @param p_offset
+     *         Offset of the field within the chunk
+     * @param p_expected
+     *         Expected value of the field
+     * @param p_newValue
+     *         Value to set if the field has the expected value
+     * @return Result with the value of the field before the operation. The swap succeeded if it equals the
+     * expected value
+     */
+    public ChunkAtomicResult compareAndSwapLong(final long p_chunkID, final int p_offset, final long p_expected,
+            final long p_newValue) {
+        return atomic(p_chunkID, p_offset, Long.BYTES, ChunkAtomicOperation.COMPARE_AND_SWAP, p_expected,
+                p_newValue);
+    }
+
+    /**
+     * Atomically add to a 4 byte field of a chunk. The operation is executed on the node storing the chunk,
+     * no lock is required.
+     *
+     * @param p_chunkID
+     *         ID of the chunk
+     * @param p_offset
+     *         Offset of the field within the chunk
+     * @param p_delta
+     *         Value to add
+     * @return Result with the value of the field before the operation
+     */
+    public ChunkAtomicResult fetchAndAddInt(final long p_chunkID, final int p_offset, final int p_delta) {
+        return atomic(p_chunkID, p_offset, Integer.BYTES, ChunkAtomicOperation.FETCH_AND_ADD, 0, p_delta);
+    }
+
+    /**
+     * Atomically add to an 8 byte field of a chunk. The operation is executed on the node storing the chunk,
+     * no lock is required.
+     *
+     * @param p_chunkID
+     *         ID of the chunk
+     * @param p_offset
+     *         Offset of the field within the chunk
+     * @param p_delta
+     *         Value to add
+     * @return Result with the value of the field before the operation
+     */
+    public ChunkAtomicResult fetchAndAddLong(final long p_chunkID, final int p_offset, final long p_delta) {
+        return atomic(p_chunkID, p_offset, Long.BYTES, ChunkAtomicOperation.FETCH_AND_ADD, 0, p_delta);
+    }
+
+    /**
+     * Atomically set a 4 byte field of a chunk. The operation is executed on the node storing the chunk,
+     * no lock is required.
+     *
+     * @param p_chunkID
+     *         ID of the chunk
+     * @param p_offset
+     *         Offset of the field within the chunk
+     * @param p_newValue
+     *         Value to set
+     * @return Result with the value of the field before the operation
+     */
+    public ChunkAtomicResult getAndSetInt(final long p_chunkID, final int p_offset, final int p_newValue) {
+        return atomic(p_chunkID, p_offset, Integer.BYTES, ChunkAtomicOperation.GET_AND_SET, 0, p_newValue);
+    }
+
+    /**
+     * Atomically set an 8 byte field of a chunk. The operation is executed on the node storing the chunk,
+     * no lock is required.
+     *
+     * @param p_chunkID
+     *         ID of the chunk
+     * @param p_offset
+     *         Offset of the field within the chunk
+     * @param p_newValue
+     *         Value to set
+     * @return Result with the value of the field before the operation
+     */
+    public ChunkAtomicResult getAndSetLong(final long p_chunkID, final int p_offset, final long p_newValue) {
+        return atomic(p_chunkID, p_offset, Long.BYTES, ChunkAtomicOperation.GET_AND_SET, 0, p_newValue);
     }
 
     /**
@@ -926,22 +1121,9 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
 
         try {
             m_memoryManager.lockAccess();
-            for (int i = 0; i < p_count; i++) {
-                // filter null values
-                if (p_chunks[i + p_offset] == null) {
-                    continue;
-                }
 
-                if (p_chunks[i + p_offset].getID() == ChunkID.INVALID_ID) {
-                    p_chunks[i + p_offset].setState(ChunkState.INVALID_ID);
-                }
-
-                // try to get locally, will check first if it exists and
-                // returns false if it doesn't exist
-                if (m_memoryManager.get(p_chunks[i + p_offset])) {
-                    totalChunksGot++;
-                }
-            }
+            // null values are skipped, states of non existing chunks or invalid IDs are set
+            totalChunksGot = m_memoryManager.get(p_chunks, p_offset, p_count);
         } finally {
             m_memoryManager.unlockAccess();
         }
@@ -1058,6 +1240,15 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
                     case ChunkMessages.SUBTYPE_PUT_REQUEST:
                         incomingPutRequest((PutRequest) p_message);
                         break;
+                    case ChunkMessages.SUBTYPE_GET_PART_REQUEST:
+                        incomingGetPartRequest((GetPartRequest) p_message);
+                        break;
+                    case ChunkMessages.SUBTYPE_PUT_PART_REQUEST:
+                        incomingPutPartRequest((PutPartRequest) p_message);
+                        break;
+                    case ChunkMessages.SUBTYPE_ATOMIC_REQUEST:
+                        incomingAtomicRequest((AtomicRequest) p_message);
+                        break;
                     case ChunkMessages.SUBTYPE_CREATE_REQUEST:
                         incomingCreateRequest((CreateRequest) p_message);
                         break;
@@ -1106,6 +1297,11 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
         registerNetworkMessages();
         registerNetworkMessageListener();
 
+        m_logLocks = new ReentrantLock[LOG_LOCK_STRIPES];
+        for (int i = 0; i < LOG_LOCK_STRIPES; i++) {
+            m_logLocks[i] = new ReentrantLock();
+        }
+
         if (m_backup.isActiveAndAvailableForBackup()) {
             if (m_memoryManager.getStatus().getMaxChunkSize().getBytes() > m_backup.getLogSegmentSizeBytes()) {
                 LOGGER.fatal("Backup is active and segment size (%d bytes) of log is smaller than max chunk size " +
@@ -1125,6 +1321,500 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
 
     // -----------------------------------------------------------------------------------
 
+    /**
+     * Send a put request to a remote peer without waiting for the response
+     *
+     * @param p_peer
+     *         Remote peer storing the chunks
+     * @param p_chunkUnlockOperation
+     *         Unlock operation to execute right after the put operation
+     * @param p_chunksToPut
+     *         Chunks to put
+     * @return The sent request or null if sending failed (chunk states are set)
+     */
+    private PutRequest sendPutRequest(final short p_peer, final ChunkLockOperation p_chunkUnlockOperation,
+            final ArrayList<DataStructure> p_chunksToPut) {
+        PutRequest request = new PutRequest(p_peer, p_chunkUnlockOperation,
+                p_chunksToPut.toArray(new DataStructure[p_chunksToPut.size()]));
+
+        try {
+            m_network.sendSync(request, false);
+        } catch (final NetworkException e) {
+            failRemoteChunks(p_chunksToPut);
+
+            return null;
+        }
+
+        return request;
+    }
+
+    /**
+     * Wait for the response of a put request and evaluate it
+     *
+     * @param p_request
+     *         The sent request
+     * @param p_chunksToPut
+     *         Chunks of the request
+     * @return Number of successfully updated chunks
+     */
+    private int handlePutResponse(final PutRequest p_request, final ArrayList<DataStructure> p_chunksToPut) {
+        int totalChunksPut = 0;
+
+        try {
+            m_network.waitForResponse(p_request);
+        } catch (final NetworkException e) {
+            failRemoteChunks(p_chunksToPut);
+
+            return totalChunksPut;
+        }
+
+        PutResponse response = p_request.getResponse(PutResponse.class);
+
+        byte[] statusCodes = response.getStatusCodes();
+
+        // try short cut, i.e. all puts successful
+        if (statusCodes.length == 1 && statusCodes[0] == ChunkState.OK.ordinal()) {
+            totalChunksPut += p_chunksToPut.size();
+
+            for (DataStructure ds : p_chunksToPut) {
+                ds.setState(ChunkState.OK);
+            }
+        } else {
+            for (int i = 0; i < statusCodes.length; i++) {
+                p_chunksToPut.get(i).setState(ChunkState.values()[statusCodes[i]]);
+                if (statusCodes[i] == ChunkState.OK.ordinal()) {
+                    totalChunksPut++;
+                } else {
+                    m_lookup.invalidateRange(p_chunksToPut.get(i).getID());
+                }
+            }
+        }
+
+        return totalChunksPut;
+    }
+
+    /**
+     * Send a get request to a remote peer without waiting for the response
+     *
+     * @param p_peer
+     *         Remote peer storing the chunks
+     * @param p_remoteChunks
+     *         Chunks to read the data into
+     * @return The sent request or null if sending failed (chunk states are set)
+     */
+    private GetRequest sendGetRequest(final short p_peer, final ArrayList<DataStructure> p_remoteChunks) {
+        GetRequest request = new GetRequest(p_peer, p_remoteChunks.toArray(new DataStructure[p_remoteChunks.size()]));
+
+        try {
+            m_network.sendSync(request, false);
+        } catch (final NetworkException e) {
+            failRemoteChunks(p_remoteChunks);
+
+            return null;
+        }
+
+        return request;
+    }
+
+    /**
+     * Wait for the response of a get request and evaluate it
+     *
+     * @param p_request
+     *         The sent request
+     * @param p_remoteChunks
+     *         Chunks of the request
+     * @return Number of successfully read chunks
+     */
+    private int handleGetResponse(final GetRequest p_request, final ArrayList<DataStructure> p_remoteChunks) {
+        try {
+            m_network.waitForResponse(p_request);
+        } catch (final NetworkException e) {
+            failRemoteChunks(p_remoteChunks);
+
+            return 0;
+        }
+
+        GetResponse response = p_request.getResponse(GetResponse.class);
+
+        if (response.getTotalSuccessful() != p_remoteChunks.size()) {
+            for (DataStructure chunk : p_remoteChunks) {
+                if (chunk.getState() != ChunkState.OK) {
+                    m_lookup.invalidateRange(chunk.getID());
+                }
+            }
+        }
+
+        // Chunk data is written directly to the provided data structure on receive
+        return response.getTotalSuccessful();
+    }
+
+    /**
+     * Set the state of chunks whose remote peer could not be reached and invalidate their lookup cache entries
+     *
+     * @param p_chunks
+     *         Chunks of the failed request
+     */
+    private void failRemoteChunks(final ArrayList<DataStructure> p_chunks) {
+        if (m_backup.isActive()) {
+            for (DataStructure chunk : p_chunks) {
+                chunk.setState(ChunkState.DATA_TEMPORARY_UNAVAILABLE);
+                m_lookup.invalidate(chunk.getID());
+            }
+        } else {
+            for (DataStructure chunk : p_chunks) {
+                chunk.setState(ChunkState.DATA_LOST);
+                m_lookup.invalidate(chunk.getID());
+            }
+        }
+    }
+
+    /**
+     * Execute an atomic operation on a field of a chunk. Local chunks are modified directly, for remote chunks
+     * the operation is sent to the owner. Saves the round trips and the lock of a lock, get, put, unlock sequence
+     *
+     * @param p_chunkID
+     *         ID of the chunk
+     * @param p_offset
+     *         Offset of the field within the chunk
+     * @param p_size
+     *         Size of the field (4 or 8 bytes)
+     * @param p_operation
+     *         Operation to execute
+     * @param p_expected
+     *         Expected value for compare and swap
+     * @param p_operand
+     *         Value to set or to add
+     * @return Result of the operation, INVALID_RANGE if the field exceeds the chunk or its size is invalid
+     */
+    private ChunkAtomicResult atomic(final long p_chunkID, final int p_offset, final int p_size,
+            final ChunkAtomicOperation p_operation, final long p_expected, final long p_operand) {
+        ChunkAtomicResult result;
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("atomic[chunkID %s, offset %d, size %d, operation %s]", ChunkID.toHexString(p_chunkID),
+                p_offset, p_size, p_operation);
+        // #endif /* LOGGER == TRACE */
+
+        if (p_chunkID == ChunkID.INVALID_ID) {
+            return new ChunkAtomicResult(ChunkState.INVALID_ID, 0);
+        }
+
+        // #ifdef STATISTICS
+        SOP_ATOMIC.start(1);
+        // #endif /* STATISTICS */
+
+        result = atomicLocal(p_chunkID, p_offset, p_size, p_operation, p_expected, p_operand);
+
+        if (result.getState() == ChunkState.DOES_NOT_EXIST) {
+            // remote or migrated, figure out location
+            LookupRange location = getLookupRange(p_chunkID);
+
+            if (location.getState() != LookupState.OK) {
+                result = new ChunkAtomicResult(toChunkState(location.getState()), 0);
+            } else if (location.getPrimaryPeer() == m_boot.getNodeID()) {
+                // migrated data to current node
+                result = atomicLocal(p_chunkID, p_offset, p_size, p_operation, p_expected, p_operand);
+            } else {
+                // the owner logs the update to the backup peers
+                AtomicRequest request = new AtomicRequest(location.getPrimaryPeer(), p_chunkID, p_offset, p_size,
+                        p_operation, p_expected, p_operand);
+
+                try {
+                    m_network.sendSync(request);
+
+                    result = request.getResponse(AtomicResponse.class).getResult();
+
+                    if (result.getState() != ChunkState.OK && result.getState() != ChunkState.INVALID_RANGE) {
+                        m_lookup.invalidateRange(p_chunkID);
+                    }
+                } catch (final NetworkException e) {
+                    result = new ChunkAtomicResult(
+                            m_backup.isActive() ? ChunkState.DATA_TEMPORARY_UNAVAILABLE : ChunkState.DATA_LOST, 0);
+                    m_lookup.invalidate(p_chunkID);
+                }
+            }
+        }
+
+        // #ifdef STATISTICS
+        SOP_ATOMIC.stop();
+        // #endif /* STATISTICS */
+
+        return result;
+    }
+
+    /**
+     * Check if an atomic operation modified the chunk and the new version has to be logged
+     *
+     * @param p_result
+     *         Result of the operation
+     * @param p_size
+     *         Size of the field (4 or 8 bytes)
+     * @param p_operation
+     *         Executed operation
+     * @param p_expected
+     *         Expected value for compare and swap
+     * @return True if the chunk was modified
+     */
+    private static boolean isModified(final ChunkAtomicResult p_result, final int p_size,
+            final ChunkAtomicOperation p_operation, final long p_expected) {
+        if (p_result.getState() != ChunkState.OK) {
+            return false;
+        }
+
+        if (p_operation != ChunkAtomicOperation.COMPARE_AND_SWAP) {
+            return true;
+        }
+
+        if (p_size == Integer.BYTES) {
+            return (int) p_result.getPreviousValue() == (int) p_expected;
+        }
+
+        return p_result.getPreviousValue() == p_expected;
+    }
+
+    /**
+     * Resolve the locations of chunks which are not stored locally and sort them by their primary peers. The lookup
+     * ranges of all chunks are requested at once which needs a single request per superpeer on cache misses
+     *
+     * @param p_chunks
+     *         Chunks which are not stored locally
+     * @param p_chunksByPeers
+     *         Map to add the chunks to, sorted by their primary peers
+     */
+    private void sortByPrimaryPeers(final ArrayList<DataStructure> p_chunks,
+            final Map<Short, ArrayList<DataStructure>> p_chunksByPeers) {
+        if (p_chunks.isEmpty()) {
+            return;
+        }
+
+        long[] chunkIDs = new long[p_chunks.size()];
+
+        for (int i = 0; i < chunkIDs.length; i++) {
+            chunkIDs[i] = p_chunks.get(i).getID();
+        }
+
+        LookupRange[] locations = m_lookup.getLookupRanges(chunkIDs);
+
+        for (int i = 0; i < chunkIDs.length; i++) {
+            DataStructure chunk = p_chunks.get(i);
+            LookupRange location = locations[i];
+
+            if (location == null || location.getState() == LookupState.DATA_TEMPORARY_UNAVAILABLE) {
+                // retry this one, only
+                location = getLookupRange(chunkIDs[i]);
+            }
+
+            if (location.getState() == LookupState.OK) {
+                // currently undefined because we still have to get it from remote
+                chunk.setState(ChunkState.UNDEFINED);
+
+                ArrayList<DataStructure> remoteChunksOfPeer =
+                        p_chunksByPeers.computeIfAbsent(location.getPrimaryPeer(), a -> new ArrayList<>());
+                remoteChunksOfPeer.add(chunk);
+            } else if (location.getState() == LookupState.DOES_NOT_EXIST) {
+                chunk.setState(ChunkState.DOES_NOT_EXIST);
+            } else if (location.getState() == LookupState.DATA_LOST) {
+                chunk.setState(ChunkState.DATA_LOST);
+            }
+        }
+    }
+
+    /**
+     * Get the location of a chunk which is not stored locally. Waits while the chunk is temporary unavailable
+     *
+     * @param p_chunkID
+     *         ID of the chunk
+     * @return Location of the chunk
+     */
+    private LookupRange getLookupRange(final long p_chunkID) {
+        LookupRange location = m_lookup.getLookupRange(p_chunkID);
+        while (location.getState() == LookupState.DATA_TEMPORARY_UNAVAILABLE) {
+            try {
+                Thread.sleep(100);
+            } catch (final InterruptedException ignore) {
+            }
+            location = m_lookup.getLookupRange(p_chunkID);
+        }
+
+        return location;
+    }
+
+    /**
+     * Convert the state of a failed lookup to the state of the chunk
+     *
+     * @param p_state
+     *         State of the lookup
+     * @return State of the chunk
+     */
+    private static ChunkState toChunkState(final LookupState p_state) {
+        switch (p_state) {
+            case OK:
+                return ChunkState.OK;
+            case DATA_LOST:
+                return ChunkState.DATA_LOST;
+            case DATA_TEMPORARY_UNAVAILABLE:
+                return ChunkState.DATA_TEMPORARY_UNAVAILABLE;
+            default:
+                return ChunkState.DOES_NOT_EXIST;
+        }
+    }
+
+    /**
+     * Update a part of a chunk stored on this peer and log the new version to the backup peers
+     *
+     * @param p_chunkID
+     *         ID of the chunk to update.
+     * @param p_offset
+     *         Offset within the chunk to start writing at.
+     * @param p_data
+     *         Array with the data to write.
+     * @param p_dataOffset
+     *         Offset within the array.
+     * @param p_length
+     *         Number of bytes to write.
+     * @return State of the chunk, DOES_NOT_EXIST if it is not stored here
+     */
+    private ChunkState putPartLocal(final long p_chunkID, final int p_offset, final byte[] p_data,
+            final int p_dataOffset, final int p_length) {
+        ChunkState state;
+        ReentrantLock logLock = lockLog(p_chunkID);
+
+        try {
+            try {
+                m_memoryManager.lockAccess();
+                state = m_memoryManager.putPart(p_chunkID, p_offset, p_data, p_dataOffset, p_length);
+            } finally {
+                m_memoryManager.unlockAccess();
+            }
+
+            if (state == ChunkState.OK) {
+                logChunk(p_chunkID);
+            }
+        } finally {
+            unlockLog(logLock);
+        }
+
+        return state;
+    }
+
+    /**
+     * Execute an atomic operation on a chunk stored on this peer and log the new version to the backup peers
+     *
+     * @param p_chunkID
+     *         ID of the chunk
+     * @param p_offset
+     *         Offset of the field within the chunk
+     * @param p_size
+     *         Size of the field (4 or 8 bytes)
+     * @param p_operation
+     *         Operation to execute
+     * @param p_expected
+     *         Expected value for compare and swap
+     * @param p_operand
+     *         Value to set or to add
+     * @return Result of the operation, DOES_NOT_EXIST if the chunk is not stored here
+     */
+    private ChunkAtomicResult atomicLocal(final long p_chunkID, final int p_offset, final int p_size,
+            final ChunkAtomicOperation p_operation, final long p_expected, final long p_operand) {
+        ChunkAtomicResult result;
+        ReentrantLock logLock = lockLog(p_chunkID);
+
+        try {
+            try {
+                m_memoryManager.lockAccess();
+                result = m_memoryManager.atomic(p_chunkID, p_offset, p_size, p_operation, p_expected, p_operand);
+            } finally {
+                m_memoryManager.unlockAccess();
+            }
+
+            if (isModified(result, p_size, p_operation, p_expected)) {
+                logChunk(p_chunkID);
+            }
+        } finally {
+            unlockLog(logLock);
+        }
+
+        return result;
+    }
+
+    /**
+     * Acquire the log lock of a chunk if backup is active. Partial updates of the same chunk are serialized with
+     * logging the new version. Otherwise, an older version could be logged after a newer one and the backup peers
+     * would keep the older version
+     *
+     * @param p_chunkID
+     *         ID of the chunk to update
+     * @return The acquired lock or null if backup is not active
+     */
+    private ReentrantLock lockLog(final long p_chunkID) {
+        if (!m_backup.isActive()) {
+            return null;
+        }
+
+        int hash = (int) (p_chunkID ^ p_chunkID >>> 32);
+        ReentrantLock lock = m_logLocks[(hash ^ hash >>> 16) & LOG_LOCK_STRIPES - 1];
+        lock.lock();
+
+        return lock;
+    }
+
+    /**
+     * Release a log lock acquired with lockLog
+     *
+     * @param p_lock
+     *         The lock or null
+     */
+    private static void unlockLog(final ReentrantLock p_lock) {
+        if (p_lock != null) {
+            p_lock.unlock();
+        }
+    }
+
+    /**
+     * Log the current version of a local chunk to its backup peers. Used after updating a part of a chunk.
+     * The backup logs store whole chunk versions, only, so the whole chunk is logged. The caller has to hold the
+     * log lock of the chunk to send the versions in the order they were created
+     *
+     * @param p_chunkID
+     *         ID of the local chunk
+     */
+    private void logChunk(final long p_chunkID) {
+        byte[] data;
+
+        if (!m_backup.isActive()) {
+            return;
+        }
+
+        try {
+            m_memoryManager.lockAccess();
+            data = m_memoryManager.get(p_chunkID);
+        } finally {
+            m_memoryManager.unlockAccess();
+        }
+
+        if (data == null) {
+            // removed in the meantime
+            return;
+        }
+
+        BackupRange backupRange = m_backup.getBackupRange(p_chunkID);
+        DataStructure[] dataStructures = {new DSByteArray(p_chunkID, data)};
+        DataStructure[][] fragments = m_backup.encodeForBackupPeers(dataStructures);
+
+        BackupPeer[] backupPeers = backupRange.getBackupPeers();
+        for (int i = 0; i < backupPeers.length; i++) {
+            BackupPeer backupPeer = backupPeers[i];
+            if (backupPeer != null && (fragments == null || fragments[i].length > 0)) {
+                try {
+                    m_network.sendMessage(new LogMessage(backupPeer.getNodeID(), backupRange.getRangeID(),
+                            fragments == null ? dataStructures : fragments[i]));
+                } catch (final NetworkException ignore) {
+
+                }
+            }
+        }
+    }
+
     /**
      * Register network messages we use in here.
      */
@@ -1157,6 +1847,18 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
         m_network.registerMessageType(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE,
                 ChunkMessages.SUBTYPE_GET_MIGRATED_CHUNKID_RANGES_RESPONSE,
                 GetMigratedChunkIDRangesResponse.class);
+        m_network.registerMessageType(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_GET_PART_REQUEST,
+                GetPartRequest.class);
+        m_network.registerMessageType(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_GET_PART_RESPONSE,
+                GetPartResponse.class);
+        m_network.registerMessageType(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_PUT_PART_REQUEST,
+                PutPartRequest.class);
+        m_network.registerMessageType(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_PUT_PART_RESPONSE,
+                PutPartResponse.class);
+        m_network.registerMessageType(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_ATOMIC_REQUEST,
+                AtomicRequest.class);
+        m_network.registerMessageType(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_ATOMIC_RESPONSE,
+                AtomicResponse.class);
     }
 
     /**
@@ -1165,6 +1867,9 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
     private void registerNetworkMessageListener() {
         m_network.register(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_GET_REQUEST, this);
         m_network.register(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_PUT_REQUEST, this);
+        m_network.register(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_GET_PART_REQUEST, this);
+        m_network.register(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_PUT_PART_REQUEST, this);
+        m_network.register(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_ATOMIC_REQUEST, this);
         m_network.register(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_CREATE_REQUEST, this);
         m_network.register(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_STATUS_REQUEST, this);
         m_network.register(DXRAMMessageTypes.CHUNK_MESSAGES_TYPE,
@@ -1192,14 +1897,8 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
 
         try {
             m_memoryManager.lockAccess();
-            for (int i = 0; i < data.length; i++) {
-                // also does exist check
-                data[i] = m_memoryManager.get(chunkIDs[i]);
-
-                if (data[i] != null) {
-                    numChunksGot++;
-                }
-            }
+            // also does exist check
+            numChunksGot = m_memoryManager.get(chunkIDs, data);
         } finally {
             m_memoryManager.unlockAccess();
         }
@@ -1219,6 +1918,87 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
         // #endif /* STATISTICS */
     }
 
+    /**
+     * Handles an incoming GetPartRequest
+     *
+     * @param p_request
+     *         the GetPartRequest
+     */
+    private void incomingGetPartRequest(final GetPartRequest p_request) {
+        ChunkState state;
+        byte[] data = null;
+
+        try {
+            m_memoryManager.lockAccess();
+
+            // check the range before allocating the buffer, the requested length is not trusted
+            int size = m_memoryManager.getSize(p_request.getChunkID());
+
+            if (size < 0) {
+                state = ChunkState.DOES_NOT_EXIST;
+            } else if (p_request.getOffset() < 0 || p_request.getLength() < 0 ||
+                    (long) p_request.getOffset() + p_request.getLength() > size) {
+                state = ChunkState.INVALID_RANGE;
+            } else {
+                data = new byte[p_request.getLength()];
+                state = m_memoryManager.getPart(p_request.getChunkID(), p_request.getOffset(), data, 0,
+                        p_request.getLength());
+            }
+        } finally {
+            m_memoryManager.unlockAccess();
+        }
+
+        if (state != ChunkState.OK) {
+            data = null;
+        }
+
+        try {
+            m_network.sendMessage(new GetPartResponse(p_request, state, data));
+        } catch (final NetworkException e) {
+            // #if LOGGER >= ERROR
+            LOGGER.error("Sending GetPartResponse for chunk 0x%X failed: %s", p_request.getChunkID(), e);
+            // #endif /* LOGGER >= ERROR */
+        }
+    }
+
+    /**
+     * Handles an incoming PutPartRequest
+     *
+     * @param p_request
+     *         the PutPartRequest
+     */
+    private void incomingPutPartRequest(final PutPartRequest p_request) {
+        ChunkState state = putPartLocal(p_request.getChunkID(), p_request.getOffset(), p_request.getData(), 0,
+                p_request.getData().length);
+
+        try {
+            m_network.sendMessage(new PutPartResponse(p_request, state));
+        } catch (final NetworkException e) {
+            // #if LOGGER >= ERROR
+            LOGGER.error("Sending PutPartResponse for chunk 0x%X failed: %s", p_request.getChunkID(), e);
+            // #endif /* LOGGER >= ERROR */
+        }
+    }
+
+    /**
+     * Handles an incoming AtomicRequest
+     *
+     * @param p_request
+     *         the AtomicRequest
+     */
+    private void incomingAtomicRequest(final AtomicRequest p_request) {
+        ChunkAtomicResult result = atomicLocal(p_request.getChunkID(), p_request.getOffset(), p_request.getSize(),
+                p_request.getOperation(), p_request.getExpected(), p_request.getOperand());
+
+        try {
+            m_network.sendMessage(new AtomicResponse(p_request, result));
+        } catch (final NetworkException e) {
+            // #if LOGGER >= ERROR
+            LOGGER.error("Sending AtomicResponse for chunk 0x%X failed: %s", p_request.getChunkID(), e);
+            // #endif /* LOGGER >= ERROR */
+        }
+    }
+
     /**
      * Handles an incoming PutRequest
      *
@@ -1230,7 +2010,8 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
         byte[][] data = p_request.getChunkData();
 
         byte[] statusChunks = new byte[chunkIDs.length];
-        boolean allSuccessful = true;
+        ChunkState[] states = new ChunkState[chunkIDs.length];
+        boolean allSuccessful;
 
         // #ifdef STATISTICS
         SOP_INCOMING_PUT.start(chunkIDs.length);
@@ -1240,16 +2021,11 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
 
         try {
             m_memoryManager.lockAccess();
-            for (int i = 0; i < chunkIDs.length; i++) {
-                if (!m_memoryManager.put(chunkIDs[i], data[i])) {
-                    // does not exist (anymore)
-                    statusChunks[i] = (byte) ChunkState.DOES_NOT_EXIST.ordinal();
+            // chunks which do not exist (anymore) are flagged in the states
+            allSuccessful = m_memoryManager.put(chunkIDs, data, states) == chunkIDs.length;
 
-                    allSuccessful = false;
-                } else {
-                    // put successful
-                    statusChunks[i] = (byte) ChunkState.OK.ordinal();
-                }
+            for (int i = 0; i < chunkIDs.length; i++) {
+                statusChunks[i] = (byte) states[i].ordinal();
 
                 if (m_backup.isActive()) {
                     // sort by backup peers
@@ -1297,20 +2073,24 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
             BackupRange backupRange;
             BackupPeer[] backupPeers;
             DataStructure[] dataStructures;
+            DataStructure[][] fragments;
             for (Entry<BackupRange, ArrayList<DataStructure>> entry : remoteChunksByBackupRange.entrySet()) {
                 backupRange = entry.getKey();
                 dataStructures = entry.getValue().toArray(new DataStructure[entry.getValue().size()]);
+                // Erasure coding: every backup peer gets its own fragments
+                fragments = m_backup.encodeForBackupPeers(dataStructures);
 
                 backupPeers = backupRange.getBackupPeers();
-                for (BackupPeer backupPeer : backupPeers) {
-                    if (backupPeer != null) {
+                for (int i = 0; i < backupPeers.length; i++) {
+                    BackupPeer backupPeer = backupPeers[i];
+                    if (backupPeer != null && (fragments == null || fragments[i].length > 0)) {
                         // #if LOGGER == TRACE
                         LOGGER.trace("Logging %d chunks to 0x%X", dataStructures.length, backupPeer.getNodeID());
                         // #endif /* LOGGER == TRACE */
 
                         try {
                             m_network.sendMessage(new LogMessage(backupPeer.getNodeID(), backupRange.getRangeID(),
-                                    dataStructures));
+                                    fragments == null ? dataStructures : fragments[i]));
                         } catch (final NetworkException ignore) {
 
                         }
@@ -1341,25 +2121,25 @@ public class ChunkService extends AbstractDXRAMService<ChunkServiceConfig> imple
 
         if (sizes.length == 1) {
             try {
-                m_memoryManager.lockManage();
+                m_memoryManager.lockAllocate();
                 chunkIDs[0] = m_memoryManager.create(sizes[0]);
 
                 // Initialize a new backup range every e.g. 256 MB and inform superpeer
                 // Must be locked together with create call to memory manager
                 m_backup.registerChunk(chunkIDs[0], sizes[0]);
             } finally {
-                m_memoryManager.unlockManage();
+                m_memoryManager.unlockAllocate();
             }
         } else {
             try {
-                m_memoryManager.lockManage();
+                m_memoryManager.lockAllocate();
                 chunkIDs = m_memoryManager.createMultiSizes(sizes);
 
                 // Initialize a new backup range every e.g. 256 MB and inform superpeer
                 // Must be locked together with create call to memory manager
                 m_backup.registerChunks(chunkIDs, sizes);
             } finally {
-                m_memoryManager.unlockManage();
+                m_memoryManager.unlockAllocate();
             }
 
             if (chunkIDs == null) {
@@ -16,22 +16,29 @@
 
 package de.hhu.bsinfo.dxram.chunk;
 
+import java.nio.ByteBuffer;
+
 import de.hhu.bsinfo.dxram.data.ChunkID;
 import de.hhu.bsinfo.dxram.data.DataStructure;
 import de.hhu.bsinfo.dxutils.serialization.Exporter;
 import de.hhu.bsinfo.dxutils.serialization.Importer;
 
 /**
- * Index data chunk for the nameservice.
+ * Index data chunk for the nameservice. Mappings are appended as length of the name, UTF-8 encoded name and chunk id
+ * until the fixed size index is full.
  *
  * @author Stefan Nothaas, stefan.nothaas@hhu.de, 03.02.2016
  */
 public class NameServiceIndexData extends DataStructure {
-    private static final int MS_NUM_INDICES = 10000;
+    private static final int MS_INDEX_SIZE = 120000;
+
+    /**
+     * Max size of an UTF-8 encoded name to fit into an empty index
+     */
+    public static final int MAX_NAME_SIZE = MS_INDEX_SIZE - Integer.BYTES - Long.BYTES;
 
-    private short m_numEntries;
-    private int[] m_keys = new int[MS_NUM_INDICES];
-    private long[] m_chunkIDs = new long[MS_NUM_INDICES];
+    private int m_size;
+    private byte[] m_entries = new byte[MS_INDEX_SIZE];
     private long m_nextIndexDataChunkId = ChunkID.INVALID_ID;
 
     /**
@@ -54,45 +61,41 @@ public class NameServiceIndexData extends DataStructure {
     /**
      * Insert a new mapping into the index.
      *
-     * @param p_key
-     *         Key of the mapping.
+     * @param p_name
+     *         UTF-8 encoded name of the mapping.
      * @param p_chunkId
-     *         Chunk id to map to the key.
+     *         Chunk id to map to the name.
      * @return True if adding successful, false if index is full.
      */
-    public boolean insertMapping(final int p_key, final long p_chunkId) {
-        if (m_numEntries == MS_NUM_INDICES) {
+    public boolean insertMapping(final byte[] p_name, final long p_chunkId) {
+        if (m_size + Integer.BYTES + p_name.length + Long.BYTES > MS_INDEX_SIZE) {
             return false;
         }
 
-        m_keys[m_numEntries] = p_key;
-        m_chunkIDs[m_numEntries] = p_chunkId;
-        m_numEntries++;
+        ByteBuffer buffer = ByteBuffer.wrap(m_entries, m_size, MS_INDEX_SIZE - m_size);
+        buffer.putInt(p_name.length);
+        buffer.put(p_name);
+        buffer.putLong(p_chunkId);
+        m_size = buffer.position();
         return true;
     }
 
     @Override
     public void importObject(final Importer p_importer) {
-        m_numEntries = p_importer.readShort(m_numEntries);
-        for (int i = 0; i < MS_NUM_INDICES; i++) {
-            m_keys[i] = p_importer.readInt(m_keys[i]);
-            m_chunkIDs[i] = p_importer.readLong(m_chunkIDs[i]);
-        }
+        m_size = p_importer.readInt(m_size);
+        p_importer.readBytes(m_entries, 0, MS_INDEX_SIZE);
         m_nextIndexDataChunkId = p_importer.readLong(m_nextIndexDataChunkId);
     }
 
     @Override
     public void exportObject(final Exporter p_exporter) {
-        p_exporter.writeShort(m_numEntries);
-        for (int i = 0; i < MS_NUM_INDICES; i++) {
-            p_exporter.writeInt(m_keys[i]);
-            p_exporter.writeLong(m_chunkIDs[i]);
-        }
+        p_exporter.writeInt(m_size);
+        p_exporter.writeBytes(m_entries, 0, MS_INDEX_SIZE);
         p_exporter.writeLong(m_nextIndexDataChunkId);
     }
 
     @Override
     public int sizeofObject() {
-        return Short.BYTES + (Integer.BYTES + Long.BYTES) * MS_NUM_INDICES + Long.BYTES;
+        return Integer.BYTES + MS_INDEX_SIZE + Long.BYTES;
     }
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.chunk;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.hhu.bsinfo.dxnet.core.Request;
+import de.hhu.bsinfo.dxram.net.NetworkComponent;
+
+/**
+ * Single thread tracking requests which were sent without waiting for the response. The thread blocks until a
+ * request is added. While requests are outstanding, it checks all of them every round and runs the completion
+ * handler of every request whose response arrived, independent of the order the requests were sent in. All
+ * requests use the same timeout, i.e. they time out in the order they were added. The handler for failures is run
+ * once the timeout expired. This allows a single thread to keep an arbitrary number of requests in flight without
+ * a slow peer delaying the responses of other peers. The handlers run on this thread and must not block.
+ */
+final class ResponseCollector extends Thread {
+    private static final Logger LOGGER = LogManager.getFormatterLogger(ResponseCollector.class.getSimpleName());
+
+    // time to wait for new requests between two rounds while requests are outstanding
+    private static final long POLL_INTERVAL_US = 100;
+
+    // added on shutdown to wake up the collector thread
+    private static final PendingRequest SHUTDOWN = new PendingRequest(null, 0, null, null, null);
+
+    private final NetworkComponent m_network;
+    private final long m_timeoutNs;
+
+    // requests added since the last round
+    private final LinkedBlockingQueue<PendingRequest> m_added = new LinkedBlockingQueue<>();
+    // outstanding requests in the order they were sent (= order of their deadlines), collector thread only
+    private final ArrayDeque<PendingRequest> m_outstanding = new ArrayDeque<>();
+
+    private volatile boolean m_shutdown;
+
+    /**
+     * Creates an instance of ResponseCollector
+     *
+     * @param p_network
+     *         NetworkComponent to report timed out requests to
+     * @param p_timeoutMs
+     *         Time to wait for a response before a request is considered failed in ms
+     */
+    ResponseCollector(final NetworkComponent p_network, final long p_timeoutMs) {
+        m_network = p_network;
+        m_timeoutNs = p_timeoutMs * 1000 * 1000;
+
+        setName("ChunkAsyncService: ResponseCollector");
+        setDaemon(true);
+    }
+
+    /**
+     * Track a request which was sent without waiting for the response
+     *
+     * @param p_request
+     *         Sent request
+     * @param p_future
+     *         Future the handlers complete. Completed exceptionally if a handler throws
+     * @param p_onResponse
+     *         Handler to run once the response arrived
+     * @param p_onFailure
+     *         Handler to run if no response arrived in time
+     */
+    void add(final Request p_request, final CompletableFuture<?> p_future, final Runnable p_onResponse,
+            final Runnable p_onFailure) {
+        m_added.add(new PendingRequest(p_request, System.nanoTime() + m_timeoutNs, p_future, p_onResponse,
+                p_onFailure));
+    }
+
+    /**
+     * Shutdown. Requests still outstanding are failed
+     */
+    void shutdown() {
+        m_shutdown = true;
+        m_added.add(SHUTDOWN);
+
+        try {
+            join();
+        } catch (final InterruptedException ignored) {
+        }
+    }
+
+    @Override
+    public void run() {
+        while (!m_shutdown) {
+            PendingRequest added;
+
+            try {
+                if (m_outstanding.isEmpty()) {
+                    // nothing to check -> block until a request is added
+                    added = m_added.take();
+                } else {
+                    added = m_added.poll(POLL_INTERVAL_US, TimeUnit.MICROSECONDS);
+                }
+            } catch (final InterruptedException ignored) {
+                continue;
+            }
+
+            if (added != null && added != SHUTDOWN) {
+                m_outstanding.add(added);
+            }
+
+            while ((added = m_added.poll()) != null) {
+                if (added != SHUTDOWN) {
+                    m_outstanding.add(added);
+                }
+            }
+
+            collect();
+        }
+
+        m_added.drainTo(m_outstanding);
+
+        for (PendingRequest pending : m_outstanding) {
+            if (pending != SHUTDOWN) {
+                pending.handle(pending.m_onFailure);
+            }
+        }
+        m_outstanding.clear();
+    }
+
+    /**
+     * Run the handlers of all outstanding requests whose response arrived or whose deadline passed
+     */
+    private void collect() {
+        long now = System.nanoTime();
+        Iterator<PendingRequest> iterator = m_outstanding.iterator();
+
+        while (iterator.hasNext()) {
+            PendingRequest pending = iterator.next();
+
+            if (pending.m_request.getResponse() != null) {
+                iterator.remove();
+                pending.handle(pending.m_onResponse);
+            } else if (now - pending.m_deadline >= 0) {
+                iterator.remove();
+
+                // re-connect or failure handling for the unresponsive peer
+                m_network.responseTimedOut(pending.m_request);
+                pending.handle(pending.m_onFailure);
+            }
+        }
+    }
+
+    /**
+     * A request waiting for its response
+     */
+    private static final class PendingRequest {
+        private final Request m_request;
+        private final long m_deadline;
+        private final CompletableFuture<?> m_future;
+        private final Runnable m_onResponse;
+        private final Runnable m_onFailure;
+
+        /**
+         * Constructor
+         *
+         * @param p_request
+         *         Sent request
+         * @param p_deadline
+         *         Point in time (System.nanoTime) the request times out
+         * @param p_future
+         *         Future the handlers complete
+         * @param p_onResponse
+         *         Handler to run once the response arrived
+         * @param p_onFailure
+         *         Handler to run if no response arrived in time
+         */
+        private PendingRequest(final Request p_request, final long p_deadline, final CompletableFuture<?> p_future,
+                final Runnable p_onResponse, final Runnable p_onFailure) {
+            m_request = p_request;
+            m_deadline = p_deadline;
+            m_future = p_future;
+            m_onResponse = p_onResponse;
+            m_onFailure = p_onFailure;
+        }
+
+        /**
+         * Run a handler and keep the collector alive if it throws
+         *
+         * @param p_handler
+         *         Handler to run
+         */
+        private void handle(final Runnable p_handler) {
+            try {
+                p_handler.run();
+            } catch (final RuntimeException e) {
+                // #if LOGGER >= ERROR
+                LOGGER.error("Handling response of request %s failed: %s", m_request, e);
+                // #endif /* LOGGER >= ERROR */
+
+                m_future.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.chunk.messages;
+
+import de.hhu.bsinfo.dxnet.core.AbstractMessageExporter;
+import de.hhu.bsinfo.dxnet.core.AbstractMessageImporter;
+import de.hhu.bsinfo.dxnet.core.Request;
+import de.hhu.bsinfo.dxram.DXRAMMessageTypes;
+import de.hhu.bsinfo.dxram.data.ChunkAtomicOperation;
+
+/**
+ * Request for executing an atomic operation on a field of a chunk on a remote node
+ */
+public class AtomicRequest extends Request {
+
+    private long m_chunkID;
+    private int m_offset;
+    private byte m_size;
+    private byte m_operation;
+    private long m_expected;
+    private long m_operand;
+
+    /**
+     * Creates an instance of AtomicRequest.
+     * This constructor is used when receiving this message.
+     */
+    public AtomicRequest() {
+        super();
+    }
+
+    /**
+     * Creates an instance of AtomicRequest.
+     * This constructor is used when sending this message.
+     *
+     * @param p_destination
+     *         the destination
+     * @param p_chunkID
+     *         ID of the chunk to operate on
+     * @param p_offset
+     *         Offset of the field within the chunk
+     * @param p_size
+     *         Size of the field (4 or 8 bytes)
+     * @param p_operation
+     *         Operation to execute
+     * @param p_expected
+     *         Expected value for compare and swap
+     * @param p_operand
+     *         Value to set or to add
+     */
+    public AtomicRequest(final short p_destination, final long p_chunkID, final int p_offset, final int p_size,
+            final ChunkAtomicOperation p_operation, final long p_expected, final long p_operand) {
+        super(p_destination, DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_ATOMIC_REQUEST);
+
+        m_chunkID = p_chunkID;
+        m_offset = p_offset;
+        m_size = (byte) p_size;
+        m_operation = (byte) p_operation.ordinal();
+        m_expected = p_expected;
+        m_operand = p_operand;
+    }
+
+    /**
+     * Get the ID of the chunk to operate on
+     *
+     * @return Chunk ID
+     */
+    public long getChunkID() {
+        return m_chunkID;
+    }
+
+    /**
+     * Get the offset of the field within the chunk
+     *
+     * @return Offset
+     */
+    public int getOffset() {
+        return m_offset;
+    }
+
+    /**
+     * Get the size of the field
+     *
+     * @return Size (4 or 8 bytes)
+     */
+    public int getSize() {
+        return m_size;
+    }
+
+    /**
+     * Get the operation to execute
+     *
+     * @return Operation
+     */
+    public ChunkAtomicOperation getOperation() {
+        return ChunkAtomicOperation.values()[m_operation];
+    }
+
+    /**
+     * Get the expected value for compare and swap
+     *
+     * @return Expected value
+     */
+    public long getExpected() {
+        return m_expected;
+    }
+
+    /**
+     * Get the value to set or to add
+     *
+     * @return Operand
+     */
+    public long getOperand() {
+        return m_operand;
+    }
+
+    @Override
+    protected final int getPayloadLength() {
+        return 3 * Long.BYTES + Integer.BYTES + 2 * Byte.BYTES;
+    }
+
+    @Override
+    protected final void writePayload(final AbstractMessageExporter p_exporter) {
+        p_exporter.writeLong(m_chunkID);
+        p_exporter.writeInt(m_offset);
+        p_exporter.writeByte(m_size);
+        p_exporter.writeByte(m_operation);
+        p_exporter.writeLong(m_expected);
+        p_exporter.writeLong(m_operand);
+    }
+
+    @Override
+    protected final void readPayload(final AbstractMessageImporter p_importer) {
+        m_chunkID = p_importer.readLong(m_chunkID);
+        m_offset = p_importer.readInt(m_offset);
+        m_size = p_importer.readByte(m_size);
+        m_operation = p_importer.readByte(m_operation);
+        m_expected = p_importer.readLong(m_expected);
+        m_operand = p_importer.readLong(m_operand);
+    }
+}
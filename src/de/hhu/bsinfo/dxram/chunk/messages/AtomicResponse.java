@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.chunk.messages;
+
+import de.hhu.bsinfo.dxnet.core.AbstractMessageExporter;
+import de.hhu.bsinfo.dxnet.core.AbstractMessageImporter;
+import de.hhu.bsinfo.dxnet.core.Response;
+import de.hhu.bsinfo.dxram.data.ChunkAtomicResult;
+import de.hhu.bsinfo.dxram.data.ChunkState;
+
+/**
+ * Response to an AtomicRequest
+ */
+public class AtomicResponse extends Response {
+
+    private byte m_state;
+    private long m_previousValue;
+
+    /**
+     * Creates an instance of AtomicResponse.
+     * This constructor is used when receiving this message.
+     */
+    public AtomicResponse() {
+        super();
+    }
+
+    /**
+     * Creates an instance of AtomicResponse.
+     * This constructor is used when sending this message.
+     *
+     * @param p_request
+     *         the corresponding AtomicRequest
+     * @param p_result
+     *         Result of the atomic operation
+     */
+    public AtomicResponse(final AtomicRequest p_request, final ChunkAtomicResult p_result) {
+        super(p_request, ChunkMessages.SUBTYPE_ATOMIC_RESPONSE);
+
+        m_state = (byte) p_result.getState().ordinal();
+        m_previousValue = p_result.getPreviousValue();
+    }
+
+    /**
+     * Get the result of the atomic operation
+     *
+     * @return Result
+     */
+    public ChunkAtomicResult getResult() {
+        return new ChunkAtomicResult(ChunkState.values()[m_state], m_previousValue);
+    }
+
+    @Override
+    protected final int getPayloadLength() {
+        return Byte.BYTES + Long.BYTES;
+    }
+
+    @Override
+    protected final void writePayload(final AbstractMessageExporter p_exporter) {
+        p_exporter.writeByte(m_state);
+        p_exporter.writeLong(m_previousValue);
+    }
+
+    @Override
+    protected final void readPayload(final AbstractMessageImporter p_importer) {
+        m_state = p_importer.readByte(m_state);
+        m_previousValue = p_importer.readLong(m_previousValue);
+    }
+
+}
@@ -44,6 +44,14 @@ public final class ChunkMessages {
     public static final byte SUBTYPE_GET_MIGRATED_CHUNKID_RANGES_RESPONSE = 20;
     public static final byte SUBTYPE_DUMP_MEMORY_MESSAGE = 21;
     public static final byte SUBTYPE_RESET_MEMORY_MESSAGE = 22;
+    public static final byte SUBTYPE_GET_PART_REQUEST = 23;
+    public static final byte SUBTYPE_GET_PART_RESPONSE = 24;
+    public static final byte SUBTYPE_PUT_PART_REQUEST = 25;
+    public static final byte SUBTYPE_PUT_PART_RESPONSE = 26;
+    public static final byte SUBTYPE_ATOMIC_REQUEST = 27;
+    public static final byte SUBTYPE_ATOMIC_RESPONSE = 28;
+    public static final byte SUBTYPE_REMOVE_REQUEST = 29;
+    public static final byte SUBTYPE_REMOVE_RESPONSE = 30;
 
     /**
      * Static class
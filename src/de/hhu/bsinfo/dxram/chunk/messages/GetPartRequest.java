@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.chunk.messages;
+
+import de.hhu.bsinfo.dxnet.core.AbstractMessageExporter;
+import de.hhu.bsinfo.dxnet.core.AbstractMessageImporter;
+import de.hhu.bsinfo.dxnet.core.Request;
+import de.hhu.bsinfo.dxram.DXRAMMessageTypes;
+
+/**
+ * Request for reading a part (offset and length) of a chunk on a remote node
+ */
+public class GetPartRequest extends Request {
+
+    private long m_chunkID;
+    private int m_offset;
+    private int m_length;
+
+    // buffer to read the data into when the response is received, not sent
+    private byte[] m_buffer;
+    private int m_bufferOffset;
+
+    /**
+     * Creates an instance of GetPartRequest.
+     * This constructor is used when receiving this message.
+     */
+    public GetPartRequest() {
+        super();
+    }
+
+    /**
+     * Creates an instance of GetPartRequest.
+     * This constructor is used when sending this message.
+     *
+     * @param p_destination
+     *         the destination
+     * @param p_chunkID
+     *         ID of the chunk to read from
+     * @param p_offset
+     *         Offset within the chunk to start reading at
+     * @param p_length
+     *         Number of bytes to read
+     * @param p_buffer
+     *         Buffer to read the data into once the response arrives
+     * @param p_bufferOffset
+     *         Offset within the buffer
+     */
+    public GetPartRequest(final short p_destination, final long p_chunkID, final int p_offset, final int p_length,
+            final byte[] p_buffer, final int p_bufferOffset) {
+        super(p_destination, DXRAMMessageTypes.CHUNK_MESSAGES_TYPE, ChunkMessages.SUBTYPE_GET_PART_REQUEST);
+
+        m_chunkID = p_chunkID;
+        m_offset = p_offset;
+        m_length = p_length;
+        m_buffer = p_buffer;
+        m_bufferOffset = p_bufferOffset;
+    }
+
+    /**
+     * Get the ID of the chunk to read from
+     *
+     * @return Chunk ID
+     */
+    public long getChunkID() {
+        return m_chunkID;
+    }
+
+    /**
+     * Get the offset within the chunk to start reading at
+     *
+     * @return Offset
+     */
+    public int getOffset() {
+        return m_offset;
+    }
+
+    /**
+     * Get the number of bytes to read
+     *
+     * @return Length
+     */
+    public int getLength() {
+        return m_length;
+    }
+
+    /**
+     * Get the buffer to read the data into (sender side only)
+     *
+     * @return Buffer
+     */
+    byte[] getBuffer() {
+        return m_buffer;
+    }
+
+    /**
+     * Get the offset within the buffer (sender side only)
+     *
+     * @return Offset within the buffer
+     */
+    int getBufferOffset() {
+        return m_bufferOffset;
+    }
+
+    @Override
+    protected final int getPayloadLength() {
+        return Long.BYTES + 2 * Integer.BYTES;
+    }
+
+    @Override
+    protected final void writePayload(final AbstractMessageExporter p_exporter) {
+        p_exporter.writeLong(m_chunkID);
+        p_exporter.writeInt(m_offset);
+        p_exporter.writeInt(m_length);
+    }
+
+    @Override
+    protected final void readPayload(final AbstractMessageImporter p_importer) {
+        m_chunkID = p_importer.readLong(m_chunkID);
+        m_offset = p_importer.readInt(m_offset);
+        m_length = p_importer.readInt(m_length);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.chunk.messages;
+
+import de.hhu.bsinfo.dxnet.core.AbstractMessageExporter;
+import de.hhu.bsinfo.dxnet.core.AbstractMessageImporter;
+import de.hhu.bsinfo.dxnet.core.Response;
+import de.hhu.bsinfo.dxram.data.ChunkState;
+
+/**
+ * Response to a GetPartRequest
+ */
+public class GetPartResponse extends Response {
+
+    private byte m_state;
+
+    // The data is used when sending the response only. When the response is received, the data is written
+    // to the buffer provided by the request directly to avoid further copying
+    private byte[] m_data;
+
+    /**
+     * Creates an instance of GetPartResponse.
+     * This constructor is used when receiving this message.
+     */
+    public GetPartResponse() {
+        super();
+    }
+
+    /**
+     * Creates an instance of GetPartResponse.
+     * This constructor is used when sending this message.
+     *
+     * @param p_request
+     *         the corresponding GetPartRequest
+     * @param p_state
+     *         State of the read operation
+     * @param p_data
+     *         The data read (length of the request). Ignored if the state is not OK
+     */
+    public GetPartResponse(final GetPartRequest p_request, final ChunkState p_state, final byte[] p_data) {
+        super(p_request, ChunkMessages.SUBTYPE_GET_PART_RESPONSE);
+
+        m_state = (byte) p_state.ordinal();
+        m_data = p_data;
+    }
+
+    /**
+     * Get the state of the read operation
+     *
+     * @return State
+     */
+    public ChunkState getState() {
+        return ChunkState.values()[m_state];
+    }
+
+    @Override
+    protected final int getPayloadLength() {
+        int size = Byte.BYTES;
+
+        if (m_state == ChunkState.OK.ordinal()) {
+            if (m_data != null) {
+                size += m_data.length;
+            } else {
+                // after reading message payload to the request buffer
+                size += ((GetPartRequest) getCorrespondingRequest()).getLength();
+            }
+        }
+
+        return size;
+    }
+
+    @Override
+    protected final void writePayload(final AbstractMessageExporter p_exporter) {
+        p_exporter.writeByte(m_state);
+
+        if (m_state == ChunkState.OK.ordinal()) {
+            p_exporter.writeBytes(m_data);
+        }
+    }
+
+    @Override
+    protected final void readPayload(final AbstractMessageImporter p_importer) {
+        m_state = p_importer.readByte(m_state);
+
+        if (m_state == ChunkState.OK.ordinal()) {
+            // read the payload from the buffer and write it directly into the buffer provided by the request
+            GetPartRequest request = (GetPartRequest) getCorrespondingRequest();
+            p_importer.readBytes(request.getBuffer(), request.getBufferOffset(), request.getLength());
+        }
+    }
+
+}
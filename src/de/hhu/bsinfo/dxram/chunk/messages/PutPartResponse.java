@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.chunk.messages;
+
+import de.hhu.bsinfo.dxnet.core.AbstractMessageExporter;
+import de.hhu.bsinfo.dxnet.core.AbstractMessageImporter;
+import de.hhu.bsinfo.dxnet.core.Response;
+import de.hhu.bsinfo.dxram.data.ChunkState;
+
+/**
+ * Response to a PutPartRequest
+ */
+public class PutPartResponse extends Response {
+
+    private byte m_state;
+
+    /**
+     * Creates an instance of PutPartResponse.
+     * This constructor is used when receiving this message.
+     */
+    public PutPartResponse() {
+        super();
+    }
+
+    /**
+     * Creates an instance of PutPartResponse.
+     * This constructor is used when sending this message.
+     *
+     * @param p_request
+     *         the corresponding PutPartRequest
+     * @param p_state
+     *         State of the write operation
+     */
+    public PutPartResponse(final PutPartRequest p_request, final ChunkState p_state) {
+        super(p_request, ChunkMessages.SUBTYPE_PUT_PART_RESPONSE);
+
+        m_state = (byte) p_state.ordinal();
+    }
+
+    /**
+     * Get the state of the write operation
+     *
+     * @return State
+     */
+    public ChunkState getState() {
+        return ChunkState.values()[m_state];
+    }
+
+    @Override
+    protected final int getPayloadLength() {
+        return Byte.BYTES;
+    }
+
+    @Override
+    protected final void writePayload(final AbstractMessageExporter p_exporter) {
+        p_exporter.writeByte(m_state);
+    }
+
+    @Override
+    protected final void readPayload(final AbstractMessageImporter p_importer) {
+        m_state = p_importer.readByte(m_state);
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.chunk.messages;
+
+import de.hhu.bsinfo.dxnet.core.AbstractMessageExporter;
+import de.hhu.bsinfo.dxnet.core.AbstractMessageImporter;
+import de.hhu.bsinfo.dxnet.core.Response;
+
+/**
+ * Response to a RemoveRequest
+ */
+public class RemoveResponse extends Response {
+
+    private int m_chunksRemoved;
+
+    /**
+     * Creates an instance of RemoveResponse.
+     * This constructor is used when receiving this message.
+     */
+    public RemoveResponse() {
+        super();
+    }
+
+    /**
+     * Creates an instance of RemoveResponse.
+     * This constructor is used when sending this message.
+     *
+     * @param p_request
+     *         the request
+     * @param p_chunksRemoved
+     *         Number of Chunks removed
+     */
+    public RemoveResponse(final RemoveRequest p_request, final int p_chunksRemoved) {
+        super(p_request, ChunkMessages.SUBTYPE_REMOVE_RESPONSE);
+        m_chunksRemoved = p_chunksRemoved;
+    }
+
+    /**
+     * Get the number of removed Chunks
+     *
+     * @return the number of Chunks removed by the remote node
+     */
+    public final int getChunksRemoved() {
+        return m_chunksRemoved;
+    }
+
+    @Override
+    protected final int getPayloadLength() {
+        return Integer.BYTES;
+    }
+
+    @Override
+    protected final void writePayload(final AbstractMessageExporter p_exporter) {
+        p_exporter.writeInt(m_chunksRemoved);
+    }
+
+    @Override
+    protected final void readPayload(final AbstractMessageImporter p_importer) {
+        m_chunksRemoved = p_importer.readInt(m_chunksRemoved);
+    }
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.data;
+
+/**
+ * Atomic operations on a 4 or 8 byte field of a chunk, executed on the peer storing the chunk
+ */
+public enum ChunkAtomicOperation {
+    /**
+     * Set the field to the operand if it equals the expected value
+     */
+    COMPARE_AND_SWAP,
+    /**
+     * Add the operand to the field
+     */
+    FETCH_AND_ADD,
+    /**
+     * Set the field to the operand
+     */
+    GET_AND_SET
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.data;
+
+/**
+ * Result of an atomic operation on a field of a chunk
+ */
+public final class ChunkAtomicResult {
+    private final ChunkState m_state;
+    private final long m_previousValue;
+
+    /**
+     * Constructor
+     *
+     * @param p_state
+     *         State of the operation
+     * @param p_previousValue
+     *         Value of the field before the operation
+     */
+    public ChunkAtomicResult(final ChunkState p_state, final long p_previousValue) {
+        m_state = p_state;
+        m_previousValue = p_previousValue;
+    }
+
+    /**
+     * Get the state of the operation. The previous value is valid if the state is OK, only
+     *
+     * @return State of the operation
+     */
+    public ChunkState getState() {
+        return m_state;
+    }
+
+    /**
+     * Get the value of the field before the operation. A compare and swap succeeded if it equals the expected
+     * value. 4 byte fields are sign extended
+     *
+     * @return Previous value
+     */
+    public long getPreviousValue() {
+        return m_previousValue;
+    }
+
+    @Override
+    public String toString() {
+        return "ChunkAtomicResult[" + m_state + ", " + m_previousValue + ']';
+    }
+}
@@ -52,4 +52,8 @@ public enum ChunkState {
      * Data for the chunk/data structure is lost due to node failure and disabled backup/recovery
      */
     DATA_LOST,
+    /**
+     * The range (offset and length) of a partial access exceeded the chunk on the last operation
+     */
+    INVALID_RANGE,
 }
@@ -102,6 +102,9 @@ public class LogComponent extends AbstractDXRAMComponent<LogComponentConfig> {
     private ReentrantLock m_flushLock;
 
     private String m_backupDirectory;
+    // One directory per log device, every device has its own writer thread
+    private String[] m_logDirectories;
+    private int[] m_logsPerDevice;
 
     private TemporaryVersionsStorage m_versionsForRecovery;
 
@@ -284,7 +287,10 @@ public class LogComponent extends AbstractDXRAMComponent<LogComponentConfig> {
 
         if (cat != null) {
             try {
-                cat.removeAndCloseBufferAndLog(p_rangeID);
+                if (cat.exists(p_rangeID)) {
+                    m_logsPerDevice[cat.getLog(p_rangeID).getDevice()]--;
+                    cat.removeAndCloseBufferAndLog(p_rangeID);
+                }
             } catch (IOException e) {
                 // #if LOGGER == WARN
                 LOGGER.trace("Backup range could not be removed from hard drive.");
@@ -481,6 +487,7 @@ public class LogComponent extends AbstractDXRAMComponent<LogComponentConfig> {
         if (m_loggingIsActive) {
             m_nodeID = m_boot.getNodeID();
             m_backupDirectory = m_backup.getConfig().getBackupDirectory();
+            initLogDirectories();
             m_secondaryLogSize = m_backup.getConfig().getBackupRangeSize().getBytes() * 2;
 
             m_flushLock = new ReentrantLock(false);
@@ -494,7 +501,9 @@ public class LogComponent extends AbstractDXRAMComponent<LogComponentConfig> {
                 JNIFileRaw.prepareRawDevice(getConfig().getRawDevicePath(), 0);
             }
 
-            purgeLogDirectory(m_backupDirectory);
+            for (String directory : m_logDirectories) {
+                purgeLogDirectory(directory);
+            }
 
             createLogsAndBuffers();
 
@@ -522,6 +531,7 @@ public class LogComponent extends AbstractDXRAMComponent<LogComponentConfig> {
         m_loggingIsActive = true;
         m_nodeID = (short) 1;
         m_backupDirectory = p_backupDir;
+        initLogDirectories();
         m_secondaryLogSize = p_backupRangeSize * 2;
 
         m_flushLock = new ReentrantLock(false);
@@ -540,7 +550,9 @@ public class LogComponent extends AbstractDXRAMComponent<LogComponentConfig> {
             JNIFileRaw.prepareRawDevice(getConfig().getRawDevicePath(), 0);
         }
 
-        purgeLogDirectory(m_backupDirectory);
+        for (String directory : m_logDirectories) {
+            purgeLogDirectory(directory);
+        }
 
         createLogsAndBuffers();
 
@@ -575,6 +587,43 @@ public class LogComponent extends AbstractDXRAMComponent<LogComponentConfig> {
         m_initTime = System.currentTimeMillis();
     }
 
+    /**
+     * Determine the log directories. The backup directory is used if no log directories are configured.
+     */
+    private void initLogDirectories() {
+        if (getConfig().getLogDirectories().isEmpty()) {
+            m_logDirectories = new String[] {m_backupDirectory};
+        } else {
+            m_logDirectories = new String[getConfig().getLogDirectories().size()];
+            for (int i = 0; i < m_logDirectories.length; i++) {
+                String directory = getConfig().getLogDirectories().get(i);
+                if (!directory.endsWith("/")) {
+                    directory += '/';
+                }
+                m_logDirectories[i] = directory;
+            }
+        }
+        m_logsPerDevice = new int[m_logDirectories.length];
+    }
+
+    /**
+     * Returns the log device for a new secondary log (the device storing the fewest secondary logs)
+     *
+     * @return the device index
+     * @lock m_secondaryLogCreationLock must be write-locked
+     */
+    private int chooseDevice() {
+        int ret = 0;
+
+        for (int i = 1; i < m_logsPerDevice.length; i++) {
+            if (m_logsPerDevice[i] < m_logsPerDevice[ret]) {
+                ret = i;
+            }
+        }
+
+        return ret;
+    }
+
     /**
      * Purge all logs from directory.
      *
@@ -601,7 +650,7 @@ public class LogComponent extends AbstractDXRAMComponent<LogComponentConfig> {
     private void createLogsAndBuffers() {
         // Create primary log
         try {
-            m_primaryLog = new PrimaryLog(this, m_backupDirectory, m_nodeID, getConfig().getPrimaryLogSize().getBytes(),
+            m_primaryLog = new PrimaryLog(this, m_logDirectories[0], m_nodeID, getConfig().getPrimaryLogSize().getBytes(),
                     getConfig().useChecksums(),
                     getConfig().useTimestamps(), (int) getConfig().getFlashPageSize().getBytes(), m_mode);
         } catch (final IOException e) {
@@ -617,7 +666,8 @@ public class LogComponent extends AbstractDXRAMComponent<LogComponentConfig> {
         m_writeBuffer = new PrimaryWriteBuffer(this, m_primaryLog, (int) getConfig().getWriteBufferSize().getBytes(),
                 (int) getConfig().getFlashPageSize().getBytes(),
                 (int) getConfig().getSecondaryLogBufferSize().getBytes(),
-                (int) getConfig().getLogSegmentSize().getBytes(), getConfig().useChecksums());
+                (int) getConfig().getLogSegmentSize().getBytes(), getConfig().useChecksums(), getConfig().coalesceWrites(),
+                m_logDirectories.length);
 
         // Create secondary log and secondary log buffer catalogs
         m_logCatalogs = new LogCatalog[Short.MAX_VALUE * 2 + 1];
@@ -632,12 +682,16 @@ public class LogComponent extends AbstractDXRAMComponent<LogComponentConfig> {
      *         the backup range size
      */
     private void createAndStartReorganizationThread(final long p_backupRangeSize) {
-        // Create reorganization thread for secondary logs
+        int ioBudget = getConfig().getReorgIOBudget();
+        if (ioBudget == 0) {
+            ioBudget = m_logDirectories.length;
+        }
+
+        // Create reorganization threads for secondary logs
         m_secondaryLogsReorgThread = new SecondaryLogsReorgThread(this, p_backupRangeSize * 2,
-                (int) getConfig().getLogSegmentSize().getBytes());
-        m_secondaryLogsReorgThread.setName("Logging: Reorganization Thread");
+                (int) getConfig().getLogSegmentSize().getBytes(), getConfig().getReorgThreads(), ioBudget);
 
-        // Start secondary logs reorganization thread
+        // Start secondary logs reorganization threads
         m_secondaryLogsReorgThread.start();
     }
 
@@ -650,11 +704,9 @@ public class LogComponent extends AbstractDXRAMComponent<LogComponentConfig> {
             m_writeBuffer.closeWriteBuffer();
             m_writeBuffer = null;
 
-            // Stop reorganization thread
-            m_secondaryLogsReorgThread.interrupt();
-            m_secondaryLogsReorgThread.shutdown();
+            // Stop reorganization threads
             try {
-                m_secondaryLogsReorgThread.join();
+                m_secondaryLogsReorgThread.shutdown();
                 // #if LOGGER >= INFO
                 LOGGER.info("Shutdown of SecondaryLogsReorgThread successful");
                 // #endif /* LOGGER >= INFO */
@@ -782,8 +834,9 @@ public class LogComponent extends AbstractDXRAMComponent<LogComponentConfig> {
         }
         try {
             if (!cat.exists(p_rangeID)) {
-                // Create new secondary log
-                secLog = new SecondaryLog(this, m_secondaryLogsReorgThread, p_owner, p_rangeID, m_backupDirectory,
+                // Create new secondary log on the least used device
+                int device = chooseDevice();
+                secLog = new SecondaryLog(this, m_secondaryLogsReorgThread, p_owner, p_rangeID, m_logDirectories[device], device,
                         m_secondaryLogSize, (int) getConfig().getFlashPageSize().getBytes(),
                         (int) getConfig().getLogSegmentSize().getBytes(), getConfig().getReorgUtilizationThreshold(),
                         getConfig().useChecksums(), getConfig().useTimestamps(), getConfig().getColdDataThreshold(),
@@ -791,6 +844,7 @@ public class LogComponent extends AbstractDXRAMComponent<LogComponentConfig> {
                 // Insert range in log catalog
                 cat.insertRange(p_rangeID, secLog, (int) getConfig().getSecondaryLogBufferSize().getBytes(),
                         (int) getConfig().getLogSegmentSize().getBytes());
+                m_logsPerDevice[device]++;
             }
         } catch (final IOException e) {
             // #if LOGGER >= ERROR
@@ -830,15 +884,17 @@ public class LogComponent extends AbstractDXRAMComponent<LogComponentConfig> {
 
             try {
                 if (!cat.exists(p_rangeID)) {
-                    // Create new secondary log
+                    // Create new secondary log on the least used device
+                    int device = chooseDevice();
                     secLog = new SecondaryLog(this, m_secondaryLogsReorgThread, p_owner, p_originalOwner, p_rangeID,
-                            m_backupDirectory, m_secondaryLogSize, (int) getConfig().getFlashPageSize().getBytes(),
+                            m_logDirectories[device], device, m_secondaryLogSize, (int) getConfig().getFlashPageSize().getBytes(),
                             (int) getConfig().getLogSegmentSize().getBytes(),
                             getConfig().getReorgUtilizationThreshold(), getConfig().useChecksums(),
                             getConfig().useTimestamps(), getConfig().getColdDataThreshold(), m_mode);
                     // Insert range in log catalog
                     cat.insertRange(p_rangeID, secLog, (int) getConfig().getSecondaryLogBufferSize().getBytes(),
                             (int) getConfig().getLogSegmentSize().getBytes());
+                    m_logsPerDevice[device]++;
                 } else {
                     // #if LOGGER >= WARN
                     LOGGER.warn("Transfer of backup range %d from 0x%X to 0x%X failed! Secondary log already exists!",
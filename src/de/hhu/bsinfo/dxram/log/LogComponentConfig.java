@@ -1,11 +1,15 @@
 package de.hhu.bsinfo.dxram.log;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.google.gson.annotations.Expose;
 
 import de.hhu.bsinfo.dxram.backup.BackupComponentConfig;
 import de.hhu.bsinfo.dxram.engine.AbstractDXRAMComponentConfig;
 import de.hhu.bsinfo.dxram.engine.DXRAMContext;
 import de.hhu.bsinfo.dxram.mem.MemoryManagerComponentConfig;
+import de.hhu.bsinfo.dxram.util.HarddriveAccessMode;
 import de.hhu.bsinfo.dxutils.unit.StorageUnit;
 
 /**
@@ -23,12 +27,18 @@ public class LogComponentConfig extends AbstractDXRAMComponentConfig {
     @Expose
     private String m_rawDevicePath = "/dev/raw/raw1";
 
+    @Expose
+    private ArrayList<String> m_logDirectories = new ArrayList<String>();
+
     @Expose
     private boolean m_useChecksums = true;
 
     @Expose
     private boolean m_useTimestamps = true;
 
+    @Expose
+    private boolean m_coalesceWrites = false;
+
     @Expose
     private StorageUnit m_flashPageSize = new StorageUnit(4, StorageUnit.KB);
 
@@ -50,6 +60,12 @@ public class LogComponentConfig extends AbstractDXRAMComponentConfig {
     @Expose
     private int m_coldDataThresholdInSec = COLD_DATA_THRESHOLD;
 
+    @Expose
+    private int m_reorgThreads = 1;
+
+    @Expose
+    private int m_reorgIOBudget = 0;
+
     /**
      * Constructor
      */
@@ -76,7 +92,8 @@ public class LogComponentConfig extends AbstractDXRAMComponentConfig {
     }
 
     /**
-     * Harddrive access mode ("raf" -> RandomAccessFile, "dir" -> file access with ODirect (skips kernel buffer), "raw" -> direct access to raw partition).
+     * Harddrive access mode ("raf" -> RandomAccessFile, "nio" -> FileChannel with memory-mapped reads (no native library needed),
+     * "dir" -> file access with ODirect (skips kernel buffer), "raw" -> direct access to raw partition).
      */
     public String getHarddriveAccess() {
         return m_harddriveAccess;
@@ -89,6 +106,14 @@ public class LogComponentConfig extends AbstractDXRAMComponentConfig {
         return m_rawDevicePath;
     }
 
+    /**
+     * Directories to distribute the secondary logs across, one per log device. Every device gets its own writer thread and
+     * the primary log is stored in the first one. If empty, all logs are stored in the backup directory.
+     */
+    public List<String> getLogDirectories() {
+        return m_logDirectories;
+    }
+
     /**
      * Whether to log with checksum for every log entry or not (if true, checksum is verified during recovery).
      */
@@ -103,6 +128,14 @@ public class LogComponentConfig extends AbstractDXRAMComponentConfig {
         return m_useTimestamps;
     }
 
+    /**
+     * Whether to write only the newest version of a chunk that was logged several times since the last flush of the write buffer
+     * (reduces the write volume for frequently updated chunks).
+     */
+    public boolean coalesceWrites() {
+        return m_coalesceWrites;
+    }
+
     /**
      * The flash page size of the underlying hardware/harddrive.
      */
@@ -152,6 +185,21 @@ public class LogComponentConfig extends AbstractDXRAMComponentConfig {
         return m_coldDataThresholdInSec;
     }
 
+    /**
+     * Number of reorganization threads. Every secondary log is reorganized by one thread at a time.
+     **/
+    public int getReorgThreads() {
+        return m_reorgThreads;
+    }
+
+    /**
+     * Number of reorganization threads allowed to access the log devices concurrently (urgent reorganization is not limited).
+     * If 0, one per log device.
+     **/
+    public int getReorgIOBudget() {
+        return m_reorgIOBudget;
+    }
+
     @Override
     protected boolean verify(final DXRAMContext.Config p_config) {
 
@@ -179,6 +227,20 @@ public class LogComponentConfig extends AbstractDXRAMComponentConfig {
             return false;
         }
 
+        if (m_logDirectories.size() > 1 && HarddriveAccessMode.convert(m_harddriveAccess) == HarddriveAccessMode.RAW_DEVICE) {
+            // #if LOGGER >= ERROR
+            LOGGER.error("Multiple log directories are not supported for harddrive access mode \"raw\"");
+            // #endif /* LOGGER >= ERROR */
+            return false;
+        }
+
+        if (HarddriveAccessMode.convert(m_harddriveAccess) == HarddriveAccessMode.FILE_CHANNEL && secondaryLogSize > Integer.MAX_VALUE) {
+            // #if LOGGER >= ERROR
+            LOGGER.error("Secondary log size must not exceed 2 GB for harddrive access mode \"nio\" (logs are memory-mapped)");
+            // #endif /* LOGGER >= ERROR */
+            return false;
+        }
+
         if (m_secondaryLogBufferSize.getBytes() > m_logSegmentSize.getBytes()) {
             // #if LOGGER >= ERROR
             LOGGER.error("Secondary log buffer size must not exceed segment size!");
@@ -207,6 +269,13 @@ public class LogComponentConfig extends AbstractDXRAMComponentConfig {
             return false;
         }
 
+        if (m_reorgThreads < 1 || m_reorgIOBudget < 0) {
+            // #if LOGGER >= ERROR
+            LOGGER.error("There must be at least one reorganization thread and the I/O budget must not be negative");
+            // #endif /* LOGGER >= ERROR */
+            return false;
+        }
+
         return true;
     }
 }
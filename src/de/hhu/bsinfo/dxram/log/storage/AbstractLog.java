@@ -20,9 +20,15 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.concurrent.locks.ReentrantLock;
 
 import de.hhu.bsinfo.dxram.util.HarddriveAccessMode;
+import de.hhu.bsinfo.dxutils.UnsafeHandler;
 import de.hhu.bsinfo.dxutils.jni.JNIFileDirect;
 import de.hhu.bsinfo.dxutils.jni.JNIFileRaw;
 import de.hhu.bsinfo.dxutils.stats.StatisticsManager;
@@ -59,6 +65,9 @@ public abstract class AbstractLog {
 
     private HarddriveAccessMode m_mode;
     private RandomAccessFile m_randomAccessFile;
+    private FileChannel m_fileChannel;
+    // Read-only mapping of the entire log (FILE_CHANNEL mode, only); created on first read
+    private volatile ByteBuffer m_mappedLog;
     private int m_fileID;
 
     private ReentrantLock m_fileAccessLock;
@@ -86,6 +95,8 @@ public abstract class AbstractLog {
 
         m_mode = p_mode;
         m_randomAccessFile = null;
+        m_fileChannel = null;
+        m_mappedLog = null;
         m_fileID = -1;
 
         m_fileAccessLock = new ReentrantLock(false);
@@ -104,7 +115,7 @@ public abstract class AbstractLog {
      * @return the size
      */
     final long getFileSize() {
-        if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE) {
+        if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE || m_mode == HarddriveAccessMode.FILE_CHANNEL) {
             return m_logFile.length();
         } else if (m_mode == HarddriveAccessMode.ODIRECT) {
             return JNIFileDirect.length(m_fileID);
@@ -150,6 +161,135 @@ public abstract class AbstractLog {
         }
     }
 
+    /**
+     * Key function to read from log file randomly - FileChannel version
+     *
+     * @param p_bufferWrapper
+     *         buffer to fill with log data
+     * @param p_length
+     *         number of bytes to read
+     * @param p_readPos
+     *         the position within the log file
+     * @param p_mappedFile
+     *         the memory-mapped log file
+     */
+    static void readFromSecondaryLogFile(final DirectByteBufferWrapper p_bufferWrapper, final int p_length,
+            final long p_readPos, final ByteBuffer p_mappedFile) {
+        if (p_length > 0) {
+            assert p_length <= p_mappedFile.capacity() - p_readPos;
+
+            // #ifdef STATISTICS
+            SOP_READ_SECONDARY_LOG.start();
+            // #endif /* STATISTICS */
+
+            copyFromMappedFile(p_mappedFile, p_readPos, p_bufferWrapper, p_length);
+
+            // #ifdef STATISTICS
+            SOP_READ_SECONDARY_LOG.stop();
+            // #endif /* STATISTICS */
+        }
+    }
+
+    /**
+     * Maps a file read-only
+     *
+     * @param p_fileChannel
+     *         the file channel
+     * @param p_length
+     *         the number of bytes to map (from the beginning of the file)
+     * @return the mapped region
+     * @throws IOException
+     *         if the file could not be mapped
+     */
+    static ByteBuffer mapFile(final FileChannel p_fileChannel, final long p_length) throws IOException {
+        MappedByteBuffer mappedFile = p_fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, p_length);
+        mappedFile.order(ByteOrder.LITTLE_ENDIAN);
+
+        return mappedFile;
+    }
+
+    /**
+     * Unmaps a file mapped with mapFile. The mapping must not be accessed afterwards
+     *
+     * @param p_mappedFile
+     *         the mapped region
+     */
+    static void unmapFile(final ByteBuffer p_mappedFile) {
+        if (p_mappedFile == null || !p_mappedFile.isDirect()) {
+            return;
+        }
+
+        // There is no public API to unmap a file (before Java 9 the cleaner of the buffer has to be called).
+        // If both fail, the mapping is released by the garbage collector
+        try {
+            Method invokeCleaner = UnsafeHandler.getInstance().getUnsafe().getClass().getMethod("invokeCleaner",
+                    ByteBuffer.class);
+            invokeCleaner.invoke(UnsafeHandler.getInstance().getUnsafe(), p_mappedFile);
+        } catch (final NoSuchMethodException ignored) {
+            try {
+                Method cleanerMethod = p_mappedFile.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(p_mappedFile);
+                if (cleaner != null) {
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+                }
+            } catch (final Exception ignore) {
+            }
+        } catch (final Exception ignore) {
+        }
+    }
+
+    /**
+     * Writes a region of a buffer to a file channel at given position without changing the buffer's position and limit
+     *
+     * @param p_fileChannel
+     *         the file channel
+     * @param p_buffer
+     *         the buffer with data to write
+     * @param p_bufferOffset
+     *         offset in buffer
+     * @param p_length
+     *         number of bytes to write
+     * @param p_writePos
+     *         the position within the file
+     * @throws IOException
+     *         if writing to the file channel failed
+     */
+    static void writeToFileChannel(final FileChannel p_fileChannel, final ByteBuffer p_buffer, final int p_bufferOffset,
+            final int p_length, final long p_writePos) throws IOException {
+        ByteBuffer source = p_buffer.duplicate();
+        long writePos = p_writePos;
+
+        source.limit(p_bufferOffset + p_length);
+        source.position(p_bufferOffset);
+        while (source.hasRemaining()) {
+            writePos += p_fileChannel.write(source, writePos);
+        }
+    }
+
+    /**
+     * Copies a region of a memory-mapped file to the beginning of given buffer
+     *
+     * @param p_mappedFile
+     *         the memory-mapped file
+     * @param p_readPos
+     *         the position within the file
+     * @param p_bufferWrapper
+     *         the buffer to fill
+     * @param p_length
+     *         number of bytes to copy
+     */
+    private static void copyFromMappedFile(final ByteBuffer p_mappedFile, final long p_readPos,
+            final DirectByteBufferWrapper p_bufferWrapper, final int p_length) {
+        ByteBuffer source = p_mappedFile.duplicate();
+        ByteBuffer destination = p_bufferWrapper.getBuffer().duplicate();
+
+        source.limit((int) p_readPos + p_length);
+        source.position((int) p_readPos);
+        destination.clear();
+        destination.put(source);
+    }
+
     /**
      * Key function to read from log file randomly - O_DIRECT or Raw version
      *
@@ -225,7 +365,8 @@ public abstract class AbstractLog {
      *         if the closing fails
      */
     public final void close() throws IOException {
-        if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE) {
+        if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE || m_mode == HarddriveAccessMode.FILE_CHANNEL) {
+            releaseMappedLog();
             m_randomAccessFile.close();
         } else if (m_mode == HarddriveAccessMode.ODIRECT) {
             if (JNIFileDirect.close(m_fileID) < 0) {
@@ -245,7 +386,8 @@ public abstract class AbstractLog {
      *         if the closing fails
      */
     public void closeAndRemove() throws IOException {
-        if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE) {
+        if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE || m_mode == HarddriveAccessMode.FILE_CHANNEL) {
+            releaseMappedLog();
             m_randomAccessFile.close();
 
             if (m_logFile.exists()) {
@@ -272,6 +414,20 @@ public abstract class AbstractLog {
         }
     }
 
+    /**
+     * Unmaps the read-only mapping of the log (FILE_CHANNEL mode, only), if it was created
+     */
+    private void releaseMappedLog() {
+        ByteBuffer mappedLog;
+
+        m_fileAccessLock.lock();
+        mappedLog = m_mappedLog;
+        m_mappedLog = null;
+        m_fileAccessLock.unlock();
+
+        unmapFile(mappedLog);
+    }
+
     /**
      * Creates and initializes random access file
      *
@@ -282,7 +438,7 @@ public abstract class AbstractLog {
     final boolean createLogAndWriteHeader() throws IOException {
         boolean ret = true;
 
-        if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE) {
+        if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE || m_mode == HarddriveAccessMode.FILE_CHANNEL) {
             if (m_logFile.exists()) {
                 ret = m_logFile.delete();
             }
@@ -298,6 +454,12 @@ public abstract class AbstractLog {
 
                 // Write header
                 m_randomAccessFile = openLog(m_logFile);
+
+                if (m_mode == HarddriveAccessMode.FILE_CHANNEL) {
+                    // Allocate the entire log to be able to map it
+                    m_randomAccessFile.setLength(m_logFileSize);
+                    m_fileChannel = m_randomAccessFile.getChannel();
+                }
             }
         } else if (m_mode == HarddriveAccessMode.ODIRECT) {
             if (m_logFile.exists()) {
@@ -357,6 +519,12 @@ public abstract class AbstractLog {
             if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE) {
                 m_randomAccessFile.seek(p_readPos);
                 m_randomAccessFile.readFully(p_bufferWrapper.getBuffer().array(), 0, p_length);
+            } else if (m_mode == HarddriveAccessMode.FILE_CHANNEL) {
+                if (m_mappedLog == null) {
+                    // Writes through the file channel are visible in the mapping (shared page cache)
+                    m_mappedLog = mapFile(m_fileChannel, m_logFileSize);
+                }
+                copyFromMappedFile(m_mappedLog, p_readPos, p_bufferWrapper, p_length);
             } else if (m_mode == HarddriveAccessMode.ODIRECT) {
                 if (JNIFileDirect.read(m_fileID, p_bufferWrapper.getAddress(), 0, p_length, p_readPos) < 0) {
                     throw new IOException("Error reading from log");
@@ -403,6 +571,8 @@ public abstract class AbstractLog {
             if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE) {
                 m_randomAccessFile.seek(p_writePos);
                 m_randomAccessFile.write(p_bufferWrapper.getBuffer().array(), 0, p_length);
+            } else if (m_mode == HarddriveAccessMode.FILE_CHANNEL) {
+                writeToFileChannel(m_fileChannel, p_bufferWrapper.getBuffer(), 0, p_length, p_writePos);
             } else if (m_mode == HarddriveAccessMode.ODIRECT) {
                 if (JNIFileDirect.write(m_fileID, p_bufferWrapper.getAddress(), 0, p_length, p_writePos, (byte) 0,
                         (byte) 0) < 0) {
@@ -427,6 +597,10 @@ public abstract class AbstractLog {
                 m_randomAccessFile.seek(0);
                 m_randomAccessFile.write(p_bufferWrapper.getBuffer().array(), (int) bytesUntilEnd,
                         p_length - (int) bytesUntilEnd);
+            } else if (m_mode == HarddriveAccessMode.FILE_CHANNEL) {
+                writeToFileChannel(m_fileChannel, p_bufferWrapper.getBuffer(), 0, (int) bytesUntilEnd, p_writePos);
+                writeToFileChannel(m_fileChannel, p_bufferWrapper.getBuffer(), (int) bytesUntilEnd,
+                        p_length - (int) bytesUntilEnd, 0);
             } else if (m_mode == HarddriveAccessMode.ODIRECT) {
                 if (JNIFileDirect.write(m_fileID, p_bufferWrapper.getAddress(), 0, (int) bytesUntilEnd, p_writePos,
                         (byte) 0, (byte) 0) < 0) {
@@ -489,6 +663,8 @@ public abstract class AbstractLog {
                 if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE) {
                     m_randomAccessFile.seek(p_readPos);
                     m_randomAccessFile.write(ms_nullSegment, 0, p_length);
+                } else if (m_mode == HarddriveAccessMode.FILE_CHANNEL) {
+                    writeToFileChannel(m_fileChannel, ms_nullSegmentWrapper.getBuffer(), 0, p_length, p_readPos);
                 } else if (m_mode == HarddriveAccessMode.ODIRECT) {
                     if (JNIFileDirect.write(m_fileID, ms_nullSegmentWrapper.getAddress(), 0, m_flashPageSize, p_readPos,
                             (byte) 0, (byte) 0) < 0) {
@@ -521,6 +697,8 @@ public abstract class AbstractLog {
                 if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE) {
                     m_randomAccessFile.seek(p_readPos);
                     m_randomAccessFile.write(p_bufferWrapper.getBuffer().array(), p_bufferOffset, p_length);
+                } else if (m_mode == HarddriveAccessMode.FILE_CHANNEL) {
+                    writeToFileChannel(m_fileChannel, p_bufferWrapper.getBuffer(), p_bufferOffset, p_length, p_readPos);
                 } else if (m_mode == HarddriveAccessMode.ODIRECT) {
                     if (JNIFileDirect.write(m_fileID, p_bufferWrapper.getAddress(), p_bufferOffset, p_length, p_readPos,
                             (byte) 0, (byte) 0) < 0) {
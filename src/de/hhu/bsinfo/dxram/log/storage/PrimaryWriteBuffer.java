@@ -66,6 +66,7 @@ public class PrimaryWriteBuffer {
     private final int m_secondaryLogBufferSize;
     private final int m_logSegmentSize;
     private final boolean m_useChecksum;
+    private final boolean m_coalesceWrites;
     private final boolean m_native;
 
     private DirectByteBufferWrapper m_bufferWrapper;
@@ -107,7 +108,8 @@ public class PrimaryWriteBuffer {
     private Condition m_finishedCopyingCond;
 
     private BufferPool m_bufferPool;
-    private WriterJobQueue m_writerJobQueue;
+    // One writer job queue per log device; the primary log is written by the first one
+    private WriterJobQueue[] m_writerJobQueues;
 
     // Constructors
 
@@ -129,15 +131,21 @@ public class PrimaryWriteBuffer {
      *         the segment size
      * @param p_useChecksum
      *         whether checksums are used
+     * @param p_coalesceWrites
+     *         whether to write only the newest version of chunks logged several times since the last flush
+     * @param p_numberOfDevices
+     *         the number of log devices (one writer thread each)
      */
     public PrimaryWriteBuffer(final LogComponent p_logComponent, final PrimaryLog p_primaryLog, final int p_writeBufferSize, final int p_flashPageSize,
-            final int p_secondaryLogBufferSize, final int p_logSegmentSize, final boolean p_useChecksum) {
+            final int p_secondaryLogBufferSize, final int p_logSegmentSize, final boolean p_useChecksum, final boolean p_coalesceWrites,
+            final int p_numberOfDevices) {
         m_logComponent = p_logComponent;
         m_writeBufferSize = p_writeBufferSize;
         m_flashPageSize = p_flashPageSize;
         m_secondaryLogBufferSize = p_secondaryLogBufferSize;
         m_logSegmentSize = p_logSegmentSize;
         m_useChecksum = p_useChecksum;
+        m_coalesceWrites = p_coalesceWrites;
 
         m_bufferReadPointer = 0;
         m_bufferWritePointer = 0;
@@ -164,7 +172,10 @@ public class PrimaryWriteBuffer {
 
         m_bufferPool = new BufferPool(p_logSegmentSize);
 
-        m_writerJobQueue = new WriterJobQueue(this, p_primaryLog);
+        m_writerJobQueues = new WriterJobQueue[p_numberOfDevices];
+        for (int i = 0; i < p_numberOfDevices; i++) {
+            m_writerJobQueues[i] = new WriterJobQueue(this, p_primaryLog, i);
+        }
 
         m_processThread = new PrimaryLogProcessThread();
         m_processThread.setName("Logging: Process Thread");
@@ -187,7 +198,9 @@ public class PrimaryWriteBuffer {
         while (!m_flushingComplete) {
             Thread.yield();
         }
-        m_writerJobQueue.shutdown();
+        for (WriterJobQueue queue : m_writerJobQueues) {
+            queue.shutdown();
+        }
     }
 
     /**
@@ -594,6 +607,7 @@ public class PrimaryWriteBuffer {
             Iterator<Entry<Integer, BufferNode>> iter2;
             Entry<Integer, BufferNode> entry2;
             BufferNode bufferNode;
+            HashMap<Integer, Integer> outdatedEntries = null;
 
             // Sort buffer by backup range
 
@@ -625,7 +639,20 @@ public class PrimaryWriteBuffer {
                 map.put(combinedRangeID, bufferNode);
             }
 
+            if (m_coalesceWrites) {
+                outdatedEntries = determineOutdatedEntries(p_primaryWriteBuffer, p_offset, p_length);
+            }
+
             while (bytesRead < p_length) {
+                if (outdatedEntries != null) {
+                    Integer outdatedBytes = outdatedEntries.get(bytesRead);
+                    if (outdatedBytes != null) {
+                        // A newer version of this chunk follows in this buffer -> skip all log entries of the outdated version
+                        bytesRead += outdatedBytes;
+                        continue;
+                    }
+                }
+
                 offset = (p_offset + bytesRead) % p_primaryWriteBuffer.capacity();
                 bytesUntilEnd = p_primaryWriteBuffer.capacity() - offset;
 
@@ -691,6 +718,11 @@ public class PrimaryWriteBuffer {
                     segment.rewind();
 
                     if (segmentLength == 0) {
+                        // Remaining segments were not needed (e.g., outdated versions were skipped) -> return them
+                        while (segmentWrapper != null) {
+                            returnBuffer(segmentWrapper);
+                            segmentWrapper = bufferNode.getSegmentWrapper(++i);
+                        }
                         break;
                     }
 
@@ -727,6 +759,97 @@ public class PrimaryWriteBuffer {
             return bytesRead;
         }
 
+        /**
+         * Determines all log entries in given data block that are superseded by a newer version of the same chunk
+         * within the same data block (and backup range). As versions are assigned in order of appending, only the
+         * last log entry (or chain of log entries) of every chunk is up-to-date. The versions in the versions buffers
+         * are not affected.
+         *
+         * @param p_primaryWriteBuffer
+         *         data block
+         * @param p_offset
+         *         offset within the buffer
+         * @param p_length
+         *         length of data
+         * @return the outdated log entries (relative offset -> number of bytes of the log entry or chain) or null if there are none
+         */
+        private HashMap<Integer, Integer> determineOutdatedEntries(final ByteBuffer p_primaryWriteBuffer, final int p_offset, final int p_length) {
+            HashMap<Integer, Integer> ret = null;
+            int offset;
+            int bytesRead = 0;
+            int bytesUntilEnd;
+            int headerOffset;
+            int logEntrySize;
+            int combinedRangeID;
+            int entryStart = 0;
+            int entrySize = 0;
+            long chunkID;
+            short headerSize;
+            ByteBuffer header;
+            AbstractPrimLogEntryHeader logEntryHeader;
+            HashMap<Long, Long> newestEntries;
+            HashMap<Integer, HashMap<Long, Long>> newestEntriesByBackupRange;
+            Long outdated;
+
+            newestEntriesByBackupRange = new HashMap<Integer, HashMap<Long, Long>>();
+            while (bytesRead < p_length) {
+                offset = (p_offset + bytesRead) % p_primaryWriteBuffer.capacity();
+                bytesUntilEnd = p_primaryWriteBuffer.capacity() - offset;
+
+                logEntryHeader = AbstractPrimLogEntryHeader.getHeader();
+                if (logEntryHeader.isReadable(p_primaryWriteBuffer, offset, bytesUntilEnd)) {
+                    header = p_primaryWriteBuffer;
+                    headerOffset = offset;
+                } else {
+                    // Buffer overflow -> header is split
+                    headerSize = logEntryHeader.getHeaderSize(p_primaryWriteBuffer, offset);
+                    header = ByteBuffer.allocate(headerSize);
+                    header.order(ByteOrder.LITTLE_ENDIAN);
+                    for (int i = 0; i < headerSize; i++) {
+                        header.put(i, p_primaryWriteBuffer.get((offset + i) % p_primaryWriteBuffer.capacity()));
+                    }
+                    headerOffset = 0;
+                }
+                logEntrySize = logEntryHeader.getHeaderSize(header, headerOffset) + logEntryHeader.getLength(header, headerOffset);
+
+                if (!logEntryHeader.isChained(header, headerOffset) || logEntryHeader.getChainID(header, headerOffset) == 0) {
+                    // First log entry of a chunk (all log entries of a chain are consecutive)
+                    entryStart = bytesRead;
+                    entrySize = 0;
+                }
+                entrySize += logEntrySize;
+
+                if (!logEntryHeader.isChained(header, headerOffset) ||
+                        logEntryHeader.getChainID(header, headerOffset) == logEntryHeader.getChainSize(header, headerOffset) - 1) {
+                    // Last log entry of a chunk -> this is the newest version so far
+                    chunkID = logEntryHeader.getCID(header, headerOffset);
+                    combinedRangeID = (logEntryHeader.getOwner(header, headerOffset) << 16) + logEntryHeader.getRangeID(header, headerOffset);
+
+                    newestEntries = newestEntriesByBackupRange.get(combinedRangeID);
+                    if (newestEntries == null) {
+                        newestEntries = new HashMap<Long, Long>();
+                        newestEntriesByBackupRange.put(combinedRangeID, newestEntries);
+                    }
+                    outdated = newestEntries.put(chunkID, ((long) entryStart << 32) + entrySize);
+                    if (outdated != null) {
+                        if (ret == null) {
+                            ret = new HashMap<Integer, Integer>();
+                        }
+                        ret.put((int) (outdated >>> 32), (int) (long) outdated);
+                    }
+                }
+                bytesRead += logEntrySize;
+            }
+
+            // #if LOGGER == TRACE
+            if (ret != null) {
+                LOGGER.trace("Skipping %d outdated versions", ret.size());
+            }
+            // #endif /* LOGGER == TRACE */
+
+            return ret;
+        }
+
         /**
          * Buffers an log entry or log entry range in corresponding secondary log
          * buffer
@@ -749,7 +872,7 @@ public class PrimaryWriteBuffer {
         /**
          * Writes a log entry/range directly to secondary log buffer if longer than
          * secondary log buffer size Has to flush the corresponding secondary log buffer if not
-         * empty to maintain order
+         * empty to maintain order. The job is queued at the writer of the secondary log's device
          *
          * @param p_buffer
          *         data block
@@ -766,7 +889,10 @@ public class PrimaryWriteBuffer {
          */
         private void writeToSecondaryLog(final DirectByteBufferWrapper p_buffer, final int p_logEntrySize, final short p_rangeID, final short p_owner)
                 throws IOException, InterruptedException {
-            m_writerJobQueue.pushJob((byte) 0, m_logComponent.getSecondaryLogBuffer(p_owner, p_rangeID), p_buffer, p_logEntrySize);
+            SecondaryLogBuffer secLogBuffer = m_logComponent.getSecondaryLogBuffer(p_owner, p_rangeID);
+
+            // Every secondary log is written by the writer thread of its device
+            m_writerJobQueues[secLogBuffer.getDevice()].pushJob((byte) 0, secLogBuffer, p_buffer, p_logEntrySize);
         }
 
         /**
@@ -776,7 +902,7 @@ public class PrimaryWriteBuffer {
          *         data block
          */
         private void writeToPrimaryLog(final DirectByteBufferWrapper p_buffer) {
-            m_writerJobQueue.pushJob((byte) 1, null, p_buffer, 0);
+            m_writerJobQueues[0].pushJob((byte) 1, null, p_buffer, 0);
             //m_primaryLog.appendData(p_buffer, p_buffer.getBuffer().position());
         }
     }
@@ -68,6 +68,7 @@ public class SecondaryLog extends AbstractLog {
     private final boolean m_useTimestamps;
     private final int m_coldDataThreshold;
     private final long m_creationTimestamp;
+    private final int m_device;
     // Attributes
     private short m_owner;
     private short m_rangeID;
@@ -99,6 +100,8 @@ public class SecondaryLog extends AbstractLog {
      *         the RangeID
      * @param p_backupDirectory
      *         the backup directory
+     * @param p_device
+     *         the index of the log device the backup directory is on
      * @param p_secondaryLogSize
      *         the size of a secondary log
      * @param p_flashPageSize
@@ -119,8 +122,8 @@ public class SecondaryLog extends AbstractLog {
      *         if secondary log could not be created
      */
     public SecondaryLog(final LogComponent p_logComponent, final SecondaryLogsReorgThread p_reorganizationThread, final short p_owner,
-            final short p_originalOwner, final short p_rangeID, final String p_backupDirectory, final long p_secondaryLogSize, final int p_flashPageSize,
-            final int p_logSegmentSize, final int p_reorgUtilizationThreshold, final boolean p_useChecksums, final boolean p_useTimestamps,
+            final short p_originalOwner, final short p_rangeID, final String p_backupDirectory, final int p_device, final long p_secondaryLogSize,
+            final int p_flashPageSize, final int p_logSegmentSize, final int p_reorgUtilizationThreshold, final boolean p_useChecksums, final boolean p_useTimestamps,
             final int p_coldDataThreshold, final HarddriveAccessMode p_mode) throws IOException {
         super(new File(p_backupDirectory + 'N' + NodeID.toHexString(p_owner) + '_' + SECLOG_PREFIX_FILENAME + NodeID.toHexString(p_owner) + '_' + p_rangeID +
                         (p_useChecksums ? "1" : "0") + '_' + (p_useTimestamps ? "1" : "0") + '_' + SECLOG_POSTFIX_FILENAME), p_secondaryLogSize, p_mode,
@@ -135,6 +138,7 @@ public class SecondaryLog extends AbstractLog {
         m_useTimestamps = p_useTimestamps;
         m_coldDataThreshold = p_coldDataThreshold;
         m_creationTimestamp = System.currentTimeMillis();
+        m_device = p_device;
 
         m_segmentAssignmentlock = new ReentrantLock(false);
 
@@ -179,6 +183,8 @@ public class SecondaryLog extends AbstractLog {
      *         the RangeID
      * @param p_backupDirectory
      *         the backup directory
+     * @param p_device
+     *         the index of the log device the backup directory is on
      * @param p_secondaryLogSize
      *         the size of a secondary log
      * @param p_flashPageSize
@@ -199,11 +205,11 @@ public class SecondaryLog extends AbstractLog {
      *         if secondary log could not be created
      */
     public SecondaryLog(final LogComponent p_logComponent, final SecondaryLogsReorgThread p_reorganizationThread, final short p_owner, final short p_rangeID,
-            final String p_backupDirectory, final long p_secondaryLogSize, final int p_flashPageSize, final int p_logSegmentSize,
+            final String p_backupDirectory, final int p_device, final long p_secondaryLogSize, final int p_flashPageSize, final int p_logSegmentSize,
             final int p_reorgUtilizationThreshold, final boolean p_useChecksums, final boolean p_useTimestamps, final int p_coldDataThreshold,
             final HarddriveAccessMode p_mode) throws IOException {
-        this(p_logComponent, p_reorganizationThread, p_owner, p_owner, p_rangeID, p_backupDirectory, p_secondaryLogSize, p_flashPageSize, p_logSegmentSize,
-                p_reorgUtilizationThreshold, p_useChecksums, p_useTimestamps, p_coldDataThreshold, p_mode);
+        this(p_logComponent, p_reorganizationThread, p_owner, p_owner, p_rangeID, p_backupDirectory, p_device, p_secondaryLogSize, p_flashPageSize,
+                p_logSegmentSize, p_reorgUtilizationThreshold, p_useChecksums, p_useTimestamps, p_coldDataThreshold, p_mode);
     }
 
     /**
@@ -322,6 +328,16 @@ public class SecondaryLog extends AbstractLog {
                 readFromSecondaryLogFile(result[i], p_logSegmentSize, i * p_logSegmentSize, randomAccessFile);
             }
             randomAccessFile.close();
+        } else if (p_mode == HarddriveAccessMode.FILE_CHANNEL) {
+            RandomAccessFile randomAccessFile;
+            randomAccessFile = new RandomAccessFile(new File(p_path), "r");
+            ByteBuffer mappedFile = mapFile(randomAccessFile.getChannel(), p_secondaryLogSize);
+            result = new DirectByteBufferWrapper[numberOfSegments];
+            for (int i = 0; i < numberOfSegments; i++) {
+                result[i] = new DirectByteBufferWrapper(p_logSegmentSize, true);
+                readFromSecondaryLogFile(result[i], p_logSegmentSize, i * p_logSegmentSize, mappedFile);
+            }
+            randomAccessFile.close();
         } else if (p_mode == HarddriveAccessMode.ODIRECT) {
             int fileID = JNIFileDirect.open(p_path, 1, 0);
             if (fileID < 0) {
@@ -665,6 +681,15 @@ public class SecondaryLog extends AbstractLog {
         return m_rangeID;
     }
 
+    /**
+     * Returns the index of the log device this secondary log is stored on
+     *
+     * @return the device index
+     */
+    public final int getDevice() {
+        return m_device;
+    }
+
     @Override
     public long getOccupiedSpace() {
         return determineLogSize();
@@ -83,6 +83,15 @@ public final class SecondaryLogBuffer {
         return m_buffer.getBuffer().position() == 0;
     }
 
+    /**
+     * Returns the index of the log device the corresponding secondary log is stored on
+     *
+     * @return the device index
+     */
+    int getDevice() {
+        return m_secondaryLog.getDevice();
+    }
+
     /**
      * Closes the buffer
      */
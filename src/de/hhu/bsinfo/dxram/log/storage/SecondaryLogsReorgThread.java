@@ -14,14 +14,18 @@
  * along with this program.  If not, see <http://www.gnu.org/licenses/>
  */
 
+
 package de.hhu.bsinfo.dxram.log.storage;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -30,34 +34,39 @@ import de.hhu.bsinfo.dxram.log.LogComponent;
 import de.hhu.bsinfo.dxutils.RandomUtils;
 
 /**
- * Reorganization thread
+ * Reorganization threads. A pool of workers reorganizes different secondary logs concurrently.
+ * Every secondary log is reorganized by at most one worker at a time. Urgent requests (secondary log is full) are
+ * served by the next free worker, all other disk accesses of the workers are limited by a global I/O budget.
  *
  * @author Kevin Beineke, kevin.beineke@hhu.de, 20.06.2014
  */
-public final class SecondaryLogsReorgThread extends Thread {
+public final class SecondaryLogsReorgThread {
 
     private static final Logger LOGGER = LogManager.getFormatterLogger(SecondaryLogsReorgThread.class.getSimpleName());
 
+    private static final int ITERATIONS_PER_LOG = 20;
+
     // Attributes
     private final LinkedHashSet<SecondaryLog> m_reorganizationRequests;
+    // Secondary logs currently processed by a worker (guarded by m_requestLock)
+    private final HashSet<SecondaryLog> m_claimedLogs;
     private LogComponent m_logComponent;
     private long m_secondaryLogSize;
-    private TemporaryVersionsStorage m_allVersions;
+    private ReorganizationWorker[] m_workers;
     private ReentrantLock m_reorganizationLock;
     private Condition m_reorganizationFinishedCondition;
     private ReentrantLock m_requestLock;
-    private ReentrantLock m_recoveryLock;
-    private DirectByteBufferWrapper m_reorgSegmentData;
-    private byte m_counter;
-    private boolean m_isRandomChoice;
+    // Read-locked by every worker iteration, write-locked during recovery (fair to not starve the recovery)
+    private ReentrantReadWriteLock m_recoveryLock;
+    // Number of workers allowed to access the disk concurrently for non-urgent reorganization
+    private Semaphore m_ioBudget;
     private volatile SecondaryLog m_secLog;
-    private volatile boolean m_reorgThreadWaits;
-    private volatile boolean m_accessGrantedForReorgThread;
+    // Whether a worker is processing the urgent request already (guarded by m_reorganizationLock)
+    private boolean m_urgentRequestTaken;
 
-    // Constructors
     private volatile boolean m_shutdown;
 
-    // Setter
+    // Constructors
 
     /**
      * Creates an instance of SecondaryLogsReorgThread
@@ -68,24 +77,32 @@ public final class SecondaryLogsReorgThread extends Thread {
      *         the secondary log size
      * @param p_logSegmentSize
      *         the segment size
+     * @param p_numberOfWorkers
+     *         the number of reorganization workers
+     * @param p_ioBudget
+     *         the number of workers allowed to read/write segments concurrently (urgent requests are not limited)
      */
-    public SecondaryLogsReorgThread(final LogComponent p_logComponent, final long p_secondaryLogSize, final int p_logSegmentSize) {
+    public SecondaryLogsReorgThread(final LogComponent p_logComponent, final long p_secondaryLogSize, final int p_logSegmentSize,
+            final int p_numberOfWorkers, final int p_ioBudget) {
         m_logComponent = p_logComponent;
         m_secondaryLogSize = p_secondaryLogSize;
 
-        m_allVersions = new TemporaryVersionsStorage(m_secondaryLogSize);
-
         m_reorganizationLock = new ReentrantLock(false);
         m_reorganizationFinishedCondition = m_reorganizationLock.newCondition();
 
         m_reorganizationRequests = new LinkedHashSet<SecondaryLog>();
+        m_claimedLogs = new HashSet<SecondaryLog>();
         m_requestLock = new ReentrantLock(false);
 
-        m_recoveryLock = new ReentrantLock(false);
+        m_recoveryLock = new ReentrantReadWriteLock(true);
 
-        m_reorgSegmentData = new DirectByteBufferWrapper(p_logSegmentSize, true);
+        m_ioBudget = new Semaphore(p_ioBudget);
 
-        m_counter = 0;
+        m_workers = new ReorganizationWorker[p_numberOfWorkers];
+        for (int i = 0; i < p_numberOfWorkers; i++) {
+            m_workers[i] = new ReorganizationWorker(p_logSegmentSize);
+            m_workers[i].setName("Logging: Reorganization Thread " + i);
+        }
     }
 
     /**
@@ -101,240 +118,55 @@ public final class SecondaryLogsReorgThread extends Thread {
     }
 
     /**
-     * Shutdown
-     */
-    public void shutdown() {
-        m_shutdown = true;
-    }
-
-    /**
-     * Block the reorganization thread
-     * Is called during recovery.
-     */
-    public void block() {
-        while (!m_recoveryLock.tryLock()) {
-            interrupt();
-        }
-    }
-
-    /**
-     * Unblock the reorganization thread
-     * Is called during recovery.
+     * Starts all workers
      */
-    public void unblock() {
-        m_recoveryLock.unlock();
-    }
-
-    @Override
-    public void run() {
-        final int iterationsPerLog = 20;
-        int counter = 0;
-        long lowestLID = 0;
-        SecondaryLog secondaryLog = null;
-
-        while (!m_shutdown) {
-            m_recoveryLock.lock();
-            m_reorganizationLock.lock();
-            // Check if there is an urgent reorganization request -> reorganize complete secondary log and signal
-            if (m_secLog != null) {
-                // Leave current secondary log
-                counter = leaveSecondaryLog(secondaryLog, counter);
-
-                // Process urgent request
-                processUrgentRequest();
-                m_recoveryLock.unlock();
-                continue;
-            }
-            m_reorganizationLock.unlock();
-
-            // Check if there are normal reorganization requests -> reorganize complete secondary logs
-            m_requestLock.lock();
-            if (!m_reorganizationRequests.isEmpty()) {
-                m_requestLock.unlock();
-                // Leave current secondary log
-                counter = leaveSecondaryLog(secondaryLog, counter);
-
-                // Process all reorganization requests
-                processLowPriorityRequest();
-                m_recoveryLock.unlock();
-                continue;
-            }
-            m_requestLock.unlock();
-
-            if (counter == 0) {
-                // This is the first iteration -> choose secondary log and gather versions
-                secondaryLog = chooseLog();
-                if (secondaryLog != null && (2 * secondaryLog.getOccupiedSpace() > m_secondaryLogSize || secondaryLog.needToBeReorganized())) {
-                    getAccessToSecLog(secondaryLog);
-                    if (!interrupted()) {
-                        lowestLID = secondaryLog.getCurrentVersions(m_allVersions, true);
-                        if (interrupted()) {
-                            m_recoveryLock.unlock();
-                            continue;
-                        }
-                    } else {
-                        m_recoveryLock.unlock();
-                        continue;
-                    }
-                } else {
-                    // Nothing to do -> wait for a while to reduce cpu load
-                    m_recoveryLock.unlock();
-                    try {
-                        Thread.sleep(100);
-                    } catch (final InterruptedException ignored) {
-                    }
-                    continue;
-                }
-            }
-
-            // Reorganize one segment
-            if (secondaryLog != null) {
-                // #if LOGGER == TRACE
-                LOGGER.trace("Going to reorganize %s", secondaryLog.getRangeID());
-                // #endif /* LOGGER == TRACE */
-                getAccessToSecLog(secondaryLog);
-
-                if (!interrupted()) {
-                    final long start = System.currentTimeMillis();
-                    if (!secondaryLog.reorganizeIteratively(m_reorgSegmentData, m_allVersions, lowestLID)) {
-                        // Reorganization failed because of an I/O error -> switch log
-                        counter = iterationsPerLog;
-                    }
-
-                    if (!interrupted()) {
-                        // #if LOGGER == TRACE
-                        LOGGER.trace("Time to reorganize segment: %d", System.currentTimeMillis() - start);
-                        // #endif /* LOGGER == TRACE */
-                    } else {
-                        // #if LOGGER == TRACE
-                        LOGGER.debug("Reorganization of segment was interrupted! Time: %d", System.currentTimeMillis() - start);
-                        // #endif /* LOGGER == TRACE */
-                    }
-
-                    if (counter++ == iterationsPerLog) {
-                        // This was the last iteration for current secondary log -> clean-up
-                        counter = leaveSecondaryLog(secondaryLog, counter);
-                    }
-                }
-            }
-            m_recoveryLock.unlock();
+    public void start() {
+        for (ReorganizationWorker worker : m_workers) {
+            worker.start();
         }
     }
 
     /**
-     * Process urgent request by reorganizing the entire secondary log
+     * Shuts down all workers and waits for them to finish
      *
-     * @lock m_reorganizationLock must be acquired
+     * @throws InterruptedException
+     *         if caller is interrupted while waiting
      */
-    private void processUrgentRequest() {
-        // Reorganize complete secondary log
-        SecondaryLog secondaryLog = m_secLog;
-
-        // #if LOGGER >= DEBUG
-        LOGGER.debug("Got urgent reorganization request for %s", m_secLog.getRangeID());
-        // #endif /* LOGGER >= DEBUG */
-
-        m_reorganizationLock.unlock();
-        getAccessToSecLog(secondaryLog);
-
-        if (!interrupted()) {
-            m_reorganizationLock.lock();
-
-            long lowestLID = secondaryLog.getCurrentVersions(m_allVersions, true);
-            if (!interrupted()) {
-                secondaryLog.reorganizeAll(m_reorgSegmentData, m_allVersions, lowestLID);
-                secondaryLog.resetReorgSegment();
-                leaveSecLog(secondaryLog);
-                m_allVersions.clear();
+    public void shutdown() throws InterruptedException {
+        m_shutdown = true;
 
-                if (!interrupted()) {
-                    m_secLog = null;
-                    m_reorganizationFinishedCondition.signalAll();
-                }
-            } else {
-                secondaryLog.resetReorgSegment();
-                leaveSecLog(secondaryLog);
-                m_allVersions.clear();
-            }
-            m_reorganizationLock.unlock();
+        interruptWorkers();
+        for (ReorganizationWorker worker : m_workers) {
+            worker.join();
         }
     }
 
     /**
-     * Process low priority requests by reorganizing the entire secondary log
-     *
-     * @lock m_reorganizationLock must be acquired
+     * Block all reorganization workers
+     * Is called during recovery.
      */
-    private void processLowPriorityRequest() {
-        long lowestLID;
-        SecondaryLog secondaryLog;
-        Iterator<SecondaryLog> iter;
-
-        while (!interrupted() && !m_reorganizationRequests.isEmpty() && !m_shutdown) {
-            m_reorganizationLock.lock();
-            if (m_secLog != null) {
-                // Favor urgent request
-                m_reorganizationLock.unlock();
-                m_recoveryLock.unlock();
-                break;
-            }
-            m_reorganizationLock.unlock();
-
-            m_requestLock.lock();
-            iter = m_reorganizationRequests.iterator();
-            secondaryLog = iter.next();
-            iter.remove();
-            // #if LOGGER == DEBUG
-            LOGGER.debug("Got reorganization request for %s. Queue length: %d", secondaryLog.getRangeID(), m_reorganizationRequests.size());
-            // #endif /* LOGGER == DEBUG */
-            m_requestLock.unlock();
-
-            long start = System.currentTimeMillis();
-            // Reorganize complete secondary log
-            getAccessToSecLog(secondaryLog);
-            if (!interrupted()) {
-                lowestLID = secondaryLog.getCurrentVersions(m_allVersions, true);
-                if (!interrupted()) {
-                    if (2 * secondaryLog.getOccupiedSpace() > m_secondaryLogSize || secondaryLog.needToBeReorganized()) {
-                        // Reorganize if any updates arrived, only
-                        secondaryLog.reorganizeAll(m_reorgSegmentData, m_allVersions, lowestLID);
-                    }
-                }
-            }
-            secondaryLog.resetReorgSegment();
-            leaveSecLog(secondaryLog);
-            m_allVersions.clear();
-
-            // #if LOGGER == TRACE
-            LOGGER.trace("Time to reorganize complete log: %d", System.currentTimeMillis() - start);
-            // #endif /* LOGGER == TRACE */
-        }
+    public void block() {
+        // Interrupt workers to leave the current secondary log as soon as possible
+        interruptWorkers();
+        m_recoveryLock.writeLock().lock();
     }
 
     /**
-     * Reset data structures and leave secondary log
-     *
-     * @param p_secondaryLog
-     *         the current secondary log
-     * @param p_counter
-     *         the current iteration
-     * @return next iteration
+     * Unblock all reorganization workers
+     * Is called during recovery.
      */
-    private int leaveSecondaryLog(final SecondaryLog p_secondaryLog, final int p_counter) {
-        if (p_counter > 0) {
-            p_secondaryLog.resetReorgSegment();
-            leaveSecLog(p_secondaryLog);
-            m_allVersions.clear();
-        }
-        return 0;
+    public void unblock() {
+        m_recoveryLock.writeLock().unlock();
     }
 
     /**
-     * Grants the reorganization thread access to a secondary log
+     * Grants the reorganization workers access to their secondary logs
      */
     void grantAccessToCurrentLog() {
-        if (m_reorgThreadWaits) {
-            m_accessGrantedForReorgThread = true;
+        for (ReorganizationWorker worker : m_workers) {
+            if (worker.m_reorgThreadWaits) {
+                worker.m_accessGrantedForReorgThread = true;
+            }
         }
     }
 
@@ -355,6 +187,12 @@ public final class SecondaryLogsReorgThread extends Thread {
                 // Grant access for reorganization thread to avoid deadlock
                 grantAccessToCurrentLog();
             }
+            // With several log devices, another writer thread might wait for an urgent reorganization already
+            while (m_secLog != null && !p_secLog.equals(m_secLog)) {
+                if (!m_reorganizationFinishedCondition.await(10, TimeUnit.MICROSECONDS)) {
+                    grantAccessToCurrentLog();
+                }
+            }
             m_secLog = p_secLog;
             grantAccessToCurrentLog();
             while (p_secLog.equals(m_secLog)) {
@@ -373,32 +211,105 @@ public final class SecondaryLogsReorgThread extends Thread {
     }
 
     /**
-     * Get access to secondary log for reorganization thread
+     * Interrupts all workers
+     */
+    private void interruptWorkers() {
+        for (ReorganizationWorker worker : m_workers) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Marks a secondary log as processed by the calling worker
      *
      * @param p_secLog
      *         the Secondary Log
+     * @return whether the secondary log was claimed or is processed by another worker
+     * @lock m_requestLock must be acquired
      */
-    private void getAccessToSecLog(final SecondaryLog p_secLog) {
-        if (!p_secLog.isAccessed()) {
-            p_secLog.setAccessFlag(true);
+    private boolean claim(final SecondaryLog p_secLog) {
+        return m_claimedLogs.add(p_secLog);
+    }
+
+    /**
+     * Releases a secondary log claimed by the calling worker
+     *
+     * @param p_secLog
+     *         the Secondary Log
+     */
+    private void unclaim(final SecondaryLog p_secLog) {
+        m_requestLock.lock();
+        m_claimedLogs.remove(p_secLog);
+        m_requestLock.unlock();
+    }
 
-            m_reorgThreadWaits = true;
-            while (!m_accessGrantedForReorgThread && !isInterrupted()) {
-                Thread.yield();
+    /**
+     * Takes the urgent request if there is one and it is not processed by another worker
+     *
+     * @param p_currentLog
+     *         the secondary log the calling worker is processing currently (claimed by the calling worker)
+     * @return the secondary log to reorganize urgently or null
+     */
+    private SecondaryLog takeUrgentRequest(final SecondaryLog p_currentLog) {
+        SecondaryLog ret = null;
+
+        m_reorganizationLock.lock();
+        if (m_secLog != null && !m_urgentRequestTaken) {
+            if (m_secLog.equals(p_currentLog)) {
+                ret = m_secLog;
+            } else {
+                m_requestLock.lock();
+                if (claim(m_secLog)) {
+                    ret = m_secLog;
+                }
+                m_requestLock.unlock();
             }
-            m_accessGrantedForReorgThread = false;
-            m_reorgThreadWaits = false;
+
+            // If the secondary log is claimed by another worker, that worker will take the request
+            m_urgentRequestTaken = ret != null;
         }
+        m_reorganizationLock.unlock();
+
+        return ret;
     }
 
-    // Methods
+    /**
+     * Takes the oldest low-priority request for a secondary log that is not processed by another worker
+     *
+     * @return the secondary log to reorganize or null
+     */
+    private SecondaryLog takeLowPriorityRequest() {
+        SecondaryLog ret = null;
+        SecondaryLog secLog;
+        Iterator<SecondaryLog> iter;
+
+        m_requestLock.lock();
+        iter = m_reorganizationRequests.iterator();
+        while (iter.hasNext()) {
+            secLog = iter.next();
+            if (claim(secLog)) {
+                iter.remove();
+                ret = secLog;
+
+                // #if LOGGER == DEBUG
+                LOGGER.debug("Got reorganization request for %s. Queue length: %d", secLog.getRangeID(), m_reorganizationRequests.size());
+                // #endif /* LOGGER == DEBUG */
+                break;
+            }
+        }
+        m_requestLock.unlock();
+
+        return ret;
+    }
 
     /**
-     * Determines next log to process
+     * Determines next log to process and claims it
      *
+     * @param p_randomChoice
+     *         whether to choose a secondary log randomly (to avoid starvation) or the largest one
      * @return secondary log
      */
-    private SecondaryLog chooseLog() {
+    private SecondaryLog chooseLog(final boolean p_randomChoice) {
         SecondaryLog ret = null;
         int numberOfLogs = 0;
         long max = 0;
@@ -423,18 +334,15 @@ public final class SecondaryLogsReorgThread extends Thread {
                 numberOfLogs += ct.getNumberOfLogs();
             }
 
-            /*
-             * Choose the largest log (or a log that has un-reorganized segments within an advanced eon)
-             * To avoid starvation choose every third log randomly
-             */
-            if (m_counter++ < 2) {
-                m_isRandomChoice = false;
+            m_requestLock.lock();
+            if (!p_randomChoice) {
+                // Choose the largest log (or a log that has un-reorganized segments within an advanced eon)
                 outerloop:
                 for (LogCatalog currentCat : cats) {
                     secLogs = currentCat.getAllLogs();
                     for (int j = 0; j < secLogs.length; j++) {
                         secLog = secLogs[j];
-                        if (secLog != null) {
+                        if (secLog != null && !m_claimedLogs.contains(secLog)) {
                             if (secLog.needToBeReorganized()) {
                                 ret = secLog;
                                 break outerloop;
@@ -447,25 +355,323 @@ public final class SecondaryLogsReorgThread extends Thread {
                         }
                     }
                 }
-            } else {
-                m_counter = 0;
-            }
-            if (m_counter == 0 && !cats.isEmpty() && numberOfLogs > 1) {
-                m_isRandomChoice = true;
+            } else if (!cats.isEmpty() && numberOfLogs > 1) {
                 // Choose one secondary log randomly
                 cat = cats.get(RandomUtils.getRandomValue(cats.size() - 1));
                 secLogs = cat.getAllLogs();
                 if (secLogs.length > 0) {
                     int tries = 0;
-                    while (ret == null && ++tries < 100) {
+                    while ((ret == null || m_claimedLogs.contains(ret)) && ++tries < 100) {
                         // Skip last log to speed up loading phase
                         ret = secLogs[RandomUtils.getRandomValue(secLogs.length - 2)];
                     }
                 }
             }
+
+            if (ret != null && !claim(ret)) {
+                ret = null;
+            }
+            m_requestLock.unlock();
         }
 
         return ret;
     }
 
+    /**
+     * Reorganization worker. Processes urgent requests, low-priority requests and reorganizes the chosen secondary
+     * log iteratively (one segment per iteration).
+     */
+    private final class ReorganizationWorker extends Thread {
+
+        private TemporaryVersionsStorage m_allVersions;
+        private DirectByteBufferWrapper m_reorgSegmentData;
+        private byte m_counter;
+
+        private volatile boolean m_reorgThreadWaits;
+        private volatile boolean m_accessGrantedForReorgThread;
+
+        private SecondaryLog m_secondaryLog;
+        private int m_iteration;
+        private long m_lowestLID;
+
+        /**
+         * Creates an instance of ReorganizationWorker
+         *
+         * @param p_logSegmentSize
+         *         the segment size
+         */
+        ReorganizationWorker(final int p_logSegmentSize) {
+            m_allVersions = new TemporaryVersionsStorage(m_secondaryLogSize);
+            m_reorgSegmentData = new DirectByteBufferWrapper(p_logSegmentSize, true);
+            m_counter = 0;
+        }
+
+        @Override
+        public void run() {
+            while (!m_shutdown) {
+                boolean idle;
+
+                m_recoveryLock.readLock().lock();
+                try {
+                    idle = !processNextRequestOrSegment();
+                } finally {
+                    m_recoveryLock.readLock().unlock();
+                }
+
+                if (idle) {
+                    // Nothing to do -> wait for a while to reduce cpu load
+                    try {
+                        Thread.sleep(100);
+                    } catch (final InterruptedException ignored) {
+                    }
+                }
+            }
+
+            if (m_secondaryLog != null) {
+                leaveSecondaryLog();
+            }
+        }
+
+        /**
+         * Processes an urgent request, a low-priority request or the next segment of the current secondary log
+         *
+         * @return whether there was anything to do
+         * @lock m_recoveryLock must be read-locked
+         */
+        private boolean processNextRequestOrSegment() {
+            SecondaryLog secondaryLog;
+
+            // Check if there is an urgent reorganization request -> reorganize complete secondary log and signal
+            secondaryLog = takeUrgentRequest(m_secondaryLog);
+            if (secondaryLog != null) {
+                if (m_secondaryLog != null) {
+                    // Leave current secondary log (keep the claim if it is the urgent one)
+                    if (secondaryLog.equals(m_secondaryLog)) {
+                        resetSecondaryLog();
+                    } else {
+                        leaveSecondaryLog();
+                    }
+                }
+
+                processUrgentRequest(secondaryLog);
+                return true;
+            }
+
+            // Check if there are normal reorganization requests -> reorganize complete secondary logs
+            secondaryLog = takeLowPriorityRequest();
+            if (secondaryLog != null) {
+                if (m_secondaryLog != null) {
+                    // Leave current secondary log
+                    leaveSecondaryLog();
+                }
+
+                processLowPriorityRequest(secondaryLog);
+                return true;
+            }
+
+            if (m_secondaryLog == null) {
+                // This is the first iteration -> choose secondary log and gather versions
+                // To avoid starvation choose every third log randomly
+                boolean randomChoice = m_counter++ == 2;
+                if (randomChoice) {
+                    m_counter = 0;
+                }
+
+                secondaryLog = chooseLog(randomChoice);
+                if (secondaryLog == null) {
+                    return false;
+                }
+
+                if (2 * secondaryLog.getOccupiedSpace() <= m_secondaryLogSize && !secondaryLog.needToBeReorganized()) {
+                    unclaim(secondaryLog);
+                    return false;
+                }
+
+                m_secondaryLog = secondaryLog;
+                getAccessToSecLog(m_secondaryLog);
+                if (interrupted()) {
+                    leaveSecondaryLog();
+                    return true;
+                }
+
+                m_lowestLID = m_secondaryLog.getCurrentVersions(m_allVersions, true);
+                if (interrupted()) {
+                    leaveSecondaryLog();
+                    return true;
+                }
+            }
+
+            // Reorganize one segment
+            // #if LOGGER == TRACE
+            LOGGER.trace("Going to reorganize %s", m_secondaryLog.getRangeID());
+            // #endif /* LOGGER == TRACE */
+            try {
+                m_ioBudget.acquire();
+            } catch (final InterruptedException ignored) {
+                return true;
+            }
+            try {
+                getAccessToSecLog(m_secondaryLog);
+
+                if (!interrupted()) {
+                    final long start = System.currentTimeMillis();
+                    if (!m_secondaryLog.reorganizeIteratively(m_reorgSegmentData, m_allVersions, m_lowestLID)) {
+                        // Reorganization failed because of an I/O error -> switch log
+                        m_iteration = ITERATIONS_PER_LOG;
+                    }
+
+                    if (!interrupted()) {
+                        // #if LOGGER == TRACE
+                        LOGGER.trace("Time to reorganize segment: %d", System.currentTimeMillis() - start);
+                        // #endif /* LOGGER == TRACE */
+                    } else {
+                        // #if LOGGER == TRACE
+                        LOGGER.debug("Reorganization of segment was interrupted! Time: %d", System.currentTimeMillis() - start);
+                        // #endif /* LOGGER == TRACE */
+                    }
+
+                    if (m_iteration++ == ITERATIONS_PER_LOG) {
+                        // This was the last iteration for current secondary log -> clean-up
+                        leaveSecondaryLog();
+                    }
+                }
+            } finally {
+                m_ioBudget.release();
+            }
+
+            return true;
+        }
+
+        /**
+         * Process urgent request by reorganizing the entire secondary log. Not limited by the I/O budget.
+         *
+         * @param p_secondaryLog
+         *         the secondary log (claimed by this worker)
+         */
+        private void processUrgentRequest(final SecondaryLog p_secondaryLog) {
+            boolean finished = false;
+
+            // #if LOGGER >= DEBUG
+            LOGGER.debug("Got urgent reorganization request for %s", p_secondaryLog.getRangeID());
+            // #endif /* LOGGER >= DEBUG */
+
+            getAccessToSecLog(p_secondaryLog);
+            if (!interrupted()) {
+                long lowestLID = p_secondaryLog.getCurrentVersions(m_allVersions, true);
+                if (!interrupted()) {
+                    p_secondaryLog.reorganizeAll(m_reorgSegmentData, m_allVersions, lowestLID);
+                    finished = !interrupted();
+                }
+            }
+            p_secondaryLog.resetReorgSegment();
+            leaveSecLog(p_secondaryLog);
+            m_allVersions.clear();
+            unclaim(p_secondaryLog);
+
+            m_reorganizationLock.lock();
+            m_urgentRequestTaken = false;
+            if (finished) {
+                m_secLog = null;
+                m_reorganizationFinishedCondition.signalAll();
+            }
+            m_reorganizationLock.unlock();
+        }
+
+        /**
+         * Process low priority request by reorganizing the entire secondary log
+         *
+         * @param p_secondaryLog
+         *         the secondary log (claimed by this worker)
+         */
+        private void processLowPriorityRequest(final SecondaryLog p_secondaryLog) {
+            long lowestLID;
+
+            try {
+                m_ioBudget.acquire();
+            } catch (final InterruptedException ignored) {
+                // Try again later
+                unclaim(p_secondaryLog);
+                setLowPriorityRequest(p_secondaryLog);
+                return;
+            }
+
+            long start = System.currentTimeMillis();
+            try {
+                // Reorganize complete secondary log
+                getAccessToSecLog(p_secondaryLog);
+                if (!interrupted()) {
+                    lowestLID = p_secondaryLog.getCurrentVersions(m_allVersions, true);
+                    if (!interrupted()) {
+                        if (2 * p_secondaryLog.getOccupiedSpace() > m_secondaryLogSize || p_secondaryLog.needToBeReorganized()) {
+                            // Reorganize if any updates arrived, only
+                            p_secondaryLog.reorganizeAll(m_reorgSegmentData, m_allVersions, lowestLID);
+                        }
+                    }
+                }
+            } finally {
+                m_ioBudget.release();
+            }
+            p_secondaryLog.resetReorgSegment();
+            leaveSecLog(p_secondaryLog);
+            m_allVersions.clear();
+            unclaim(p_secondaryLog);
+
+            // #if LOGGER == TRACE
+            LOGGER.trace("Time to reorganize complete log: %d", System.currentTimeMillis() - start);
+            // #endif /* LOGGER == TRACE */
+        }
+
+        /**
+         * Re-inserts a low-priority request
+         *
+         * @param p_secondaryLog
+         *         the secondary log
+         */
+        private void setLowPriorityRequest(final SecondaryLog p_secondaryLog) {
+            m_requestLock.lock();
+            m_reorganizationRequests.add(p_secondaryLog);
+            m_requestLock.unlock();
+        }
+
+        /**
+         * Reset data structures of the current secondary log without releasing the claim
+         */
+        private void resetSecondaryLog() {
+            m_secondaryLog.resetReorgSegment();
+            leaveSecLog(m_secondaryLog);
+            m_allVersions.clear();
+
+            m_secondaryLog = null;
+            m_iteration = 0;
+        }
+
+        /**
+         * Reset data structures and leave the current secondary log
+         */
+        private void leaveSecondaryLog() {
+            SecondaryLog secondaryLog = m_secondaryLog;
+
+            resetSecondaryLog();
+            unclaim(secondaryLog);
+        }
+
+        /**
+         * Get access to secondary log for this worker
+         *
+         * @param p_secLog
+         *         the Secondary Log
+         */
+        private void getAccessToSecLog(final SecondaryLog p_secLog) {
+            if (!p_secLog.isAccessed()) {
+                p_secLog.setAccessFlag(true);
+
+                m_reorgThreadWaits = true;
+                while (!m_accessGrantedForReorgThread && !isInterrupted()) {
+                    Thread.yield();
+                }
+                m_accessGrantedForReorgThread = false;
+                m_reorgThreadWaits = false;
+            }
+        }
+    }
 }
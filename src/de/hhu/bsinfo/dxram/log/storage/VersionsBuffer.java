@@ -21,6 +21,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.logging.log4j.LogManager;
@@ -53,10 +54,11 @@ class VersionsBuffer {
     private static final Logger LOGGER = LogManager.getFormatterLogger(VersionsBuffer.class.getSimpleName());
 
     // Attributes
-    private static final DirectByteBufferWrapper FLUSH_BUFFER_WRAPPER = new DirectByteBufferWrapper(SSD_ENTRY_SIZE * VERSIONS_BUFFER_CAPACITY, true);
-    private static final ByteBuffer FLUSH_BUFFER = FLUSH_BUFFER_WRAPPER.getBuffer();
-
-    private static DirectByteBufferWrapper ms_reorgBufferWrapper = new DirectByteBufferWrapper(READ_BUFFER_CHUNK_SIZE, true);
+    // Versions buffers are flushed by several writer threads and read by several reorganization threads -> one buffer per thread
+    private static final ThreadLocal<DirectByteBufferWrapper> FLUSH_BUFFER_WRAPPER =
+            ThreadLocal.withInitial(() -> new DirectByteBufferWrapper(SSD_ENTRY_SIZE * VERSIONS_BUFFER_CAPACITY, true));
+    private static final ThreadLocal<DirectByteBufferWrapper> REORG_BUFFER_WRAPPER =
+            ThreadLocal.withInitial(() -> new DirectByteBufferWrapper(READ_BUFFER_CHUNK_SIZE, true));
 
     private LogComponent m_logComponent;
     private HarddriveAccessMode m_mode;
@@ -74,6 +76,7 @@ class VersionsBuffer {
 
     private String m_path;
     private RandomAccessFile m_versionsFile;
+    private FileChannel m_versionsChannel;
     private int m_fileID;
 
     private ReentrantLock m_accessLock;
@@ -113,7 +116,7 @@ class VersionsBuffer {
         m_eon = 0;
         m_epoch = 0;
 
-        if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE) {
+        if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE || m_mode == HarddriveAccessMode.FILE_CHANNEL) {
             m_path = p_path;
             try {
                 final File file = new File(p_path);
@@ -123,6 +126,7 @@ class VersionsBuffer {
                     }
                 }
                 m_versionsFile = new RandomAccessFile(file, "rw");
+                m_versionsChannel = m_versionsFile.getChannel();
             } catch (final FileNotFoundException e) {
                 // #if LOGGER >= ERROR
                 LOGGER.error("Could not create versions file", e);
@@ -269,7 +273,7 @@ class VersionsBuffer {
      */
     final long getFileSize() {
 
-        if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE) {
+        if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE || m_mode == HarddriveAccessMode.FILE_CHANNEL) {
             try {
                 return m_versionsFile.length();
             } catch (final IOException e) {
@@ -310,6 +314,15 @@ class VersionsBuffer {
      */
     void closeAndRemove() throws IOException {
         if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE) {
+            final File file = new File(m_path);
+            if (file.exists()) {
+                if (!file.delete()) {
+                    throw new FileNotFoundException();
+                }
+            }
+        } else if (m_mode == HarddriveAccessMode.FILE_CHANNEL) {
+            m_versionsFile.close();
+
             final File file = new File(m_path);
             if (file.exists()) {
                 if (!file.delete()) {
@@ -435,33 +448,37 @@ class VersionsBuffer {
 
             try {
                 // Re-use ByteBuffer
-                FLUSH_BUFFER.position(0);
+                DirectByteBufferWrapper flushBufferWrapper = FLUSH_BUFFER_WRAPPER.get();
+                ByteBuffer flushBuffer = flushBufferWrapper.getBuffer();
+                flushBuffer.position(0);
 
                 // Iterate over all entries (4 bytes per cell)
                 for (int i = 0; i < oldTable.length; i += 3) {
                     chunkID = (long) oldTable[i] << 32 | oldTable[i + 1] & 0xFFFFFFFFL;
                     if (chunkID != 0) {
                         // ChunkID (-1 because 1 is added before putting to avoid CID 0)
-                        FLUSH_BUFFER.putLong(chunkID - 1);
+                        flushBuffer.putLong(chunkID - 1);
                         // Epoch (2 Bytes in persistent table; was incremented before!)
-                        FLUSH_BUFFER.putShort((short) (m_epoch - 1 + (m_eon << 15)));
+                        flushBuffer.putShort((short) (m_epoch - 1 + (m_eon << 15)));
                         // Version (4 Bytes in hashtable, 3 in persistent table)
                         version = oldTable[i + 2];
-                        FLUSH_BUFFER.put((byte) (version >>> 16));
-                        FLUSH_BUFFER.put((byte) (version >>> 8));
-                        FLUSH_BUFFER.put((byte) version);
+                        flushBuffer.put((byte) (version >>> 16));
+                        flushBuffer.put((byte) (version >>> 8));
+                        flushBuffer.put((byte) version);
                     }
                 }
 
                 if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE) {
                     m_versionsFile.seek(m_versionsFile.length());
-                    m_versionsFile.write(FLUSH_BUFFER_WRAPPER.getBuffer().array(), 0, count * SSD_ENTRY_SIZE);
+                    m_versionsFile.write(flushBuffer.array(), 0, count * SSD_ENTRY_SIZE);
+                } else if (m_mode == HarddriveAccessMode.FILE_CHANNEL) {
+                    AbstractLog.writeToFileChannel(m_versionsChannel, flushBuffer, 0, count * SSD_ENTRY_SIZE, m_versionsChannel.size());
                 } else if (m_mode == HarddriveAccessMode.ODIRECT) {
-                    if (JNIFileDirect.write(m_fileID, FLUSH_BUFFER_WRAPPER.getAddress(), 0, count * SSD_ENTRY_SIZE, -1, (byte) 0, (byte) 1) < 0) {
+                    if (JNIFileDirect.write(m_fileID, flushBufferWrapper.getAddress(), 0, count * SSD_ENTRY_SIZE, -1, (byte) 0, (byte) 1) < 0) {
                         throw new IOException("JNI Error.");
                     }
                 } else {
-                    if (JNIFileRaw.write(m_fileID, FLUSH_BUFFER_WRAPPER.getAddress(), 0, count * SSD_ENTRY_SIZE, -1, (byte) 0, (byte) 1) < 0) {
+                    if (JNIFileRaw.write(m_fileID, flushBufferWrapper.getAddress(), 0, count * SSD_ENTRY_SIZE, -1, (byte) 0, (byte) 1) < 0) {
                         throw new IOException("JNI Error.");
                     }
                 }
@@ -512,7 +529,7 @@ class VersionsBuffer {
         lowestCID = ((long) m_originalOwner << 48) + lowestLID;
 
         try {
-            if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE) {
+            if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE || m_mode == HarddriveAccessMode.FILE_CHANNEL) {
                 length = (int) m_versionsFile.length();
             } else if (m_mode == HarddriveAccessMode.ODIRECT) {
                 length = (int) JNIFileDirect.length(m_fileID);
@@ -525,21 +542,26 @@ class VersionsBuffer {
 
                 // Read old versions from SSD and add to hashtable
                 // Then read all new versions from versions log and add to hashtable (overwrites older entries!)
-                ByteBuffer readBuffer = ms_reorgBufferWrapper.getBuffer();
-                if (length > readBuffer.capacity()) {
-                    ms_reorgBufferWrapper = new DirectByteBufferWrapper(length + READ_BUFFER_CHUNK_SIZE - length % READ_BUFFER_CHUNK_SIZE, true);
-                    readBuffer = ms_reorgBufferWrapper.getBuffer();
+                DirectByteBufferWrapper reorgBufferWrapper = REORG_BUFFER_WRAPPER.get();
+                ByteBuffer readBuffer = reorgBufferWrapper.getBuffer();
+                if (m_mode != HarddriveAccessMode.FILE_CHANNEL && length > readBuffer.capacity()) {
+                    reorgBufferWrapper = new DirectByteBufferWrapper(length + READ_BUFFER_CHUNK_SIZE - length % READ_BUFFER_CHUNK_SIZE, true);
+                    REORG_BUFFER_WRAPPER.set(reorgBufferWrapper);
+                    readBuffer = reorgBufferWrapper.getBuffer();
                 }
 
-                if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE) {
+                if (m_mode == HarddriveAccessMode.FILE_CHANNEL) {
+                    // Parse the versions directly from the mapped file
+                    readBuffer = AbstractLog.mapFile(m_versionsChannel, length);
+                } else if (m_mode == HarddriveAccessMode.RANDOM_ACCESS_FILE) {
                     m_versionsFile.seek(0);
                     m_versionsFile.readFully(readBuffer.array());
                 } else if (m_mode == HarddriveAccessMode.ODIRECT) {
-                    if (JNIFileDirect.read(m_fileID, ms_reorgBufferWrapper.getAddress(), 0, length, 0) < 0) {
+                    if (JNIFileDirect.read(m_fileID, reorgBufferWrapper.getAddress(), 0, length, 0) < 0) {
                         throw new IOException("JNI error: Could not read file");
                     }
                 } else {
-                    if (JNIFileRaw.read(m_fileID, ms_reorgBufferWrapper.getAddress(), 0, length, 0) < 0) {
+                    if (JNIFileRaw.read(m_fileID, reorgBufferWrapper.getAddress(), 0, length, 0) < 0) {
                         throw new IOException("JNI error: Could not read file");
                     }
                 }
@@ -567,6 +589,11 @@ class VersionsBuffer {
                         update = true;
                     }
                 }
+
+                if (m_mode == HarddriveAccessMode.FILE_CHANNEL) {
+                    // Release the mapping right away; the versions log is truncated when written back
+                    AbstractLog.unmapFile(readBuffer);
+                }
             } else {
                 // There is nothing on SSD yet
             }
@@ -608,10 +635,12 @@ class VersionsBuffer {
                 if (p_writeBack && update) {
                     // Write back current hashtable compactified
                     length = (versionsArray.size() + versionsHashTable.size()) * SSD_ENTRY_SIZE;
-                    ByteBuffer writeBuffer = ms_reorgBufferWrapper.getBuffer();
+                    DirectByteBufferWrapper reorgBufferWrapper = REORG_BUFFER_WRAPPER.get();
+                    ByteBuffer writeBuffer = reorgBufferWrapper.getBuffer();
                     if (length > writeBuffer.capacity()) {
-                        ms_reorgBufferWrapper = new DirectByteBufferWrapper(length + READ_BUFFER_CHUNK_SIZE - length % READ_BUFFER_CHUNK_SIZE, true);
-                        writeBuffer = ms_reorgBufferWrapper.getBuffer();
+                        reorgBufferWrapper = new DirectByteBufferWrapper(length + READ_BUFFER_CHUNK_SIZE - length % READ_BUFFER_CHUNK_SIZE, true);
+                        REORG_BUFFER_WRAPPER.set(reorgBufferWrapper);
+                        writeBuffer = reorgBufferWrapper.getBuffer();
                     }
                     writeBuffer.clear();
 
@@ -652,12 +681,15 @@ class VersionsBuffer {
                         m_versionsFile.seek(0);
                         m_versionsFile.write(writeBuffer.array());
                         m_versionsFile.setLength(length);
+                    } else if (m_mode == HarddriveAccessMode.FILE_CHANNEL) {
+                        AbstractLog.writeToFileChannel(m_versionsChannel, writeBuffer, 0, length, 0);
+                        m_versionsChannel.truncate(length);
                     } else if (m_mode == HarddriveAccessMode.ODIRECT) {
-                        if (JNIFileDirect.write(m_fileID, ms_reorgBufferWrapper.getAddress(), 0, length, 0, (byte) 0, (byte) 1) < 0) {
+                        if (JNIFileDirect.write(m_fileID, reorgBufferWrapper.getAddress(), 0, length, 0, (byte) 0, (byte) 1) < 0) {
                             throw new IOException("JNI error: Could not write to file");
                         }
                     } else {
-                        if (JNIFileRaw.write(m_fileID, ms_reorgBufferWrapper.getAddress(), 0, length, 0, (byte) 0, (byte) 1) < 0) {
+                        if (JNIFileRaw.write(m_fileID, reorgBufferWrapper.getAddress(), 0, length, 0, (byte) 0, (byte) 1) < 0) {
                             throw new IOException("JNI error: Could not write to file");
                         }
                     }
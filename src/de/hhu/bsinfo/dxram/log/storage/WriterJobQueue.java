@@ -22,6 +22,7 @@ import de.hhu.bsinfo.dxutils.UnsafeHandler;
  * The WriterJobQueue stores jobs in order to write to disk.
  * Uses a ring-buffer implementation.
  * One producer (network thread) and one consumer (message creation coordinator).
+ * There is one queue (and writer thread) per log device.
  *
  * @author Kevin Beineke, kevin.beineke@hhu.de, 23.02.2018
  */
@@ -47,8 +48,15 @@ class WriterJobQueue {
 
     /**
      * Creates an instance of WriterJobQueue
+     *
+     * @param p_primaryWriteBuffer
+     *         the primary write buffer to return buffers to
+     * @param p_primaryLog
+     *         the primary log (only used for the queue of the first device)
+     * @param p_device
+     *         the index of the log device this queue writes to
      */
-    WriterJobQueue(final PrimaryWriteBuffer p_primaryWriteBuffer, final PrimaryLog p_primaryLog) {
+    WriterJobQueue(final PrimaryWriteBuffer p_primaryWriteBuffer, final PrimaryLog p_primaryLog, final int p_device) {
         if ((SIZE & SIZE - 1) != 0) {
             throw new NetworkRuntimeException("Buffer queue size must be a power of 2!");
         }
@@ -65,7 +73,7 @@ class WriterJobQueue {
         m_posFront = 0;
 
         m_writerThread = new WriterThread();
-        m_writerThread.setName("Logging: Writer Thread");
+        m_writerThread.setName("Logging: Writer Thread " + p_device);
         m_writerThread.start();
     }
 
@@ -18,6 +18,11 @@ package de.hhu.bsinfo.dxram.lookup;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import de.hhu.bsinfo.dxram.DXRAMComponentOrder;
 import de.hhu.bsinfo.dxram.backup.BackupComponent;
@@ -35,6 +40,7 @@ import de.hhu.bsinfo.dxram.event.AbstractEvent;
 import de.hhu.bsinfo.dxram.event.EventComponent;
 import de.hhu.bsinfo.dxram.event.EventListener;
 import de.hhu.bsinfo.dxram.failure.events.NodeFailureEvent;
+import de.hhu.bsinfo.dxram.lookup.events.LookupCacheUpdateEvent;
 import de.hhu.bsinfo.dxram.lookup.events.NameserviceCacheEntryUpdateEvent;
 import de.hhu.bsinfo.dxram.lookup.overlay.OverlayPeer;
 import de.hhu.bsinfo.dxram.lookup.overlay.OverlaySuperpeer;
@@ -60,6 +66,8 @@ import de.hhu.bsinfo.dxutils.unit.IPV4Unit;
  */
 public class LookupComponent extends AbstractDXRAMComponent<LookupComponentConfig> implements EventListener<AbstractEvent> {
     private static final short ORDER = 10;
+    // the responsible superpeer is asked again after this time while waiting for a nameservice entry
+    private static final int NAMESERVICE_RECHECK_INTERVAL_MS = 1000;
 
     // component dependencies
     private BackupComponent m_backup;
@@ -71,7 +79,9 @@ public class LookupComponent extends AbstractDXRAMComponent<LookupComponentConfi
     private OverlayPeer m_peer;
 
     private CacheTree m_chunkIDCacheTree;
-    private Cache<Integer, Long> m_applicationIDCache;
+    private Cache<String, Long> m_applicationIDCache;
+    // threads waiting for a nameservice entry to be registered, completed by NameserviceCacheEntryUpdateEvents
+    private final ConcurrentHashMap<String, CompletableFuture<Long>> m_nameserviceWaiters = new ConcurrentHashMap<>();
 
     /**
      * Creates the lookup component
@@ -170,6 +180,84 @@ public class LookupComponent extends AbstractDXRAMComponent<LookupComponentConfi
         return ret;
     }
 
+    /**
+     * Get the corresponding LookupRanges for multiple ChunkIDs. Cache misses are resolved with a single request per
+     * responsible superpeer and all returned ranges are cached at once
+     *
+     * @param p_chunkIDs
+     *         the ChunkIDs
+     * @return the current locations and range borders in the order of the ChunkIDs
+     */
+    public LookupRange[] getLookupRanges(final long[] p_chunkIDs) {
+        LookupRange[] ret;
+
+        // #ifdef ASSERT_NODE_ROLE
+        if (m_boot.getNodeRole() == NodeRole.SUPERPEER) {
+            throw new InvalidNodeRoleException(m_boot.getNodeRole());
+        }
+        // #endif /* ASSERT_NODE_ROLE */
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("Entering getLookupRanges with: %d chunkIDs", p_chunkIDs.length);
+        // #endif /* LOGGER == TRACE */
+
+        if (getConfig().cachesEnabled()) {
+            int[] missIndices = new int[p_chunkIDs.length];
+            int misses = 0;
+
+            // Read from cache
+            ret = new LookupRange[p_chunkIDs.length];
+            for (int i = 0; i < p_chunkIDs.length; i++) {
+                ret[i] = m_chunkIDCacheTree.getMetadata(p_chunkIDs[i]);
+                if (ret[i] == null) {
+                    missIndices[misses++] = i;
+                }
+            }
+
+            if (misses > 0) {
+                // Cache misses -> get LookupRanges from superpeers
+                long[] missingChunkIDs = new long[misses];
+                for (int i = 0; i < misses; i++) {
+                    missingChunkIDs[i] = p_chunkIDs[missIndices[i]];
+                }
+
+                LookupRange[] ranges = m_peer.getLookupRanges(missingChunkIDs);
+
+                // Add responses to cache, ChunkIDs of the same range share the LookupRange instance
+                long[] startCIDs = new long[misses];
+                long[] endCIDs = new long[misses];
+                short[] nodeIDs = new short[misses];
+                int count = 0;
+                LookupRange last = null;
+                for (int i = 0; i < misses; i++) {
+                    LookupRange range = ranges[i];
+                    ret[missIndices[i]] = range;
+
+                    if (range != null && range != last && range.getState() == LookupState.OK) {
+                        long creator = (long) ChunkID.getCreatorID(missingChunkIDs[i]) << 48;
+                        startCIDs[count] = creator + range.getRange()[0];
+                        endCIDs[count] = creator + range.getRange()[1];
+                        nodeIDs[count] = range.getPrimaryPeer();
+                        count++;
+                        last = range;
+                    }
+                }
+
+                if (count > 0) {
+                    m_chunkIDCacheTree.cacheRanges(startCIDs, endCIDs, nodeIDs, count);
+                }
+            }
+        } else {
+            ret = m_peer.getLookupRanges(p_chunkIDs);
+        }
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("Exiting getLookupRanges");
+        // #endif /* LOGGER == TRACE */
+
+        return ret;
+    }
+
     /**
      * Remove the ChunkIDs from range after deletion of that chunks
      *
@@ -198,15 +286,76 @@ public class LookupComponent extends AbstractDXRAMComponent<LookupComponentConfi
         // #endif /* LOGGER == TRACE */
     }
 
+    /**
+     * Wait for a name service entry to be registered. The responsible superpeer notifies this peer about the
+     * registration after it was asked for the entry. It is asked again periodically in case a notification got lost
+     *
+     * @param p_name
+     *         the name
+     * @param p_timeoutMs
+     *         Timeout for waiting, -1 to wait until the entry was registered
+     * @return the corresponding ChunkID or ChunkID.INVALID_ID if the entry was not registered in time
+     */
+    private long waitForNameserviceEntry(final String p_name, final int p_timeoutMs) {
+        long ret;
+        long remaining;
+        long waitTime;
+        long start = System.currentTimeMillis();
+        CompletableFuture<Long> waiter = null;
+
+        try {
+            while (true) {
+                // Register before asking the superpeer to not miss a registration in between
+                waiter = m_nameserviceWaiters.computeIfAbsent(p_name, k -> new CompletableFuture<>());
+
+                ret = m_peer.getChunkIDForNameserviceEntry(p_name, 0);
+                if (ret != ChunkID.INVALID_ID) {
+                    // Wake up other threads waiting for the same entry
+                    waiter.complete(ret);
+                    break;
+                }
+
+                waitTime = NAMESERVICE_RECHECK_INTERVAL_MS;
+                if (p_timeoutMs != -1) {
+                    remaining = p_timeoutMs - (System.currentTimeMillis() - start);
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    waitTime = Math.min(waitTime, remaining);
+                }
+
+                try {
+                    ret = waiter.get(waitTime, TimeUnit.MILLISECONDS);
+                    break;
+                } catch (final TimeoutException ignored) {
+                    // Ask superpeer again
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    ret = ChunkID.INVALID_ID;
+                    break;
+                } catch (final ExecutionException e) {
+                    ret = ChunkID.INVALID_ID;
+                    break;
+                }
+            }
+        } finally {
+            if (waiter != null) {
+                m_nameserviceWaiters.remove(p_name, waiter);
+            }
+        }
+
+        return ret;
+    }
+
     /**
      * Insert a new name service entry
      *
-     * @param p_id
-     *         the AID
+     * @param p_name
+     *         the name
      * @param p_chunkID
      *         the ChunkID
      */
-    public void insertNameserviceEntry(final int p_id, final long p_chunkID) {
+    public void insertNameserviceEntry(final String p_name, final long p_chunkID) {
         // #ifdef ASSERT_NODE_ROLE
         if (m_boot.getNodeRole() == NodeRole.SUPERPEER) {
             throw new InvalidNodeRoleException(m_boot.getNodeRole());
@@ -215,14 +364,14 @@ public class LookupComponent extends AbstractDXRAMComponent<LookupComponentConfi
 
         // Insert ChunkID <-> ApplicationID mapping
         // #if LOGGER == TRACE
-        LOGGER.trace("Entering insertID with: p_id=%d, p_chunkID=0x%X", p_id, p_chunkID);
+        LOGGER.trace("Entering insertID with: p_name=%s, p_chunkID=0x%X", p_name, p_chunkID);
         // #endif /* LOGGER == TRACE */
 
         if (getConfig().cachesEnabled()) {
-            m_applicationIDCache.put(p_id, p_chunkID);
+            m_applicationIDCache.put(p_name, p_chunkID);
         }
 
-        m_peer.insertNameserviceEntry(p_id, p_chunkID);
+        m_peer.insertNameserviceEntry(p_name, p_chunkID);
 
         // #if LOGGER == TRACE
         LOGGER.trace("Exiting insertID");
@@ -230,17 +379,49 @@ public class LookupComponent extends AbstractDXRAMComponent<LookupComponentConfi
     }
 
     /**
-     * Get ChunkID for give AID
+     * Insert multiple name service entries. Requires a single request per responsible superpeer
      *
-     * @param p_id
-     *         the AID
+     * @param p_names
+     *         the names
+     * @param p_chunkIDs
+     *         the ChunkIDs
+     */
+    public void insertNameserviceEntries(final String[] p_names, final long[] p_chunkIDs) {
+        // #ifdef ASSERT_NODE_ROLE
+        if (m_boot.getNodeRole() == NodeRole.SUPERPEER) {
+            throw new InvalidNodeRoleException(m_boot.getNodeRole());
+        }
+        // #endif /* ASSERT_NODE_ROLE */
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("Entering insertIDs with: %d entries", p_names.length);
+        // #endif /* LOGGER == TRACE */
+
+        if (getConfig().cachesEnabled()) {
+            for (int i = 0; i < p_names.length; i++) {
+                m_applicationIDCache.put(p_names[i], p_chunkIDs[i]);
+            }
+        }
+
+        m_peer.insertNameserviceEntries(p_names, p_chunkIDs);
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("Exiting insertIDs");
+        // #endif /* LOGGER == TRACE */
+    }
+
+    /**
+     * Get ChunkID for give name
+     *
+     * @param p_name
+     *         the name
      * @param p_timeoutMs
      *         Timeout for trying to get the entry (if it does not exist, yet).
-     *         set this to -1 for infinite loop if you know for sure, that the entry has to exist
+     *         set this to -1 to wait until the entry is registered. Waiting threads are notified on registration
      * @return the corresponding ChunkID
      */
-    public long getChunkIDForNameserviceEntry(final int p_id, final int p_timeoutMs) {
-        long ret;
+    public long getChunkIDForNameserviceEntry(final String p_name, final int p_timeoutMs) {
+        long ret = ChunkID.INVALID_ID;
 
         // #ifdef ASSERT_NODE_ROLE
         if (m_boot.getNodeRole() == NodeRole.SUPERPEER) {
@@ -250,28 +431,34 @@ public class LookupComponent extends AbstractDXRAMComponent<LookupComponentConfi
 
         // Resolve ChunkID <-> ApplicationID mapping to return corresponding ChunkID
         // #if LOGGER == TRACE
-        LOGGER.trace("Entering getChunkID with: p_id=%d", p_id);
+        LOGGER.trace("Entering getChunkID with: p_name=%s", p_name);
         // #endif /* LOGGER == TRACE */
 
         if (getConfig().cachesEnabled()) {
             // Read from application cache first
-            final Long chunkID = m_applicationIDCache.get(p_id);
+            final Long chunkID = m_applicationIDCache.get(p_name);
 
-            if (chunkID == null) {
-                // Cache miss -> ask superpeer
-                // #if LOGGER == TRACE
-                LOGGER.trace("Value not cached for application cache: %d", p_id);
-                // #endif /* LOGGER == TRACE */
+            if (chunkID != null) {
+                ret = chunkID;
+            }
+        }
 
-                ret = m_peer.getChunkIDForNameserviceEntry(p_id, p_timeoutMs);
+        if (ret == ChunkID.INVALID_ID) {
+            // Cache miss -> ask superpeer
+            // #if LOGGER == TRACE
+            LOGGER.trace("Value not cached for application cache: %s", p_name);
+            // #endif /* LOGGER == TRACE */
 
-                // Cache response
-                m_applicationIDCache.put(p_id, ret);
+            if (p_timeoutMs == 0) {
+                ret = m_peer.getChunkIDForNameserviceEntry(p_name, 0);
             } else {
-                ret = chunkID;
+                ret = waitForNameserviceEntry(p_name, p_timeoutMs);
+            }
+
+            // Cache response. Misses are not cached as the entry might be registered later
+            if (getConfig().cachesEnabled() && ret != ChunkID.INVALID_ID) {
+                m_applicationIDCache.put(p_name, ret);
             }
-        } else {
-            ret = m_peer.getChunkIDForNameserviceEntry(p_id, p_timeoutMs);
         }
 
         // #if LOGGER == TRACE
@@ -796,10 +983,33 @@ public class LookupComponent extends AbstractDXRAMComponent<LookupComponentConfi
         } else if (p_event instanceof NameserviceCacheEntryUpdateEvent) {
 
             NameserviceCacheEntryUpdateEvent event = (NameserviceCacheEntryUpdateEvent) p_event;
-            // update if available to avoid caching all entries
-            if (m_applicationIDCache.contains(event.getId())) {
-                m_applicationIDCache.put(event.getId(), event.getChunkID());
+            CompletableFuture<Long> waiter = m_nameserviceWaiters.remove(event.getName());
+
+            if (waiter != null) {
+                waiter.complete(event.getChunkID());
+            }
+
+            // update if available or requested to avoid caching all entries
+            if (getConfig().cachesEnabled() && (waiter != null || m_applicationIDCache.contains(event.getName()))) {
+                m_applicationIDCache.put(event.getName(), event.getChunkID());
             }
+
+        } else if (p_event instanceof LookupCacheUpdateEvent) {
+
+            LookupCacheUpdateEvent event = (LookupCacheUpdateEvent) p_event;
+            long[] chunkIDRanges = event.getChunkIDRanges();
+            int count = chunkIDRanges.length / 2;
+            long[] startCIDs = new long[count];
+            long[] endCIDs = new long[count];
+            short[] nodeIDs = new short[count];
+
+            // replace the cached locations of the moved chunks
+            for (int i = 0; i < count; i++) {
+                startCIDs[i] = chunkIDRanges[i * 2];
+                endCIDs[i] = chunkIDRanges[i * 2 + 1];
+                nodeIDs[i] = event.getOwner();
+            }
+            m_chunkIDCacheTree.cacheRanges(startCIDs, endCIDs, nodeIDs, count);
         }
     }
 
@@ -836,7 +1046,7 @@ public class LookupComponent extends AbstractDXRAMComponent<LookupComponentConfi
     @Override
     protected boolean initComponent(final DXRAMContext.Config p_config) {
         // Set static values for backup range (cannot be set in BackupComponent as superpeers do not initialize it)
-        BackupRange.setReplicationFactor(p_config.getComponentConfig(BackupComponentConfig.class).getReplicationFactor());
+        BackupRange.setReplicationFactor(p_config.getComponentConfig(BackupComponentConfig.class).getNumberOfBackupPeers());
         BackupRange.setBackupRangeSize(p_config.getComponentConfig(BackupComponentConfig.class).getBackupRangeSize().getBytes());
 
         if (getConfig().cachesEnabled()) {
@@ -856,8 +1066,12 @@ public class LookupComponent extends AbstractDXRAMComponent<LookupComponentConfi
                     (int) p_config.getServiceConfig(TemporaryStorageServiceConfig.class).getStorageMaxSize().getBytes(),
                     p_config.getComponentConfig(BackupComponentConfig.class).isBackupActive(), m_boot, m_network, m_event);
         } else {
-            m_peer = new OverlayPeer(m_boot.getNodeID(), m_boot.getNodeIDBootstrap(), m_boot.getNumberOfAvailableSuperpeers(), m_boot, m_network, m_event);
+            m_peer = new OverlayPeer(m_boot.getNodeID(), m_boot.getNodeIDBootstrap(), m_boot.getNumberOfAvailableSuperpeers(), m_boot, m_network, m_event,
+                    getConfig().readFromBackupSuperpeers());
             m_event.registerListener(this, NameserviceCacheEntryUpdateEvent.class);
+            if (getConfig().cachesEnabled()) {
+                m_event.registerListener(this, LookupCacheUpdateEvent.class);
+            }
         }
 
         return true;
@@ -1009,6 +1223,7 @@ public class LookupComponent extends AbstractDXRAMComponent<LookupComponentConfi
     @SuppressWarnings("unused")
     private void clear() {
         if (getConfig().cachesEnabled()) {
+            m_chunkIDCacheTree.close();
             m_chunkIDCacheTree = new CacheTree(ORDER, getConfig().getCacheTtl().getMs(), getConfig().getMaxCacheEntries());
             m_applicationIDCache.clear();
         }
@@ -15,11 +15,15 @@ public class LookupComponentConfig extends AbstractDXRAMComponentConfig {
     @Expose
     private boolean m_cachesEnabled = true;
 
+    // unbounded and without expiry by default (the cache was never trimmed before eviction was added)
     @Expose
-    private long m_maxCacheEntries = 1000L;
+    private long m_maxCacheEntries = 0L;
 
     @Expose
-    private TimeUnit m_cacheTtl = new TimeUnit(1, TimeUnit.SEC);
+    private TimeUnit m_cacheTtl = new TimeUnit(0, TimeUnit.SEC);
+
+    @Expose
+    private boolean m_readFromBackupSuperpeers = false;
 
     @Expose
     private TimeUnit m_stabilizationBreakTime = new TimeUnit(1, TimeUnit.SEC);
@@ -39,19 +43,29 @@ public class LookupComponentConfig extends AbstractDXRAMComponentConfig {
     }
 
     /**
-     * Maximum number of entries in cache tree. Currently unused!
+     * Maximum number of entries in cache tree. Ranges which were not accessed recently are evicted if exceeded.
+     * 0 for an unbounded cache (default). When enabling it, account for range lookups caching whole ranges
      */
     public long getMaxCacheEntries() {
         return m_maxCacheEntries;
     }
 
     /**
-     * Time to live for btree nodes in cache tree.
+     * Time to live for btree nodes in cache tree. Ranges of nodes not accessed within the TTL are expired.
+     * 0 to keep ranges until evicted (default)
      */
     public TimeUnit getCacheTtl() {
         return m_cacheTtl;
     }
 
+    /**
+     * Set to spread lookups across the responsible superpeer and its backup superpeers. Stale replies of backup
+     * superpeers are detected by the lookup tree version and redirected to the responsible superpeer
+     */
+    public boolean readFromBackupSuperpeers() {
+        return m_readFromBackupSuperpeers;
+    }
+
     /**
      * The break time between superpeer stabilization routines (such as pinging all peers and check neighbors).
      */
@@ -62,7 +76,14 @@ public class LookupComponentConfig extends AbstractDXRAMComponentConfig {
     @Override
     protected boolean verify(final DXRAMContext.Config p_config) {
 
-        if (m_cacheTtl.getMs() < 1000L) {
+        if (m_maxCacheEntries < 0) {
+            // #if LOGGER >= ERROR
+            LOGGER.error("Invalid value (%d) for m_maxCacheEntries, must be at least 0", m_maxCacheEntries);
+            // #endif /* LOGGER >= ERROR */
+            return false;
+        }
+
+        if (m_cacheTtl.getMs() > 0 && m_cacheTtl.getMs() < 1000L) {
             // #if LOGGER >= WARN
             LOGGER.warn("A high effort is needed to satisfy TTL!");
             // #endif /* LOGGER >= WARN */
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.lookup.events;
+
+import de.hhu.bsinfo.dxram.event.AbstractEvent;
+
+/**
+ * This event is fired when a superpeer pushes new locations of chunks to update the lookup cache.
+ */
+public class LookupCacheUpdateEvent extends AbstractEvent {
+
+    private short m_owner;
+    private long[] m_chunkIDRanges;
+
+    /**
+     * Constructor
+     *
+     * @param p_sourceClass
+     *     The calling class
+     * @param p_owner
+     *     The new owner of the chunks
+     * @param p_chunkIDRanges
+     *     The moved chunks in ranges (first and last chunk id)
+     */
+    public LookupCacheUpdateEvent(final String p_sourceClass, final short p_owner, final long[] p_chunkIDRanges) {
+        super(p_sourceClass);
+
+        m_owner = p_owner;
+        m_chunkIDRanges = p_chunkIDRanges;
+    }
+
+    /**
+     * Get the new owner of the chunks.
+     *
+     * @return Node id of the owner.
+     */
+    public short getOwner() {
+        return m_owner;
+    }
+
+    /**
+     * Get the moved chunks.
+     *
+     * @return Chunk ids in ranges.
+     */
+    public long[] getChunkIDRanges() {
+        return m_chunkIDRanges;
+    }
+}
@@ -25,7 +25,7 @@ import de.hhu.bsinfo.dxram.event.AbstractEvent;
  */
 public class NameserviceCacheEntryUpdateEvent extends AbstractEvent {
 
-    private int m_id;
+    private String m_name;
     private long m_chunkID;
 
     /**
@@ -33,29 +33,29 @@ public class NameserviceCacheEntryUpdateEvent extends AbstractEvent {
      *
      * @param p_sourceClass
      *     The calling class
-     * @param p_id
-     *     Id for the mapping.
+     * @param p_name
+     *     Name for the mapping.
      * @param p_chunkId
-     *     Chunk id mapped to the id
+     *     Chunk id mapped to the name
      */
-    public NameserviceCacheEntryUpdateEvent(final String p_sourceClass, final int p_id, final long p_chunkId) {
+    public NameserviceCacheEntryUpdateEvent(final String p_sourceClass, final String p_name, final long p_chunkId) {
         super(p_sourceClass);
 
-        m_id = p_id;
+        m_name = p_name;
         m_chunkID = p_chunkId;
     }
 
     /**
-     * Get the id for the mapping.
+     * Get the name for the mapping.
      *
-     * @return Id.
+     * @return Name.
      */
-    public int getId() {
-        return m_id;
+    public String getName() {
+        return m_name;
     }
 
     /**
-     * Get the chunk id mapped to the id.
+     * Get the chunk id mapped to the name.
      *
      * @return Chunk id.
      */
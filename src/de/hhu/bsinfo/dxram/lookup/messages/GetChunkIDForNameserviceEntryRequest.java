@@ -20,16 +20,17 @@ import de.hhu.bsinfo.dxram.DXRAMMessageTypes;
 import de.hhu.bsinfo.dxnet.core.AbstractMessageExporter;
 import de.hhu.bsinfo.dxnet.core.AbstractMessageImporter;
 import de.hhu.bsinfo.dxnet.core.Request;
+import de.hhu.bsinfo.dxutils.serialization.ObjectSizeUtil;
 
 /**
- * Request for getting the ChunkID to corresponding id on a remote node
+ * Request for getting the ChunkID to corresponding name on a remote node
  *
  * @author Florian Klein, florian.klein@hhu.de, 09.03.2012
  */
 public class GetChunkIDForNameserviceEntryRequest extends Request {
 
     // Attributes
-    private int m_id;
+    private byte[] m_name;
 
     // Constructors
 
@@ -39,7 +40,7 @@ public class GetChunkIDForNameserviceEntryRequest extends Request {
     public GetChunkIDForNameserviceEntryRequest() {
         super();
 
-        m_id = -1;
+        m_name = null;
     }
 
     /**
@@ -47,40 +48,40 @@ public class GetChunkIDForNameserviceEntryRequest extends Request {
      *
      * @param p_destination
      *         the destination
-     * @param p_id
-     *         the id
+     * @param p_name
+     *         the UTF-8 encoded name
      */
-    public GetChunkIDForNameserviceEntryRequest(final short p_destination, final int p_id) {
+    public GetChunkIDForNameserviceEntryRequest(final short p_destination, final byte[] p_name) {
         super(p_destination, DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_GET_CHUNKID_FOR_NAMESERVICE_ENTRY_REQUEST);
 
-        m_id = p_id;
+        m_name = p_name;
     }
 
     // Getters
 
     /**
-     * Get the id to store
+     * Get the name
      *
-     * @return the id to store
+     * @return the UTF-8 encoded name
      */
-    public final int getID() {
-        return m_id;
+    public final byte[] getName() {
+        return m_name;
     }
 
     @Override
     protected final int getPayloadLength() {
-        return Integer.BYTES;
+        return ObjectSizeUtil.sizeofByteArray(m_name);
     }
 
     // Methods
     @Override
     protected final void writePayload(final AbstractMessageExporter p_exporter) {
-        p_exporter.writeInt(m_id);
+        p_exporter.writeByteArray(m_name);
     }
 
     @Override
     protected final void readPayload(final AbstractMessageImporter p_importer) {
-        m_id = p_importer.readInt(m_id);
+        m_name = p_importer.readByteArray(m_name);
     }
 
 }
@@ -30,6 +30,7 @@ public class GetLookupRangeResponse extends Response {
 
     // Attributes
     private LookupRange m_lookupRange;
+    private long m_version;
 
     // Constructors
 
@@ -49,11 +50,14 @@ public class GetLookupRangeResponse extends Response {
      *         the corresponding LookupRequest
      * @param p_lookupRange
      *         the primary peer, backup peers and range
+     * @param p_version
+     *         the version of the lookup tree the range was read from
      */
-    public GetLookupRangeResponse(final GetLookupRangeRequest p_request, final LookupRange p_lookupRange) {
+    public GetLookupRangeResponse(final GetLookupRangeRequest p_request, final LookupRange p_lookupRange, final long p_version) {
         super(p_request, LookupMessages.SUBTYPE_GET_LOOKUP_RANGE_RESPONSE);
 
         m_lookupRange = p_lookupRange;
+        m_version = p_version;
     }
 
     // Getters
@@ -67,15 +71,25 @@ public class GetLookupRangeResponse extends Response {
         return m_lookupRange;
     }
 
+    /**
+     * Get the version of the lookup tree the range was read from
+     *
+     * @return the version
+     */
+    public final long getVersion() {
+        return m_version;
+    }
+
     @Override
     protected final int getPayloadLength() {
-        return m_lookupRange.sizeofObject();
+        return m_lookupRange.sizeofObject() + Long.BYTES;
     }
 
     // Methods
     @Override
     protected final void writePayload(final AbstractMessageExporter p_exporter) {
         p_exporter.exportObject(m_lookupRange);
+        p_exporter.writeLong(m_version);
     }
 
     @Override
@@ -84,6 +98,7 @@ public class GetLookupRangeResponse extends Response {
             m_lookupRange = new LookupRange();
         }
         p_importer.importObject(m_lookupRange);
+        m_version = p_importer.readLong(m_version);
     }
 
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.lookup.messages;
+
+import de.hhu.bsinfo.dxnet.core.AbstractMessageExporter;
+import de.hhu.bsinfo.dxnet.core.AbstractMessageImporter;
+import de.hhu.bsinfo.dxnet.core.Response;
+import de.hhu.bsinfo.dxram.lookup.LookupRange;
+import de.hhu.bsinfo.dxutils.serialization.ObjectSizeUtil;
+
+/**
+ * Response to a GetLookupRangesRequest. Every range is sent once, followed by the number of adjacent requested
+ * ChunkIDs it covers
+ */
+public class GetLookupRangesResponse extends Response {
+
+    // Attributes
+    private LookupRange[] m_lookupRanges;
+    private int[] m_coveredChunks;
+
+    // Constructors
+
+    /**
+     * Creates an instance of GetLookupRangesResponse
+     */
+    public GetLookupRangesResponse() {
+        super();
+    }
+
+    /**
+     * Creates an instance of GetLookupRangesResponse
+     *
+     * @param p_request
+     *         the corresponding GetLookupRangesRequest
+     * @param p_lookupRanges
+     *         the distinct ranges in the order of the requested ChunkIDs
+     * @param p_coveredChunks
+     *         the number of adjacent requested ChunkIDs each range covers
+     */
+    public GetLookupRangesResponse(final GetLookupRangesRequest p_request, final LookupRange[] p_lookupRanges,
+            final int[] p_coveredChunks) {
+        super(p_request, LookupMessages.SUBTYPE_GET_LOOKUP_RANGES_RESPONSE);
+
+        m_lookupRanges = p_lookupRanges;
+        m_coveredChunks = p_coveredChunks;
+    }
+
+    // Getters
+
+    /**
+     * Get the distinct ranges in the order of the requested ChunkIDs
+     *
+     * @return the LookupRanges
+     */
+    public final LookupRange[] getLookupRanges() {
+        return m_lookupRanges;
+    }
+
+    /**
+     * Get the number of adjacent requested ChunkIDs each range covers
+     *
+     * @return the number of ChunkIDs per range
+     */
+    public final int[] getCoveredChunks() {
+        return m_coveredChunks;
+    }
+
+    @Override
+    protected final int getPayloadLength() {
+        int ret = ObjectSizeUtil.sizeofIntArray(m_coveredChunks);
+
+        for (LookupRange lookupRange : m_lookupRanges) {
+            ret += lookupRange.sizeofObject();
+        }
+
+        return ret;
+    }
+
+    // Methods
+    @Override
+    protected final void writePayload(final AbstractMessageExporter p_exporter) {
+        p_exporter.writeIntArray(m_coveredChunks);
+        for (LookupRange lookupRange : m_lookupRanges) {
+            p_exporter.exportObject(lookupRange);
+        }
+    }
+
+    @Override
+    protected final void readPayload(final AbstractMessageImporter p_importer) {
+        m_coveredChunks = p_importer.readIntArray(m_coveredChunks);
+        if (m_lookupRanges == null) {
+            m_lookupRanges = new LookupRange[m_coveredChunks.length];
+        }
+        for (int i = 0; i < m_lookupRanges.length; i++) {
+            if (m_lookupRanges[i] == null) {
+                m_lookupRanges[i] = new LookupRange();
+            }
+            p_importer.importObject(m_lookupRanges[i]);
+        }
+    }
+
+}
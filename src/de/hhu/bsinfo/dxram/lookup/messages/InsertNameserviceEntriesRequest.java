@@ -16,22 +16,22 @@
 
 package de.hhu.bsinfo.dxram.lookup.messages;
 
-import de.hhu.bsinfo.dxram.DXRAMMessageTypes;
-import de.hhu.bsinfo.dxram.data.ChunkID;
 import de.hhu.bsinfo.dxnet.core.AbstractMessageExporter;
 import de.hhu.bsinfo.dxnet.core.AbstractMessageImporter;
 import de.hhu.bsinfo.dxnet.core.Request;
+import de.hhu.bsinfo.dxram.DXRAMMessageTypes;
+import de.hhu.bsinfo.dxutils.serialization.ObjectSizeUtil;
 
 /**
- * Request for storing an id to ChunkID mapping on a remote node
+ * Request for storing name to ChunkID mappings on a remote node
  *
  * @author Florian Klein, florian.klein@hhu.de, 09.03.2012
  */
 public class InsertNameserviceEntriesRequest extends Request {
 
     // Attributes
-    private int m_id;
-    private long m_chunkID;
+    private byte[][] m_names;
+    private long[] m_chunkIDs;
     private boolean m_isBackup;
 
     // Constructors
@@ -42,8 +42,8 @@ public class InsertNameserviceEntriesRequest extends Request {
     public InsertNameserviceEntriesRequest() {
         super();
 
-        m_id = -1;
-        m_chunkID = ChunkID.INVALID_ID;
+        m_names = null;
+        m_chunkIDs = null;
         m_isBackup = false;
     }
 
@@ -52,39 +52,39 @@ public class InsertNameserviceEntriesRequest extends Request {
      *
      * @param p_destination
      *         the destination
-     * @param p_id
-     *         the id to store
-     * @param p_chunkID
-     *         the ChunkID to store
+     * @param p_names
+     *         the UTF-8 encoded names to store
+     * @param p_chunkIDs
+     *         the ChunkIDs to store
      * @param p_isBackup
      *         whether this is a backup message or not
      */
-    public InsertNameserviceEntriesRequest(final short p_destination, final int p_id, final long p_chunkID, final boolean p_isBackup) {
+    public InsertNameserviceEntriesRequest(final short p_destination, final byte[][] p_names, final long[] p_chunkIDs, final boolean p_isBackup) {
         super(p_destination, DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_INSERT_NAMESERVICE_ENTRIES_REQUEST);
 
-        m_id = p_id;
-        m_chunkID = p_chunkID;
+        m_names = p_names;
+        m_chunkIDs = p_chunkIDs;
         m_isBackup = p_isBackup;
     }
 
     // Getters
 
     /**
-     * Get the id to store
+     * Get the names to store
      *
-     * @return the id to store
+     * @return the UTF-8 encoded names to store
      */
-    public final int getID() {
-        return m_id;
+    public final byte[][] getNames() {
+        return m_names;
     }
 
     /**
-     * Get the ChunkID to store
+     * Get the ChunkIDs to store
      *
-     * @return the ChunkID to store
+     * @return the ChunkIDs to store
      */
-    public final long getChunkID() {
-        return m_chunkID;
+    public final long[] getChunkIDs() {
+        return m_chunkIDs;
     }
 
     /**
@@ -98,21 +98,34 @@ public class InsertNameserviceEntriesRequest extends Request {
 
     @Override
     protected final int getPayloadLength() {
-        return Integer.BYTES + Long.BYTES + Byte.BYTES;
+        int ret = ObjectSizeUtil.sizeofLongArray(m_chunkIDs) + Byte.BYTES;
+
+        for (byte[] name : m_names) {
+            ret += ObjectSizeUtil.sizeofByteArray(name);
+        }
+
+        return ret;
     }
 
     // Methods
     @Override
     protected final void writePayload(final AbstractMessageExporter p_exporter) {
-        p_exporter.writeInt(m_id);
-        p_exporter.writeLong(m_chunkID);
+        p_exporter.writeLongArray(m_chunkIDs);
+        for (byte[] name : m_names) {
+            p_exporter.writeByteArray(name);
+        }
         p_exporter.writeBoolean(m_isBackup);
     }
 
     @Override
     protected final void readPayload(final AbstractMessageImporter p_importer) {
-        m_id = p_importer.readInt(m_id);
-        m_chunkID = p_importer.readLong(m_chunkID);
+        m_chunkIDs = p_importer.readLongArray(m_chunkIDs);
+        if (m_names == null) {
+            m_names = new byte[m_chunkIDs.length][];
+        }
+        for (int i = 0; i < m_names.length; i++) {
+            m_names[i] = p_importer.readByteArray(m_names[i]);
+        }
         m_isBackup = p_importer.readBoolean(m_isBackup);
     }
 
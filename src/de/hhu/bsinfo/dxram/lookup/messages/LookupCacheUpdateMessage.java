@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.lookup.messages;
+
+import de.hhu.bsinfo.dxnet.core.AbstractMessageExporter;
+import de.hhu.bsinfo.dxnet.core.AbstractMessageImporter;
+import de.hhu.bsinfo.dxnet.core.Message;
+import de.hhu.bsinfo.dxram.DXRAMMessageTypes;
+import de.hhu.bsinfo.dxutils.NodeID;
+import de.hhu.bsinfo.dxutils.serialization.ObjectSizeUtil;
+
+/**
+ * Sent by a superpeer to the peers which cached ranges of a creator if the location of chunks changed
+ * (migration or recovery)
+ */
+public class LookupCacheUpdateMessage extends Message {
+
+    // Attributes
+    private short m_owner;
+    private long[] m_chunkIDRanges;
+
+    // Constructors
+
+    /**
+     * Creates an instance of LookupCacheUpdateMessage
+     */
+    public LookupCacheUpdateMessage() {
+        super();
+
+        m_owner = NodeID.INVALID_ID;
+        m_chunkIDRanges = null;
+    }
+
+    /**
+     * Creates an instance of LookupCacheUpdateMessage
+     *
+     * @param p_destination
+     *         the destination
+     * @param p_owner
+     *         the new owner of all chunks
+     * @param p_chunkIDRanges
+     *         the moved chunks in ranges (first and last ChunkID)
+     */
+    public LookupCacheUpdateMessage(final short p_destination, final short p_owner, final long[] p_chunkIDRanges) {
+        super(p_destination, DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_LOOKUP_CACHE_UPDATE_MESSAGE);
+
+        m_owner = p_owner;
+        m_chunkIDRanges = p_chunkIDRanges;
+    }
+
+    // Getters
+
+    /**
+     * Get the new owner
+     *
+     * @return the NodeID of the new owner
+     */
+    public final short getOwner() {
+        return m_owner;
+    }
+
+    /**
+     * Get the moved chunks
+     *
+     * @return the ChunkIDs in ranges
+     */
+    public final long[] getChunkIDRanges() {
+        return m_chunkIDRanges;
+    }
+
+    @Override
+    protected final int getPayloadLength() {
+        return Short.BYTES + ObjectSizeUtil.sizeofLongArray(m_chunkIDRanges);
+    }
+
+    // Methods
+    @Override
+    protected final void writePayload(final AbstractMessageExporter p_exporter) {
+        p_exporter.writeShort(m_owner);
+        p_exporter.writeLongArray(m_chunkIDRanges);
+    }
+
+    @Override
+    protected final void readPayload(final AbstractMessageImporter p_importer) {
+        m_owner = p_importer.readShort(m_owner);
+        m_chunkIDRanges = p_importer.readLongArray(m_chunkIDRanges);
+    }
+
+}
@@ -96,6 +96,9 @@ public final class LookupMessages {
     public static final byte SUBTYPE_GET_LOOKUP_TREE_RESPONSE = 65;
     public static final byte SUBTYPE_GET_METADATA_SUMMARY_REQUEST = 66;
     public static final byte SUBTYPE_GET_METADATA_SUMMARY_RESPONSE = 67;
+    public static final byte SUBTYPE_GET_LOOKUP_RANGES_REQUEST = 68;
+    public static final byte SUBTYPE_GET_LOOKUP_RANGES_RESPONSE = 69;
+    public static final byte SUBTYPE_LOOKUP_CACHE_UPDATE_MESSAGE = 70;
 
     /**
      * Hidden constructor
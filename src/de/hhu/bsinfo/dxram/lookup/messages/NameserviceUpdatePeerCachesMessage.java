@@ -21,6 +21,7 @@ import de.hhu.bsinfo.dxram.data.ChunkID;
 import de.hhu.bsinfo.dxnet.core.AbstractMessageExporter;
 import de.hhu.bsinfo.dxnet.core.AbstractMessageImporter;
 import de.hhu.bsinfo.dxnet.core.Request;
+import de.hhu.bsinfo.dxutils.serialization.ObjectSizeUtil;
 
 /**
  * Message to notify peers about an update in the nameservice to update their local caches
@@ -30,7 +31,7 @@ import de.hhu.bsinfo.dxnet.core.Request;
 public class NameserviceUpdatePeerCachesMessage extends Request {
 
     // Attributes
-    private int m_id;
+    private byte[] m_name;
     private long m_chunkID;
 
     // Constructors
@@ -41,7 +42,7 @@ public class NameserviceUpdatePeerCachesMessage extends Request {
     public NameserviceUpdatePeerCachesMessage() {
         super();
 
-        m_id = -1;
+        m_name = null;
         m_chunkID = ChunkID.INVALID_ID;
     }
 
@@ -50,27 +51,27 @@ public class NameserviceUpdatePeerCachesMessage extends Request {
      *
      * @param p_destination
      *         the destination
-     * @param p_id
-     *         the id to store
+     * @param p_name
+     *         the UTF-8 encoded name
      * @param p_chunkID
      *         the ChunkID to store
      */
-    public NameserviceUpdatePeerCachesMessage(final short p_destination, final int p_id, final long p_chunkID) {
+    public NameserviceUpdatePeerCachesMessage(final short p_destination, final byte[] p_name, final long p_chunkID) {
         super(p_destination, DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_NAMESERVICE_UPDATE_PEER_CACHES_MESSAGE);
 
-        m_id = p_id;
+        m_name = p_name;
         m_chunkID = p_chunkID;
     }
 
     // Getters
 
     /**
-     * Get the id to store
+     * Get the name
      *
-     * @return the id to store
+     * @return the UTF-8 encoded name
      */
-    public final int getID() {
-        return m_id;
+    public final byte[] getName() {
+        return m_name;
     }
 
     /**
@@ -84,19 +85,19 @@ public class NameserviceUpdatePeerCachesMessage extends Request {
 
     @Override
     protected final int getPayloadLength() {
-        return Integer.BYTES + Long.BYTES;
+        return ObjectSizeUtil.sizeofByteArray(m_name) + Long.BYTES;
     }
 
     // Methods
     @Override
     protected final void writePayload(final AbstractMessageExporter p_exporter) {
-        p_exporter.writeInt(m_id);
+        p_exporter.writeByteArray(m_name);
         p_exporter.writeLong(m_chunkID);
     }
 
     @Override
     protected final void readPayload(final AbstractMessageImporter p_importer) {
-        m_id = p_importer.readInt(m_id);
+        m_name = p_importer.readByteArray(m_name);
         m_chunkID = p_importer.readLong(m_chunkID);
     }
 
@@ -32,7 +32,6 @@ import de.hhu.bsinfo.dxutils.NodeID;
 public final class OverlayHelper {
 
     // Constants
-    public static final short ORDER = 10;
     private static final Logger LOGGER = LogManager.getFormatterLogger(OverlayHelper.class.getSimpleName());
 
     /**
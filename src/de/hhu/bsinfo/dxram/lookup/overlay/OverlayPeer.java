@@ -16,9 +16,14 @@
 
 package de.hhu.bsinfo.dxram.lookup.overlay;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.logging.log4j.LogManager;
@@ -36,6 +41,7 @@ import de.hhu.bsinfo.dxram.data.DataStructure;
 import de.hhu.bsinfo.dxram.event.EventComponent;
 import de.hhu.bsinfo.dxram.lookup.LookupRange;
 import de.hhu.bsinfo.dxram.lookup.LookupState;
+import de.hhu.bsinfo.dxram.lookup.events.LookupCacheUpdateEvent;
 import de.hhu.bsinfo.dxram.lookup.events.NameserviceCacheEntryUpdateEvent;
 import de.hhu.bsinfo.dxram.lookup.events.NodeJoinEvent;
 import de.hhu.bsinfo.dxram.lookup.messages.AskAboutSuccessorRequest;
@@ -58,6 +64,8 @@ import de.hhu.bsinfo.dxram.lookup.messages.GetChunkIDForNameserviceEntryRequest;
 import de.hhu.bsinfo.dxram.lookup.messages.GetChunkIDForNameserviceEntryResponse;
 import de.hhu.bsinfo.dxram.lookup.messages.GetLookupRangeRequest;
 import de.hhu.bsinfo.dxram.lookup.messages.GetLookupRangeResponse;
+import de.hhu.bsinfo.dxram.lookup.messages.GetLookupRangesRequest;
+import de.hhu.bsinfo.dxram.lookup.messages.GetLookupRangesResponse;
 import de.hhu.bsinfo.dxram.lookup.messages.GetNameserviceEntriesRequest;
 import de.hhu.bsinfo.dxram.lookup.messages.GetNameserviceEntriesResponse;
 import de.hhu.bsinfo.dxram.lookup.messages.GetNameserviceEntryCountRequest;
@@ -68,6 +76,7 @@ import de.hhu.bsinfo.dxram.lookup.messages.InsertNameserviceEntriesRequest;
 import de.hhu.bsinfo.dxram.lookup.messages.InsertNameserviceEntriesResponse;
 import de.hhu.bsinfo.dxram.lookup.messages.JoinRequest;
 import de.hhu.bsinfo.dxram.lookup.messages.JoinResponse;
+import de.hhu.bsinfo.dxram.lookup.messages.LookupCacheUpdateMessage;
 import de.hhu.bsinfo.dxram.lookup.messages.LookupMessages;
 import de.hhu.bsinfo.dxram.lookup.messages.MigrateRangeRequest;
 import de.hhu.bsinfo.dxram.lookup.messages.MigrateRangeResponse;
@@ -128,6 +137,10 @@ public class OverlayPeer implements MessageReceiver {
     private int m_initialNumberOfSuperpeers;
     private ReentrantReadWriteLock m_overlayLock;
 
+    private boolean m_readFromBackupSuperpeers;
+    // highest known lookup tree version per creator to detect replies of stale backup superpeers
+    private ConcurrentHashMap<Short, Long> m_lookupTreeVersions;
+
     /**
      * Creates an instance of OverlayPeer
      *
@@ -143,13 +156,18 @@ public class OverlayPeer implements MessageReceiver {
      *         the NetworkComponent
      * @param p_event
      *         the EventComponent
+     * @param p_readFromBackupSuperpeers
+     *         whether to spread lookups across the responsible superpeer and its backup superpeers
      */
     public OverlayPeer(final short p_nodeID, final short p_contactSuperpeer, final int p_initialNumberOfSuperpeers, final AbstractBootComponent p_boot,
-            final NetworkComponent p_network, final EventComponent p_event) {
+            final NetworkComponent p_network, final EventComponent p_event, final boolean p_readFromBackupSuperpeers) {
         m_boot = p_boot;
         m_network = p_network;
         m_event = p_event;
 
+        m_readFromBackupSuperpeers = p_readFromBackupSuperpeers;
+        m_lookupTreeVersions = new ConcurrentHashMap<>();
+
         m_initialNumberOfSuperpeers = p_initialNumberOfSuperpeers;
 
         m_nodeID = p_nodeID;
@@ -249,7 +267,10 @@ public class OverlayPeer implements MessageReceiver {
     /* Name Service */
 
     /**
-     * Get the corresponding LookupRange for the given ChunkID
+     * Get the corresponding LookupRange for the given ChunkID. If enabled, the request is sent to the responsible
+     * superpeer or one of its backup superpeers chosen at random. Replies of backup superpeers with an older lookup
+     * tree version than already seen are stale and the responsible superpeer is asked instead. The first lookup
+     * for a creator always goes to the responsible superpeer to seed the version
      *
      * @param p_chunkID
      *         the ChunkID
@@ -259,9 +280,10 @@ public class OverlayPeer implements MessageReceiver {
         LookupRange ret = null;
         short nodeID;
         short responsibleSuperpeer;
+        short contactSuperpeer;
+        short[] backupSuperpeers;
         boolean check = false;
 
-        GetLookupRangeRequest request;
         GetLookupRangeResponse response;
 
         m_overlayLock.readLock().lock();
@@ -270,25 +292,182 @@ public class OverlayPeer implements MessageReceiver {
         }
         nodeID = ChunkID.getCreatorID(p_chunkID);
         responsibleSuperpeer = getResponsibleSuperpeer(nodeID, check);
+        contactSuperpeer = responsibleSuperpeer;
+        // without a version from the responsible superpeer, a lagging backup superpeer could not be detected
+        if (m_readFromBackupSuperpeers && !check && responsibleSuperpeer != NodeID.INVALID_ID &&
+                m_lookupTreeVersions.containsKey(nodeID)) {
+            backupSuperpeers = OverlayHelper.getBackupSuperpeers(responsibleSuperpeer, m_superpeers);
+            if (backupSuperpeers[0] != NodeID.INVALID_ID) {
+                int index = ThreadLocalRandom.current().nextInt(backupSuperpeers.length + 1);
+                if (index < backupSuperpeers.length) {
+                    contactSuperpeer = backupSuperpeers[index];
+                }
+            }
+        }
         m_overlayLock.readLock().unlock();
 
         if (responsibleSuperpeer != NodeID.INVALID_ID) {
-            request = new GetLookupRangeRequest(responsibleSuperpeer, p_chunkID);
-            try {
-                m_network.sendSync(request);
-            } catch (final NetworkException e) {
+            if (contactSuperpeer != responsibleSuperpeer) {
+                response = requestLookupRange(contactSuperpeer, p_chunkID);
+                if (response != null && response.getLookupRange().getState() == LookupState.OK &&
+                        response.getVersion() >= m_lookupTreeVersions.get(nodeID)) {
+                    return response.getLookupRange();
+                }
+
+                // #if LOGGER == TRACE
+                LOGGER.trace("Lookup of 0x%X on backup superpeer 0x%X failed or stale, asking responsible superpeer 0x%X", p_chunkID, contactSuperpeer,
+                        responsibleSuperpeer);
+                // #endif /* LOGGER == TRACE */
+            }
+
+            response = requestLookupRange(responsibleSuperpeer, p_chunkID);
+            if (response == null) {
                 // Responsible superpeer is not available
                 return new LookupRange(LookupState.DATA_TEMPORARY_UNAVAILABLE);
             }
 
-            response = request.getResponse(GetLookupRangeResponse.class);
-
+            if (m_readFromBackupSuperpeers) {
+                m_lookupTreeVersions.merge(nodeID, response.getVersion(), Math::max);
+            }
             ret = response.getLookupRange();
         }
 
         return ret;
     }
 
+    /**
+     * Sends a GetLookupRangeRequest to given superpeer
+     *
+     * @param p_superpeer
+     *         the superpeer to ask
+     * @param p_chunkID
+     *         the ChunkID
+     * @return the response or null if the superpeer is not available
+     */
+    private GetLookupRangeResponse requestLookupRange(final short p_superpeer, final long p_chunkID) {
+        GetLookupRangeRequest request = new GetLookupRangeRequest(p_superpeer, p_chunkID);
+
+        try {
+            m_network.sendSync(request);
+        } catch (final NetworkException e) {
+            return null;
+        }
+
+        return request.getResponse(GetLookupRangeResponse.class);
+    }
+
+    /**
+     * Get the corresponding LookupRanges for multiple ChunkIDs. The ChunkIDs are grouped by their responsible
+     * superpeers and every superpeer is asked once for all of its ChunkIDs
+     *
+     * @param p_chunkIDs
+     *         the ChunkIDs
+     * @return the current locations and range borders in the order of the ChunkIDs (null if no superpeer is responsible)
+     */
+    public LookupRange[] getLookupRanges(final long[] p_chunkIDs) {
+        LookupRange[] ret;
+        short[] responsibleSuperpeers;
+        HashMap<Short, Short> superpeerOfCreator;
+        boolean check = false;
+
+        ret = new LookupRange[p_chunkIDs.length];
+        responsibleSuperpeers = new short[p_chunkIDs.length];
+        superpeerOfCreator = new HashMap<>();
+
+        m_overlayLock.readLock().lock();
+        if (!OverlayHelper.isOverlayStable(m_initialNumberOfSuperpeers, m_superpeers.size())) {
+            check = true;
+        }
+        for (int i = 0; i < p_chunkIDs.length; i++) {
+            short creator = ChunkID.getCreatorID(p_chunkIDs[i]);
+            Short superpeer = superpeerOfCreator.get(creator);
+            if (superpeer == null) {
+                superpeer = getResponsibleSuperpeer(creator, check);
+                superpeerOfCreator.put(creator, superpeer);
+            }
+            responsibleSuperpeers[i] = superpeer;
+        }
+        m_overlayLock.readLock().unlock();
+
+        for (int i = 0; i < p_chunkIDs.length; i++) {
+            short superpeer = responsibleSuperpeers[i];
+            if (superpeer == NodeID.INVALID_ID || ret[i] != null) {
+                continue;
+            }
+
+            // Collect all ChunkIDs of this superpeer, sorted and without duplicates to keep ranges adjacent
+            long[] chunkIDs = new long[p_chunkIDs.length - i];
+            int count = 0;
+            for (int j = i; j < p_chunkIDs.length; j++) {
+                if (responsibleSuperpeers[j] == superpeer) {
+                    chunkIDs[count++] = p_chunkIDs[j];
+                }
+            }
+            Arrays.sort(chunkIDs, 0, count);
+            int distinct = 0;
+            for (int j = 0; j < count; j++) {
+                if (distinct == 0 || chunkIDs[distinct - 1] != chunkIDs[j]) {
+                    chunkIDs[distinct++] = chunkIDs[j];
+                }
+            }
+            chunkIDs = Arrays.copyOf(chunkIDs, distinct);
+
+            LookupRange[] ranges = getLookupRanges(superpeer, chunkIDs);
+            for (int j = i; j < p_chunkIDs.length; j++) {
+                if (responsibleSuperpeers[j] == superpeer) {
+                    ret[j] = ranges[Arrays.binarySearch(chunkIDs, p_chunkIDs[j])];
+                }
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Get the LookupRanges for multiple ChunkIDs from a single superpeer
+     *
+     * @param p_superpeer
+     *         the responsible superpeer
+     * @param p_chunkIDs
+     *         the sorted ChunkIDs without duplicates
+     * @return the current locations and range borders in the order of the ChunkIDs
+     */
+    private LookupRange[] getLookupRanges(final short p_superpeer, final long[] p_chunkIDs) {
+        LookupRange[] ret;
+        LookupRange[] ranges;
+        int[] coveredChunks;
+        int index;
+
+        GetLookupRangesRequest request;
+        GetLookupRangesResponse response;
+
+        ret = new LookupRange[p_chunkIDs.length];
+
+        request = new GetLookupRangesRequest(p_superpeer, p_chunkIDs);
+        try {
+            m_network.sendSync(request);
+        } catch (final NetworkException e) {
+            // Responsible superpeer is not available
+            Arrays.fill(ret, new LookupRange(LookupState.DATA_TEMPORARY_UNAVAILABLE));
+
+            return ret;
+        }
+
+        response = request.getResponse(GetLookupRangesResponse.class);
+        ranges = response.getLookupRanges();
+        coveredChunks = response.getCoveredChunks();
+
+        // Every range covers the given number of adjacent ChunkIDs
+        index = 0;
+        for (int i = 0; i < ranges.length; i++) {
+            for (int j = 0; j < coveredChunks[i]; j++) {
+                ret[index++] = ranges[i];
+            }
+        }
+
+        return ret;
+    }
+
     /**
      * Returns the responsible superpeer for given peer
      *
@@ -364,104 +543,180 @@ public class OverlayPeer implements MessageReceiver {
     /**
      * Insert a new name service entry
      *
-     * @param p_id
-     *         the AID
+     * @param p_name
+     *         the name
      * @param p_chunkID
      *         the ChunkID
      */
-    public void insertNameserviceEntry(final int p_id, final long p_chunkID) {
-        short responsibleSuperpeer;
-        short[] backupSuperpeers;
-        boolean check = false;
-        InsertNameserviceEntriesRequest request;
-        InsertNameserviceEntriesResponse response;
+    public void insertNameserviceEntry(final String p_name, final long p_chunkID) {
+        insertNameserviceEntries(new String[] {p_name}, new long[] {p_chunkID});
+    }
 
-        // Insert ChunkID <-> ApplicationID mapping
-        assert p_id < Math.pow(2, 31) && p_id >= 0;
+    /**
+     * Insert multiple name service entries. The entries of a responsible superpeer are sent with a single request
+     *
+     * @param p_names
+     *         the names
+     * @param p_chunkIDs
+     *         the ChunkIDs
+     */
+    public void insertNameserviceEntries(final String[] p_names, final long[] p_chunkIDs) {
+        byte[][] names;
+        short[] hashes;
+        short[] responsibleSuperpeers;
+        boolean[] inserted;
+        int remaining;
+        boolean check = false;
 
-        m_overlayLock.readLock().lock();
-        if (!OverlayHelper.isOverlayStable(m_initialNumberOfSuperpeers, m_superpeers.size())) {
-            check = true;
+        // Insert ChunkID <-> name mappings
+        names = new byte[p_names.length][];
+        hashes = new short[p_names.length];
+        for (int i = 0; i < p_names.length; i++) {
+            names[i] = p_names[i].getBytes(StandardCharsets.UTF_8);
+            hashes[i] = NameserviceHashTable.getSuperpeerHash(NameserviceHashTable.hash(names[i]));
         }
-        responsibleSuperpeer = getResponsibleSuperpeer(CRC16.hash(p_id), check);
-        m_overlayLock.readLock().unlock();
 
+        responsibleSuperpeers = new short[p_names.length];
+        inserted = new boolean[p_names.length];
+        remaining = p_names.length;
         while (true) {
-            if (responsibleSuperpeer != NodeID.INVALID_ID) {
-                request = new InsertNameserviceEntriesRequest(responsibleSuperpeer, p_id, p_chunkID, false);
-                try {
-                    m_network.sendSync(request);
-                } catch (final NetworkException e) {
-                    // Responsible superpeer is not available, try again (superpeers will be updated
-                    // automatically by network thread)
-                    try {
-                        Thread.sleep(MSG_TIMEOUT_MS);
-                    } catch (final InterruptedException ignored) {
-                    }
-
-                    m_overlayLock.readLock().lock();
-                    responsibleSuperpeer = getResponsibleSuperpeer(CRC16.hash(p_id), check);
-                    m_overlayLock.readLock().unlock();
+            m_overlayLock.readLock().lock();
+            if (!OverlayHelper.isOverlayStable(m_initialNumberOfSuperpeers, m_superpeers.size())) {
+                check = true;
+            }
+            for (int i = 0; i < p_names.length; i++) {
+                if (!inserted[i]) {
+                    responsibleSuperpeers[i] = getResponsibleSuperpeer(hashes[i], check);
+                }
+            }
+            m_overlayLock.readLock().unlock();
 
+            for (int i = 0; i < p_names.length; i++) {
+                short superpeer = responsibleSuperpeers[i];
+                if (inserted[i] || superpeer == NodeID.INVALID_ID) {
                     continue;
                 }
 
-                response = request.getResponse(InsertNameserviceEntriesResponse.class);
-
-                backupSuperpeers = response.getBackupSuperpeers();
-                if (backupSuperpeers != null) {
-                    if (backupSuperpeers[0] != NodeID.INVALID_ID) {
-                        // Send backups
-                        for (short backupSuperpeer : backupSuperpeers) {
-                            request = new InsertNameserviceEntriesRequest(backupSuperpeer, p_id, p_chunkID, true);
-                            try {
-                                m_network.sendSync(request);
-                            } catch (final NetworkException e) {
-                                // Ignore superpeer failure, own superpeer will fix this
-                            }
+                // Collect all entries of this superpeer
+                int count = 0;
+                for (int j = i; j < p_names.length; j++) {
+                    if (!inserted[j] && responsibleSuperpeers[j] == superpeer) {
+                        count++;
+                    }
+                }
+                byte[][] superpeerNames = new byte[count][];
+                long[] superpeerChunkIDs = new long[count];
+                count = 0;
+                for (int j = i; j < p_names.length; j++) {
+                    if (!inserted[j] && responsibleSuperpeers[j] == superpeer) {
+                        superpeerNames[count] = names[j];
+                        superpeerChunkIDs[count++] = p_chunkIDs[j];
+                    }
+                }
+
+                boolean success = insertNameserviceEntries(superpeer, superpeerNames, superpeerChunkIDs);
+                for (int j = i; j < p_names.length; j++) {
+                    if (!inserted[j] && responsibleSuperpeers[j] == superpeer) {
+                        if (success) {
+                            inserted[j] = true;
+                            remaining--;
+                        } else {
+                            // Try again with the next responsible superpeer
+                            responsibleSuperpeers[j] = NodeID.INVALID_ID;
                         }
                     }
-                    break;
                 }
             }
 
-            m_overlayLock.readLock().lock();
-            responsibleSuperpeer = getResponsibleSuperpeer(CRC16.hash(p_id), check);
-            m_overlayLock.readLock().unlock();
+            if (remaining == 0) {
+                break;
+            }
+
+            // Responsible superpeer is not available, try again (superpeers will be updated
+            // automatically by network thread)
+            try {
+                Thread.sleep(MSG_TIMEOUT_MS);
+            } catch (final InterruptedException ignored) {
+            }
         }
     }
 
+    /**
+     * Insert name service entries on the responsible superpeer and its backup superpeers
+     *
+     * @param p_superpeer
+     *         the responsible superpeer
+     * @param p_names
+     *         the UTF-8 encoded names
+     * @param p_chunkIDs
+     *         the ChunkIDs
+     * @return whether the responsible superpeer was reachable
+     */
+    private boolean insertNameserviceEntries(final short p_superpeer, final byte[][] p_names, final long[] p_chunkIDs) {
+        short[] backupSuperpeers;
+        InsertNameserviceEntriesRequest request;
+        InsertNameserviceEntriesResponse response;
+
+        request = new InsertNameserviceEntriesRequest(p_superpeer, p_names, p_chunkIDs, false);
+        try {
+            m_network.sendSync(request);
+        } catch (final NetworkException e) {
+            return false;
+        }
+
+        response = request.getResponse(InsertNameserviceEntriesResponse.class);
+
+        backupSuperpeers = response.getBackupSuperpeers();
+        if (backupSuperpeers != null) {
+            if (backupSuperpeers[0] != NodeID.INVALID_ID) {
+                // Send backups
+                for (short backupSuperpeer : backupSuperpeers) {
+                    request = new InsertNameserviceEntriesRequest(backupSuperpeer, p_names, p_chunkIDs, true);
+                    try {
+                        m_network.sendSync(request);
+                    } catch (final NetworkException e) {
+                        // Ignore superpeer failure, own superpeer will fix this
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
     /* Migration */
 
     /**
-     * Get ChunkID for give nameservice id. Use this if you assume
+     * Get ChunkID for give nameservice name. Use this if you assume
      * that your entry has to exist.
      *
-     * @param p_id
-     *         the nameservice id
+     * @param p_name
+     *         the name
      * @param p_timeoutMs
      *         Timeout for trying to get the entry (if it does not exist, yet).
      *         set this to -1 for infinite loop if you know for sure, that the entry has to exist
      * @return the corresponding ChunkID
      */
-    public long getChunkIDForNameserviceEntry(final int p_id, final int p_timeoutMs) {
+    public long getChunkIDForNameserviceEntry(final String p_name, final int p_timeoutMs) {
         long ret = ChunkID.INVALID_ID;
         short responsibleSuperpeer;
         boolean check = false;
         GetChunkIDForNameserviceEntryRequest request;
+        byte[] name = p_name.getBytes(StandardCharsets.UTF_8);
+        short hash = NameserviceHashTable.getSuperpeerHash(NameserviceHashTable.hash(name));
 
         // Resolve ChunkID <-> ApplicationID mapping to return corresponding ChunkID
         m_overlayLock.readLock().lock();
         if (!OverlayHelper.isOverlayStable(m_initialNumberOfSuperpeers, m_superpeers.size())) {
             check = true;
         }
-        responsibleSuperpeer = getResponsibleSuperpeer(CRC16.hash(p_id), check);
+        responsibleSuperpeer = getResponsibleSuperpeer(hash, check);
         m_overlayLock.readLock().unlock();
 
         long start = System.currentTimeMillis();
         do {
             if (responsibleSuperpeer != NodeID.INVALID_ID) {
-                request = new GetChunkIDForNameserviceEntryRequest(responsibleSuperpeer, p_id);
+                request = new GetChunkIDForNameserviceEntryRequest(responsibleSuperpeer, name);
                 try {
                     m_network.sendSync(request);
                 } catch (final NetworkException e) {
@@ -473,7 +728,7 @@ public class OverlayPeer implements MessageReceiver {
                     }
 
                     m_overlayLock.readLock().lock();
-                    responsibleSuperpeer = getResponsibleSuperpeer(CRC16.hash(p_id), check);
+                    responsibleSuperpeer = getResponsibleSuperpeer(hash, check);
                     m_overlayLock.readLock().unlock();
 
                     continue;
@@ -490,7 +745,7 @@ public class OverlayPeer implements MessageReceiver {
             }
 
             m_overlayLock.readLock().lock();
-            responsibleSuperpeer = getResponsibleSuperpeer(CRC16.hash(p_id), check);
+            responsibleSuperpeer = getResponsibleSuperpeer(hash, check);
             m_overlayLock.readLock().unlock();
         } while (p_timeoutMs == -1 || System.currentTimeMillis() - start < p_timeoutMs);
 
@@ -1346,6 +1601,9 @@ public class OverlayPeer implements MessageReceiver {
                     case LookupMessages.SUBTYPE_NAMESERVICE_UPDATE_PEER_CACHES_MESSAGE:
                         incomingNameserviceUpdatePeerCachesMessage((NameserviceUpdatePeerCachesMessage) p_message);
                         break;
+                    case LookupMessages.SUBTYPE_LOOKUP_CACHE_UPDATE_MESSAGE:
+                        incomingLookupCacheUpdateMessage((LookupCacheUpdateMessage) p_message);
+                        break;
                     case LookupMessages.SUBTYPE_NODE_JOIN_EVENT_REQUEST:
                         incomingNodeJoinEventRequest((NodeJoinEventRequest) p_message);
                         break;
@@ -1546,7 +1804,18 @@ public class OverlayPeer implements MessageReceiver {
      *         the NameserviceUpdatePeerCachesMessage
      */
     private void incomingNameserviceUpdatePeerCachesMessage(final NameserviceUpdatePeerCachesMessage p_message) {
-        m_event.fireEvent(new NameserviceCacheEntryUpdateEvent(getClass().getSimpleName(), p_message.getID(), p_message.getChunkID()));
+        m_event.fireEvent(new NameserviceCacheEntryUpdateEvent(getClass().getSimpleName(), new String(p_message.getName(), StandardCharsets.UTF_8),
+                p_message.getChunkID()));
+    }
+
+    /**
+     * Handles an incoming LookupCacheUpdateMessage
+     *
+     * @param p_message
+     *         the LookupCacheUpdateMessage
+     */
+    private void incomingLookupCacheUpdateMessage(final LookupCacheUpdateMessage p_message) {
+        m_event.fireEvent(new LookupCacheUpdateEvent(getClass().getSimpleName(), p_message.getOwner(), p_message.getChunkIDRanges()));
     }
 
     /**
@@ -1584,6 +1853,8 @@ public class OverlayPeer implements MessageReceiver {
         m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_FINISHED_STARTUP_MESSAGE, FinishedStartupMessage.class);
         m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_GET_LOOKUP_RANGE_REQUEST, GetLookupRangeRequest.class);
         m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_GET_LOOKUP_RANGE_RESPONSE, GetLookupRangeResponse.class);
+        m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_GET_LOOKUP_RANGES_REQUEST, GetLookupRangesRequest.class);
+        m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_GET_LOOKUP_RANGES_RESPONSE, GetLookupRangesResponse.class);
         m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_REMOVE_CHUNKIDS_REQUEST, RemoveChunkIDsRequest.class);
         m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_REMOVE_CHUNKIDS_RESPONSE, RemoveChunkIDsResponse.class);
         m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_INSERT_NAMESERVICE_ENTRIES_REQUEST,
@@ -1604,6 +1875,7 @@ public class OverlayPeer implements MessageReceiver {
                 GetNameserviceEntriesResponse.class);
         m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_NAMESERVICE_UPDATE_PEER_CACHES_MESSAGE,
                 NameserviceUpdatePeerCachesMessage.class);
+        m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_LOOKUP_CACHE_UPDATE_MESSAGE, LookupCacheUpdateMessage.class);
         m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_MIGRATE_REQUEST, MigrateRequest.class);
         m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_MIGRATE_RESPONSE, MigrateResponse.class);
         m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_MIGRATE_RANGE_REQUEST, MigrateRangeRequest.class);
@@ -1677,6 +1949,7 @@ public class OverlayPeer implements MessageReceiver {
     private void registerNetworkMessageListener() {
         m_network.register(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_SEND_SUPERPEERS_MESSAGE, this);
         m_network.register(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_NAMESERVICE_UPDATE_PEER_CACHES_MESSAGE, this);
+        m_network.register(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_LOOKUP_CACHE_UPDATE_MESSAGE, this);
         m_network.register(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_NODE_JOIN_EVENT_REQUEST, this);
     }
 
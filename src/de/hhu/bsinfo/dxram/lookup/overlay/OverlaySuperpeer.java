@@ -18,11 +18,13 @@ package de.hhu.bsinfo.dxram.lookup.overlay;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.logging.log4j.LogManager;
@@ -44,6 +46,7 @@ import de.hhu.bsinfo.dxram.failure.messages.FailureRequest;
 import de.hhu.bsinfo.dxram.failure.messages.FailureResponse;
 import de.hhu.bsinfo.dxram.lookup.LookupComponent;
 import de.hhu.bsinfo.dxram.lookup.LookupRange;
+import de.hhu.bsinfo.dxram.lookup.LookupState;
 import de.hhu.bsinfo.dxram.lookup.events.NodeJoinEvent;
 import de.hhu.bsinfo.dxram.lookup.messages.AskAboutBackupsRequest;
 import de.hhu.bsinfo.dxram.lookup.messages.AskAboutBackupsResponse;
@@ -67,6 +70,8 @@ import de.hhu.bsinfo.dxram.lookup.messages.GetChunkIDForNameserviceEntryRequest;
 import de.hhu.bsinfo.dxram.lookup.messages.GetChunkIDForNameserviceEntryResponse;
 import de.hhu.bsinfo.dxram.lookup.messages.GetLookupRangeRequest;
 import de.hhu.bsinfo.dxram.lookup.messages.GetLookupRangeResponse;
+import de.hhu.bsinfo.dxram.lookup.messages.GetLookupRangesRequest;
+import de.hhu.bsinfo.dxram.lookup.messages.GetLookupRangesResponse;
 import de.hhu.bsinfo.dxram.lookup.messages.GetMetadataSummaryRequest;
 import de.hhu.bsinfo.dxram.lookup.messages.GetMetadataSummaryResponse;
 import de.hhu.bsinfo.dxram.lookup.messages.GetNameserviceEntriesRequest;
@@ -79,6 +84,7 @@ import de.hhu.bsinfo.dxram.lookup.messages.InsertNameserviceEntriesRequest;
 import de.hhu.bsinfo.dxram.lookup.messages.InsertNameserviceEntriesResponse;
 import de.hhu.bsinfo.dxram.lookup.messages.JoinRequest;
 import de.hhu.bsinfo.dxram.lookup.messages.JoinResponse;
+import de.hhu.bsinfo.dxram.lookup.messages.LookupCacheUpdateMessage;
 import de.hhu.bsinfo.dxram.lookup.messages.LookupMessages;
 import de.hhu.bsinfo.dxram.lookup.messages.MigrateRangeRequest;
 import de.hhu.bsinfo.dxram.lookup.messages.MigrateRangeResponse;
@@ -127,7 +133,6 @@ import de.hhu.bsinfo.dxram.recovery.messages.ReplicateBackupRangeRequest;
 import de.hhu.bsinfo.dxram.recovery.messages.ReplicateBackupRangeResponse;
 import de.hhu.bsinfo.dxram.util.ArrayListLong;
 import de.hhu.bsinfo.dxram.util.NodeRole;
-import de.hhu.bsinfo.dxutils.CRC16;
 import de.hhu.bsinfo.dxutils.NodeID;
 import de.hhu.bsinfo.dxutils.unit.IPV4Unit;
 
@@ -140,6 +145,10 @@ public class OverlaySuperpeer implements MessageReceiver {
 
     private static final Logger LOGGER = LogManager.getFormatterLogger(OverlaySuperpeer.class.getSimpleName());
 
+    // Peers waiting for a nameservice entry ask again every second. Peers which did not ask again within this time
+    // stopped waiting (timeout) and are not notified anymore
+    private static final long NAMESERVICE_WAITER_TIMEOUT_MS = 5000;
+
     // Attributes
     private NetworkComponent m_network;
     private AbstractBootComponent m_boot;
@@ -166,6 +175,12 @@ public class OverlaySuperpeer implements MessageReceiver {
     private ArrayList<Short> m_assignedPeersIncludingBackups;
 
     private MetadataHandler m_metadata;
+    // Peers which looked up ranges of a creator: New peers are added when answering a lookup request,
+    // peers are removed when they fail. Used to push location changes after migrations and recoveries
+    private final Map<Short, Set<Short>> m_cachingPeers = new ConcurrentHashMap<>();
+    // Peers which asked for a nameservice entry which was not registered yet (by hash of the name, with the point in
+    // time they time out): Notified when the entry is registered in addition to the assigned peers
+    private final Map<Long, Map<Short, Long>> m_nameservicePeers = new ConcurrentHashMap<>();
 
     private SuperpeerStabilizationThread m_stabilizationThread;
 
@@ -255,7 +270,7 @@ public class OverlaySuperpeer implements MessageReceiver {
     }
 
     /**
-     * Shuts down the stabilization thread
+     * Shuts down the stabilization thread and frees the superpeer storage
      */
     public void shutdown() {
         m_stabilizationThread.interrupt();
@@ -270,6 +285,8 @@ public class OverlaySuperpeer implements MessageReceiver {
             LOGGER.warn("Could not wait for stabilization thread to finish. Interrupted");
             // #endif /* LOGGER >= WARN */
         }
+
+        m_metadata.destroy();
     }
 
     /**
@@ -324,6 +341,9 @@ public class OverlaySuperpeer implements MessageReceiver {
                     case LookupMessages.SUBTYPE_GET_LOOKUP_RANGE_REQUEST:
                         incomingGetLookupRangeRequest((GetLookupRangeRequest) p_message);
                         break;
+                    case LookupMessages.SUBTYPE_GET_LOOKUP_RANGES_REQUEST:
+                        incomingGetLookupRangesRequest((GetLookupRangesRequest) p_message);
+                        break;
                     case LookupMessages.SUBTYPE_REMOVE_CHUNKIDS_REQUEST:
                         incomingRemoveChunkIDsRequest((RemoveChunkIDsRequest) p_message);
                         break;
@@ -602,6 +622,20 @@ public class OverlaySuperpeer implements MessageReceiver {
         }
     }
 
+    /**
+     * Removes peers which stopped waiting for a nameservice entry that was never registered
+     */
+    void removeTimedOutNameserviceWaiters() {
+        final long now = System.currentTimeMillis();
+
+        for (long hash : m_nameservicePeers.keySet()) {
+            m_nameservicePeers.computeIfPresent(hash, (k, v) -> {
+                v.values().removeIf(timeout -> timeout < now);
+                return v.isEmpty() ? null : v;
+            });
+        }
+    }
+
     /**
      * Takes over failed superpeers peers
      *
@@ -702,6 +736,7 @@ public class OverlaySuperpeer implements MessageReceiver {
 
             // Update metadata for assigned (including backups) peers locally
             m_metadata.updateMetadataAfterRecovery(p_rangeID, creator, p_restorer, chunkIDList.getArray());
+            pushLookupCacheUpdate(creator, p_restorer, chunkIDList.getArray());
 
             // Inform other superpeers
             short[] responsibleSuperpeers = OverlayHelper.getResponsibleSuperpeers(creator, m_superpeers);
@@ -839,6 +874,14 @@ public class OverlaySuperpeer implements MessageReceiver {
 
         m_overlayLock.writeLock().lock();
 
+        // Peers learn about the failure with the FailureRequest, the failed peer's own ranges stay subscribed for recovery
+        for (Set<Short> cachingPeers : m_cachingPeers.values()) {
+            cachingPeers.remove(p_failedNode);
+        }
+        for (Map<Short, Long> nameservicePeers : m_nameservicePeers.values()) {
+            nameservicePeers.remove(p_failedNode);
+        }
+
         // #if LOGGER >= INFO
         LOGGER.info("Initiating ZooKeeper cleanup for failed node 0x%X", p_failedNode);
         // #endif /* LOGGER >= INFO */
@@ -1514,6 +1557,7 @@ public class OverlaySuperpeer implements MessageReceiver {
      */
     private void incomingGetLookupRangeRequest(final GetLookupRangeRequest p_getLookupRangeRequest) {
         long chunkID;
+        long version;
         LookupRange result;
 
         chunkID = p_getLookupRangeRequest.getChunkID();
@@ -1522,19 +1566,86 @@ public class OverlaySuperpeer implements MessageReceiver {
         LOGGER.trace("Got request: GET_LOOKUP_RANGE_REQUEST 0x%X chunkID: 0x%X", p_getLookupRangeRequest.getSource(), chunkID);
         // #endif /* LOGGER == TRACE */
 
+        // Read the version first: the range is at least as recent as the version reported
+        version = m_metadata.getLookupTreeVersion(ChunkID.getCreatorID(chunkID));
         result = m_metadata.getLookupRangeFromLookupTree(chunkID, m_backupActive);
+        addCachingPeer(ChunkID.getCreatorID(chunkID), p_getLookupRangeRequest.getSource());
 
         // #if LOGGER == TRACE
         LOGGER.trace("GET_LOOKUP_RANGE_REQUEST 0x%X chunkID 0x%X reply location: %s", p_getLookupRangeRequest.getSource(), chunkID, result);
         // #endif /* LOGGER == TRACE */
 
         try {
-            m_network.sendMessage(new GetLookupRangeResponse(p_getLookupRangeRequest, result));
+            m_network.sendMessage(new GetLookupRangeResponse(p_getLookupRangeRequest, result, version));
         } catch (final NetworkException e) {
             // Requesting peer is not available anymore, ignore it
         }
     }
 
+    /**
+     * Handles an incoming GetLookupRangesRequest. Adjacent ChunkIDs of the same range are answered with a single range
+     *
+     * @param p_getLookupRangesRequest
+     *         the GetLookupRangesRequest
+     */
+    private void incomingGetLookupRangesRequest(final GetLookupRangesRequest p_getLookupRangesRequest) {
+        long[] chunkIDs;
+        ArrayList<LookupRange> ranges;
+        int[] coveredChunks;
+        LookupRange current = null;
+        long currentChunkID = ChunkID.INVALID_ID;
+
+        chunkIDs = p_getLookupRangesRequest.getChunkIDs();
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("Got request: GET_LOOKUP_RANGES_REQUEST 0x%X with %d chunkIDs", p_getLookupRangesRequest.getSource(), chunkIDs.length);
+        // #endif /* LOGGER == TRACE */
+
+        ranges = new ArrayList<>();
+        coveredChunks = new int[chunkIDs.length];
+        for (long chunkID : chunkIDs) {
+            if (current == null || !isInSameRange(chunkID, currentChunkID, current)) {
+                current = m_metadata.getLookupRangeFromLookupTree(chunkID, m_backupActive);
+                if (currentChunkID == ChunkID.INVALID_ID || ChunkID.getCreatorID(chunkID) != ChunkID.getCreatorID(currentChunkID)) {
+                    addCachingPeer(ChunkID.getCreatorID(chunkID), p_getLookupRangesRequest.getSource());
+                }
+                currentChunkID = chunkID;
+                ranges.add(current);
+            }
+            coveredChunks[ranges.size() - 1]++;
+        }
+
+        try {
+            m_network.sendMessage(new GetLookupRangesResponse(p_getLookupRangesRequest, ranges.toArray(new LookupRange[ranges.size()]),
+                    Arrays.copyOf(coveredChunks, ranges.size())));
+        } catch (final NetworkException e) {
+            // Requesting peer is not available anymore, ignore it
+        }
+    }
+
+    /**
+     * Checks if a ChunkID is covered by the range determined for another ChunkID
+     *
+     * @param p_chunkID
+     *         the ChunkID to check
+     * @param p_rangeChunkID
+     *         the ChunkID the range was determined for
+     * @param p_range
+     *         the range
+     * @return whether the ChunkID is within the range
+     */
+    private static boolean isInSameRange(final long p_chunkID, final long p_rangeChunkID, final LookupRange p_range) {
+        long localID;
+
+        if (p_range.getState() != LookupState.OK || p_range.getRange() == null || ChunkID.getCreatorID(p_chunkID) != ChunkID.getCreatorID(p_rangeChunkID)) {
+            return false;
+        }
+
+        localID = ChunkID.getLocalID(p_chunkID);
+
+        return localID >= p_range.getRange()[0] && localID <= p_range.getRange()[1];
+    }
+
     /**
      * Handles an incoming RemoveChunkIDsRequest
      *
@@ -1614,18 +1725,40 @@ public class OverlaySuperpeer implements MessageReceiver {
      *         the InsertIDRequest
      */
     private void incomingInsertNameserviceEntriesRequest(final InsertNameserviceEntriesRequest p_insertIDRequest) {
-        int id;
+        byte[][] names;
+        long[] chunkIDs;
+        long[] hashes;
         short[] backupSuperpeers;
+        int count = 0;
 
-        id = p_insertIDRequest.getID();
+        names = p_insertIDRequest.getNames();
+        chunkIDs = p_insertIDRequest.getChunkIDs();
         // #if LOGGER == TRACE
-        LOGGER.trace("Got request: INSERT_ID_REQUEST from 0x%X, id %d", p_insertIDRequest.getSource(), id);
+        LOGGER.trace("Got request: INSERT_ID_REQUEST from 0x%X, %d entries", p_insertIDRequest.getSource(), names.length);
         // #endif /* LOGGER == TRACE */
 
+        hashes = new long[names.length];
+        for (int i = 0; i < names.length; i++) {
+            hashes[i] = NameserviceHashTable.hash(names[i]);
+        }
+
         m_overlayLock.readLock().lock();
-        if (OverlayHelper.isHashInSuperpeerRange(CRC16.hash(id), m_predecessor, m_nodeID)) {
-            m_metadata.putNameserviceEntry(id, p_insertIDRequest.getChunkID());
+        // Entries the superpeer is not (or no longer) responsible for are dropped
+        for (int i = 0; i < names.length; i++) {
+            if (p_insertIDRequest.isBackup() || OverlayHelper.isHashInSuperpeerRange(NameserviceHashTable.getSuperpeerHash(hashes[i]), m_predecessor, m_nodeID)) {
+                names[count] = names[i];
+                chunkIDs[count] = chunkIDs[i];
+                hashes[count] = hashes[i];
+                count++;
+            }
+        }
+        if (count < names.length) {
+            names = Arrays.copyOf(names, count);
+            chunkIDs = Arrays.copyOf(chunkIDs, count);
+        }
+        m_metadata.putNameserviceEntries(names, chunkIDs);
 
+        if (!p_insertIDRequest.isBackup() && count > 0) {
             backupSuperpeers = OverlayHelper.getBackupSuperpeers(m_nodeID, m_superpeers);
             try {
                 m_network.sendMessage(new InsertNameserviceEntriesResponse(p_insertIDRequest, backupSuperpeers));
@@ -1634,25 +1767,34 @@ public class OverlaySuperpeer implements MessageReceiver {
             }
 
             ArrayList<Short> peers = m_peers;
-            // notify peers about this to update caches
-            for (short peer : peers) {
-                NameserviceUpdatePeerCachesMessage message = new NameserviceUpdatePeerCachesMessage(peer, id, p_insertIDRequest.getChunkID());
-                try {
-                    m_network.sendMessage(message);
-                } catch (final NetworkException e) {
-                    // peer is not available anymore, ignore it
+            for (int i = 0; i < count; i++) {
+                // notify peers about this to update caches
+                for (short peer : peers) {
+                    NameserviceUpdatePeerCachesMessage message = new NameserviceUpdatePeerCachesMessage(peer, names[i], chunkIDs[i]);
+                    try {
+                        m_network.sendMessage(message);
+                    } catch (final NetworkException e) {
+                        // peer is not available anymore, ignore it
+                    }
                 }
-            }
-        } else if (p_insertIDRequest.isBackup()) {
-            m_metadata.putNameserviceEntry(id, p_insertIDRequest.getChunkID());
 
-            try {
-                m_network.sendMessage(new InsertNameserviceEntriesResponse(p_insertIDRequest, null));
-            } catch (final NetworkException e) {
-                // Requesting peer is not available anymore, ignore it
+                // notify peers which asked for this entry (and might wait for it) and are assigned to other superpeers
+                Map<Short, Long> nameservicePeers = m_nameservicePeers.remove(hashes[i]);
+                if (nameservicePeers != null) {
+                    for (short peer : nameservicePeers.keySet()) {
+                        if (!OverlayHelper.containsPeer(peer, peers)) {
+                            NameserviceUpdatePeerCachesMessage message = new NameserviceUpdatePeerCachesMessage(peer, names[i], chunkIDs[i]);
+                            try {
+                                m_network.sendMessage(message);
+                            } catch (final NetworkException e) {
+                                // peer is not available anymore, ignore it
+                            }
+                        }
+                    }
+                }
             }
         } else {
-            // Not responsible for that chunk
+            // Backup or not responsible for that entries
             try {
                 m_network.sendMessage(new InsertNameserviceEntriesResponse(p_insertIDRequest, null));
             } catch (final NetworkException e) {
@@ -1669,19 +1811,39 @@ public class OverlaySuperpeer implements MessageReceiver {
      *         the GetChunkIDForNameserviceEntryRequest
      */
     private void incomingGetChunkIDForNameserviceEntryRequest(final GetChunkIDForNameserviceEntryRequest p_getChunkIDForNameserviceEntryRequest) {
-        int id;
+        byte[] name;
+        long hash;
         long chunkID = ChunkID.INVALID_ID;
 
-        id = p_getChunkIDForNameserviceEntryRequest.getID();
+        name = p_getChunkIDForNameserviceEntryRequest.getName();
+        hash = NameserviceHashTable.hash(name);
         // #if LOGGER == TRACE
-        LOGGER.trace("Got request: GET_CHUNKID_FOR_NAMESERVICE_ENTRY_REQUEST from 0x%X, id %d", p_getChunkIDForNameserviceEntryRequest.getSource(), id);
+        LOGGER.trace("Got request: GET_CHUNKID_FOR_NAMESERVICE_ENTRY_REQUEST from 0x%X, name hash 0x%X", p_getChunkIDForNameserviceEntryRequest.getSource(),
+                hash);
         // #endif /* LOGGER == TRACE */
 
-        if (OverlayHelper.isHashInSuperpeerRange(CRC16.hash(id), m_predecessor, m_nodeID)) {
-            chunkID = m_metadata.getNameserviceEntry(id);
+        if (OverlayHelper.isHashInSuperpeerRange(NameserviceHashTable.getSuperpeerHash(hash), m_predecessor, m_nodeID)) {
+            // Remember the peer before reading the entry to notify it about a concurrent registration
+            final short source = p_getChunkIDForNameserviceEntryRequest.getSource();
+            final long timeout = System.currentTimeMillis() + NAMESERVICE_WAITER_TIMEOUT_MS;
+            m_nameservicePeers.compute(hash, (k, v) -> {
+                Map<Short, Long> peers = v == null ? new ConcurrentHashMap<>() : v;
+                peers.put(source, timeout);
+                return peers;
+            });
+
+            chunkID = m_metadata.getNameserviceEntry(name);
+            if (chunkID != ChunkID.INVALID_ID) {
+                // Registered already -> the peer does not wait
+                m_nameservicePeers.computeIfPresent(hash, (k, v) -> {
+                    v.remove(source);
+                    return v.isEmpty() ? null : v;
+                });
+            }
 
             // #if LOGGER == TRACE
-            LOGGER.trace("GET_CHUNKID_REQUEST from 0x%X, id %d, reply chunkID 0x%X", p_getChunkIDForNameserviceEntryRequest.getSource(), id, chunkID);
+            LOGGER.trace("GET_CHUNKID_REQUEST from 0x%X, name hash 0x%X, reply chunkID 0x%X", p_getChunkIDForNameserviceEntryRequest.getSource(), hash,
+                    chunkID);
             // #endif /* LOGGER == TRACE */
         }
 
@@ -1757,6 +1919,7 @@ public class OverlaySuperpeer implements MessageReceiver {
             if (m_metadata.putChunkIDInLookupTree(chunkID, nodeID, m_backupActive)) {
                 backupSuperpeers = OverlayHelper.getBackupSuperpeers(m_nodeID, m_superpeers);
                 m_overlayLock.readLock().unlock();
+                pushLookupCacheUpdate(creator, nodeID, new long[] {chunkID, chunkID});
                 if (backupSuperpeers[0] != NodeID.INVALID_ID) {
                     // Outsource informing backups to another thread to avoid blocking a message handler
                     Runnable task = () -> {
@@ -1797,6 +1960,8 @@ public class OverlaySuperpeer implements MessageReceiver {
                 // #endif /* LOGGER >= WARN */
             }
             m_overlayLock.readLock().unlock();
+            // Peers reading from this replica cached the range here
+            pushLookupCacheUpdate(creator, nodeID, new long[] {chunkID, chunkID});
 
             try {
                 m_network.sendMessage(new MigrateResponse(p_migrateRequest, true));
@@ -1851,6 +2016,7 @@ public class OverlaySuperpeer implements MessageReceiver {
             if (m_metadata.putChunkIDRangeInLookupTree(startChunkID, endChunkID, nodeID, m_backupActive)) {
                 backupSuperpeers = OverlayHelper.getBackupSuperpeers(m_nodeID, m_superpeers);
                 m_overlayLock.readLock().unlock();
+                pushLookupCacheUpdate(creator, nodeID, new long[] {startChunkID, endChunkID});
                 if (backupSuperpeers[0] != NodeID.INVALID_ID) {
                     // Outsource informing backups to another thread to avoid blocking a message handler
                     Runnable task = () -> {
@@ -1892,6 +2058,8 @@ public class OverlaySuperpeer implements MessageReceiver {
                 // #endif /* LOGGER >= WARN */
             }
             m_overlayLock.readLock().unlock();
+            // Peers reading from this replica cached the range here
+            pushLookupCacheUpdate(creator, nodeID, new long[] {startChunkID, endChunkID});
 
             try {
                 m_network.sendMessage(new MigrateRangeResponse(p_migrateRangeRequest, true));
@@ -2020,6 +2188,56 @@ public class OverlaySuperpeer implements MessageReceiver {
 
         m_metadata.updateMetadataAfterRecovery(p_updateMetadataAfterRecoveryMessage.getRangeID(), p_updateMetadataAfterRecoveryMessage.getCreator(),
                 p_updateMetadataAfterRecoveryMessage.getRestorer(), p_updateMetadataAfterRecoveryMessage.getChunkIDRanges());
+        pushLookupCacheUpdate(p_updateMetadataAfterRecoveryMessage.getCreator(), p_updateMetadataAfterRecoveryMessage.getRestorer(),
+                p_updateMetadataAfterRecoveryMessage.getChunkIDRanges());
+    }
+
+    /**
+     * Remembers a peer which looked up ranges of given creator
+     *
+     * @param p_creator
+     *         the creator of the looked up ChunkIDs
+     * @param p_peer
+     *         the requesting peer
+     */
+    private void addCachingPeer(final short p_creator, final short p_peer) {
+        Set<Short> cachingPeers = m_cachingPeers.get(p_creator);
+
+        if (cachingPeers == null) {
+            cachingPeers = m_cachingPeers.computeIfAbsent(p_creator, k -> ConcurrentHashMap.newKeySet());
+        }
+        if (!cachingPeers.contains(p_peer)) {
+            cachingPeers.add(p_peer);
+        }
+    }
+
+    /**
+     * Sends the new location of ChunkID ranges to all peers which looked up ranges of the creator. Only superpeers
+     * responsible for the creator know these peers
+     *
+     * @param p_creator
+     *         the creator of the ChunkIDs
+     * @param p_owner
+     *         the new owner
+     * @param p_chunkIDRanges
+     *         the ChunkID ranges (first and last ChunkID of every range)
+     */
+    private void pushLookupCacheUpdate(final short p_creator, final short p_owner, final long[] p_chunkIDRanges) {
+        Set<Short> cachingPeers = m_cachingPeers.get(p_creator);
+
+        if (cachingPeers == null) {
+            return;
+        }
+
+        for (short peer : cachingPeers) {
+            if (peer != p_owner) {
+                try {
+                    m_network.sendMessage(new LookupCacheUpdateMessage(peer, p_owner, p_chunkIDRanges));
+                } catch (final NetworkException ignore) {
+                    // Peer is not available anymore, it is removed in failure handling
+                }
+            }
+        }
     }
 
     /**
@@ -2659,6 +2877,9 @@ public class OverlaySuperpeer implements MessageReceiver {
         m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_FINISHED_STARTUP_MESSAGE, FinishedStartupMessage.class);
         m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_GET_LOOKUP_RANGE_REQUEST, GetLookupRangeRequest.class);
         m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_GET_LOOKUP_RANGE_RESPONSE, GetLookupRangeResponse.class);
+        m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_GET_LOOKUP_RANGES_REQUEST, GetLookupRangesRequest.class);
+        m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_GET_LOOKUP_RANGES_RESPONSE, GetLookupRangesResponse.class);
+        m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_LOOKUP_CACHE_UPDATE_MESSAGE, LookupCacheUpdateMessage.class);
         m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_REMOVE_CHUNKIDS_REQUEST, RemoveChunkIDsRequest.class);
         m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_REMOVE_CHUNKIDS_RESPONSE, RemoveChunkIDsResponse.class);
         m_network.registerMessageType(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_INSERT_NAMESERVICE_ENTRIES_REQUEST,
@@ -2772,6 +2993,7 @@ public class OverlaySuperpeer implements MessageReceiver {
         m_network.register(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_JOIN_REQUEST, this);
         m_network.register(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_FINISHED_STARTUP_MESSAGE, this);
         m_network.register(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_GET_LOOKUP_RANGE_REQUEST, this);
+        m_network.register(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_GET_LOOKUP_RANGES_REQUEST, this);
         m_network.register(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_REMOVE_CHUNKIDS_REQUEST, this);
         m_network.register(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_INSERT_NAMESERVICE_ENTRIES_REQUEST, this);
         m_network.register(DXRAMMessageTypes.LOOKUP_MESSAGES_TYPE, LookupMessages.SUBTYPE_GET_CHUNKID_FOR_NAMESERVICE_ENTRY_REQUEST, this);
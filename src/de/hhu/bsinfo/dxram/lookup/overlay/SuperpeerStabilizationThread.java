@@ -135,6 +135,8 @@ class SuperpeerStabilizationThread extends Thread implements MessageReceiver {
 
             pingPeers();
 
+            m_superpeer.removeTimedOutNameserviceWaiters();
+
             printOverlay();
         }
     }
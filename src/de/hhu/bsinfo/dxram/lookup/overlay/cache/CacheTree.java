@@ -18,13 +18,14 @@ package de.hhu.bsinfo.dxram.lookup.overlay.cache;
 
 import java.util.ArrayList;
 import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
 
 import de.hhu.bsinfo.dxram.data.ChunkID;
 import de.hhu.bsinfo.dxram.lookup.LookupRange;
 import de.hhu.bsinfo.dxutils.NodeID;
 import de.hhu.bsinfo.dxram.lookup.LookupState;
-import de.hhu.bsinfo.dxutils.RandomUtils;
+import de.hhu.bsinfo.dxutils.stats.StatisticsManager;
+import de.hhu.bsinfo.dxutils.stats.ValuePool;
 
 /**
  * Btree to cache ranges
@@ -33,6 +34,18 @@ import de.hhu.bsinfo.dxutils.RandomUtils;
  */
 public final class CacheTree {
 
+    private static final ValuePool SOP_HIT = new ValuePool(CacheTree.class, "Hit");
+    private static final ValuePool SOP_MISS = new ValuePool(CacheTree.class, "Miss");
+    private static final ValuePool SOP_EVICTED = new ValuePool(CacheTree.class, "Evicted");
+    private static final ValuePool SOP_EXPIRED = new ValuePool(CacheTree.class, "Expired");
+
+    static {
+        StatisticsManager.get().registerOperation(CacheTree.class, SOP_HIT);
+        StatisticsManager.get().registerOperation(CacheTree.class, SOP_MISS);
+        StatisticsManager.get().registerOperation(CacheTree.class, SOP_EVICTED);
+        StatisticsManager.get().registerOperation(CacheTree.class, SOP_EXPIRED);
+    }
+
     // Attributes
     private short m_minEntries;
     private short m_minChildren;
@@ -44,8 +57,13 @@ public final class CacheTree {
 
     private Entry m_changedEntry;
 
+    // readers try an optimistic read first which does not write to the lock, writers use the write lock view
+    private StampedLock m_stampedLock;
     private ReadWriteLock m_lock;
     private TTLHandler m_ttlHandler;
+    // accesses are only recorded if needed for eviction (reference bit) or expiration (access time)
+    private boolean m_trackReferences;
+    private boolean m_trackAccessTime;
 
     // Constructors
 
@@ -55,9 +73,9 @@ public final class CacheTree {
      * @param p_order
      *     order of the btree
      * @param p_ttl
-     *     the ttl for cached entries
+     *     the ttl for cached entries, 0 to keep entries until evicted
      * @param p_cacheMaxSize
-     *     the maximal number of cache entries
+     *     the maximal number of cache entries, 0 for an unbounded cache
      */
     public CacheTree(final short p_order, final long p_ttl, final long p_cacheMaxSize) {
         // too small order for BTree
@@ -73,15 +91,22 @@ public final class CacheTree {
 
         m_changedEntry = null;
 
+        m_trackReferences = p_cacheMaxSize > 0;
+        m_trackAccessTime = p_ttl > 0;
+
         createOrReplaceEntry(Long.MAX_VALUE, NodeID.INVALID_ID);
 
-        m_lock = new ReentrantReadWriteLock();
+        m_stampedLock = new StampedLock();
+        m_lock = m_stampedLock.asReadWriteLock();
 
-        /*m_ttlHandler = new TTLHandler(p_ttl, p_cacheMaxSize);
-        Thread thread = new Thread(m_ttlHandler);
-        thread.setName(TTLHandler.class.getSimpleName() + " for " + CacheTree.class.getSimpleName());
-        thread.setDaemon(true);
-        thread.start();*/
+        m_ttlHandler = new TTLHandler(p_ttl, p_cacheMaxSize);
+        // nothing to expire or evict otherwise
+        if (p_ttl > 0 || p_cacheMaxSize > 0) {
+            Thread thread = new Thread(m_ttlHandler);
+            thread.setName(TTLHandler.class.getSimpleName() + " for " + CacheTree.class.getSimpleName());
+            thread.setDaemon(true);
+            thread.start();
+        }
     }
 
     // Methods
@@ -96,6 +121,22 @@ public final class CacheTree {
         m_lock.writeLock().unlock();
     }
 
+    /**
+     * Records an access of a node for the eviction and expiration. Hits of concurrent lookups do not write to the
+     * shared node if neither is active
+     *
+     * @param p_node
+     *     the accessed node
+     */
+    private void registerAccess(final Node p_node) {
+        if (m_trackReferences) {
+            p_node.setReferenced();
+        }
+        if (m_trackAccessTime) {
+            p_node.setLastAccess();
+        }
+    }
+
     /**
      * Returns the node in which the predecessor is
      *
@@ -362,7 +403,7 @@ public final class CacheTree {
      * Stops the TTLHandler
      */
     public void close() {
-        //m_ttlHandler.stop();
+        m_ttlHandler.stop();
     }
 
     /**
@@ -373,13 +414,35 @@ public final class CacheTree {
      * @return the NodeID of the primary peer for given object
      */
     public short getPrimaryPeer(final long p_chunkID) {
-        short ret;
+        short ret = NodeID.INVALID_ID;
+        long stamp;
+        boolean valid = false;
 
         assert m_root != null;
 
-        m_lock.readLock().lock();
-        ret = getNodeIDOrSuccessorsNodeID(p_chunkID);
-        m_lock.readLock().unlock();
+        stamp = m_stampedLock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                ret = getNodeIDOrSuccessorsNodeID(p_chunkID);
+                valid = m_stampedLock.validate(stamp);
+            } catch (final RuntimeException | AssertionError ignored) {
+                // Inconsistent tree read during a concurrent write, retry with the read lock
+            }
+        }
+
+        if (!valid) {
+            m_lock.readLock().lock();
+            ret = getNodeIDOrSuccessorsNodeID(p_chunkID);
+            m_lock.readLock().unlock();
+        }
+
+        // #ifdef STATISTICS
+        if (ret != NodeID.INVALID_ID) {
+            SOP_HIT.add(1);
+        } else {
+            SOP_MISS.add(1);
+        }
+        // #endif /* STATISTICS */
 
         return ret;
     }
@@ -392,6 +455,49 @@ public final class CacheTree {
      * @return the first and last ChunkID of the range
      */
     public LookupRange getMetadata(final long p_chunkID) {
+        LookupRange ret = null;
+        long stamp;
+        boolean valid = false;
+
+        assert m_root != null;
+
+        // Cache hits are served without writing to the lock if there is no concurrent writer
+        stamp = m_stampedLock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                ret = lookupMetadata(p_chunkID);
+                valid = m_stampedLock.validate(stamp);
+            } catch (final RuntimeException | AssertionError ignored) {
+                // Inconsistent tree read during a concurrent write, retry with the read lock
+            }
+        }
+
+        if (!valid) {
+            m_lock.readLock().lock();
+            ret = lookupMetadata(p_chunkID);
+            m_lock.readLock().unlock();
+        }
+
+        // #ifdef STATISTICS
+        if (ret != null) {
+            SOP_HIT.add(1);
+        } else {
+            SOP_MISS.add(1);
+        }
+        // #endif /* STATISTICS */
+
+        return ret;
+    }
+
+    /**
+     * Returns the range given ChunkID is in
+     *
+     * @param p_chunkID
+     *     ChunkID of requested object
+     * @return the first and last ChunkID of the range, null if the range is not cached
+     * @note assumes m_lock has been locked or is called within an optimistic read
+     */
+    private LookupRange lookupMetadata(final long p_chunkID) {
         LookupRange ret = null;
         long[] range;
         short nodeID;
@@ -399,9 +505,6 @@ public final class CacheTree {
         Node node;
         Entry predecessorEntry;
 
-        assert m_root != null;
-
-        m_lock.readLock().lock();
         node = getNodeOrSuccessorsNode(p_chunkID, true);
         if (node != null) {
             index = node.indexOf(p_chunkID);
@@ -428,7 +531,6 @@ public final class CacheTree {
                 ret = new LookupRange(nodeID, range, LookupState.OK);
             }
         }
-        m_lock.readLock().unlock();
 
         return ret;
     }
@@ -445,23 +547,33 @@ public final class CacheTree {
      * @return true if insertion was successful
      */
     public boolean cacheRange(final long p_startCID, final long p_endCID, final short p_nodeID) {
-        Node startNode;
-
-        if (p_startCID == p_endCID) {
-            cacheChunkID(p_startCID, p_nodeID);
-        } else {
-            m_lock.writeLock().lock();
-            startNode = createOrReplaceEntry(p_startCID, p_nodeID);
-
-            mergeWithPredecessorOrBound(p_startCID, p_nodeID, startNode);
-
-            createOrReplaceEntry(p_endCID, p_nodeID);
+        m_lock.writeLock().lock();
+        insertRange(p_startCID, p_endCID, p_nodeID);
+        m_lock.writeLock().unlock();
 
-            removeEntriesWithinRange(p_startCID, p_endCID);
+        return true;
+    }
 
-            mergeWithSuccessor(p_endCID, p_nodeID);
-            m_lock.writeLock().unlock();
+    /**
+     * Caches multiple ranges at once, the lock is acquired once for all ranges
+     *
+     * @param p_startCIDs
+     *     the first ChunkIDs of the ranges
+     * @param p_endCIDs
+     *     the last ChunkIDs of the ranges
+     * @param p_nodeIDs
+     *     the primary peers of the ranges
+     * @param p_count
+     *     the number of ranges to cache
+     * @return true if insertion was successful
+     */
+    public boolean cacheRanges(final long[] p_startCIDs, final long[] p_endCIDs, final short[] p_nodeIDs, final int p_count) {
+        m_lock.writeLock().lock();
+        for (int i = 0; i < p_count; i++) {
+            insertRange(p_startCIDs[i], p_endCIDs[i], p_nodeIDs[i]);
         }
+        m_lock.writeLock().unlock();
+
         return true;
     }
 
@@ -515,7 +627,7 @@ public final class CacheTree {
                         }
                     }
                     if (predecessorCID != ChunkID.INVALID_ID) {
-                        cacheRange(predecessorCID, successorCID, NodeID.INVALID_ID);
+                        insertRange(predecessorCID, successorCID, NodeID.INVALID_ID);
                     }
                 }
             }
@@ -614,21 +726,49 @@ public final class CacheTree {
      * @param p_nodeID
      *     the primary peer
      * @return true if insertion was successful
+     * @note assumes m_lock has been write-locked
      */
     private boolean cacheChunkID(final long p_chunkID, final short p_nodeID) {
         Node node;
 
-        m_lock.writeLock().lock();
         node = createOrReplaceEntry(p_chunkID, p_nodeID);
 
         mergeWithPredecessorOrBound(p_chunkID, p_nodeID, node);
 
         mergeWithSuccessor(p_chunkID, p_nodeID);
-        m_lock.writeLock().unlock();
 
         return true;
     }
 
+    /**
+     * Caches a range
+     *
+     * @param p_startCID
+     *     the first ChunkID
+     * @param p_endCID
+     *     the last ChunkID
+     * @param p_nodeID
+     *     the primary peer
+     * @note assumes m_lock has been write-locked
+     */
+    private void insertRange(final long p_startCID, final long p_endCID, final short p_nodeID) {
+        Node startNode;
+
+        if (p_startCID == p_endCID) {
+            cacheChunkID(p_startCID, p_nodeID);
+        } else {
+            startNode = createOrReplaceEntry(p_startCID, p_nodeID);
+
+            mergeWithPredecessorOrBound(p_startCID, p_nodeID, startNode);
+
+            createOrReplaceEntry(p_endCID, p_nodeID);
+
+            removeEntriesWithinRange(p_startCID, p_endCID);
+
+            mergeWithSuccessor(p_endCID, p_nodeID);
+        }
+    }
+
     /**
      * Removes given ChunkID from btree
      *
@@ -773,6 +913,7 @@ public final class CacheTree {
 
             ret = node;
         }
+        registerAccess(ret);
         if (m_changedEntry == null) {
             m_size++;
         }
@@ -841,6 +982,72 @@ public final class CacheTree {
         }
     }
 
+    /**
+     * Returns the leaf node storing the next entry to given ChunkID (could be the ChunkID itself) or the leaf right of
+     * the next entry if it is stored in an inner node
+     *
+     * @param p_chunkID
+     *     the ChunkID
+     * @return the leaf node, null if the tree is empty
+     * @note assumes m_lock has been locked
+     */
+    private Node getLeafNode(final long p_chunkID) {
+        Node node;
+        int index;
+
+        if (m_root == null) {
+            return null;
+        }
+
+        node = getNodeOrSuccessorsNode(p_chunkID, false);
+        if (node != null && node.getNumberOfChildren() > 0) {
+            index = node.indexOf(p_chunkID);
+            if (index < 0) {
+                index = index * -1 - 1;
+            }
+            // Leftmost leaf in the subtree right of the entry
+            node = node.getChild(index + 1);
+            while (node.getNumberOfChildren() > 0) {
+                node = node.getChild(0);
+            }
+        }
+
+        return node;
+    }
+
+    /**
+     * Removes all cached ranges ending between start (exclusive) and end (inclusive). The range ending at start
+     * is kept
+     *
+     * @param p_startCID
+     *     the first ChunkID
+     * @param p_endCID
+     *     the last ChunkID
+     * @note assumes m_lock has been write-locked
+     */
+    private void evictRange(final long p_startCID, final long p_endCID) {
+        Node node;
+        short startNodeID;
+        Entry successor;
+
+        // Remove all ranges between p_startCID and p_endCID (excluding p_startCID)
+        node = getNodeOrSuccessorsNode(p_endCID, false);
+        if (node.getNodeID(node.indexOf(p_endCID)) != NodeID.INVALID_ID) {
+            successor = getSuccessorsEntry(p_endCID, node);
+            if (successor != null && successor.getNodeID() == NodeID.INVALID_ID) {
+                remove(p_endCID);
+            } else {
+                node.changeEntry(p_endCID, NodeID.INVALID_ID, node.indexOf(p_endCID));
+            }
+        }
+
+        startNodeID = getNodeIDOrSuccessorsNodeID(p_startCID);
+        removeEntriesWithinRange(p_startCID, p_endCID);
+        if (startNodeID != NodeID.INVALID_ID) {
+            createOrReplaceEntry(p_startCID, startNodeID);
+        }
+    }
+
     /**
      * Removes all entries between start (inclusive) and end
      *
@@ -885,7 +1092,7 @@ public final class CacheTree {
                     continue;
                 } else {
                     if (p_registerAccess) {
-                        ret.setLastAccess();
+                        registerAccess(ret);
                     }
                     break;
                 }
@@ -900,7 +1107,7 @@ public final class CacheTree {
                 } else {
                     ret = getSuccessorsNode(greater, ret);
                     if (p_registerAccess) {
-                        ret.setLastAccess();
+                        registerAccess(ret);
                     }
                     break;
                 }
@@ -908,17 +1115,20 @@ public final class CacheTree {
 
             index = ret.indexOf(p_chunkID);
             if (index >= 0) {
+                if (p_registerAccess) {
+                    registerAccess(ret);
+                }
                 break;
             } else {
                 index = index * -1 - 1;
                 if (index < ret.getNumberOfChildren()) {
                     ret = ret.getChild(index);
                     if (p_registerAccess) {
-                        ret.setLastAccess();
+                        registerAccess(ret);
                     }
                 } else {
                     if (p_registerAccess) {
-                        ret.setLastAccess();
+                        registerAccess(ret);
                     }
                     break;
                 }
@@ -1353,6 +1563,9 @@ public final class CacheTree {
      */
     private static final class Node implements Comparable<Node> {
 
+        // Constants
+        private static final long ACCESS_TIME_GRANULARITY = 10;
+
         // Attributes
         private Node m_parent;
 
@@ -1364,6 +1577,8 @@ public final class CacheTree {
         private short m_numberOfChildren;
 
         private long m_lastAccess;
+        // second chance for the eviction, set on access if the cache size is limited
+        private boolean m_referenced;
 
         // Constructors
 
@@ -1538,7 +1753,34 @@ public final class CacheTree {
          * Sets time of the last access
          */
         private void setLastAccess() {
-            m_lastAccess = System.currentTimeMillis();
+            long time = System.currentTimeMillis();
+
+            // Lookups run concurrently, avoid writing the shared node on every access
+            if (time - m_lastAccess >= ACCESS_TIME_GRANULARITY) {
+                m_lastAccess = time;
+            }
+        }
+
+        /**
+         * Marks the node as accessed since the last reset
+         */
+        private void setReferenced() {
+            // Only write if not set already (avoids invalidating the cache line on every hit)
+            if (!m_referenced) {
+                m_referenced = true;
+            }
+        }
+
+        /**
+         * Returns whether the node was accessed since the last reset and resets the flag
+         *
+         * @return true if the node was accessed
+         */
+        private boolean resetReferenced() {
+            boolean ret = m_referenced;
+            m_referenced = false;
+
+            return ret;
         }
 
         /**
@@ -1980,7 +2222,9 @@ public final class CacheTree {
     }
 
     /**
-     * Manages the entry time-outs
+     * Expires cached ranges after the TTL and evicts ranges if the cache exceeds its maximum size. The leaf nodes are
+     * checked in ChunkID order like the hand of a clock. A node which was accessed since the last check gets a second
+     * chance. The write lock is held for a few nodes at a time, only
      *
      * @author Florian Klein, florian.klein@hhu.de, 09.03.2012
      */
@@ -1988,11 +2232,17 @@ public final class CacheTree {
 
         // Constants
         private static final long SLEEP_TIME = 1000;
+        private static final int NODES_PER_LOCK = 16;
 
         // Attributes
         private long m_ttl;
+        private long m_maxCachedEntries;
+
+        // next ChunkID to check, accessed by this thread only
+        private long m_clockHand;
 
         private volatile boolean m_running;
+        private volatile Thread m_thread;
 
         // Constructors
 
@@ -2000,50 +2250,41 @@ public final class CacheTree {
          * Creates an instance of TTLHandler
          *
          * @param p_ttl
-         *     the TTL value
+         *     the TTL value in ms, 0 to keep entries until evicted
+         * @param p_maxCachedEntries
+         *     the maximal number of cache entries, 0 for an unbounded cache
          */
         TTLHandler(final long p_ttl, final long p_maxCachedEntries) {
             m_ttl = p_ttl;
+            m_maxCachedEntries = p_maxCachedEntries;
 
-            m_running = false;
+            // ChunkIDs of peers with NodeIDs >= 0x8000 are negative
+            m_clockHand = Long.MIN_VALUE;
+
+            m_running = true;
         }
 
         // Methods
 
-        /**
-         * When an object implementing interface {@code Runnable} is used
-         * to create a thread, starting the thread causes the object's {@code run} method to be called in that
-         * separately executing
-         * thread.
-         * The general contract of the method {@code run} is that it may take any action whatsoever.
-         *
-         * @see java.lang.Thread#run()
-         */
         @Override
         public void run() {
-            long time;
-            Node node;
+            long sleepTime;
+
+            m_thread = Thread.currentThread();
+
+            sleepTime = SLEEP_TIME;
+            if (m_ttl > 0) {
+                sleepTime = Math.max(1, Math.min(SLEEP_TIME, m_ttl / 2));
+            }
 
-            m_running = true;
             while (m_running) {
                 try {
-                    Thread.sleep(SLEEP_TIME);
+                    Thread.sleep(sleepTime);
                 } catch (final InterruptedException ignored) {
                 }
 
                 if (m_running) {
-                    time = System.currentTimeMillis();
-
-                    m_lock.writeLock().lock();
-                    node = m_root;
-                    while (node != null && node.getNumberOfEntries() > 1) {
-                        if (time - node.getLastAccess() > m_ttl) {
-                            invalidateRange(node.getCID(0), node.getCID(node.getNumberOfEntries() - 1));
-                            break;
-                        }
-                        node = node.getChild(RandomUtils.getRandomValue(0, node.getNumberOfChildren()));
-                    }
-                    m_lock.writeLock().unlock();
+                    sweep();
                 }
             }
         }
@@ -2052,46 +2293,122 @@ public final class CacheTree {
          * Stops the TTLHandler
          */
         void stop() {
+            Thread thread = m_thread;
+
             m_running = false;
+            if (thread != null) {
+                thread.interrupt();
+            }
         }
 
         /**
-         * Removes given range from btree
-         *
-         * @param p_startCID
-         *     the first ChunkID
-         * @param p_endCID
-         *     the last ChunkID
+         * Checks every leaf node once or twice if the cache is too large
          */
-        private void invalidateRange(final long p_startCID, final long p_endCID) {
+        private void sweep() {
+            long time;
+            long nodesToCheck;
+            boolean overfull;
             Node node;
-            short startNodeID;
-            Entry successor;
 
-            if (p_startCID == p_endCID) {
-                m_lock.writeLock().lock();
-                removeEntry(p_startCID);
-                m_lock.writeLock().unlock();
-            } else {
+            time = System.currentTimeMillis();
+
+            // Estimated number of leaf nodes, a second round evicts the nodes whose second chance was used up
+            overfull = isOverfull();
+            nodesToCheck = (m_size / m_minEntries + 1) * (overfull ? 2 : 1);
+
+            while (m_running && nodesToCheck > 0 && (overfull || m_ttl > 0)) {
                 m_lock.writeLock().lock();
-                // Remove all ranges between p_startCID and p_endCID (excluding p_startCID)
-                node = getNodeOrSuccessorsNode(p_endCID, false);
-                if (node.getCID(node.indexOf(p_endCID)) != ChunkID.INVALID_ID) {
-                    successor = getSuccessorsEntry(p_endCID, node);
-                    if (successor != null && successor.getNodeID() == NodeID.INVALID_ID) {
-                        remove(p_endCID);
-                    } else {
-                        node.changeEntry(p_endCID, NodeID.INVALID_ID, node.indexOf(p_endCID));
+                for (int i = 0; i < NODES_PER_LOCK && nodesToCheck > 0; i++, nodesToCheck--) {
+                    node = getClockHandNode();
+                    if (node == null) {
+                        nodesToCheck = 0;
+                        break;
                     }
-                }
 
-                startNodeID = getNodeIDOrSuccessorsNodeID(p_startCID);
-                removeEntriesWithinRange(p_startCID, p_endCID);
-                if (startNodeID != NodeID.INVALID_ID) {
-                    createOrReplaceEntry(p_startCID, startNodeID);
+                    check(node, time);
                 }
+                overfull = isOverfull();
                 m_lock.writeLock().unlock();
+
+                // Give lookups the chance to grab the lock
+                Thread.yield();
+            }
+        }
+
+        /**
+         * Checks a single leaf node, evicts its ranges if expired or not accessed recently with the cache being too
+         * large and moves the clock hand to the next node
+         *
+         * @param p_node
+         *     the leaf node
+         * @param p_time
+         *     the current time
+         * @note assumes m_lock has been write-locked
+         */
+        private void check(final Node p_node, final long p_time) {
+            long first;
+            long last;
+            int sizeBefore;
+            boolean expired;
+            boolean referenced;
+
+            first = p_node.getCID(0);
+            last = p_node.getCID(p_node.getNumberOfEntries() - 1);
+
+            expired = m_ttl > 0 && p_time - p_node.getLastAccess() > m_ttl;
+            referenced = p_node.resetReferenced();
+
+            if (first != last && (expired || !referenced && isOverfull())) {
+                sizeBefore = m_size;
+                evictRange(first, last);
+
+                // #ifdef STATISTICS
+                if (expired) {
+                    SOP_EXPIRED.add(Math.max(0, sizeBefore - m_size));
+                } else {
+                    SOP_EVICTED.add(Math.max(0, sizeBefore - m_size));
+                }
+                // #endif /* STATISTICS */
+            }
+
+            if (last == Long.MAX_VALUE) {
+                // Wrap around
+                m_clockHand = Long.MIN_VALUE;
+            } else {
+                m_clockHand = last + 1;
+            }
+        }
+
+        /**
+         * Returns the leaf node at the clock hand. Wraps around if the clock hand passed the last entry
+         *
+         * @return the leaf node, null if the tree is empty
+         * @note assumes m_lock has been write-locked
+         */
+        private Node getClockHandNode() {
+            Node node;
+
+            node = getLeafNode(m_clockHand);
+            if (node == null || node.getCID(node.getNumberOfEntries() - 1) < m_clockHand) {
+                if (m_clockHand == Long.MIN_VALUE) {
+                    return null;
+                }
+
+                // Wrap around
+                m_clockHand = Long.MIN_VALUE;
+                node = getLeafNode(m_clockHand);
             }
+
+            return node;
+        }
+
+        /**
+         * Checks if the cache exceeds its maximum size
+         *
+         * @return true if there are more entries than allowed
+         */
+        private boolean isOverfull() {
+            return m_maxCachedEntries > 0 && m_size > m_maxCachedEntries;
         }
 
     }
@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.lookup.overlay.storage;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import de.hhu.bsinfo.dxram.data.ChunkID;
+import de.hhu.bsinfo.dxram.lookup.LookupRange;
+
+/**
+ * Tests splitting and merging of ranges in the LookupTree. Random migrations and removals are compared with the
+ * owner of every LocalID. Every lookup must return the maximal range of LocalIDs stored on the same peer.
+ */
+public final class LookupTreeTest {
+
+    private static final short CREATOR = 0x1234;
+    private static final short[] PEERS = {CREATOR, 0x2000, 0x3000, 0x4000};
+    // LocalIDs above are never migrated
+    private static final int LOCAL_IDS = 256;
+    private static final int OPERATIONS = 100000;
+
+    /**
+     * Unused constructor.
+     */
+    private LookupTreeTest() {
+    }
+
+    /**
+     * Java main entry point.
+     *
+     * @param p_args
+     *         Command line arguments
+     */
+    public static void main(final String[] p_args) {
+        testSplitAndMerge();
+        testRandomOperations(new Random(0));
+
+        System.out.println("All lookup tree tests passed.");
+    }
+
+    /**
+     * Migrates and removes a few chunks and checks the resulting ranges
+     */
+    private static void testSplitAndMerge() {
+        LookupTree tree = new LookupTree(CREATOR);
+        short[] owners = new short[LOCAL_IDS];
+        Arrays.fill(owners, CREATOR);
+
+        // split the creator's range
+        migrateRange(tree, owners, 10, 19, PEERS[1]);
+        checkTree(tree, owners);
+        check(tree.getMetadata(chunkID(15)).getRange()[0] == 10, "Range was not split at its start");
+
+        // adjacent range on the same peer -> merged
+        migrateRange(tree, owners, 20, 29, PEERS[1]);
+        checkTree(tree, owners);
+        check(tree.getMetadata(chunkID(25)).getRange()[0] == 10, "Adjacent ranges were not merged");
+
+        // split in the middle
+        migrate(tree, owners, 15, PEERS[2]);
+        checkTree(tree, owners);
+
+        // migrate back -> merged with predecessor and successor
+        migrate(tree, owners, 15, PEERS[1]);
+        checkTree(tree, owners);
+        check(tree.getMetadata(chunkID(15)).getRange()[1] == 29, "Ranges were not merged again");
+
+        // range covering several entries
+        migrate(tree, owners, 5, PEERS[3]);
+        migrateRange(tree, owners, 1, 40, PEERS[2]);
+        checkTree(tree, owners);
+
+        // first LocalID
+        migrate(tree, owners, 0, PEERS[2]);
+        checkTree(tree, owners);
+
+        // everything back on the creator -> empty tree
+        for (int i = 0; i <= 40; i++) {
+            remove(tree, owners, i);
+        }
+        checkTree(tree, owners);
+        check(tree.sizeofObject() == new LookupTree(CREATOR).sizeofObject(), "Tree is not empty after removing all migrations");
+    }
+
+    /**
+     * Runs random migrations and removals
+     *
+     * @param p_random
+     *         the random generator
+     */
+    private static void testRandomOperations(final Random p_random) {
+        LookupTree tree = new LookupTree(CREATOR);
+        short[] owners = new short[LOCAL_IDS];
+        Arrays.fill(owners, CREATOR);
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            int localID = p_random.nextInt(LOCAL_IDS);
+            short peer = PEERS[p_random.nextInt(PEERS.length)];
+
+            switch (p_random.nextInt(3)) {
+                case 0:
+                    migrate(tree, owners, localID, peer);
+                    break;
+                case 1:
+                    // migrateRange does not accept LocalID 0
+                    int start = Math.max(1, localID);
+                    migrateRange(tree, owners, start, start + p_random.nextInt(Math.min(16, LOCAL_IDS - start)), peer);
+                    break;
+                default:
+                    remove(tree, owners, localID);
+                    break;
+            }
+
+            if (i % 100 == 0) {
+                checkTree(tree, owners);
+            }
+        }
+        checkTree(tree, owners);
+    }
+
+    /**
+     * Migrates a chunk
+     *
+     * @param p_tree
+     *         the tree
+     * @param p_owners
+     *         the expected owner of every LocalID
+     * @param p_localID
+     *         the LocalID
+     * @param p_peer
+     *         the new owner
+     */
+    private static void migrate(final LookupTree p_tree, final short[] p_owners, final int p_localID, final short p_peer) {
+        p_tree.migrate(chunkID(p_localID), p_peer);
+        p_owners[p_localID] = p_peer;
+    }
+
+    /**
+     * Migrates a range of chunks
+     *
+     * @param p_tree
+     *         the tree
+     * @param p_owners
+     *         the expected owner of every LocalID
+     * @param p_start
+     *         the first LocalID
+     * @param p_end
+     *         the last LocalID
+     * @param p_peer
+     *         the new owner
+     */
+    private static void migrateRange(final LookupTree p_tree, final short[] p_owners, final int p_start, final int p_end, final short p_peer) {
+        p_tree.migrateRange(chunkID(p_start), chunkID(p_end), p_peer);
+        Arrays.fill(p_owners, p_start, p_end + 1, p_peer);
+    }
+
+    /**
+     * Removes a chunk
+     *
+     * @param p_tree
+     *         the tree
+     * @param p_owners
+     *         the expected owner of every LocalID
+     * @param p_localID
+     *         the LocalID
+     */
+    private static void remove(final LookupTree p_tree, final short[] p_owners, final int p_localID) {
+        p_tree.remove(chunkID(p_localID));
+        p_owners[p_localID] = CREATOR;
+    }
+
+    /**
+     * Compares the tree with the expected owners
+     *
+     * @param p_tree
+     *         the tree
+     * @param p_owners
+     *         the expected owner of every LocalID
+     */
+    private static void checkTree(final LookupTree p_tree, final short[] p_owners) {
+        check(p_tree.validate(), "Invalid tree:\n" + p_tree);
+
+        for (int localID = 0; localID <= LOCAL_IDS; localID++) {
+            short owner = getOwner(p_owners, localID);
+
+            // maximal range of LocalIDs with the same owner
+            long start = localID;
+            while (start > 0 && getOwner(p_owners, start - 1) == owner) {
+                start--;
+            }
+            long end = localID;
+            while (end < LOCAL_IDS && getOwner(p_owners, end + 1) == owner) {
+                end++;
+            }
+            if (end == LOCAL_IDS) {
+                end = ChunkID.MAX_LOCALID;
+            }
+
+            LookupRange range = p_tree.getMetadata(chunkID(localID));
+            check(range.getPrimaryPeer() == owner, "Wrong owner of LocalID " + localID + ":\n" + p_tree);
+            check(range.getRange()[0] == start && range.getRange()[1] == end,
+                    "Wrong range for LocalID " + localID + ": " + range.getRange()[0] + " - " + range.getRange()[1] + ", expected " + start +
+                            " - " + end + ":\n" + p_tree);
+        }
+    }
+
+    /**
+     * Returns the expected owner of a LocalID
+     *
+     * @param p_owners
+     *         the expected owner of every LocalID
+     * @param p_localID
+     *         the LocalID
+     * @return the owner
+     */
+    private static short getOwner(final short[] p_owners, final long p_localID) {
+        return p_localID < LOCAL_IDS ? p_owners[(int) p_localID] : CREATOR;
+    }
+
+    /**
+     * Creates a ChunkID of the creator
+     *
+     * @param p_localID
+     *         the LocalID
+     * @return the ChunkID
+     */
+    private static long chunkID(final long p_localID) {
+        return ((long) CREATOR << 48) + p_localID;
+    }
+
+    /**
+     * Aborts if a condition does not hold
+     *
+     * @param p_condition
+     *         the condition
+     * @param p_message
+     *         the error message
+     */
+    private static void check(final boolean p_condition, final String p_message) {
+        if (!p_condition) {
+            System.out.println("Test failed: " + p_message);
+            System.exit(-1);
+        }
+    }
+}
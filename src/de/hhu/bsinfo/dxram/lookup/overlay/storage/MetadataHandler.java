@@ -51,7 +51,13 @@ public final class MetadataHandler {
 
     private ArrayList<Short> m_assignedPeersIncludingBackups;
 
-    private ReadWriteLock m_dataLock;
+    // Every structure has its own lock. The peer handlers lock guards the peer handler array, only: it is read-locked
+    // for all operations on a lookup tree (which lock the tree's peer handler) and write-locked for adding or removing
+    // peer handlers. Locks are never nested except for a peer handler's lock within the peer handlers lock
+    private ReadWriteLock m_peerHandlersLock;
+    private ReadWriteLock m_nameserviceLock;
+    private ReadWriteLock m_storageLock;
+    private ReadWriteLock m_barriersLock;
 
     // Constructors
 
@@ -78,7 +84,19 @@ public final class MetadataHandler {
 
         m_assignedPeersIncludingBackups = p_assignedPeersIncludingBackups;
 
-        m_dataLock = new ReentrantReadWriteLock(false);
+        m_peerHandlersLock = new ReentrantReadWriteLock(false);
+        m_nameserviceLock = new ReentrantReadWriteLock(false);
+        m_storageLock = new ReentrantReadWriteLock(false);
+        m_barriersLock = new ReentrantReadWriteLock(false);
+    }
+
+    /**
+     * Frees all off-heap memory. The metadata must not be accessed afterwards
+     */
+    public void destroy() {
+        m_storageLock.writeLock().lock();
+        m_storage.destroy();
+        m_storageLock.writeLock().unlock();
     }
 
     /**
@@ -113,9 +131,9 @@ public final class MetadataHandler {
     public Status getStorageStatus() {
         Status ret;
 
-        m_dataLock.readLock().lock();
+        m_storageLock.readLock().lock();
         ret = m_storage.getStatus();
-        m_dataLock.readLock().unlock();
+        m_storageLock.readLock().unlock();
 
         return ret;
     }
@@ -128,9 +146,9 @@ public final class MetadataHandler {
     public byte[] getAllNameserviceEntries(final short p_predecessor, final short p_nodeID) {
         byte[] ret;
 
-        m_dataLock.readLock().lock();
+        m_nameserviceLock.readLock().lock();
         ret = m_nameservice.receiveMetadataInRange(p_predecessor, p_nodeID);
-        m_dataLock.readLock().unlock();
+        m_nameserviceLock.readLock().unlock();
 
         return ret;
     }
@@ -146,32 +164,34 @@ public final class MetadataHandler {
      * @lock overlay lock must be read-locked
      */
     public byte[] receiveMetadataInRange(final short p_beginOfArea, final short p_endOfArea) {
-        int size;
-        int count = 0;
         int index;
         int startIndex;
         short currentPeer;
-        byte[] ret;
         byte[] nameserviceEntries;
         byte[] storages;
         byte[] barriers;
-        ByteBuffer data;
+        ArrayList<byte[]> lookupTrees;
         PeerHandler peerHandler;
 
-        m_dataLock.readLock().lock();
         // #if LOGGER == TRACE
         LOGGER.trace("Serializing metadata of area: 0x%X, 0x%X", p_beginOfArea, p_endOfArea);
         // #endif /* LOGGER == TRACE */
 
         // Get all corresponding nameservice entries
+        m_nameserviceLock.readLock().lock();
         nameserviceEntries = m_nameservice.receiveMetadataInRange(p_beginOfArea, p_endOfArea);
+        m_nameserviceLock.readLock().unlock();
         // Get all corresponding storages
+        m_storageLock.readLock().lock();
         storages = m_storage.receiveMetadataInRange(p_beginOfArea, p_endOfArea);
+        m_storageLock.readLock().unlock();
         // Get all corresponding barriers
+        m_barriersLock.readLock().lock();
         barriers = m_barriers.receiveMetadataInRange(p_beginOfArea, p_endOfArea);
+        m_barriersLock.readLock().unlock();
 
         // Get all corresponding lookup trees
-        size = nameserviceEntries.length + storages.length + barriers.length + Integer.BYTES * 4;
+        lookupTrees = new ArrayList<>();
         if (!m_assignedPeersIncludingBackups.isEmpty()) {
             // Find beginning
             index = Collections.binarySearch(m_assignedPeersIncludingBackups, p_beginOfArea);
@@ -182,50 +202,19 @@ public final class MetadataHandler {
                 }
             }
 
-            // Iterate over assigned peers and count lookup tree sizes
+            // Iterate over assigned peers and serialize lookup trees
+            m_peerHandlersLock.readLock().lock();
             startIndex = index;
             currentPeer = m_assignedPeersIncludingBackups.get(index++);
             while (OverlayHelper.isPeerInSuperpeerRange(currentPeer, p_beginOfArea, p_endOfArea)) {
                 peerHandler = getPeerHandler(currentPeer);
                 // no tree available -> no chunks were created or backup system is deactivated
                 if (peerHandler != null) {
-                    size += peerHandler.getSize();
-                    count++;
-                }
-
-                if (index == m_assignedPeersIncludingBackups.size()) {
-                    index = 0;
-                }
-                if (index == startIndex) {
-                    break;
-                }
-                currentPeer = m_assignedPeersIncludingBackups.get(index++);
-            }
-
-            // Allocate array for all data and copy already gathered data
-            ret = new byte[size];
-            data = ByteBuffer.wrap(ret);
-            data.putInt(nameserviceEntries.length);
-            data.put(nameserviceEntries);
-            data.putInt(storages.length);
-            data.put(storages);
-            data.putInt(barriers.length);
-            data.put(barriers);
-
-            // Iterate over assigned peers and write lookup trees
-            data.putInt(count);
-            index = startIndex;
-            currentPeer = m_assignedPeersIncludingBackups.get(index++);
-            while (OverlayHelper.isPeerInSuperpeerRange(currentPeer, p_beginOfArea, p_endOfArea)) {
-                // #if LOGGER == TRACE
-                LOGGER.trace("Including LookupTree of 0x%X", currentPeer);
-                // #endif /* LOGGER == TRACE */
+                    // #if LOGGER == TRACE
+                    LOGGER.trace("Including LookupTree of 0x%X", currentPeer);
+                    // #endif /* LOGGER == TRACE */
 
-                peerHandler = getPeerHandler(currentPeer);
-                // no tree available -> no chunks were created or backup system is deactivated
-                if (peerHandler != null) {
-                    data.putShort(currentPeer);
-                    peerHandler.receiveMetadata(data);
+                    lookupTrees.add(serializePeerHandler(currentPeer, peerHandler));
                 }
 
                 if (index == m_assignedPeersIncludingBackups.size()) {
@@ -236,27 +225,11 @@ public final class MetadataHandler {
                 }
                 currentPeer = m_assignedPeersIncludingBackups.get(index++);
             }
-        } else {
-            // There might be data in given area even without any assigned peer
-
-            // Allocate array for all data and copy gathered data
-            ret = new byte[size];
-            data = ByteBuffer.wrap(ret);
-            data.putInt(nameserviceEntries.length);
-            data.put(nameserviceEntries);
-            data.putInt(storages.length);
-            data.put(storages);
-            data.putInt(barriers.length);
-            data.put(barriers);
+            m_peerHandlersLock.readLock().unlock();
         }
-        m_dataLock.readLock().unlock();
+        // There might be data in given area even without any assigned peer
 
-        // If there is no metadata in given area, return an empty array
-        if (ret.length == Integer.BYTES * 4) {
-            ret = new byte[0];
-        }
-
-        return ret;
+        return assembleMetadata(nameserviceEntries, storages, barriers, lookupTrees);
     }
 
     /**
@@ -265,52 +238,32 @@ public final class MetadataHandler {
      * @return all metadata in a byte array
      */
     public byte[] receiveAllMetadata() {
-        int size;
-        int count = 0;
-        byte[] ret;
         byte[] nameserviceEntries;
         byte[] storages;
         byte[] barriers;
+        ArrayList<byte[]> lookupTrees;
         PeerHandler peerHandler;
-        ByteBuffer data;
 
-        m_dataLock.readLock().lock();
         // #if LOGGER == TRACE
         LOGGER.trace("Serializing all metadata");
         // #endif /* LOGGER == TRACE */
 
         // Get all nameservice entries
+        m_nameserviceLock.readLock().lock();
         nameserviceEntries = m_nameservice.receiveAllMetadata();
+        m_nameserviceLock.readLock().unlock();
         // Get all storages
+        m_storageLock.readLock().lock();
         storages = m_storage.receiveAllMetadata();
+        m_storageLock.readLock().unlock();
         // Get all barriers
+        m_barriersLock.readLock().lock();
         barriers = m_barriers.receiveAllMetadata();
+        m_barriersLock.readLock().unlock();
 
-        // Get all nameservice entries
-        size = nameserviceEntries.length + storages.length + barriers.length + Integer.BYTES * 4;
-
-        // Iterate over all peers and count lookup tree sizes
-        for (int i = 0; i < Short.MAX_VALUE * 2; i++) {
-            peerHandler = getPeerHandler((short) i);
-            // no tree available -> no chunks were created or backup system is deactivated
-            if (peerHandler != null) {
-                size += peerHandler.getSize();
-                count++;
-            }
-        }
-
-        // Allocate array for all data and copy already gathered data
-        ret = new byte[size];
-        data = ByteBuffer.wrap(ret);
-        data.putInt(nameserviceEntries.length);
-        data.put(nameserviceEntries);
-        data.putInt(storages.length);
-        data.put(storages);
-        data.putInt(barriers.length);
-        data.put(barriers);
-
-        // Iterate over all peers and write lookup trees
-        data.putInt(count);
+        // Iterate over all peers and serialize lookup trees
+        lookupTrees = new ArrayList<>();
+        m_peerHandlersLock.readLock().lock();
         for (int i = 0; i < Short.MAX_VALUE * 2; i++) {
             peerHandler = getPeerHandler((short) i);
             // no tree available -> no chunks were created or backup system is deactivated
@@ -319,18 +272,12 @@ public final class MetadataHandler {
                 LOGGER.trace("Including LookupTree of 0x%X", (short) i);
                 // #endif /* LOGGER == TRACE */
 
-                data.putShort((short) i);
-                peerHandler.receiveMetadata(data);
+                lookupTrees.add(serializePeerHandler((short) i, peerHandler));
             }
         }
-        m_dataLock.readLock().unlock();
+        m_peerHandlersLock.readLock().unlock();
 
-        // If there is no metadata, return an empty array
-        if (ret.length == Integer.BYTES * 4) {
-            ret = new byte[0];
-        }
-
-        return ret;
+        return assembleMetadata(nameserviceEntries, storages, barriers, lookupTrees);
     }
 
     /**
@@ -343,9 +290,9 @@ public final class MetadataHandler {
     public int getNumberOfNameserviceEntries(final short[] p_responsibleArea) {
         int ret;
 
-        m_dataLock.readLock().lock();
+        m_nameserviceLock.readLock().lock();
         ret = m_nameservice.quantifyMetadata(p_responsibleArea[0], p_responsibleArea[1]);
-        m_dataLock.readLock().unlock();
+        m_nameserviceLock.readLock().unlock();
 
         return ret;
     }
@@ -360,9 +307,9 @@ public final class MetadataHandler {
     public int getNumberOfStorages(final short[] p_responsibleArea) {
         int ret;
 
-        m_dataLock.readLock().lock();
+        m_storageLock.readLock().lock();
         ret = m_storage.quantifyMetadata(p_responsibleArea[0], p_responsibleArea[1]);
-        m_dataLock.readLock().unlock();
+        m_storageLock.readLock().unlock();
 
         return ret;
     }
@@ -377,9 +324,9 @@ public final class MetadataHandler {
     public int getNumberOfBarriers(final short[] p_responsibleArea) {
         int ret;
 
-        m_dataLock.readLock().lock();
+        m_barriersLock.readLock().lock();
         ret = m_barriers.quantifyMetadata(p_responsibleArea[0], p_responsibleArea[1]);
-        m_dataLock.readLock().unlock();
+        m_barriersLock.readLock().unlock();
 
         return ret;
     }
@@ -398,17 +345,23 @@ public final class MetadataHandler {
         String ret = "";
         PeerHandler peerHandler;
 
-        m_dataLock.readLock().lock();
+        m_nameserviceLock.readLock().lock();
         ret += "Number of nameservice entries: " + m_nameservice.quantifyMetadata(p_nodeID, p_nodeID) + ", assigned: " +
                 m_nameservice.quantifyMetadata(p_predecessor, p_nodeID) + '\n';
+        m_nameserviceLock.readLock().unlock();
 
+        m_storageLock.readLock().lock();
         ret += "Number of storages: \t\t " + m_storage.quantifyMetadata(p_nodeID, p_nodeID) + ", assigned: " +
                 m_storage.quantifyMetadata(p_predecessor, p_nodeID) + '\n';
+        m_storageLock.readLock().unlock();
 
+        m_barriersLock.readLock().lock();
         ret += "Number of barriers: \t\t " + m_barriers.quantifyMetadata(p_nodeID, p_nodeID) + ", assigned: " +
                 m_barriers.quantifyMetadata(p_predecessor, p_nodeID) + '\n';
+        m_barriersLock.readLock().unlock();
 
         ret += "Storing LookupTrees of following peers:\n";
+        m_peerHandlersLock.readLock().lock();
         for (int i = 0; i < Short.MAX_VALUE * 2; i++) {
             peerHandler = getPeerHandler((short) i);
             // no tree available -> no chunks were created or backup system is deactivated
@@ -420,7 +373,7 @@ public final class MetadataHandler {
                 }
             }
         }
-        m_dataLock.readLock().unlock();
+        m_peerHandlersLock.readLock().unlock();
 
         return ret;
     }
@@ -446,45 +399,44 @@ public final class MetadataHandler {
      */
     public byte[] compareAndReturnBackups(final ArrayList<Short> p_peers, final int p_numberOfNameserviceEntries, final int p_numberOfStorages,
             final int p_numberOfBarriers, final short p_predecessor, final short p_nodeID) {
-        int size;
-        int count = 0;
         int index;
         int startIndex;
         short currentPeer;
-        byte[] ret;
-        byte[] nameserviceEntries = null;
-        byte[] storages = null;
-        byte[] barriers = null;
-        ByteBuffer data;
+        byte[] nameserviceEntries = new byte[0];
+        byte[] storages = new byte[0];
+        byte[] barriers = new byte[0];
+        ArrayList<byte[]> lookupTrees;
         PeerHandler peerHandler;
 
-        m_dataLock.readLock().lock();
         // #if LOGGER == TRACE
         LOGGER.trace("Compare and return metadata of area: 0x%X, 0x%X", p_predecessor, p_nodeID);
         // #endif /* LOGGER == TRACE */
 
         // TODO: Inefficient to send all data (nameservice, storages, barriers) in corresponding area if quantity differs
-        size = 4 * Integer.BYTES;
         // Compare number of actual nameservice entries with expected number
+        m_nameserviceLock.readLock().lock();
         if (m_nameservice.quantifyMetadata(p_predecessor, p_nodeID) != p_numberOfNameserviceEntries) {
             // Get all corresponding nameservice entries
             nameserviceEntries = m_nameservice.receiveMetadataInRange(p_predecessor, p_nodeID);
-            size += nameserviceEntries.length;
         }
+        m_nameserviceLock.readLock().unlock();
         // Compare number of actual storages with expected number
+        m_storageLock.readLock().lock();
         if (m_storage.quantifyMetadata(p_predecessor, p_nodeID) != p_numberOfStorages) {
             // Get all corresponding storages
             storages = m_storage.receiveMetadataInRange(p_predecessor, p_nodeID);
-            size += storages.length;
         }
+        m_storageLock.readLock().unlock();
         // Compare number of actual barriers with expected number
+        m_barriersLock.readLock().lock();
         if (m_barriers.quantifyMetadata(p_predecessor, p_nodeID) != p_numberOfBarriers) {
             // Get all corresponding barriers
             barriers = m_barriers.receiveMetadataInRange(p_predecessor, p_nodeID);
-            size += barriers.length;
         }
+        m_barriersLock.readLock().unlock();
 
         // Get all corresponding lookup trees
+        lookupTrees = new ArrayList<>();
         if (!m_assignedPeersIncludingBackups.isEmpty()) {
             // Find beginning
             index = Collections.binarySearch(m_assignedPeersIncludingBackups, p_predecessor);
@@ -495,7 +447,8 @@ public final class MetadataHandler {
                 }
             }
 
-            // Iterate over assigned peers and count lookup tree sizes
+            // Iterate over assigned peers and serialize missing lookup trees
+            m_peerHandlersLock.readLock().lock();
             startIndex = index;
             currentPeer = m_assignedPeersIncludingBackups.get(index++);
             while (OverlayHelper.isPeerInSuperpeerRange(currentPeer, p_predecessor, p_nodeID)) {
@@ -503,57 +456,11 @@ public final class MetadataHandler {
                     peerHandler = getPeerHandler(currentPeer);
                     // no tree available -> no chunks were created or backup system is deactivated
                     if (peerHandler != null) {
-                        size += peerHandler.getSize();
-                        count++;
-                    }
-                }
+                        // #if LOGGER == TRACE
+                        LOGGER.trace("Including LookupTree of 0x%X", currentPeer);
+                        // #endif /* LOGGER == TRACE */
 
-                if (index == m_assignedPeersIncludingBackups.size()) {
-                    index = 0;
-                }
-                if (index == startIndex) {
-                    break;
-                }
-                currentPeer = m_assignedPeersIncludingBackups.get(index++);
-            }
-
-            // Allocate array for all data and copy already gathered data
-            ret = new byte[size];
-            data = ByteBuffer.wrap(ret);
-            if (nameserviceEntries != null) {
-                data.putInt(nameserviceEntries.length);
-                data.put(nameserviceEntries);
-            } else {
-                data.putInt(0);
-            }
-            if (storages != null) {
-                data.putInt(storages.length);
-                data.put(storages);
-            } else {
-                data.putInt(0);
-            }
-            if (barriers != null) {
-                data.putInt(barriers.length);
-                data.put(barriers);
-            } else {
-                data.putInt(0);
-            }
-
-            // Iterate over assigned peers and write lookup trees
-            data.putInt(count);
-            index = startIndex;
-            currentPeer = m_assignedPeersIncludingBackups.get(index++);
-            while (OverlayHelper.isPeerInSuperpeerRange(currentPeer, p_predecessor, p_nodeID)) {
-                if (Collections.binarySearch(p_peers, currentPeer) < 0) {
-                    // #if LOGGER == TRACE
-                    LOGGER.trace("Including LookupTree of 0x%X", currentPeer);
-                    // #endif /* LOGGER == TRACE */
-
-                    peerHandler = getPeerHandler(currentPeer);
-                    // no tree available -> no chunks were created or backup system is deactivated
-                    if (peerHandler != null) {
-                        data.putShort(currentPeer);
-                        peerHandler.receiveMetadata(data);
+                        lookupTrees.add(serializePeerHandler(currentPeer, peerHandler));
                     }
                 }
 
@@ -565,39 +472,11 @@ public final class MetadataHandler {
                 }
                 currentPeer = m_assignedPeersIncludingBackups.get(index++);
             }
-        } else {
-            // There might be data in given area even without any assigned peer
-
-            // Allocate array for all data and copy gathered data
-            ret = new byte[size];
-            data = ByteBuffer.wrap(ret);
-            if (nameserviceEntries != null) {
-                data.putInt(nameserviceEntries.length);
-                data.put(nameserviceEntries);
-            } else {
-                data.putInt(0);
-            }
-            if (storages != null) {
-                data.putInt(storages.length);
-                data.put(storages);
-            } else {
-                data.putInt(0);
-            }
-            if (barriers != null) {
-                data.putInt(barriers.length);
-                data.put(barriers);
-            } else {
-                data.putInt(0);
-            }
+            m_peerHandlersLock.readLock().unlock();
         }
-        m_dataLock.readLock().unlock();
+        // There might be data in given area even without any assigned peer
 
-        // If there is no missing metadata, return an empty array
-        if (ret.length == Integer.BYTES * 4) {
-            ret = new byte[0];
-        }
-
-        return ret;
+        return assembleMetadata(nameserviceEntries, storages, barriers, lookupTrees);
     }
 
     /**
@@ -615,12 +494,12 @@ public final class MetadataHandler {
         int startIndex;
         int count = 0;
 
-        m_dataLock.writeLock().lock();
         // #if LOGGER == TRACE
         LOGGER.trace("Deleting all uneccessary metadata outside of area: 0x%X, 0x%X", p_responsibleArea[0], p_responsibleArea[1]);
         // #endif /* LOGGER == TRACE */
 
         if (!m_assignedPeersIncludingBackups.isEmpty()) {
+            m_peerHandlersLock.writeLock().lock();
             ret = new short[m_assignedPeersIncludingBackups.size()];
             index = Collections.binarySearch(m_assignedPeersIncludingBackups, p_responsibleArea[1]);
             if (index < 0) {
@@ -648,16 +527,21 @@ public final class MetadataHandler {
                 }
                 currentPeer = m_assignedPeersIncludingBackups.get(index);
             }
+            m_peerHandlersLock.writeLock().unlock();
             ret = Arrays.copyOf(ret, count);
         }
         // Remove nameservice entries
+        m_nameserviceLock.writeLock().lock();
         m_nameservice.removeMetadataOutsideOfRange(p_responsibleArea[0], p_responsibleArea[1]);
+        m_nameserviceLock.writeLock().unlock();
         // Remove storages
+        m_storageLock.writeLock().lock();
         m_storage.removeMetadataOutsideOfRange(p_responsibleArea[0], p_responsibleArea[1]);
+        m_storageLock.writeLock().unlock();
         // Remove barriers
+        m_barriersLock.writeLock().lock();
         m_barriers.removeMetadataOutsideOfRange(p_responsibleArea[0], p_responsibleArea[1]);
-
-        m_dataLock.writeLock().unlock();
+        m_barriersLock.writeLock().unlock();
 
         return ret;
     }
@@ -680,7 +564,6 @@ public final class MetadataHandler {
         if (p_metadata != null && p_metadata.length != 0) {
             data = ByteBuffer.wrap(p_metadata);
 
-            m_dataLock.writeLock().lock();
             // #if LOGGER == TRACE
             LOGGER.trace("Storing metadata. Length: %d", p_metadata.length);
             // #endif /* LOGGER == TRACE */
@@ -691,7 +574,9 @@ public final class MetadataHandler {
             // #if LOGGER == TRACE
             LOGGER.trace("Storing nameservice entries. Length: %d", size);
             // #endif /* LOGGER == TRACE */
+            m_nameserviceLock.writeLock().lock();
             m_nameservice.storeMetadata(p_metadata, pos, size);
+            m_nameserviceLock.writeLock().unlock();
             data.position(pos + size);
 
             // Put all storages
@@ -700,7 +585,9 @@ public final class MetadataHandler {
             // #if LOGGER == TRACE
             LOGGER.trace("Storing superpeer storages. Length: %d", size);
             // #endif /* LOGGER == TRACE */
+            m_storageLock.writeLock().lock();
             m_storage.storeMetadata(p_metadata, pos, size);
+            m_storageLock.writeLock().unlock();
             data.position(pos + size);
 
             // Put all barriers
@@ -709,7 +596,9 @@ public final class MetadataHandler {
             // #if LOGGER == TRACE
             LOGGER.trace("Storing barriers. Length: %d", size);
             // #endif /* LOGGER == TRACE */
+            m_barriersLock.writeLock().lock();
             m_barriers.storeMetadata(p_metadata, pos, size);
+            m_barriersLock.writeLock().unlock();
             data.position(pos + size);
 
             // Put all lookup trees
@@ -724,13 +613,14 @@ public final class MetadataHandler {
                 LOGGER.trace("Storing lookup tree of 0x%X", nodeID);
                 // #endif /* LOGGER == TRACE */
 
-                peerHandler = new PeerHandler(OverlayHelper.ORDER, nodeID);
+                peerHandler = new PeerHandler(nodeID);
                 peerHandler.storeMetadata(data);
 
+                m_peerHandlersLock.writeLock().lock();
                 m_peerHandlers[nodeID & 0xFFFF] = peerHandler;
+                m_peerHandlersLock.writeLock().unlock();
                 ret[i] = nodeID;
             }
-            m_dataLock.writeLock().unlock();
         }
 
         return ret;
@@ -750,12 +640,14 @@ public final class MetadataHandler {
      */
     public void updateMetadataAfterRecovery(final short p_rangeID, final short p_creator, final short p_recoveryPeer, final long[] p_chunkIDRanges) {
 
-        m_dataLock.writeLock().lock();
+        m_peerHandlersLock.readLock().lock();
         PeerHandler peerHandler = m_peerHandlers[p_creator & 0xFFFF];
         if (peerHandler != null) {
+            peerHandler.getLock().writeLock().lock();
             peerHandler.updateMetadataAfterRecovery(p_rangeID, p_recoveryPeer, p_chunkIDRanges);
+            peerHandler.getLock().writeLock().unlock();
         }
-        m_dataLock.writeLock().unlock();
+        m_peerHandlersLock.readLock().unlock();
     }
 
     /**
@@ -771,18 +663,28 @@ public final class MetadataHandler {
         boolean ret = false;
         PeerHandler peerHandler;
 
-        m_dataLock.writeLock().lock();
+        m_peerHandlersLock.readLock().lock();
         peerHandler = getPeerHandler(p_rangeOwner);
         // no tree available -> no chunks were created yet
         if (peerHandler == null) {
             // With backup activated this is the place to initialize a lookup tree
-            peerHandler = new PeerHandler(OverlayHelper.ORDER, p_rangeOwner);
-            m_peerHandlers[p_rangeOwner & 0xFFFF] = peerHandler;
-            ret = true;
+            m_peerHandlersLock.readLock().unlock();
+            m_peerHandlersLock.writeLock().lock();
+            peerHandler = getPeerHandler(p_rangeOwner);
+            if (peerHandler == null) {
+                peerHandler = new PeerHandler(p_rangeOwner);
+                m_peerHandlers[p_rangeOwner & 0xFFFF] = peerHandler;
+                ret = true;
+            }
+            // Downgrade
+            m_peerHandlersLock.readLock().lock();
+            m_peerHandlersLock.writeLock().unlock();
         }
 
+        peerHandler.getLock().writeLock().lock();
         peerHandler.initRange(p_backupRange);
-        m_dataLock.writeLock().unlock();
+        peerHandler.getLock().writeLock().unlock();
+        m_peerHandlersLock.readLock().unlock();
 
         return ret;
     }
@@ -798,12 +700,12 @@ public final class MetadataHandler {
         LookupTree ret = null;
         PeerHandler peerHandler;
 
-        m_dataLock.readLock().lock();
+        m_peerHandlersLock.readLock().lock();
         peerHandler = m_peerHandlers[p_nodeID & 0xFFFF];
         if (peerHandler != null) {
             ret = peerHandler.getLookupTree();
         }
-        m_dataLock.readLock().unlock();
+        m_peerHandlersLock.readLock().unlock();
 
         return ret;
     }
@@ -819,11 +721,13 @@ public final class MetadataHandler {
         LookupRange ret;
         PeerHandler peerHandler;
 
-        m_dataLock.readLock().lock();
+        m_peerHandlersLock.readLock().lock();
         peerHandler = getPeerHandler(ChunkID.getCreatorID(p_chunkID));
         // no tree available -> no chunks were created or backup system is deactivated
         if (peerHandler != null) {
+            peerHandler.getLock().readLock().lock();
             ret = peerHandler.getMetadata(p_chunkID);
+            peerHandler.getLock().readLock().unlock();
         } else {
             if (!p_backupActive) {
                 // With backup deactivated a lookup tree is only created for migrations -> no migrations -> return complete range
@@ -832,7 +736,29 @@ public final class MetadataHandler {
                 ret = new LookupRange(LookupState.DOES_NOT_EXIST);
             }
         }
-        m_dataLock.readLock().unlock();
+        m_peerHandlersLock.readLock().unlock();
+
+        return ret;
+    }
+
+    /**
+     * Gets the version of the lookup tree of given creator. Read it before the lookup range: a lookup range is at
+     * least as recent as a version read before
+     *
+     * @param p_creator
+     *         lookup tree's creator
+     * @return the number of changes applied to the lookup tree (0 if there is no lookup tree)
+     */
+    public long getLookupTreeVersion(final short p_creator) {
+        long ret = 0;
+        PeerHandler peerHandler;
+
+        m_peerHandlersLock.readLock().lock();
+        peerHandler = getPeerHandler(p_creator);
+        if (peerHandler != null) {
+            ret = peerHandler.getVersion();
+        }
+        m_peerHandlersLock.readLock().unlock();
 
         return ret;
     }
@@ -850,27 +776,26 @@ public final class MetadataHandler {
         boolean ret;
         PeerHandler peerHandler;
 
-        m_dataLock.writeLock().lock();
+        m_peerHandlersLock.readLock().lock();
         peerHandler = getPeerHandler(ChunkID.getCreatorID(p_chunkID));
         // no tree available -> no chunks were created or backup system is deactivated
         if (peerHandler == null) {
             if (!p_backupActive) {
                 // With backup deactivated this is the place to initialize a peer handler
-                short creator = ChunkID.getCreatorID(p_chunkID);
-                peerHandler = new PeerHandler(OverlayHelper.ORDER, creator);
+                peerHandler = createPeerHandler(ChunkID.getCreatorID(p_chunkID));
+            } else {
+                m_peerHandlersLock.readLock().unlock();
 
-                m_peerHandlers[creator & 0xFFFF] = peerHandler;
-                return peerHandler.migrate(p_chunkID, p_owner);
+                return false;
             }
-            m_dataLock.writeLock().unlock();
+        }
 
-            return false;
-        } else {
-            ret = peerHandler.migrate(p_chunkID, p_owner);
-            m_dataLock.writeLock().unlock();
+        peerHandler.getLock().writeLock().lock();
+        ret = peerHandler.migrate(p_chunkID, p_owner);
+        peerHandler.getLock().writeLock().unlock();
+        m_peerHandlersLock.readLock().unlock();
 
-            return ret;
-        }
+        return ret;
     }
 
     /**
@@ -888,27 +813,26 @@ public final class MetadataHandler {
         boolean ret;
         PeerHandler peerHandler;
 
-        m_dataLock.writeLock().lock();
+        m_peerHandlersLock.readLock().lock();
         peerHandler = getPeerHandler(ChunkID.getCreatorID(p_firstChunkID));
         // no tree available -> no chunks were created or backup system is deactivated
         if (peerHandler == null) {
             if (!p_backupActive) {
                 // With backup deactivated this is the place to initialize a peer handler
-                short creator = ChunkID.getCreatorID(p_firstChunkID);
-                peerHandler = new PeerHandler(OverlayHelper.ORDER, creator);
+                peerHandler = createPeerHandler(ChunkID.getCreatorID(p_firstChunkID));
+            } else {
+                m_peerHandlersLock.readLock().unlock();
 
-                m_peerHandlers[creator & 0xFFFF] = peerHandler;
-                return peerHandler.migrateRange(p_firstChunkID, p_lastChunkID, p_owner);
+                return false;
             }
-            m_dataLock.writeLock().unlock();
+        }
 
-            return false;
-        } else {
-            ret = peerHandler.migrateRange(p_firstChunkID, p_lastChunkID, p_owner);
-            m_dataLock.writeLock().unlock();
+        peerHandler.getLock().writeLock().lock();
+        ret = peerHandler.migrateRange(p_firstChunkID, p_lastChunkID, p_owner);
+        peerHandler.getLock().writeLock().unlock();
+        m_peerHandlersLock.readLock().unlock();
 
-            return ret;
-        }
+        return ret;
     }
 
     /**
@@ -925,18 +849,20 @@ public final class MetadataHandler {
             return false;
         }
 
-        m_dataLock.writeLock().lock();
+        m_peerHandlersLock.readLock().lock();
         peerHandler = getPeerHandler(ChunkID.getCreatorID(p_chunkIDs[0]));
         // no tree available -> no chunks were created or backup system is deactivated
         if (peerHandler == null) {
-            m_dataLock.writeLock().unlock();
+            m_peerHandlersLock.readLock().unlock();
 
             // Backup activated and no tree -> error
             // Backup deactivated and no migrations (-> tree is null) -> no need to remove ChunkIDs
             return !p_backupActive;
         } else {
+            peerHandler.getLock().writeLock().lock();
             peerHandler.removeObjects(p_chunkIDs);
-            m_dataLock.writeLock().unlock();
+            peerHandler.getLock().writeLock().unlock();
+            m_peerHandlersLock.readLock().unlock();
 
             return true;
         }
@@ -953,13 +879,15 @@ public final class MetadataHandler {
         BackupRange[] ret = null;
         PeerHandler peerHandler;
 
-        m_dataLock.readLock().lock();
+        m_peerHandlersLock.readLock().lock();
         peerHandler = getPeerHandler(p_nodeID);
         // no tree available -> no chunks were created or backup system is deactivated
         if (peerHandler != null) {
+            peerHandler.getLock().readLock().lock();
             ret = peerHandler.getAllBackupRanges();
+            peerHandler.getLock().readLock().unlock();
         }
-        m_dataLock.readLock().unlock();
+        m_peerHandlersLock.readLock().unlock();
 
         return ret;
     }
@@ -979,29 +907,31 @@ public final class MetadataHandler {
     public void replaceFailedPeerInLookupTree(final short p_rangeID, final short p_nodeID, final short p_failedPeer, final short p_newBackupPeer) {
         PeerHandler peerHandler;
 
-        m_dataLock.writeLock().lock();
+        m_peerHandlersLock.readLock().lock();
         peerHandler = getPeerHandler(p_nodeID);
         // no tree available -> no chunks were created or backup system is deactivated
         if (peerHandler != null) {
             // Replace failedPeer from specific backup peer lists
+            peerHandler.getLock().writeLock().lock();
             peerHandler.replaceBackupPeer(p_rangeID, p_failedPeer, p_newBackupPeer);
+            peerHandler.getLock().writeLock().unlock();
         }
-        m_dataLock.writeLock().unlock();
+        m_peerHandlersLock.readLock().unlock();
     }
 
     /**
      * Gets nameservice entry.
      *
-     * @param p_nameserviceID
-     *         the nameservice ID
+     * @param p_name
+     *         the UTF-8 encoded name
      * @return the ChunkID
      */
-    public long getNameserviceEntry(final int p_nameserviceID) {
+    public long getNameserviceEntry(final byte[] p_name) {
         long ret;
 
-        m_dataLock.readLock().lock();
-        ret = m_nameservice.get(p_nameserviceID);
-        m_dataLock.readLock().unlock();
+        m_nameserviceLock.readLock().lock();
+        ret = m_nameservice.get(p_name);
+        m_nameserviceLock.readLock().unlock();
 
         return ret;
     }
@@ -1009,15 +939,31 @@ public final class MetadataHandler {
     /**
      * Puts a single nameservice entry.
      *
-     * @param p_nameserviceID
-     *         the nameservice ID
+     * @param p_name
+     *         the UTF-8 encoded name
      * @param p_chunkID
      *         the ChunkID
      */
-    public void putNameserviceEntry(final int p_nameserviceID, final long p_chunkID) {
-        m_dataLock.writeLock().lock();
-        m_nameservice.put(p_nameserviceID, p_chunkID);
-        m_dataLock.writeLock().unlock();
+    public void putNameserviceEntry(final byte[] p_name, final long p_chunkID) {
+        m_nameserviceLock.writeLock().lock();
+        m_nameservice.put(p_name, p_chunkID);
+        m_nameserviceLock.writeLock().unlock();
+    }
+
+    /**
+     * Puts multiple nameservice entries.
+     *
+     * @param p_names
+     *         the UTF-8 encoded names
+     * @param p_chunkIDs
+     *         the ChunkIDs
+     */
+    public void putNameserviceEntries(final byte[][] p_names, final long[] p_chunkIDs) {
+        m_nameserviceLock.writeLock().lock();
+        for (int i = 0; i < p_names.length; i++) {
+            m_nameservice.put(p_names[i], p_chunkIDs[i]);
+        }
+        m_nameserviceLock.writeLock().unlock();
     }
 
     /**
@@ -1032,9 +978,9 @@ public final class MetadataHandler {
     public int countNameserviceEntries(final short p_bound1, final short p_bound2) {
         int ret;
 
-        m_dataLock.readLock().lock();
+        m_nameserviceLock.readLock().lock();
         ret = m_nameservice.quantifyMetadata(p_bound1, p_bound2);
-        m_dataLock.readLock().unlock();
+        m_nameserviceLock.readLock().unlock();
 
         return ret;
     }
@@ -1053,9 +999,9 @@ public final class MetadataHandler {
     public int createStorage(final int p_storageID, final int p_size) {
         int ret;
 
-        m_dataLock.writeLock().lock();
+        m_storageLock.writeLock().lock();
         ret = m_storage.create(p_storageID, p_size);
-        m_dataLock.writeLock().unlock();
+        m_storageLock.writeLock().unlock();
 
         return ret;
     }
@@ -1070,9 +1016,9 @@ public final class MetadataHandler {
     public byte[] getStorage(final int p_storageID) {
         byte[] ret;
 
-        m_dataLock.readLock().lock();
+        m_storageLock.readLock().lock();
         ret = m_storage.get(p_storageID);
-        m_dataLock.readLock().unlock();
+        m_storageLock.readLock().unlock();
 
         return ret;
     }
@@ -1089,9 +1035,9 @@ public final class MetadataHandler {
     public int putStorage(final int p_storageID, final byte[] p_data) {
         int ret;
 
-        m_dataLock.readLock().lock();
+        m_storageLock.readLock().lock();
         ret = m_storage.put(p_storageID, p_data);
-        m_dataLock.readLock().unlock();
+        m_storageLock.readLock().unlock();
 
         return ret;
     }
@@ -1106,9 +1052,9 @@ public final class MetadataHandler {
     public boolean removeStorage(final int p_storageID) {
         boolean ret;
 
-        m_dataLock.writeLock().lock();
+        m_storageLock.writeLock().lock();
         ret = m_storage.remove(p_storageID);
-        m_dataLock.writeLock().unlock();
+        m_storageLock.writeLock().unlock();
 
         return ret;
     }
@@ -1125,9 +1071,9 @@ public final class MetadataHandler {
     public int createBarrier(final short p_nodeID, final int p_size) {
         int ret;
 
-        m_dataLock.writeLock().lock();
+        m_barriersLock.writeLock().lock();
         ret = m_barriers.allocateBarrier(p_nodeID, p_size);
-        m_dataLock.writeLock().unlock();
+        m_barriersLock.writeLock().unlock();
 
         return ret;
     }
@@ -1148,9 +1094,9 @@ public final class MetadataHandler {
     public boolean changeSizeOfBarrier(final short p_nodeID, final int p_barrierID, final int p_newSize) {
         boolean ret;
 
-        m_dataLock.writeLock().lock();
+        m_barriersLock.writeLock().lock();
         ret = m_barriers.changeBarrierSize(p_nodeID, p_barrierID, p_newSize);
-        m_dataLock.writeLock().unlock();
+        m_barriersLock.writeLock().unlock();
 
         return ret;
     }
@@ -1167,9 +1113,9 @@ public final class MetadataHandler {
     public boolean removeBarrier(final short p_nodeID, final int p_barrierID) {
         boolean ret;
 
-        m_dataLock.writeLock().lock();
+        m_barriersLock.writeLock().lock();
         ret = m_barriers.freeBarrier(p_nodeID, p_barrierID);
-        m_dataLock.writeLock().unlock();
+        m_barriersLock.writeLock().unlock();
 
         return ret;
     }
@@ -1186,9 +1132,9 @@ public final class MetadataHandler {
     public boolean resetBarrier(final short p_nodeID, final int p_barrierID) {
         boolean ret;
 
-        m_dataLock.writeLock().lock();
+        m_barriersLock.writeLock().lock();
         ret = m_barriers.reset(p_nodeID, p_barrierID);
-        m_dataLock.writeLock().unlock();
+        m_barriersLock.writeLock().unlock();
 
         return ret;
     }
@@ -1209,9 +1155,9 @@ public final class MetadataHandler {
     public int signOnBarrier(final short p_nodeID, final int p_barrierID, final short p_nodeIDToSignOn, final long p_barrierData) {
         int ret;
 
-        m_dataLock.writeLock().lock();
+        m_barriersLock.writeLock().lock();
         ret = m_barriers.signOn(p_nodeID, p_barrierID, p_nodeIDToSignOn, p_barrierData);
-        m_dataLock.writeLock().unlock();
+        m_barriersLock.writeLock().unlock();
 
         return ret;
     }
@@ -1228,9 +1174,9 @@ public final class MetadataHandler {
     public BarrierStatus getSignOnStatusOfBarrier(final short p_nodeID, final int p_barrierID) {
         BarrierStatus ret;
 
-        m_dataLock.readLock().lock();
+        m_barriersLock.readLock().lock();
         ret = m_barriers.getBarrierSignOnStatus(p_nodeID, p_barrierID);
-        m_dataLock.readLock().unlock();
+        m_barriersLock.readLock().unlock();
 
         return ret;
     }
@@ -1246,4 +1192,98 @@ public final class MetadataHandler {
         return m_peerHandlers[p_nodeID & 0xFFFF];
     }
 
+    /**
+     * Creates a peer handler if there is none for given creator, yet.
+     *
+     * @param p_nodeID
+     *         the creator
+     * @return the (new) peer handler
+     * @lock peer handlers lock must be read-locked; it is released and reacquired
+     */
+    private PeerHandler createPeerHandler(final short p_nodeID) {
+        PeerHandler ret;
+
+        m_peerHandlersLock.readLock().unlock();
+        m_peerHandlersLock.writeLock().lock();
+        ret = getPeerHandler(p_nodeID);
+        if (ret == null) {
+            ret = new PeerHandler(p_nodeID);
+            m_peerHandlers[p_nodeID & 0xFFFF] = ret;
+        }
+        // Downgrade
+        m_peerHandlersLock.readLock().lock();
+        m_peerHandlersLock.writeLock().unlock();
+
+        return ret;
+    }
+
+    /**
+     * Serializes the metadata of given peer.
+     *
+     * @param p_nodeID
+     *         the creator
+     * @param p_peerHandler
+     *         the peer handler
+     * @return the NodeID followed by the peer's metadata
+     * @lock peer handlers lock must be read-locked
+     */
+    private static byte[] serializePeerHandler(final short p_nodeID, final PeerHandler p_peerHandler) {
+        byte[] ret;
+        ByteBuffer data;
+
+        p_peerHandler.getLock().readLock().lock();
+        ret = new byte[p_peerHandler.getSize()];
+        data = ByteBuffer.wrap(ret);
+        data.putShort(p_nodeID);
+        p_peerHandler.receiveMetadata(data);
+        p_peerHandler.getLock().readLock().unlock();
+
+        return ret;
+    }
+
+    /**
+     * Assembles serialized metadata.
+     *
+     * @param p_nameserviceEntries
+     *         the serialized nameservice entries
+     * @param p_storages
+     *         the serialized storages
+     * @param p_barriers
+     *         the serialized barriers
+     * @param p_lookupTrees
+     *         the serialized peer handlers
+     * @return all metadata in a byte array or an empty array if there is no metadata
+     */
+    private static byte[] assembleMetadata(final byte[] p_nameserviceEntries, final byte[] p_storages, final byte[] p_barriers,
+            final ArrayList<byte[]> p_lookupTrees) {
+        int size;
+        byte[] ret;
+        ByteBuffer data;
+
+        size = p_nameserviceEntries.length + p_storages.length + p_barriers.length + Integer.BYTES * 4;
+        for (byte[] lookupTree : p_lookupTrees) {
+            size += lookupTree.length;
+        }
+
+        // If there is no metadata, return an empty array
+        if (size == Integer.BYTES * 4) {
+            return new byte[0];
+        }
+
+        ret = new byte[size];
+        data = ByteBuffer.wrap(ret);
+        data.putInt(p_nameserviceEntries.length);
+        data.put(p_nameserviceEntries);
+        data.putInt(p_storages.length);
+        data.put(p_storages);
+        data.putInt(p_barriers.length);
+        data.put(p_barriers);
+        data.putInt(p_lookupTrees.size());
+        for (byte[] lookupTree : p_lookupTrees) {
+            data.put(lookupTree);
+        }
+
+        return ret;
+    }
+
 }
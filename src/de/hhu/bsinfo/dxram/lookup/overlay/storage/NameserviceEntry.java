@@ -22,29 +22,29 @@ package de.hhu.bsinfo.dxram.lookup.overlay.storage;
  * @author Stefan Nothaas, stefan.nothaas@hhu.de, 10.04.2017
  */
 public class NameserviceEntry {
-    private int m_id;
+    private String m_name;
     private long m_value;
 
     /**
      * Constructor
      *
-     * @param p_id
-     *     Id of the entry
+     * @param p_name
+     *     Name of the entry
      * @param p_value
      *     Value of the entry
      */
-    public NameserviceEntry(final int p_id, final long p_value) {
-        m_id = p_id;
+    public NameserviceEntry(final String p_name, final long p_value) {
+        m_name = p_name;
         m_value = p_value;
     }
 
     /**
-     * Get the id of the entry
+     * Get the name of the entry
      *
-     * @return Id of the entry
+     * @return Name of the entry
      */
-    public int getId() {
-        return m_id;
+    public String getName() {
+        return m_name;
     }
 
     /**
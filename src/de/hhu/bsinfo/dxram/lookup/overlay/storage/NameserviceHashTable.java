@@ -17,6 +17,7 @@
 package de.hhu.bsinfo.dxram.lookup.overlay.storage;
 
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -31,7 +32,9 @@ import de.hhu.bsinfo.dxram.lookup.overlay.OverlayHelper;
 import de.hhu.bsinfo.dxutils.CRC16;
 
 /**
- * HashTable to store ID-Mappings (Linear probing)
+ * HashTable to store name mappings (Linear probing). Names are UTF-8 encoded strings of arbitrary length.
+ * Every slot stores the 64-bit hash of the name next to the ChunkID. The full name is compared only if the hashes
+ * are equal, so a lookup touches a single cache line of the table in the common case.
  *
  * @author Kevin Beineke, kevin.beineke@hhu.de, 27.01.2014
  */
@@ -39,8 +42,14 @@ public class NameserviceHashTable extends AbstractMetadata {
 
     private static final Logger LOGGER = LogManager.getFormatterLogger(NameserviceHashTable.class.getSimpleName());
 
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
     // Attributes
-    private int[] m_table;
+    // hash and value of every slot, a hash of 0 marks an empty slot
+    private long[] m_table;
+    // names of every slot, compared on equal hashes, only
+    private byte[][] m_names;
     private int m_count;
     private int m_elementCapacity;
     private int m_threshold;
@@ -49,12 +58,12 @@ public class NameserviceHashTable extends AbstractMetadata {
     // Constructors
 
     /**
-     * Creates an instance of IDHashTable
+     * Creates an instance of NameserviceHashTable
      *
      * @param p_initialElementCapacity
-     *     the initial capacity of IDHashTable
+     *     the initial capacity of NameserviceHashTable
      * @param p_loadFactor
-     *     the load factor of IDHashTable
+     *     the load factor of NameserviceHashTable
      */
     public NameserviceHashTable(final int p_initialElementCapacity, final float p_loadFactor) {
         super();
@@ -64,12 +73,13 @@ public class NameserviceHashTable extends AbstractMetadata {
         m_loadFactor = p_loadFactor;
 
         if (m_elementCapacity == 0) {
-            m_table = new int[3];
+            m_elementCapacity = 1;
             m_threshold = (int) m_loadFactor;
         } else {
-            m_table = new int[m_elementCapacity * 3];
             m_threshold = (int) (m_elementCapacity * m_loadFactor);
         }
+        m_table = new long[m_elementCapacity * 2];
+        m_names = new byte[m_elementCapacity][];
     }
 
     /**
@@ -77,53 +87,69 @@ public class NameserviceHashTable extends AbstractMetadata {
      *
      * @param p_array
      *     all serialized nameservice entries
-     * @return Array list with entries as pairs of index + value
+     * @return Array list with entries as pairs of name + value
      */
     public static ArrayList<NameserviceEntry> convert(final byte[] p_array) {
         ArrayList<NameserviceEntry> ret;
-        int count = p_array.length / 12;
         ByteBuffer buffer = ByteBuffer.wrap(p_array);
+        byte[] name;
 
-        ret = new ArrayList<>(count);
-        for (int i = 0; i < count; i++) {
-            ret.add(new NameserviceEntry(buffer.getInt(i * 12), buffer.getLong(i * 12 + 4)));
+        ret = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            name = new byte[buffer.getInt()];
+            buffer.get(name);
+            ret.add(new NameserviceEntry(new String(name, StandardCharsets.UTF_8), buffer.getLong()));
         }
         return ret;
     }
 
     /**
-     * Hashes the given key
+     * Hashes the given name (64-bit FNV-1a)
      *
-     * @param p_key
-     *     the key
-     * @return the hash value
+     * @param p_name
+     *     the UTF-8 encoded name
+     * @return the hash value, never 0
      */
-    private static int hash(final int p_key) {
-        int hash = p_key;
-
-        hash = (hash >> 16 ^ hash) * 0x45d9f3b;
-        hash = (hash >> 16 ^ hash) * 0x45d9f3b;
-        return hash >> 16 ^ hash;
-        /*
-         * hash ^= (hash >>> 20) ^ (hash >>> 12);
-         * return hash ^ (hash >>> 7) ^ (hash >>> 4);
-         */
+    public static long hash(final byte[] p_name) {
+        long hash = FNV_OFFSET_BASIS;
+
+        for (byte b : p_name) {
+            hash ^= b & 0xFF;
+            hash *= FNV_PRIME;
+        }
+
+        // 0 marks empty slots
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Folds the hash of a name to determine the responsible superpeer
+     *
+     * @param p_hash
+     *     the hash value of the name
+     * @return the hash used to find the responsible superpeer
+     */
+    public static short getSuperpeerHash(final long p_hash) {
+        return CRC16.hash((int) (p_hash ^ p_hash >>> 32));
     }
 
     @Override
     public int storeMetadata(final byte[] p_data, final int p_offset, final int p_size) {
         int ret = 0;
         ByteBuffer data;
+        byte[] name;
 
         if (p_data != null) {
             data = ByteBuffer.wrap(p_data, p_offset, p_size);
 
-            for (int i = 0; i < data.limit() / 12; i++) {
+            while (data.hasRemaining()) {
                 // #if LOGGER == TRACE
                 LOGGER.trace("Storing nameservice entry");
                 // #endif /* LOGGER == TRACE */
 
-                put(data.getInt(), data.getLong());
+                name = new byte[data.getInt()];
+                data.get(name);
+                put(name, data.getLong());
                 ret++;
             }
         }
@@ -133,65 +159,29 @@ public class NameserviceHashTable extends AbstractMetadata {
 
     @Override
     public byte[] receiveAllMetadata() {
-        ByteBuffer data;
-        int iter;
-
-        data = ByteBuffer.allocate(m_count * 12);
-
-        for (int i = 0; i < m_elementCapacity; i++) {
-            iter = getKey(i);
-            if (iter != 0) {
-                // #if LOGGER == TRACE
-                LOGGER.trace("Including nameservice entry: %s <-> %s", iter - 1, getValue(i));
-                // #endif /* LOGGER == TRACE */
-
-                data.putInt(iter - 1);
-                data.putLong(getValue(i));
-            }
-        }
-        return data.array();
+        return receiveMetadata(false, (short) 0, (short) 0);
     }
 
     @Override
     public byte[] receiveMetadataInRange(final short p_bound1, final short p_bound2) {
-        int count = 0;
-        int iter;
-        ByteBuffer data;
-
-        data = ByteBuffer.allocate(m_count * 12);
-
-        for (int i = 0; i < m_elementCapacity; i++) {
-            iter = getKey(i);
-            if (iter != 0) {
-                if (OverlayHelper.isHashInSuperpeerRange(CRC16.hash(iter - 1), p_bound1, p_bound2)) {
-                    // #if LOGGER == TRACE
-                    LOGGER.trace("Including nameservice entry: %s <-> %s", iter - 1, getValue(i));
-                    // #endif /* LOGGER == TRACE */
-
-                    data.putInt(iter - 1);
-                    data.putLong(getValue(i));
-                    count++;
-                }
-            }
-        }
-        return Arrays.copyOfRange(data.array(), 0, count * (Integer.BYTES + Long.BYTES));
+        return receiveMetadata(true, p_bound1, p_bound2);
     }
 
     @Override
     public int removeMetadataOutsideOfRange(final short p_bound1, final short p_bound2) {
         int count = 0;
-        int iter;
+        long iter;
 
         for (int i = 0; i < m_elementCapacity; i++) {
-            iter = getKey(i);
+            iter = getHash(i);
             if (iter != 0) {
-                if (!OverlayHelper.isHashInSuperpeerRange(CRC16.hash(iter - 1), p_bound1, p_bound2)) {
+                if (!OverlayHelper.isHashInSuperpeerRange(getSuperpeerHash(iter), p_bound1, p_bound2)) {
                     // #if LOGGER == TRACE
-                    LOGGER.trace("Removing nameservice entry: %s <-> %s", iter - 1, getValue(i));
+                    LOGGER.trace("Removing nameservice entry: %s <-> %s", new String(m_names[i], StandardCharsets.UTF_8), getValue(i));
                     // #endif /* LOGGER == TRACE */
 
                     count++;
-                    remove(iter);
+                    removeSlot(i);
                     // Try this index again as removing might have filled this slot with different data
                     i--;
                 }
@@ -204,12 +194,12 @@ public class NameserviceHashTable extends AbstractMetadata {
     @Override
     public int quantifyMetadata(final short p_bound1, final short p_bound2) {
         int count = 0;
-        int iter;
+        long iter;
 
         for (int i = 0; i < m_elementCapacity; i++) {
-            iter = getKey(i);
+            iter = getHash(i);
             if (iter != 0) {
-                if (OverlayHelper.isHashInSuperpeerRange(CRC16.hash(iter - 1), p_bound1, p_bound2)) {
+                if (OverlayHelper.isHashInSuperpeerRange(getSuperpeerHash(iter), p_bound1, p_bound2)) {
                     count++;
                 }
             }
@@ -218,169 +208,252 @@ public class NameserviceHashTable extends AbstractMetadata {
     }
 
     /**
-     * Returns the value to which the specified key is mapped in IDHashTable
+     * Returns the value to which the specified name is mapped in NameserviceHashTable
      *
-     * @param p_key
-     *     the searched key (is incremented before insertion to avoid 0)
-     * @return the value to which the key is mapped in IDHashTable
+     * @param p_name
+     *     the UTF-8 encoded name
+     * @return the value to which the name is mapped in NameserviceHashTable or 0 if there is no mapping
      */
-    public final long get(final int p_key) {
+    public final long get(final byte[] p_name) {
         long ret = 0;
         int index;
-        int iter;
-        final int key = p_key + 1;
+        long iter;
+        final long hash = hash(p_name);
 
-        index = (hash(key) & 0x7FFFFFFF) % m_elementCapacity;
+        index = getIndex(hash);
 
-        iter = getKey(index);
+        iter = getHash(index);
         while (iter != 0) {
-            if (iter == key) {
+            // Compare the full name on equal hashes, only
+            if (iter == hash && Arrays.equals(m_names[index], p_name)) {
                 ret = getValue(index);
                 break;
             }
-            iter = getKey(++index);
+            index = (index + 1) % m_elementCapacity;
+            iter = getHash(index);
         }
 
         return ret;
     }
 
     /**
-     * Maps the given key to the given value in IDHashTable
+     * Maps the given name to the given value in NameserviceHashTable
      *
-     * @param p_key
-     *     the key (is incremented before insertion to avoid 0)
+     * @param p_name
+     *     the UTF-8 encoded name
      * @param p_value
      *     the value
      * @return the old value
      */
-    public final long put(final int p_key, final long p_value) {
+    public final long put(final byte[] p_name, final long p_value) {
+        return put(p_name, hash(p_name), p_value);
+    }
+
+    /**
+     * Removes the given name from NameserviceHashTable
+     *
+     * @param p_name
+     *     the UTF-8 encoded name
+     * @return the value
+     */
+    public final long remove(final byte[] p_name) {
         long ret = -1;
         int index;
-        int iter;
-        final int key = p_key + 1;
+        long iter;
+        final long hash = hash(p_name);
 
-        index = (hash(key) & 0x7FFFFFFF) % m_elementCapacity;
+        index = getIndex(hash);
 
-        iter = getKey(index);
+        iter = getHash(index);
         while (iter != 0) {
-            if (iter == key) {
+            if (iter == hash && Arrays.equals(m_names[index], p_name)) {
                 ret = getValue(index);
-                set(index, key, p_value);
+                removeSlot(index);
                 break;
             }
-            iter = getKey(++index);
+            index = (index + 1) % m_elementCapacity;
+            iter = getHash(index);
         }
-        if (ret == -1) {
-            set(index, key, p_value);
-            m_count++;
+
+        return ret;
+    }
+
+    /**
+     * Print all tuples in NameserviceHashTable
+     */
+    public final void print() {
+        for (int i = 0; i < m_elementCapacity; i++) {
+            if (getHash(i) != 0) {
+                System.out.println("Name: " + new String(m_names[i], StandardCharsets.UTF_8) + ", value: " + ChunkID.toHexString(getValue(i)));
+            }
         }
+    }
 
-        if (m_count >= m_threshold) {
-            rehash();
+    /**
+     * Print all tuples in NameserviceHashTable sorted
+     */
+    public final void printSorted() {
+        Collection<Entry> list;
+
+        list = new TreeSet<>(Comparator.comparing(p_entryA -> p_entryA.m_name));
+
+        for (int i = 0; i < m_elementCapacity; i++) {
+            if (getHash(i) != 0) {
+                list.add(new Entry(new String(m_names[i], StandardCharsets.UTF_8), getValue(i)));
+            }
         }
 
-        return ret;
+        for (Entry entry : list) {
+            System.out.println("Name: " + entry.m_name + ", value: " + ChunkID.toHexString(entry.m_value));
+        }
     }
 
     /**
-     * Removes the given key from IDHashTable
+     * Maps the given name to the given value in NameserviceHashTable
      *
-     * @param p_key
-     *     the key (is incremented before insertion to avoid 0)
-     * @return the value
+     * @param p_name
+     *     the UTF-8 encoded name
+     * @param p_hash
+     *     the hash value of the name
+     * @param p_value
+     *     the value
+     * @return the old value
      */
-    public final long remove(final int p_key) {
+    private long put(final byte[] p_name, final long p_hash, final long p_value) {
         long ret = -1;
         int index;
-        int iter;
-        final int key = p_key + 1;
+        long iter;
 
-        index = (hash(key) & 0x7FFFFFFF) % m_elementCapacity;
+        index = getIndex(p_hash);
 
-        iter = getKey(index);
+        iter = getHash(index);
         while (iter != 0) {
-            if (iter == key) {
+            if (iter == p_hash && Arrays.equals(m_names[index], p_name)) {
                 ret = getValue(index);
-                set(index, 0, 0);
+                set(index, p_hash, p_name, p_value);
                 break;
             }
-            iter = getKey(++index);
+            index = (index + 1) % m_elementCapacity;
+            iter = getHash(index);
+        }
+        if (ret == -1) {
+            set(index, p_hash, p_name, p_value);
+            m_count++;
         }
 
-        iter = getKey(++index);
-        while (iter != 0) {
-            set(index, 0, 0);
-            put(iter, getValue(index));
-
-            iter = getKey(++index);
+        if (m_count >= m_threshold) {
+            rehash();
         }
 
         return ret;
     }
 
     /**
-     * Print all tuples in IDHashTable
+     * Clears the slot at given index and re-inserts the following entries of the same cluster
+     *
+     * @param p_index
+     *     the index
      */
-    public final void print() {
-        int iter;
+    private void removeSlot(final int p_index) {
+        int index;
+        long iter;
+        byte[] name;
+        long value;
 
-        for (int i = 0; i < m_elementCapacity; i++) {
-            iter = getKey(i);
-            if (iter != 0) {
-                System.out.println("Key: " + iter + ", value: " + ChunkID.toHexString(getValue(i)));
-            }
+        set(p_index, 0, null, 0);
+        m_count--;
+
+        index = (p_index + 1) % m_elementCapacity;
+        iter = getHash(index);
+        while (iter != 0) {
+            name = m_names[index];
+            value = getValue(index);
+            set(index, 0, null, 0);
+            m_count--;
+            put(name, iter, value);
+
+            index = (index + 1) % m_elementCapacity;
+            iter = getHash(index);
         }
     }
 
     /**
-     * Print all tuples in IDHashTable sorted
+     * Serializes all entries or all entries within given range
+     *
+     * @param p_inRange
+     *     whether to include entries within the range, only
+     * @param p_bound1
+     *     lowest NodeID
+     * @param p_bound2
+     *     highest NodeID (might be smaller than p_bound1)
+     * @return all serialized entries
      */
-    public final void printSorted() {
-        int iter;
-        Collection<Entry> list;
-
-        list = new TreeSet<>(Comparator.comparingInt(p_entryA -> p_entryA.m_key));
+    private byte[] receiveMetadata(final boolean p_inRange, final short p_bound1, final short p_bound2) {
+        int size = 0;
+        long iter;
+        ByteBuffer data;
 
         for (int i = 0; i < m_elementCapacity; i++) {
-            iter = getKey(i);
-            if (iter != 0) {
-                list.add(new Entry(iter, getValue(i)));
+            iter = getHash(i);
+            if (iter != 0 && (!p_inRange || OverlayHelper.isHashInSuperpeerRange(getSuperpeerHash(iter), p_bound1, p_bound2))) {
+                size += Integer.BYTES + m_names[i].length + Long.BYTES;
             }
         }
 
-        for (Entry entry : list) {
-            System.out.println("Key: " + entry.m_key + ", value: " + ChunkID.toHexString(entry.m_value));
+        data = ByteBuffer.allocate(size);
+        for (int i = 0; i < m_elementCapacity; i++) {
+            iter = getHash(i);
+            if (iter != 0 && (!p_inRange || OverlayHelper.isHashInSuperpeerRange(getSuperpeerHash(iter), p_bound1, p_bound2))) {
+                // #if LOGGER == TRACE
+                LOGGER.trace("Including nameservice entry: %s <-> %s", new String(m_names[i], StandardCharsets.UTF_8), getValue(i));
+                // #endif /* LOGGER == TRACE */
+
+                data.putInt(m_names[i].length);
+                data.put(m_names[i]);
+                data.putLong(getValue(i));
+            }
         }
+        return data.array();
+    }
+
+    /**
+     * Determines the first slot to probe for given hash value
+     *
+     * @param p_hash
+     *     the hash value of a name
+     * @return the index
+     */
+    private int getIndex(final long p_hash) {
+        return (int) ((p_hash ^ p_hash >>> 32) & 0x7FFFFFFF) % m_elementCapacity;
     }
 
     /**
-     * Sets the key-value tuple at given index
+     * Sets the name-value tuple at given index
      *
      * @param p_index
      *     the index
-     * @param p_key
-     *     the key
+     * @param p_hash
+     *     the hash value of the name
+     * @param p_name
+     *     the name
      * @param p_value
      *     the value
      */
-    private void set(final int p_index, final int p_key, final long p_value) {
-        int index;
-
-        index = p_index % m_elementCapacity * 3;
-        m_table[index] = p_key;
-        m_table[index + 1] = (int) (p_value >> 32);
-        m_table[index + 2] = (int) p_value;
+    private void set(final int p_index, final long p_hash, final byte[] p_name, final long p_value) {
+        m_table[p_index * 2] = p_hash;
+        m_table[p_index * 2 + 1] = p_value;
+        m_names[p_index] = p_name;
     }
 
     /**
-     * Gets the key at given index
+     * Gets the hash value of the name at given index
      *
      * @param p_index
      *     the index
-     * @return the key
+     * @return the hash value
      */
-    private int getKey(final int p_index) {
-        return m_table[p_index % m_elementCapacity * 3];
+    private long getHash(final int p_index) {
+        return m_table[p_index * 2];
     }
 
     /**
@@ -391,43 +464,39 @@ public class NameserviceHashTable extends AbstractMetadata {
      * @return the value
      */
     private long getValue(final int p_index) {
-        int index;
-
-        index = p_index % m_elementCapacity * 3 + 1;
-        return (long) m_table[index] << 32 | m_table[index + 1] & 0xFFFFFFFFL;
+        return m_table[p_index * 2 + 1];
     }
 
     /**
-     * Increases the capacity of and internally reorganizes IDHashTable
+     * Increases the capacity of and internally reorganizes NameserviceHashTable
      */
     private void rehash() {
-        int index = 0;
         int oldCount;
         int oldElementCapacity;
         int oldThreshold;
-        int[] oldTable;
-        int[] newTable;
+        long[] oldTable;
+        byte[][] oldNames;
 
         oldCount = m_count;
         oldElementCapacity = m_elementCapacity;
         oldThreshold = m_threshold;
         oldTable = m_table;
+        oldNames = m_names;
 
         m_elementCapacity = m_elementCapacity * 2 + 1;
-        newTable = new int[m_elementCapacity * 3];
+        m_table = new long[m_elementCapacity * 2];
+        m_names = new byte[m_elementCapacity][];
         m_threshold = (int) (m_elementCapacity * m_loadFactor);
-        m_table = newTable;
 
         // #if LOGGER == TRACE
         LOGGER.trace("Reached threshold (%d) -> Rehashing. New size: %d... ", oldThreshold, m_elementCapacity);
         // #endif /* LOGGER == TRACE */
 
         m_count = 0;
-        while (index < oldElementCapacity) {
-            if (oldTable[index * 3] != 0) {
-                put(oldTable[index * 3] - 1, (long) oldTable[index * 3 + 1] << 32 | oldTable[index * 3 + 2] & 0xFFFFFFFFL);
+        for (int i = 0; i < oldElementCapacity; i++) {
+            if (oldTable[i * 2] != 0) {
+                put(oldNames[i], oldTable[i * 2], oldTable[i * 2 + 1]);
             }
-            index = (index + 1) % m_elementCapacity;
         }
         m_count = oldCount;
         // #if LOGGER == TRACE
@@ -436,12 +505,12 @@ public class NameserviceHashTable extends AbstractMetadata {
     }
 
     /**
-     * A single Entry in IDHashTable
+     * A single Entry in NameserviceHashTable
      */
     private static class Entry {
 
         // Attributes
-        private int m_key;
+        private String m_name;
         private long m_value;
 
         // Constructors
@@ -449,13 +518,13 @@ public class NameserviceHashTable extends AbstractMetadata {
         /**
          * Creates an instance of Entry
          *
-         * @param p_key
-         *     the key
+         * @param p_name
+         *     the name
          * @param p_value
          *     the value
          */
-        protected Entry(final int p_key, final long p_value) {
-            m_key = p_key;
+        protected Entry(final String p_name, final long p_value) {
+            m_name = p_name;
             m_value = p_value;
         }
     }
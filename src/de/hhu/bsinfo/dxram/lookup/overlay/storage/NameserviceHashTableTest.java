@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.lookup.overlay.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Tests inserting and removing names in the NameserviceHashTable. Small tables with a high load factor produce long
+ * clusters, so removals have to shift the following entries of the cluster (also across the end of the table).
+ * All operations are compared with a HashMap.
+ */
+public final class NameserviceHashTableTest {
+
+    private static final int NAMES = 1000;
+    private static final int OPERATIONS = 200000;
+
+    /**
+     * Unused constructor.
+     */
+    private NameserviceHashTableTest() {
+    }
+
+    /**
+     * Java main entry point.
+     *
+     * @param p_args
+     *         Command line arguments
+     */
+    public static void main(final String[] p_args) {
+        testRemoveFromCluster();
+        testRandomOperations(new Random(0), 1, 0.9f);
+        testRandomOperations(new Random(1), 16, 0.75f);
+        testRandomOperations(new Random(2), 1024, 0.5f);
+
+        System.out.println("All nameservice hash table tests passed.");
+    }
+
+    /**
+     * Fills a small table completely up to the load factor and removes every entry once, all others must still be found
+     */
+    private static void testRemoveFromCluster() {
+        // no rehashing for 9 entries -> entries share clusters
+        final int count = 9;
+
+        for (int removed = 0; removed < count; removed++) {
+            NameserviceHashTable table = new NameserviceHashTable(11, 1.0f);
+            for (int i = 0; i < count; i++) {
+                table.put(getName(i), i + 1);
+            }
+
+            check(table.remove(getName(removed)) == removed + 1, "Removing entry " + removed + " returned wrong value");
+            for (int i = 0; i < count; i++) {
+                check(table.get(getName(i)) == (i == removed ? 0 : i + 1), "Entry " + i + " wrong after removing entry " + removed);
+            }
+            check(table.remove(getName(removed)) == -1, "Entry " + removed + " removed twice");
+            check(count(table) == count - 1, "Wrong number of entries after removing entry " + removed);
+        }
+    }
+
+    /**
+     * Runs random insertions, replacements and removals
+     *
+     * @param p_random
+     *         the random generator
+     * @param p_initialCapacity
+     *         the initial capacity of the table
+     * @param p_loadFactor
+     *         the load factor of the table
+     */
+    private static void testRandomOperations(final Random p_random, final int p_initialCapacity, final float p_loadFactor) {
+        NameserviceHashTable table = new NameserviceHashTable(p_initialCapacity, p_loadFactor);
+        Map<String, Long> expected = new HashMap<>();
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            int index = p_random.nextInt(NAMES);
+            byte[] name = getName(index);
+            String key = new String(name, StandardCharsets.UTF_8);
+
+            if (p_random.nextInt(3) == 0) {
+                Long old = expected.remove(key);
+                check(table.remove(name) == (old == null ? -1 : old), "Remove of " + key + " returned wrong value");
+            } else {
+                long value = p_random.nextLong() & 0x0000FFFFFFFFFFFFL | 1;
+                Long old = expected.put(key, value);
+                check(table.put(name, value) == (old == null ? -1 : old), "Put of " + key + " returned wrong value");
+            }
+
+            if (i % 1000 == 0) {
+                checkTable(table, expected);
+            }
+        }
+        checkTable(table, expected);
+    }
+
+    /**
+     * Compares the table with the expected mappings
+     *
+     * @param p_table
+     *         the table
+     * @param p_expected
+     *         the expected mappings
+     */
+    private static void checkTable(final NameserviceHashTable p_table, final Map<String, Long> p_expected) {
+        for (int i = 0; i < NAMES; i++) {
+            byte[] name = getName(i);
+            Long value = p_expected.get(new String(name, StandardCharsets.UTF_8));
+            check(p_table.get(name) == (value == null ? 0 : value), "Wrong value for " + new String(name, StandardCharsets.UTF_8));
+        }
+
+        check(count(p_table) == p_expected.size(), "Wrong number of entries: " + count(p_table) + ", expected " + p_expected.size());
+    }
+
+    /**
+     * Counts all entries of a table
+     *
+     * @param p_table
+     *         the table
+     * @return the number of entries
+     */
+    private static int count(final NameserviceHashTable p_table) {
+        ArrayList<NameserviceEntry> entries = NameserviceHashTable.convert(p_table.receiveAllMetadata());
+
+        return entries.size();
+    }
+
+    /**
+     * Returns the name with given index. Names have different lengths and non-ASCII characters
+     *
+     * @param p_index
+     *         the index
+     * @return the UTF-8 encoded name
+     */
+    private static byte[] getName(final int p_index) {
+        StringBuilder name = new StringBuilder("name-\u00e4").append(p_index);
+        for (int i = 0; i < p_index % 7; i++) {
+            name.append('-');
+        }
+
+        return name.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Aborts if a condition does not hold
+     *
+     * @param p_condition
+     *         the condition
+     * @param p_message
+     *         the error message
+     */
+    private static void check(final boolean p_condition, final String p_message) {
+        if (!p_condition) {
+            System.out.println("Test failed: " + p_message);
+            System.exit(-1);
+        }
+    }
+}
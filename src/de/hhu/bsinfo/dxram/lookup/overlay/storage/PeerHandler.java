@@ -17,6 +17,8 @@
 package de.hhu.bsinfo.dxram.lookup.overlay.storage;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import de.hhu.bsinfo.dxram.backup.BackupRange;
 import de.hhu.bsinfo.dxram.data.ChunkID;
@@ -26,7 +28,7 @@ import de.hhu.bsinfo.dxram.util.ArrayListLong;
 import de.hhu.bsinfo.dxutils.serialization.ByteBufferImExporter;
 
 /**
- * Wrapper class for all data belonging to one peer: One Btree to store ranges, one to store backup range affiliation and an ArrayList for the backup ranges
+ * Wrapper class for all data belonging to one peer: One LookupTree to store ranges and an ArrayList for the backup ranges
  *
  * @author Kevin Beineke, kevin.beineke@hhu.de, 14.02.2017
  */
@@ -34,23 +36,29 @@ public final class PeerHandler {
 
     // Attributes
     private volatile PeerState m_state;
+    // incremented with every change of the lookup tree; backups apply the same changes and reach the same version
+    private volatile long m_version;
 
     private LookupTree m_lookupTree;
     private ArrayListLong m_backupRanges;
 
+    private final ReadWriteLock m_lock;
+
     // Constructors
 
     /**
-     * Creates an instance of LookupTree
+     * Creates an instance of PeerHandler
      *
-     * @param p_order
-     *         order of the btree
+     * @param p_creator
+     *         the peer whose chunks are managed
      */
-    PeerHandler(final short p_order, final short p_creator) {
+    PeerHandler(final short p_creator) {
         m_state = PeerState.ONLINE;
 
-        m_lookupTree = new LookupTree(p_order, p_creator);
+        m_lookupTree = new LookupTree(p_creator);
         m_backupRanges = new ArrayListLong();
+
+        m_lock = new ReentrantReadWriteLock(false);
     }
 
     // Methods
@@ -72,6 +80,24 @@ public final class PeerHandler {
         m_state = p_state;
     }
 
+    /**
+     * Returns the lock for this peer's lookup tree and backup ranges. Held by MetadataHandler while accessing them
+     *
+     * @return the lock
+     */
+    ReadWriteLock getLock() {
+        return m_lock;
+    }
+
+    /**
+     * Returns the version of the lookup tree
+     *
+     * @return the number of changes applied to the lookup tree
+     */
+    long getVersion() {
+        return m_version;
+    }
+
     /**
      * Returns the lookup tree
      *
@@ -101,6 +127,7 @@ public final class PeerHandler {
 
             m_lookupTree.migrateRange(p_chunkIDRanges[i], p_chunkIDRanges[i + 1], p_recoveryPeer);
         }
+        m_version++;
 
         // Invalidate backup range
         m_backupRanges.set(p_rangeID, -1);
@@ -143,6 +170,8 @@ public final class PeerHandler {
      * @return true if insertion was successful
      */
     boolean migrate(final long p_chunkID, final short p_nodeID) {
+        m_version++;
+
         return m_lookupTree.migrate(p_chunkID, p_nodeID);
     }
 
@@ -158,6 +187,8 @@ public final class PeerHandler {
      * @return true if insertion was successful
      */
     boolean migrateRange(final long p_startCID, final long p_endCID, final short p_nodeID) {
+        m_version++;
+
         return m_lookupTree.migrateRange(p_startCID, p_endCID, p_nodeID);
     }
 
@@ -170,6 +201,7 @@ public final class PeerHandler {
      */
     void remove(final long p_chunkID) {
         m_lookupTree.remove(p_chunkID);
+        m_version++;
     }
 
     /**
@@ -182,6 +214,7 @@ public final class PeerHandler {
 
     void removeObjects(final long... p_chunkIDs) {
         m_lookupTree.removeObjects(p_chunkIDs);
+        m_version++;
     }
 
     /**
@@ -266,6 +299,7 @@ public final class PeerHandler {
             default:
                 break;
         }
+        p_data.putLong(m_version);
         exporter = new ByteBufferImExporter(p_data);
         exporter.exportObject(m_lookupTree);
         exporter.exportObject(m_backupRanges);
@@ -295,6 +329,7 @@ public final class PeerHandler {
             default:
                 break;
         }
+        m_version = p_data.getLong();
 
         importer = new ByteBufferImExporter(p_data);
         importer.importObject(m_lookupTree);
@@ -307,7 +342,7 @@ public final class PeerHandler {
      * @return the size
      */
     int getSize() {
-        return Short.BYTES + Byte.BYTES + m_lookupTree.sizeofObject() + m_backupRanges.sizeofObject();
+        return Short.BYTES + Byte.BYTES + Long.BYTES + m_lookupTree.sizeofObject() + m_backupRanges.sizeofObject();
     }
 
 }
@@ -34,13 +34,16 @@ import de.hhu.bsinfo.dxutils.serialization.Exportable;
 import de.hhu.bsinfo.dxutils.serialization.Exporter;
 import de.hhu.bsinfo.dxutils.serialization.Importable;
 import de.hhu.bsinfo.dxutils.serialization.Importer;
+import de.hhu.bsinfo.soh.SmallObjectHeap;
+import de.hhu.bsinfo.soh.StorageUnsafeMemory;
 
 /**
  * An object/chunk storage on the superpeer for temporary data which is not wanted in the normal
  * chunk storage. This allows us to map any ids to the objects to store. But the max number of items
  * and the total size of the storage is limited to avoid abusing this as a primary storage for data.
  * Also, the chunks stored here are NOT covered by the backup/recovery but are replicated to other superpeers
- * to cover superpeer failure (though a full system failure will lose all stored data)
+ * to cover superpeer failure (though a full system failure will lose all stored data).
+ * The blocks are allocated off-heap in a SmallObjectHeap sized for the quota and written in place.
  *
  * @author Stefan Nothaas, stefan.nothaas@hhu.de, 18.05.2016
  */
@@ -48,10 +51,17 @@ public class SuperpeerStorage extends AbstractMetadata {
 
     private static final Logger LOGGER = LogManager.getFormatterLogger(SuperpeerStorage.class.getSimpleName());
 
+    // marker and length field of a block in the heap
+    private static final int BLOCK_OVERHEAD = 8;
+    // reserve for the heap's free block lists and fragmentation
+    private static final long HEAP_RESERVE = 1024 * 1024;
+
     private int m_maxNumEntries;
     private int m_maxSizeBytes;
 
-    private HashMap<Integer, byte[]> m_storage = new HashMap<>();
+    // blocks are allocated off-heap, the map stores the address of every block (0 for empty blocks)
+    private SmallObjectHeap m_memory;
+    private HashMap<Integer, Long> m_storage = new HashMap<>();
     private int m_allocatedSizeBytes;
     private int m_entryCount;
 
@@ -67,6 +77,24 @@ public class SuperpeerStorage extends AbstractMetadata {
         m_maxNumEntries = p_maxNumEntries;
         m_maxSizeBytes = p_maxSizeBytes;
         m_entryCount = 0;
+
+        if (m_maxNumEntries > 0 && m_maxSizeBytes > 0) {
+            // A single block may use the whole quota and the heap needs at least twice the max block size
+            long heapSize = Math.max(m_maxSizeBytes + (long) m_maxNumEntries * BLOCK_OVERHEAD + HEAP_RESERVE, 2L * m_maxSizeBytes);
+
+            m_memory = new SmallObjectHeap(new StorageUnsafeMemory(), heapSize, m_maxSizeBytes);
+        }
+    }
+
+    /**
+     * Free the memory of the storage. The storage must not be used afterwards
+     */
+    public void destroy() {
+        if (m_memory != null) {
+            m_memory.destroy();
+            m_memory = null;
+        }
+        m_storage.clear();
     }
 
     /**
@@ -76,8 +104,8 @@ public class SuperpeerStorage extends AbstractMetadata {
      */
     public Status getStatus() {
         ArrayList<Long> statusArray = new ArrayList<>(m_storage.size());
-        for (Map.Entry<Integer, byte[]> entry : m_storage.entrySet()) {
-            long val = (long) entry.getKey() << 32L | entry.getValue().length;
+        for (Map.Entry<Integer, Long> entry : m_storage.entrySet()) {
+            long val = (long) entry.getKey() << 32L | getSize(entry.getValue());
             statusArray.add(val);
         }
 
@@ -89,22 +117,29 @@ public class SuperpeerStorage extends AbstractMetadata {
         int ret = 0;
         int id;
         int size;
-        byte[] currentData;
+        int written;
+        Long address;
         ByteBuffer data;
 
         data = ByteBuffer.wrap(p_data, p_offset, p_size);
         while (data.position() < data.limit()) {
             id = data.getInt();
             size = data.getInt();
-            currentData = new byte[size];
-            data.get(currentData);
 
             // #if LOGGER == TRACE
             LOGGER.trace("Storing superpeer storage: %d <-> %d", id, size);
             // #endif /* LOGGER == TRACE */
 
+            // The block might exist already: overwrite its data
             create(id, size);
-            put(id, currentData);
+            address = m_storage.get(id);
+            if (address != null) {
+                written = Math.min(size, getSize(address));
+                if (written > 0) {
+                    m_memory.writeBytes(address, 0, p_data, data.position(), written);
+                }
+            }
+            data.position(data.position() + size);
             ret++;
         }
 
@@ -115,22 +150,20 @@ public class SuperpeerStorage extends AbstractMetadata {
     public byte[] receiveAllMetadata() {
         int size;
         ByteBuffer data;
-        Iterator<Entry<Integer, byte[]>> iter;
+        Iterator<Entry<Integer, Long>> iter;
 
         size = m_allocatedSizeBytes + m_entryCount * (Integer.BYTES + Integer.BYTES);
         data = ByteBuffer.allocate(size);
 
         iter = m_storage.entrySet().iterator();
         while (iter.hasNext()) {
-            Map.Entry<Integer, byte[]> pair = iter.next();
+            Map.Entry<Integer, Long> pair = iter.next();
 
             // #if LOGGER == TRACE
-            LOGGER.trace("Including superpeer storage: %s <-> %d", pair.getKey(), pair.getValue().length);
+            LOGGER.trace("Including superpeer storage: %s <-> %d", pair.getKey(), getSize(pair.getValue()));
             // #endif /* LOGGER == TRACE */
 
-            data.putInt(pair.getKey());
-            data.putInt(pair.getValue().length);
-            data.put(pair.getValue());
+            writeBlock(data, pair.getKey(), pair.getValue());
         }
 
         return data.array();
@@ -139,51 +172,47 @@ public class SuperpeerStorage extends AbstractMetadata {
     @Override
     public byte[] receiveMetadataInRange(final short p_bound1, final short p_bound2) {
         int size;
-        int currentSize = 0;
         int id;
-        byte[] currentData;
         ByteBuffer data;
-        Iterator<Entry<Integer, byte[]>> iter;
+        Iterator<Entry<Integer, Long>> iter;
 
         size = m_allocatedSizeBytes + m_entryCount * (Integer.BYTES + Integer.BYTES);
         data = ByteBuffer.allocate(size);
 
         iter = m_storage.entrySet().iterator();
         while (iter.hasNext()) {
-            Map.Entry<Integer, byte[]> pair = iter.next();
+            Map.Entry<Integer, Long> pair = iter.next();
             id = pair.getKey();
-            currentData = pair.getValue();
 
             if (OverlayHelper.isHashInSuperpeerRange(CRC16.hash(id), p_bound1, p_bound2)) {
                 // #if LOGGER == TRACE
-                LOGGER.trace("Including superpeer storage: %d <-> %d", id, currentData.length);
+                LOGGER.trace("Including superpeer storage: %d <-> %d", id, getSize(pair.getValue()));
                 // #endif /* LOGGER == TRACE */
 
-                data.putInt(id);
-                data.putInt(currentData.length);
-                data.put(currentData);
-                currentSize += 2 * Integer.BYTES + currentData.length;
+                writeBlock(data, id, pair.getValue());
             }
         }
 
-        return Arrays.copyOfRange(data.array(), 0, currentSize);
+        return Arrays.copyOfRange(data.array(), 0, data.position());
     }
 
     @Override
     public int removeMetadataOutsideOfRange(final short p_bound1, final short p_bound2) {
         int ret = 0;
         int id;
-        Iterator<Entry<Integer, byte[]>> iter;
+        Iterator<Entry<Integer, Long>> iter;
 
         iter = m_storage.entrySet().iterator();
         while (iter.hasNext()) {
-            id = iter.next().getKey();
+            Map.Entry<Integer, Long> pair = iter.next();
+            id = pair.getKey();
 
             if (!OverlayHelper.isHashInSuperpeerRange(CRC16.hash(id), p_bound1, p_bound2)) {
                 // #if LOGGER == TRACE
                 LOGGER.trace("Removing superpeer storage: %d", id);
                 // #endif /* LOGGER == TRACE */
 
+                freeBlock(pair.getValue());
                 iter.remove();
                 ret++;
             }
@@ -196,11 +225,11 @@ public class SuperpeerStorage extends AbstractMetadata {
     public int quantifyMetadata(final short p_bound1, final short p_bound2) {
         int count = 0;
         int id;
-        Iterator<Entry<Integer, byte[]>> iter;
+        Iterator<Integer> iter;
 
-        iter = m_storage.entrySet().iterator();
+        iter = m_storage.keySet().iterator();
         while (iter.hasNext()) {
-            id = iter.next().getKey();
+            id = iter.next();
             if (OverlayHelper.isHashInSuperpeerRange(CRC16.hash(id), p_bound1, p_bound2)) {
                 count++;
             }
@@ -219,7 +248,9 @@ public class SuperpeerStorage extends AbstractMetadata {
      * @return 0 on success, -1 if quota reached, -2 if max num entries reached, -3 if id already in use.
      */
     public int create(final int p_id, final int p_size) {
-        if (m_allocatedSizeBytes + p_size > m_maxSizeBytes) {
+        long address = SmallObjectHeap.INVALID_ADDRESS;
+
+        if (p_size > m_maxSizeBytes || m_allocatedSizeBytes + p_size > m_maxSizeBytes) {
             return -1;
         }
 
@@ -231,7 +262,17 @@ public class SuperpeerStorage extends AbstractMetadata {
             return -3;
         }
 
-        m_storage.put(p_id, new byte[p_size]);
+        if (p_size > 0) {
+            address = m_memory.malloc(p_size);
+            if (address == SmallObjectHeap.INVALID_ADDRESS) {
+                // Heap is too fragmented
+                return -1;
+            }
+            // Blocks are reused, clear old data
+            m_memory.set(address, p_size, (byte) 0);
+        }
+
+        m_storage.put(p_id, address);
         m_allocatedSizeBytes += p_size;
         m_entryCount++;
 
@@ -239,7 +280,7 @@ public class SuperpeerStorage extends AbstractMetadata {
     }
 
     /**
-     * Put data into an allocated block.
+     * Put data into an allocated block. The data is written in place.
      *
      * @param p_id
      *         Id of the block.
@@ -248,20 +289,16 @@ public class SuperpeerStorage extends AbstractMetadata {
      * @return Number of bytes written to the block or -1 if the block does not exist.
      */
     public int put(final int p_id, final byte[] p_data) {
-        byte[] data = m_storage.get(p_id);
-        if (data == null) {
+        Long address = m_storage.get(p_id);
+        if (address == null) {
             return -1;
         }
 
-        int written;
-        if (p_data.length > data.length) {
-            written = data.length;
-        } else {
-            written = p_data.length;
+        int written = Math.min(p_data.length, getSize(address));
+        if (written > 0) {
+            m_memory.writeBytes(address, 0, p_data, 0, written);
         }
 
-        System.arraycopy(p_data, 0, data, 0, written);
-
         return written;
     }
 
@@ -273,11 +310,16 @@ public class SuperpeerStorage extends AbstractMetadata {
      * @return Data read from the memory block or null if id does not point to an allocated block.
      */
     public byte[] get(final int p_id) {
-        byte[] data = m_storage.get(p_id);
-        if (data == null) {
+        Long address = m_storage.get(p_id);
+        if (address == null) {
             return null;
         }
 
+        byte[] data = new byte[getSize(address)];
+        if (data.length > 0) {
+            m_memory.readBytes(address, 0, data, 0, data.length);
+        }
+
         return data;
     }
 
@@ -289,16 +331,65 @@ public class SuperpeerStorage extends AbstractMetadata {
      * @return False if the block does not exist, true on success.
      */
     public boolean remove(final int p_id) {
-        byte[] data = m_storage.remove(p_id);
-        if (data != null) {
-            m_entryCount--;
-            m_allocatedSizeBytes -= data.length;
+        Long address = m_storage.remove(p_id);
+        if (address != null) {
+            freeBlock(address);
             return true;
         }
 
         return false;
     }
 
+    /**
+     * Get the size of a block
+     *
+     * @param p_address
+     *         Address of the block
+     * @return Size of the block in bytes
+     */
+    private int getSize(final long p_address) {
+        if (p_address == SmallObjectHeap.INVALID_ADDRESS) {
+            return 0;
+        }
+
+        return m_memory.getSizeBlock(p_address);
+    }
+
+    /**
+     * Free a block and update the quota
+     *
+     * @param p_address
+     *         Address of the block
+     */
+    private void freeBlock(final long p_address) {
+        m_entryCount--;
+        if (p_address != SmallObjectHeap.INVALID_ADDRESS) {
+            m_allocatedSizeBytes -= m_memory.getSizeBlock(p_address);
+            m_memory.free(p_address);
+        }
+    }
+
+    /**
+     * Serialize a block
+     *
+     * @param p_data
+     *         Buffer to write to
+     * @param p_id
+     *         Id of the block
+     * @param p_address
+     *         Address of the block
+     */
+    private void writeBlock(final ByteBuffer p_data, final int p_id, final long p_address) {
+        int size = getSize(p_address);
+
+        p_data.putInt(p_id);
+        p_data.putInt(size);
+        if (size > 0) {
+            m_memory.readBytes(p_address, 0, p_data.array(), p_data.position(), size);
+            p_data.position(p_data.position() + size);
+        }
+    }
+
     /**
      * Status of the superpeer storage (allocations)
      *
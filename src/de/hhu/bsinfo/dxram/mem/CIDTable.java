@@ -49,6 +49,8 @@ public final class CIDTable {
     private static final long FULL_FLAG = 0x8000000000L;
     private static final long FREE_ENTRY = 0;
     private static final long ZOMBIE_ENTRY = 0xFFFFFFFFFFL;
+    // address returned by get() for a zombie entry
+    static final long ZOMBIE_ADDRESS = ZOMBIE_ENTRY & BITMASK_ADDRESS;
     private static final byte BITS_PER_LID_LEVEL = 48 / LID_TABLE_LEVELS;
     static final int ENTRIES_PER_LID_LEVEL = (int) Math.pow(2.0, BITS_PER_LID_LEVEL);
     private static final int LID_TABLE_SIZE = ENTRY_SIZE * ENTRIES_PER_LID_LEVEL + 7;
@@ -57,6 +59,8 @@ public final class CIDTable {
     static final int ENTRIES_FOR_NID_LEVEL = (int) Math.pow(2.0, BITS_FOR_NID_LEVEL);
     private static final int NID_TABLE_SIZE = ENTRY_SIZE * ENTRIES_FOR_NID_LEVEL + 7;
     private static final long NID_LEVEL_BITMASK = (int) Math.pow(2.0, BITS_FOR_NID_LEVEL) - 1;
+    // 4096 cached level 0 tables cover 4096 * 4096 chunks
+    private static final int TRANSLATION_CACHE_SIZE = 4096;
     private short m_ownNodeID;
     private long m_addressTableDirectory = -1;
     private SmallObjectHeap m_rawMemory;
@@ -66,7 +70,7 @@ public final class CIDTable {
     private LIDStore m_store;
     private long m_nextLocalID;
 
-    private TranslationCache[] m_cache;
+    private TranslationCache m_cache;
 
     /**
      * Creates an instance of CIDTable
@@ -239,13 +243,7 @@ public final class CIDTable {
         m_store = new LIDStore();
         m_nextLocalID = 1;
 
-        // NOTE: 10 seems to be a good value because it doesn't add too much overhead when creating huge ranges of
-        // chunks but still allows 10 * 4096 translations to be cached for fast lookup and gets/puts
-        // (value determined by profiling the application)
-        m_cache = new TranslationCache[10000];
-        for (int i = 0; i < m_cache.length; i++) {
-            m_cache[i] = new TranslationCache(10);
-        }
+        m_cache = new TranslationCache(TRANSLATION_CACHE_SIZE);
 
         // #if LOGGER >= INFO
         LOGGER.info("CIDTable: init success (page directory at: 0x%X)", m_addressTableDirectory);
@@ -268,7 +266,7 @@ public final class CIDTable {
         boolean putCache = false;
 
         // try to jump to table level 0 using the cache
-        addressTable = m_cache[(int) Thread.currentThread().getId()].getTableLevel0(p_chunkID);
+        addressTable = m_cache.getTableLevel0(p_chunkID);
         if (addressTable == -1) {
             level = LID_TABLE_LEVELS;
             addressTable = m_addressTableDirectory;
@@ -294,7 +292,7 @@ public final class CIDTable {
             } else {
                 // add table 0 address to cache
                 if (putCache) {
-                    m_cache[(int) Thread.currentThread().getId()].putTableLevel0(p_chunkID, addressTable);
+                    m_cache.putTableLevel0(p_chunkID, addressTable);
                 }
 
                 // get address to chunk from table 0
@@ -307,6 +305,79 @@ public final class CIDTable {
         return 0;
     }
 
+    /**
+     * Get the address of the level 0 table a chunk ID is stored in. Used for batch translations of neighboring
+     * chunk IDs which share the same level 0 table, see getFromTableLevel0
+     *
+     * @param p_chunkID
+     *         the ChunkID
+     * @return Address of the level 0 table, 0 if there is no table for the ChunkID
+     */
+    long getTableLevel0(final long p_chunkID) {
+        long index;
+        long entry;
+        long addressTable;
+
+        addressTable = m_cache.getTableLevel0(p_chunkID);
+        if (addressTable != -1) {
+            return addressTable;
+        }
+
+        addressTable = m_addressTableDirectory;
+
+        for (int level = LID_TABLE_LEVELS; level > 0; level--) {
+            if (level == LID_TABLE_LEVELS) {
+                index = p_chunkID >> BITS_PER_LID_LEVEL * level & NID_LEVEL_BITMASK;
+            } else {
+                index = p_chunkID >> BITS_PER_LID_LEVEL * level & LID_LEVEL_BITMASK;
+            }
+
+            entry = readEntry(addressTable, index) & BITMASK_ADDRESS;
+            if (entry <= 0) {
+                return 0;
+            }
+
+            // move on to next table
+            addressTable = entry;
+        }
+
+        m_cache.putTableLevel0(p_chunkID, addressTable);
+
+        return addressTable;
+    }
+
+    /**
+     * Gets an entry of a level 0 table
+     *
+     * @param p_tableLevel0
+     *         Address of the level 0 table of the ChunkID (see getTableLevel0)
+     * @param p_chunkID
+     *         the ChunkID of the entry
+     * @return the entry. 0 for invalid/unused.
+     */
+    long getFromTableLevel0(final long p_tableLevel0, final long p_chunkID) {
+        long entry = readEntry(p_tableLevel0, p_chunkID & LID_LEVEL_BITMASK);
+
+        if (entry == ZOMBIE_ENTRY) {
+            return 0;
+        }
+
+        return entry & BITMASK_ADDRESS;
+    }
+
+    /**
+     * Check if two ChunkIDs are stored in the same level 0 table
+     *
+     * @param p_chunkID1
+     *         the first ChunkID
+     * @param p_chunkID2
+     *         the second ChunkID
+     * @return True if both entries are in the same level 0 table
+     */
+    static boolean isSameTableLevel0(final long p_chunkID1, final long p_chunkID2) {
+        return p_chunkID1 >> BITS_PER_LID_LEVEL == p_chunkID2 >> BITS_PER_LID_LEVEL;
+    }
+
     /**
      * Sets an entry of the level 0 table
      *
@@ -325,7 +396,7 @@ public final class CIDTable {
         boolean putCache = false;
 
         // try to jump to table level 0 using the cache
-        addressTable = m_cache[(int) Thread.currentThread().getId()].getTableLevel0(p_chunkID);
+        addressTable = m_cache.getTableLevel0(p_chunkID);
         if (addressTable == -1) {
             level = LID_TABLE_LEVELS;
             addressTable = m_addressTableDirectory;
@@ -359,7 +430,7 @@ public final class CIDTable {
 
                 // add table address to table 0 to cache
                 if (putCache) {
-                    m_cache[(int) Thread.currentThread().getId()].putTableLevel0(p_chunkID, addressTable);
+                    m_cache.putTableLevel0(p_chunkID, addressTable);
                 }
 
                 return true;
@@ -389,7 +460,7 @@ public final class CIDTable {
         long addressTable;
 
         // try to jump to table level 0 using the cache
-        addressTable = m_cache[(int) Thread.currentThread().getId()].getTableLevel0(p_chunkID);
+        addressTable = m_cache.getTableLevel0(p_chunkID);
         if (addressTable == -1) {
             level = LID_TABLE_LEVELS;
             addressTable = m_addressTableDirectory;
@@ -470,6 +541,7 @@ public final class CIDTable {
      */
     void disengage() {
         m_store = null;
+        m_cache = null;
 
         m_addressTableDirectory = -1;
     }
@@ -528,6 +600,17 @@ public final class CIDTable {
         return m_addressTableDirectory;
     }
 
+    /**
+     * Get the next chunk ID with a valid (not deleted or zombie) entry
+     *
+     * @param p_chunkID
+     *         Chunk ID to start the search at (inclusive)
+     * @return Next chunk ID with a valid entry or ChunkID.INVALID_ID if there is none left
+     */
+    long getNextChunkID(final long p_chunkID) {
+        return getNextChunkID(p_chunkID, 0, m_addressTableDirectory, LID_TABLE_LEVELS);
+    }
+
     /**
      * Creates the NodeID table
      *
@@ -630,6 +713,57 @@ public final class CIDTable {
         }
     }
 
+    /**
+     * Searches the next chunk ID with a valid entry
+     *
+     * @param p_chunkID
+     *         Chunk ID to start the search at (inclusive), 0 to start at the beginning of the table
+     * @param p_unfinishedCID
+     *         the unfinished ChunkID
+     * @param p_table
+     *         the current table
+     * @param p_level
+     *         the current table level
+     * @return Next chunk ID with a valid entry or ChunkID.INVALID_ID if there is none in the table
+     */
+    private long getNextChunkID(final long p_chunkID, final long p_unfinishedCID, final long p_table,
+            final int p_level) {
+        int start;
+        int entries;
+        long entry;
+        long ret;
+
+        if (p_level == LID_TABLE_LEVELS) {
+            start = (int) (p_chunkID >> BITS_PER_LID_LEVEL * p_level & NID_LEVEL_BITMASK);
+            entries = ENTRIES_FOR_NID_LEVEL;
+        } else {
+            start = (int) (p_chunkID >> BITS_PER_LID_LEVEL * p_level & LID_LEVEL_BITMASK);
+            entries = ENTRIES_PER_LID_LEVEL;
+        }
+
+        for (int i = start; i < entries; i++) {
+            entry = readEntry(p_table, i);
+
+            if (p_level > 0) {
+                entry &= BITMASK_ADDRESS;
+
+                if (entry > 0) {
+                    // only the first sub table is searched from the start position, the following ones completely
+                    ret = getNextChunkID(i == start ? p_chunkID : 0,
+                            p_unfinishedCID + ((long) i << BITS_PER_LID_LEVEL * p_level), entry, p_level - 1);
+
+                    if (ret != ChunkID.INVALID_ID) {
+                        return ret;
+                    }
+                }
+            } else if (entry != FREE_ENTRY && entry != ZOMBIE_ENTRY) {
+                return p_unfinishedCID + i;
+            }
+        }
+
+        return ChunkID.INVALID_ID;
+    }
+
     /**
      * Adds all ChunkIDs to an ArrayListLong
      *
@@ -904,29 +1038,29 @@ public final class CIDTable {
     }
 
     /**
-     * Cache for translated addresses
+     * Cache for the translation of chunk IDs to the address of their level 0 table, shared by all threads.
+     * The cache is direct mapped and lock-free: a slot holds an immutable entry which is replaced by a single
+     * reference write, readers either see the old or the new entry. Unlike a cache per thread, this works with any
+     * number of threads and thread IDs (e.g. thread pools, virtual threads).
+     * Level 0 tables are not freed or moved while the CIDTable is in use, so deleting chunks does not invalidate
+     * any entries.
      */
     private static final class TranslationCache {
 
-        private long[] m_chunkIDs;
-        private long[] m_tableLevel0Addr;
-        private int m_cachePos;
+        private final Entry[] m_entries;
+        private final int m_mask;
 
         /**
          * Constructor
          *
          * @param p_size
-         *         Number of entries for the cache
+         *         Number of entries for the cache (power of two)
          */
         TranslationCache(final int p_size) {
-            m_chunkIDs = new long[p_size];
-            m_tableLevel0Addr = new long[p_size];
-            m_cachePos = 0;
+            assert Integer.bitCount(p_size) == 1;
 
-            for (int i = 0; i < p_size; i++) {
-                m_chunkIDs[i] = -1;
-                m_tableLevel0Addr[i] = -1;
-            }
+            m_entries = new Entry[p_size];
+            m_mask = p_size - 1;
         }
 
         /**
@@ -938,11 +1072,10 @@ public final class CIDTable {
          */
         long getTableLevel0(final long p_chunkID) {
             long tableLevel0IDRange = p_chunkID >> BITS_PER_LID_LEVEL;
+            Entry entry = m_entries[index(tableLevel0IDRange)];
 
-            for (int i = 0; i < m_chunkIDs.length; i++) {
-                if (m_chunkIDs[i] == tableLevel0IDRange) {
-                    return m_tableLevel0Addr[i];
-                }
+            if (entry != null && entry.m_tableLevel0IDRange == tableLevel0IDRange) {
+                return entry.m_tableLevel0Addr;
             }
 
             return -1;
@@ -957,26 +1090,42 @@ public final class CIDTable {
          *         Address of the level 0 table
          */
         void putTableLevel0(final long p_chunkID, final long p_addressTable) {
-            m_chunkIDs[m_cachePos] = p_chunkID >> BITS_PER_LID_LEVEL;
-            m_tableLevel0Addr[m_cachePos] = p_addressTable;
-            m_cachePos = (m_cachePos + 1) % m_chunkIDs.length;
+            long tableLevel0IDRange = p_chunkID >> BITS_PER_LID_LEVEL;
+
+            m_entries[index(tableLevel0IDRange)] = new Entry(tableLevel0IDRange, p_addressTable);
         }
 
         /**
-         * Invalidate a cache entry
+         * Get the slot of a level 0 table
          *
-         * @param p_chunkID
-         *         Chunk id of the table level 0 to invalidate
+         * @param p_tableLevel0IDRange
+         *         Chunk id range of the level 0 table
+         * @return Slot index
          */
-        void invalidateEntry(final long p_chunkID) {
-            long tableLevel0IDRange = p_chunkID >> BITS_PER_LID_LEVEL;
+        private int index(final long p_tableLevel0IDRange) {
+            // consecutive ranges use consecutive slots, the node ID (upper bits) is mixed in to separate nodes
+            return (int) (p_tableLevel0IDRange ^ p_tableLevel0IDRange >>> BITS_PER_LID_LEVEL * (LID_TABLE_LEVELS - 1)) &
+                    m_mask;
+        }
 
-            for (int i = 0; i < m_chunkIDs.length; i++) {
-                if (m_chunkIDs[i] == tableLevel0IDRange) {
-                    m_tableLevel0Addr[i] = -1;
-                    m_chunkIDs[i] = -1;
-                    break;
-                }
+        /**
+         * A cached translation. Immutable, final fields make it safe to publish without synchronization
+         */
+        private static final class Entry {
+            private final long m_tableLevel0IDRange;
+            private final long m_tableLevel0Addr;
+
+            /**
+             * Constructor
+             *
+             * @param p_tableLevel0IDRange
+             *         Chunk id range of the level 0 table
+             * @param p_tableLevel0Addr
+             *         Address of the level 0 table
+             */
+            private Entry(final long p_tableLevel0IDRange, final long p_tableLevel0Addr) {
+                m_tableLevel0IDRange = p_tableLevel0IDRange;
+                m_tableLevel0Addr = p_tableLevel0Addr;
             }
         }
     }
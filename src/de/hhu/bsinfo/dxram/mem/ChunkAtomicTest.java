@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.mem;
+
+import de.hhu.bsinfo.soh.MemoryRuntimeException;
+import de.hhu.bsinfo.soh.SmallObjectHeap;
+import de.hhu.bsinfo.soh.StorageUnsafeMemory;
+
+/**
+ * Tests the range and alignment checks of atomic operations on chunk fields. Whether a field is aligned depends on the
+ * position of the block and the size of its length field, so the same offset is tested in blocks of many sizes.
+ * Aligned fields must support the atomic instructions, unaligned fields must be rejected by them and are updated with
+ * plain reads and writes (under the exclusive chunk lock) instead.
+ */
+public final class ChunkAtomicTest {
+
+    private static final long HEAP_SIZE = 16 * 1024 * 1024;
+    private static final int MAX_BLOCK_SIZE = 1024 * 1024;
+    // block sizes with 1, 2 and 3 byte length fields
+    private static final int[] BLOCK_SIZES = {8, 9, 12, 15, 16, 17, 23, 24, 31, 100, 255, 256, 257, 300, 65535, 65536, 70001};
+
+    /**
+     * Unused constructor.
+     */
+    private ChunkAtomicTest() {
+    }
+
+    /**
+     * Java main entry point.
+     *
+     * @param p_args
+     *         Command line arguments
+     */
+    public static void main(final String[] p_args) {
+        testRangeChecks();
+        testAlignment();
+
+        System.out.println("All atomic operation tests passed.");
+    }
+
+    /**
+     * Fields must be 4 or 8 bytes large and within the chunk
+     */
+    private static void testRangeChecks() {
+        check(MemoryManagerComponent.isValidAtomicField(0, 4, 4), "Int field filling the chunk rejected");
+        check(MemoryManagerComponent.isValidAtomicField(0, 8, 8), "Long field filling the chunk rejected");
+        check(MemoryManagerComponent.isValidAtomicField(12, 4, 16), "Int field at the end of the chunk rejected");
+        check(MemoryManagerComponent.isValidAtomicField(8, 8, 16), "Long field at the end of the chunk rejected");
+        // unaligned offsets are valid, alignment is handled by the memory manager
+        check(MemoryManagerComponent.isValidAtomicField(3, 8, 16), "Unaligned long field rejected");
+
+        check(!MemoryManagerComponent.isValidAtomicField(-1, 4, 16), "Negative offset accepted");
+        check(!MemoryManagerComponent.isValidAtomicField(0, 1, 16), "Byte field accepted");
+        check(!MemoryManagerComponent.isValidAtomicField(0, 2, 16), "Short field accepted");
+        check(!MemoryManagerComponent.isValidAtomicField(0, 16, 16), "16 byte field accepted");
+        check(!MemoryManagerComponent.isValidAtomicField(13, 4, 16), "Int field exceeding the chunk accepted");
+        check(!MemoryManagerComponent.isValidAtomicField(9, 8, 16), "Long field exceeding the chunk accepted");
+        check(!MemoryManagerComponent.isValidAtomicField(0, 8, 4), "Long field in int sized chunk accepted");
+        check(!MemoryManagerComponent.isValidAtomicField(Integer.MAX_VALUE, 8, Integer.MAX_VALUE), "Overflowing field accepted");
+    }
+
+    /**
+     * Runs atomic operations on every field of blocks with different sizes and positions
+     */
+    private static void testAlignment() {
+        SmallObjectHeap memory = new SmallObjectHeap(new StorageUnsafeMemory(), HEAP_SIZE, MAX_BLOCK_SIZE);
+        // [size == 8][aligned] for offset 0
+        boolean[][] seen = new boolean[2][2];
+
+        for (int blockSize : BLOCK_SIZES) {
+            // different positions for the same block size
+            for (int i = 0; i < 8; i++) {
+                long address = memory.malloc(blockSize + i);
+                check(address > 0, "Allocating block of size " + (blockSize + i) + " failed");
+
+                for (int size : new int[] {Integer.BYTES, Long.BYTES}) {
+                    // large blocks: first bytes are sufficient
+                    for (int offset = 0; offset <= Math.min(blockSize + i - size, 64); offset++) {
+                        boolean aligned = memory.isAligned(address, offset, size);
+                        if (offset == 0) {
+                            seen[size == Long.BYTES ? 1 : 0][aligned ? 1 : 0] = true;
+                        }
+
+                        if (aligned) {
+                            testAligned(memory, address, offset, size);
+                        } else {
+                            testUnaligned(memory, address, offset, size);
+                        }
+                    }
+                }
+            }
+        }
+
+        check(seen[0][0] && seen[0][1] && seen[1][0] && seen[1][1], "Alignment of offset 0 did not depend on the block position");
+
+        memory.destroy();
+    }
+
+    /**
+     * Runs the atomic instructions on an aligned field
+     *
+     * @param p_memory
+     *         the heap
+     * @param p_address
+     *         the address of the block
+     * @param p_offset
+     *         the offset of the field
+     * @param p_size
+     *         the size of the field
+     */
+    private static void testAligned(final SmallObjectHeap p_memory, final long p_address, final int p_offset, final int p_size) {
+        String field = "aligned field (address " + p_address + ", offset " + p_offset + ", size " + p_size + ')';
+
+        if (p_size == Integer.BYTES) {
+            p_memory.writeInt(p_address, p_offset, 5);
+            check(!p_memory.compareAndSwapInt(p_address, p_offset, 4, 7), "CAS with wrong expected value succeeded on " + field);
+            check(p_memory.compareAndSwapInt(p_address, p_offset, 5, 7), "CAS failed on " + field);
+            check(p_memory.getAndAddInt(p_address, p_offset, 3) == 7, "Fetch and add returned wrong value on " + field);
+            check(p_memory.getAndSetInt(p_address, p_offset, -1) == 10, "Get and set returned wrong value on " + field);
+            check(p_memory.readInt(p_address, p_offset) == -1, "Wrong value after atomic operations on " + field);
+        } else {
+            p_memory.writeLong(p_address, p_offset, 5);
+            check(!p_memory.compareAndSwapLong(p_address, p_offset, 4, 7), "CAS with wrong expected value succeeded on " + field);
+            check(p_memory.compareAndSwapLong(p_address, p_offset, 5, 7), "CAS failed on " + field);
+            check(p_memory.getAndAddLong(p_address, p_offset, 3) == 7, "Fetch and add returned wrong value on " + field);
+            check(p_memory.getAndSetLong(p_address, p_offset, -1) == 10, "Get and set returned wrong value on " + field);
+            check(p_memory.readLong(p_address, p_offset) == -1, "Wrong value after atomic operations on " + field);
+        }
+    }
+
+    /**
+     * Checks that the atomic instructions reject an unaligned field and that reads and writes work
+     *
+     * @param p_memory
+     *         the heap
+     * @param p_address
+     *         the address of the block
+     * @param p_offset
+     *         the offset of the field
+     * @param p_size
+     *         the size of the field
+     */
+    private static void testUnaligned(final SmallObjectHeap p_memory, final long p_address, final int p_offset, final int p_size) {
+        String field = "unaligned field (address " + p_address + ", offset " + p_offset + ", size " + p_size + ')';
+        boolean rejected = false;
+
+        try {
+            if (p_size == Integer.BYTES) {
+                p_memory.compareAndSwapInt(p_address, p_offset, 0, 0);
+            } else {
+                p_memory.compareAndSwapLong(p_address, p_offset, 0, 0);
+            }
+        } catch (final MemoryRuntimeException ignored) {
+            rejected = true;
+        }
+        check(rejected, "CAS accepted " + field);
+
+        // read, modify, write as done under the exclusive chunk lock
+        if (p_size == Integer.BYTES) {
+            p_memory.writeInt(p_address, p_offset, 0x12345678);
+            p_memory.writeInt(p_address, p_offset, p_memory.readInt(p_address, p_offset) + 1);
+            check(p_memory.readInt(p_address, p_offset) == 0x12345679, "Read, modify, write failed on " + field);
+        } else {
+            p_memory.writeLong(p_address, p_offset, 0x123456789ABCDEFL);
+            p_memory.writeLong(p_address, p_offset, p_memory.readLong(p_address, p_offset) + 1);
+            check(p_memory.readLong(p_address, p_offset) == 0x123456789ABCDF0L, "Read, modify, write failed on " + field);
+        }
+    }
+
+    /**
+     * Aborts if a condition does not hold
+     *
+     * @param p_condition
+     *         the condition
+     * @param p_message
+     *         the error message
+     */
+    private static void check(final boolean p_condition, final String p_message) {
+        if (!p_condition) {
+            System.out.println("Test failed: " + p_message);
+            System.exit(-1);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.mem;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock striping for chunks. Every chunk ID is mapped to one of a fixed number of read/write spin locks
+ * (same protocol as the global memory lock) to allow concurrent access to chunks of different stripes
+ * while a chunk is removed (or moved).
+ */
+final class ChunkLockStripes {
+    private static final int WRITE_PENDING = 0x40000000;
+    private static final int WRITE_LOCKED = 0x80000000;
+    private static final int READER_MASK = 0x3FFFFFFF;
+
+    // one lock per 64 byte cache line to avoid false sharing of neighboring stripes
+    private static final int STRIPE_SPACING = 16;
+
+    private final AtomicIntegerArray m_locks;
+    private final int m_stripeMask;
+
+    /**
+     * Constructor
+     *
+     * @param p_stripeCount
+     *         Number of stripes (power of two)
+     */
+    ChunkLockStripes(final int p_stripeCount) {
+        assert Integer.bitCount(p_stripeCount) == 1;
+
+        m_locks = new AtomicIntegerArray(p_stripeCount * STRIPE_SPACING);
+        m_stripeMask = p_stripeCount - 1;
+    }
+
+    /**
+     * Get the number of stripes
+     *
+     * @return Number of stripes
+     */
+    int getStripeCount() {
+        return m_stripeMask + 1;
+    }
+
+    /**
+     * Acquire the read lock of the stripe the chunk is mapped to
+     *
+     * @param p_chunkID
+     *         Chunk ID
+     */
+    void lockRead(final long p_chunkID) {
+        int idx = index(p_chunkID);
+
+        while (true) {
+            int v = m_locks.get(idx) & READER_MASK;
+            if (m_locks.compareAndSet(idx, v, v + 1)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Release the read lock of the stripe the chunk is mapped to
+     *
+     * @param p_chunkID
+     *         Chunk ID
+     */
+    void unlockRead(final long p_chunkID) {
+        m_locks.decrementAndGet(index(p_chunkID));
+    }
+
+    /**
+     * Acquire the write lock of the stripe the chunk is mapped to
+     *
+     * @param p_chunkID
+     *         Chunk ID
+     */
+    void lockWrite(final long p_chunkID) {
+        int idx = index(p_chunkID);
+
+        // flag pending writer to keep new readers out, then wait for the current readers to leave
+        do {
+            int v = m_locks.get(idx);
+            m_locks.compareAndSet(idx, v, v | WRITE_PENDING);
+        } while (!m_locks.compareAndSet(idx, WRITE_PENDING, WRITE_LOCKED));
+    }
+
+    /**
+     * Release the write lock of the stripe the chunk is mapped to
+     *
+     * @param p_chunkID
+     *         Chunk ID
+     */
+    void unlockWrite(final long p_chunkID) {
+        m_locks.set(index(p_chunkID), 0);
+    }
+
+    /**
+     * Map a chunk ID to the index of its stripe lock
+     *
+     * @param p_chunkID
+     *         Chunk ID
+     * @return Index in the lock array
+     */
+    private int index(final long p_chunkID) {
+        // mix creator and local ID, consecutive local IDs end up on neighboring stripes
+        int hash = (int) (p_chunkID ^ p_chunkID >>> 32);
+        hash ^= hash >>> 16;
+
+        return (hash & m_stripeMask) * STRIPE_SPACING;
+    }
+}
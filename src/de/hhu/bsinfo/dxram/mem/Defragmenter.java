@@ -16,117 +16,189 @@
 
 package de.hhu.bsinfo.dxram.mem;
 
-import de.hhu.bsinfo.soh.SmallObjectHeap;
-
-// TODO draft of simple defragmenter (untested)
-// The defragmenter should be triggered when the fragmentation hits 75%.
-// It runs for a set number of entries (or time?) and re-allocates
-// objects on every malloc call until the fragmentation drops below 75%
-public final class Defragmenter {
-
-    private static final long SLEEP_TIME = 10000;
-    private static final double MAX_FRAGMENTATION = 0.75;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.hhu.bsinfo.dxram.data.ChunkID;
+import de.hhu.bsinfo.dxutils.stats.StatisticsManager;
+import de.hhu.bsinfo.dxutils.stats.TimePool;
+import de.hhu.bsinfo.dxutils.stats.ValuePool;
+
+/**
+ * Incremental online defragmentation of the key value store. The defragmenter is checking the fragmentation of the
+ * heap periodically. If it exceeds the threshold, the thread iterates the CIDTable in short time slices and moves
+ * chunks to free blocks at lower addresses which compacts the heap and merges the free space at its end.
+ * Every chunk is moved in its own critical section (see MemoryManagerComponent.relocateChunk) to keep concurrent
+ * access calls from stalling for longer than a single copy.
+ */
+final class Defragmenter extends Thread {
+    private static final Logger LOGGER = LogManager.getFormatterLogger(Defragmenter.class.getSimpleName());
+
+    private static final TimePool SOP_DEFRAG_SLICE = new TimePool(Defragmenter.class, "Slice");
+    private static final TimePool SOP_DEFRAG_MOVE = new TimePool(Defragmenter.class, "Move");
+    private static final ValuePool SOP_DEFRAG_MOVED_BYTES = new ValuePool(Defragmenter.class, "MovedBytes");
+    // fragmentation values are recorded in per mille
+    private static final ValuePool SOP_DEFRAG_FRAGMENTATION_BEFORE = new ValuePool(Defragmenter.class,
+            "FragmentationBefore");
+    private static final ValuePool SOP_DEFRAG_FRAGMENTATION_AFTER = new ValuePool(Defragmenter.class,
+            "FragmentationAfter");
+
+    static {
+        StatisticsManager.get().registerOperation(Defragmenter.class, SOP_DEFRAG_SLICE);
+        StatisticsManager.get().registerOperation(Defragmenter.class, SOP_DEFRAG_MOVE);
+        StatisticsManager.get().registerOperation(Defragmenter.class, SOP_DEFRAG_MOVED_BYTES);
+        StatisticsManager.get().registerOperation(Defragmenter.class, SOP_DEFRAG_FRAGMENTATION_BEFORE);
+        StatisticsManager.get().registerOperation(Defragmenter.class, SOP_DEFRAG_FRAGMENTATION_AFTER);
+    }
 
-    private CIDTable m_cidTable;
-    private SmallObjectHeap m_heap;
+    private final MemoryManagerComponent m_memoryManager;
+    private final double m_fragmentationThreshold;
+    private final long m_timeSliceNs;
+    private final long m_intervalMs;
 
-    private long[] m_curTables = new long[CIDTable.LID_TABLE_LEVELS + 1];
-    private int[] m_curTableIndex = new int[CIDTable.LID_TABLE_LEVELS + 1];
+    // next chunk ID to check, the position is kept across slices
+    private long m_nextChunkID;
 
-    private boolean m_initDefragPos;
+    private volatile boolean m_shutdown;
 
     /**
-     * Creates an instance of Defragmenter_old
+     * Creates an instance of Defragmenter
+     *
+     * @param p_memoryManager
+     *         Memory manager owning the heap to defragment
+     * @param p_fragmentationThreshold
+     *         Fragmentation of the heap (0.0 - 1.0) to start defragmenting at
+     * @param p_timeSliceMs
+     *         Max duration of a single defragmentation slice in ms
+     * @param p_intervalMs
+     *         Interval for checking the fragmentation of the heap in ms
      */
-    public Defragmenter(final CIDTable p_cidTable, final SmallObjectHeap p_heap) {
-        m_cidTable = p_cidTable;
-        m_heap = p_heap;
+    Defragmenter(final MemoryManagerComponent p_memoryManager, final double p_fragmentationThreshold,
+            final long p_timeSliceMs, final long p_intervalMs) {
+        m_memoryManager = p_memoryManager;
+        m_fragmentationThreshold = p_fragmentationThreshold;
+        m_timeSliceNs = p_timeSliceMs * 1000 * 1000;
+        m_intervalMs = p_intervalMs;
 
-        for (int i = 0; i < CIDTable.LID_TABLE_LEVELS + 1; i++) {
-            m_curTables[i] = -1;
-            m_curTableIndex[i] = -1;
-        }
+        m_nextChunkID = 0;
 
-        m_initDefragPos = false;
+        setName("Memory: Defragmenter");
+        setDaemon(true);
     }
 
-    public void initDefragmentPosition() {
+    /**
+     * Shutdown
+     */
+    void shutdown() {
+        m_shutdown = true;
+    }
 
-        m_curTables[0] = m_cidTable.getAddressTableDirectory();
+    @Override
+    public void run() {
+        while (!m_shutdown) {
+            try {
+                Thread.sleep(m_intervalMs);
+            } catch (final InterruptedException ignored) {
+                continue;
+            }
 
-        for (int i = 0; i < m_curTables.length; i++) {
-            m_curTableIndex[i] = 0;
-        }
+            double fragmentation = m_memoryManager.getFragmentation();
 
-        for (int i = 0; i < m_curTables.length - 1; i++) {
-            m_curTables[i + 1] = m_cidTable.readEntry(m_curTables[i], m_curTableIndex[i]);
-        }
-    }
+            if (fragmentation < m_fragmentationThreshold) {
+                continue;
+            }
 
-    public long getAddressCurrentEntry() {
-        return m_cidTable.readEntry(m_curTables[m_curTables.length - 1], m_curTableIndex[m_curTables.length - 1]);
-    }
+            // #if LOGGER >= DEBUG
+            LOGGER.debug("Fragmentation %f exceeds threshold %f, defragmenting", fragmentation,
+                    m_fragmentationThreshold);
+            // #endif /* LOGGER >= DEBUG */
 
-    public void replaceAddressCurrenEntry(final long p_newAddress) {
-        m_cidTable.writeEntry(m_curTables[m_curTables.length - 1], m_curTableIndex[m_curTables.length - 1], p_newAddress);
+            defragment(fragmentation);
+        }
     }
 
-    public void moveNextEntry() {
-
-        for (int i = m_curTables.length - 1; i >= 0; i--) {
-            m_curTableIndex[i]++;
-
-            if (i == 0) {
-                if (m_curTableIndex[i] > CIDTable.ENTRIES_FOR_NID_LEVEL) {
-                    m_curTableIndex[i] = 0;
+    /**
+     * Run slices until the fragmentation drops below the threshold or all chunks were checked once
+     *
+     * @param p_fragmentationBefore
+     *         Fragmentation of the heap before defragmenting
+     */
+    private void defragment(final double p_fragmentationBefore) {
+        long startChunkID = m_nextChunkID;
+        long movedBytes = 0;
+        boolean wrapped = false;
+        double fragmentation = p_fragmentationBefore;
+
+        // #ifdef STATISTICS
+        SOP_DEFRAG_FRAGMENTATION_BEFORE.add((long) (p_fragmentationBefore * 1000));
+        // #endif /* STATISTICS */
+
+        while (!m_shutdown && fragmentation >= m_fragmentationThreshold) {
+            long sliceEnd = System.nanoTime() + m_timeSliceNs;
+
+            // #ifdef STATISTICS
+            SOP_DEFRAG_SLICE.start();
+            // #endif /* STATISTICS */
+
+            while (System.nanoTime() < sliceEnd) {
+                long chunkID = m_memoryManager.getNextChunkID(m_nextChunkID);
+
+                if (chunkID == ChunkID.INVALID_ID) {
+                    // end of table reached, continue at the beginning
+                    m_nextChunkID = 0;
+                    wrapped = true;
+                    break;
                 }
-            } else {
-                if (m_curTableIndex[i] > CIDTable.ENTRIES_PER_LID_LEVEL) {
-                    m_curTableIndex[i] = 0;
-                } else {
+
+                // chunk IDs are ordered unsigned in the table (node ID in the upper bits)
+                if (wrapped && Long.compareUnsigned(chunkID, startChunkID) >= 0) {
+                    // every chunk was checked once
+                    m_nextChunkID = chunkID;
                     break;
                 }
-            }
-        }
-    }
 
-    public void defragment(final int p_entries) {
+                // #ifdef STATISTICS
+                SOP_DEFRAG_MOVE.start();
+                // #endif /* STATISTICS */
 
-        long address;
-        long newAddress;
-        byte[] data;
+                int moved = m_memoryManager.relocateChunk(chunkID);
 
-        if (!m_initDefragPos) {
-            initDefragmentPosition();
-            m_initDefragPos = true;
-        }
+                // #ifdef STATISTICS
+                SOP_DEFRAG_MOVE.stop();
+                // #endif /* STATISTICS */
 
-        for (int i = 0; i < p_entries; i++) {
+                if (moved > 0) {
+                    movedBytes += moved;
 
-            while (true) {
-                address = getAddressCurrentEntry();
-                if (address != 0) {
-                    break;
+                    // #ifdef STATISTICS
+                    SOP_DEFRAG_MOVED_BYTES.add(moved);
+                    // #endif /* STATISTICS */
                 }
-                moveNextEntry();
+
+                m_nextChunkID = chunkID + 1;
             }
 
-            data = new byte[m_heap.getSizeBlock(address)];
+            // #ifdef STATISTICS
+            SOP_DEFRAG_SLICE.stop();
+            // #endif /* STATISTICS */
 
-            if (m_heap.readBytes(address, 0, data, 0, data.length) != data.length) {
-                // TODO error handling
-            }
+            fragmentation = m_memoryManager.getFragmentation();
 
-            newAddress = m_heap.malloc(data.length);
-            if (m_heap.writeBytes(newAddress, 0, data, 0, data.length) != data.length) {
-                // TODO error handling
+            if (wrapped && Long.compareUnsigned(m_nextChunkID, startChunkID) >= 0) {
+                break;
             }
 
-            replaceAddressCurrenEntry(newAddress);
+            // give concurrent create calls the chance to grab the allocator between two slices
+            Thread.yield();
+        }
 
-            m_heap.free(address);
+        // #ifdef STATISTICS
+        SOP_DEFRAG_FRAGMENTATION_AFTER.add((long) (fragmentation * 1000));
+        // #endif /* STATISTICS */
 
-            moveNextEntry();
-        }
+        // #if LOGGER >= DEBUG
+        LOGGER.debug("Defragmentation finished, moved %d bytes, fragmentation %f -> %f", movedBytes,
+                p_fragmentationBefore, fragmentation);
+        // #endif /* LOGGER >= DEBUG */
     }
 }
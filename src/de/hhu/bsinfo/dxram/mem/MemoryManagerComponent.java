@@ -16,10 +16,14 @@
 
 package de.hhu.bsinfo.dxram.mem;
 
+import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import de.hhu.bsinfo.dxram.DXRAMComponentOrder;
 import de.hhu.bsinfo.dxram.boot.AbstractBootComponent;
+import de.hhu.bsinfo.dxram.data.ChunkAtomicOperation;
+import de.hhu.bsinfo.dxram.data.ChunkAtomicResult;
 import de.hhu.bsinfo.dxram.data.ChunkID;
 import de.hhu.bsinfo.dxram.data.ChunkIDRanges;
 import de.hhu.bsinfo.dxram.data.ChunkState;
@@ -28,6 +32,7 @@ import de.hhu.bsinfo.dxram.engine.AbstractDXRAMComponent;
 import de.hhu.bsinfo.dxram.engine.DXRAMComponentAccessor;
 import de.hhu.bsinfo.dxram.engine.DXRAMContext;
 import de.hhu.bsinfo.dxram.engine.DXRAMRuntimeException;
+import de.hhu.bsinfo.dxutils.ByteBufferHelper;
 import de.hhu.bsinfo.dxutils.serialization.Exportable;
 import de.hhu.bsinfo.dxutils.serialization.Exporter;
 import de.hhu.bsinfo.dxutils.serialization.Importable;
@@ -52,6 +57,9 @@ import de.hhu.bsinfo.soh.StorageUnsafeMemory;
  * @author Stefan Nothaas, stefan.nothaas@hhu.de, 11.11.2015
  */
 public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryManagerComponentConfig> {
+    // stripes for atomic operations on unaligned fields without chunk lock stripes
+    private static final int ATOMIC_LOCK_STRIPES = 64;
+
     static final ThroughputPool SOP_MALLOC = new ThroughputPool(MemoryManagerComponent.class, "Malloc",
             Value.Base.B_10);
 
@@ -90,9 +98,16 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
     private CIDTable m_cidTable;
     //private ReentrantReadWriteLock m_lock;
     private AtomicInteger m_lock;
+    private ChunkLockStripes m_chunkLocks;
+    // serializes atomic operations on unaligned fields if chunk lock stripes are disabled
+    private ChunkLockStripes m_atomicLocks;
+    // owner thread of the allocator lock (chunk lock stripes enabled, only), 0 if not locked
+    private AtomicLong m_allocLock;
+    private Defragmenter m_defragmenter;
     private long m_numActiveChunks;
     private long m_totalActiveChunkMemory;
-    private SmallObjectHeapDataStructureImExporter[] m_imexporter = new SmallObjectHeapDataStructureImExporter[65536];
+    // pooled per thread, works with any thread ID (unlike an array indexed by thread ID)
+    private final ThreadLocal<SmallObjectHeapDataStructureImExporter> m_imexporter = new ThreadLocal<>();
 
     /**
      * Constructor
@@ -184,6 +199,7 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
     public void unlockManage() {
         //m_lock.writeLock().unlock();
 
+        unlockAllocator();
         m_lock.set(0);
     }
 
@@ -196,6 +212,34 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
         m_lock.decrementAndGet();
     }
 
+    /**
+     * Lock the memory for allocating or freeing single chunks (create, remove).
+     * If chunk lock stripes are enabled, this only serializes the allocator and the CIDTable with other
+     * create and remove calls. Concurrent access tasks (get, put) on other chunks are not blocked.
+     * The allocator lock is acquired by the first create or remove call and held until unlockAllocate(). With
+     * multiple heap arenas, create calls allocate the memory before acquiring it.
+     * Otherwise, this is equal to lockManage().
+     */
+    public void lockAllocate() {
+        if (m_chunkLocks == null) {
+            lockManage();
+        } else {
+            lockAccess();
+        }
+    }
+
+    /**
+     * Unlock the memory after allocating or freeing single chunks (create, remove).
+     */
+    public void unlockAllocate() {
+        if (m_chunkLocks == null) {
+            unlockManage();
+        } else {
+            unlockAllocator();
+            unlockAccess();
+        }
+    }
+
     // -----------------------------------------------------------------------------
 
     /**
@@ -349,8 +393,7 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
             SOP_MULTI_CREATE.start(p_sizes.length);
             // #endif /* STATISTICS */
 
-            // get new LIDs
-            lids = m_cidTable.getFreeLIDs(p_sizes.length, p_consecutive);
+            lockAllocatorForMalloc();
 
             // #ifdef STATISTICS
             SOP_MULTI_MALLOC.start(p_sizes.length);
@@ -359,7 +402,12 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
             // #ifdef STATISTICS
             SOP_MULTI_MALLOC.stop();
             // #endif /* STATISTICS */
+
+            lockAllocator();
+
             if (addresses != null) {
+                // get new LIDs
+                lids = m_cidTable.getFreeLIDs(p_sizes.length, p_consecutive);
 
                 for (int i = 0; i < lids.length; i++) {
                     lids[i] = ((long) m_boot.getNodeID() << 48) + lids[i];
@@ -381,11 +429,6 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
                 }
 
             } else {
-                // put lids back
-                for (int i = 0; i < lids.length; i++) {
-                    m_cidTable.putChunkIDForReuse(lids[i]);
-                }
-
                 throw new OutOfKeyValueStoreMemoryException(getStatus());
             }
 
@@ -473,8 +516,7 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
             SOP_MULTI_CREATE.start(p_count);
             // #endif /* STATISTICS */
 
-            // get new LIDs
-            lids = m_cidTable.getFreeLIDs(p_count, p_consecutive);
+            lockAllocatorForMalloc();
 
             // first, try to allocate. maybe early return
             // #ifdef STATISTICS
@@ -484,7 +526,12 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
             // #ifdef STATISTICS
             SOP_MULTI_MALLOC.stop();
             // #endif /* STATISTICS */
+
+            lockAllocator();
+
             if (addresses != null) {
+                // get new LIDs
+                lids = m_cidTable.getFreeLIDs(p_count, p_consecutive);
 
                 for (int i = 0; i < lids.length; i++) {
                     lids[i] = ((long) m_boot.getNodeID() << 48) + lids[i];
@@ -506,11 +553,6 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
                 }
 
             } else {
-                // put lids back
-                for (int i = 0; i < lids.length; i++) {
-                    m_cidTable.putChunkIDForReuse(lids[i]);
-                }
-
                 throw new OutOfKeyValueStoreMemoryException(getStatus());
             }
 
@@ -531,7 +573,7 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
 
     /**
      * Create a new chunk.
-     * This is a management call and has to be locked using lockManage().
+     * This is a management call and has to be locked using lockManage() or lockAllocate().
      *
      * @param p_size
      *         Size in bytes of the payload the chunk contains.
@@ -553,8 +595,7 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
             SOP_CREATE.start(1);
             // #endif /* STATISTICS */
 
-            // get new LID from CIDTable
-            lid = m_cidTable.getFreeLID();
+            lockAllocatorForMalloc();
 
             // first, try to allocate. maybe early return
             // #ifdef STATISTICS
@@ -564,7 +605,12 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
             // #ifdef STATISTICS
             SOP_MALLOC.stop();
             // #endif /* STATISTICS */
+
+            lockAllocator();
+
             if (address >= 0) {
+                // get new LID from CIDTable
+                lid = m_cidTable.getFreeLID();
                 chunkID = ((long) m_boot.getNodeID() << 48) + lid;
                 // register new chunk in cid table
                 if (!m_cidTable.set(chunkID, address)) {
@@ -578,9 +624,6 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
                     m_totalActiveChunkMemory += p_size;
                 }
             } else {
-                // put lid back
-                m_cidTable.putChunkIDForReuse(lid);
-
                 throw new OutOfKeyValueStoreMemoryException(getStatus());
             }
 
@@ -624,18 +667,24 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
                 SOP_GET.start(1);
                 // #endif /* STATISTICS */
 
-                address = m_cidTable.get(p_dataStructure.getID());
-                if (address > 0) {
-                    assert m_rawMemory.getSizeBlock(address) == p_dataStructure.sizeofObject();
+                lockChunkAccess(p_dataStructure.getID());
 
-                    // pool the im/exporters
-                    SmallObjectHeapDataStructureImExporter importer = getImExporter(address);
-                    importer.importObject(p_dataStructure);
+                try {
+                    address = m_cidTable.get(p_dataStructure.getID());
+                    if (address > 0) {
+                        assert m_rawMemory.getSizeBlock(address) == p_dataStructure.sizeofObject();
 
-                    p_dataStructure.setState(ChunkState.OK);
-                } else {
-                    ret = false;
-                    p_dataStructure.setState(ChunkState.DOES_NOT_EXIST);
+                        // pool the im/exporters
+                        SmallObjectHeapDataStructureImExporter importer = getImExporter(address);
+                        importer.importObject(p_dataStructure);
+
+                        p_dataStructure.setState(ChunkState.OK);
+                    } else {
+                        ret = false;
+                        p_dataStructure.setState(ChunkState.DOES_NOT_EXIST);
+                    }
+                } finally {
+                    unlockChunkAccess(p_dataStructure.getID());
                 }
 
                 // #ifdef STATISTICS
@@ -679,20 +728,26 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
                 SOP_GET.start(1);
                 // #endif /* STATISTICS */
 
-                address = m_cidTable.get(p_chunkID);
-                if (address > 0) {
-                    int chunkSize = m_rawMemory.getSizeBlock(address);
-                    ret = new byte[chunkSize];
-
-                    // pool the im/exporters
-                    SmallObjectHeapDataStructureImExporter importer = getImExporter(address);
-                    int retSize = importer.readBytes(ret);
-                    if (retSize != chunkSize) {
-                        throw new DXRAMRuntimeException("Unknown error, importer size " + retSize + " != chunk size " +
-                                chunkSize);
+                lockChunkAccess(p_chunkID);
+
+                try {
+                    address = m_cidTable.get(p_chunkID);
+                    if (address > 0) {
+                        int chunkSize = m_rawMemory.getSizeBlock(address);
+                        ret = new byte[chunkSize];
+
+                        // pool the im/exporters
+                        SmallObjectHeapDataStructureImExporter importer = getImExporter(address);
+                        int retSize = importer.readBytes(ret);
+                        if (retSize != chunkSize) {
+                            throw new DXRAMRuntimeException("Unknown error, importer size " + retSize +
+                                    " != chunk size " + chunkSize);
+                        }
+                    } else {
+                        ret = null;
                     }
-                } else {
-                    ret = null;
+                } finally {
+                    unlockChunkAccess(p_chunkID);
                 }
 
                 // #ifdef STATISTICS
@@ -732,23 +787,87 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
             SOP_GET.start(1);
             // #endif /* STATISTICS */
 
-            address = m_cidTable.get(p_chunkID);
-            if (address > 0) {
-                int chunkSize = m_rawMemory.getSizeBlock(address);
+            lockChunkAccess(p_chunkID);
+
+            try {
+                address = m_cidTable.get(p_chunkID);
+                if (address > 0) {
+                    int chunkSize = m_rawMemory.getSizeBlock(address);
 
-                if (p_offset + chunkSize > p_bufferSize) {
-                    ret = 0;
+                    if (p_offset + chunkSize > p_bufferSize) {
+                        ret = 0;
+                    } else {
+                        // pool the im/exporters
+                        SmallObjectHeapDataStructureImExporter importer = getImExporter(address);
+                        ret = importer.readBytes(p_buffer, p_offset, chunkSize);
+                        if (ret != chunkSize) {
+                            throw new DXRAMRuntimeException("Unknown error, importer size " + ret +
+                                    " != chunk size " + chunkSize);
+                        }
+                    }
                 } else {
-                    // pool the im/exporters
-                    SmallObjectHeapDataStructureImExporter importer = getImExporter(address);
-                    ret = importer.readBytes(p_buffer, p_offset, chunkSize);
-                    if (ret != chunkSize) {
-                        throw new DXRAMRuntimeException("Unknown error, importer size " + ret + " != chunk size " +
-                                chunkSize);
+                    ret = -1;
+                }
+            } finally {
+                unlockChunkAccess(p_chunkID);
+            }
+
+            // #ifdef STATISTICS
+            SOP_GET.stop();
+            // #endif /* STATISTICS */
+        } catch (final MemoryRuntimeException e) {
+            handleMemDumpOnError(e, true);
+            throw e;
+        }
+
+        return ret;
+    }
+
+    /**
+     * Get the binary data of a chunk when the chunk size is unknown. The data is copied to the native address
+     * without an intermediate heap buffer.
+     * This is an access call and has to be locked using lockAccess().
+     *
+     * @param p_chunkID
+     *         Read the chunk data of the specified ID
+     * @param p_bufferAddress
+     *         Native address to read the chunk data to
+     * @param p_offset
+     *         Offset to add to the address
+     * @param p_bufferSize
+     *         Size of the buffer at the address (including the offset)
+     * @return the number of read bytes, 0 if the buffer is too small, -1 if the chunk does not exist
+     */
+    public int get(final long p_chunkID, final long p_bufferAddress, final int p_offset, final int p_bufferSize) {
+        int ret;
+        long address;
+
+        try {
+            if (p_chunkID == ChunkID.INVALID_ID) {
+                return -1;
+            }
+
+            // #ifdef STATISTICS
+            SOP_GET.start(1);
+            // #endif /* STATISTICS */
+
+            lockChunkAccess(p_chunkID);
+
+            try {
+                address = m_cidTable.get(p_chunkID);
+                if (address > 0) {
+                    int chunkSize = m_rawMemory.getSizeBlock(address);
+
+                    if (p_offset + chunkSize > p_bufferSize) {
+                        ret = 0;
+                    } else {
+                        ret = m_rawMemory.readBytes(address, 0, p_bufferAddress, p_offset, chunkSize);
                     }
+                } else {
+                    ret = -1;
                 }
-            } else {
-                ret = -1;
+            } finally {
+                unlockChunkAccess(p_chunkID);
             }
 
             // #ifdef STATISTICS
@@ -762,6 +881,34 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
         return ret;
     }
 
+    /**
+     * Get the binary data of a chunk into a buffer. The data is written at the position of the buffer which is
+     * advanced by the chunk size. Direct buffers are filled without an intermediate heap buffer.
+     * This is an access call and has to be locked using lockAccess().
+     *
+     * @param p_chunkID
+     *         Read the chunk data of the specified ID
+     * @param p_buffer
+     *         Buffer to read the chunk data to
+     * @return the number of read bytes, 0 if the remaining buffer is too small, -1 if the chunk does not exist
+     */
+    public int get(final long p_chunkID, final ByteBuffer p_buffer) {
+        int ret;
+
+        if (p_buffer.isDirect()) {
+            ret = get(p_chunkID, ByteBufferHelper.getDirectAddress(p_buffer), p_buffer.position(), p_buffer.limit());
+        } else {
+            ret = get(p_chunkID, p_buffer.array(), p_buffer.arrayOffset() + p_buffer.position(),
+                    p_buffer.arrayOffset() + p_buffer.limit());
+        }
+
+        if (ret > 0) {
+            p_buffer.position(p_buffer.position() + ret);
+        }
+
+        return ret;
+    }
+
     /**
      * Put data of the a data structure/chunk to the memory
      * This is an access call and has to be locked using lockAccess().
@@ -789,18 +936,24 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
                 SOP_PUT.start(1);
                 // #endif /* STATISTICS */
 
-                address = m_cidTable.get(p_dataStructure.getID());
-                if (address > 0) {
-                    assert m_rawMemory.getSizeBlock(address) == p_dataStructure.sizeofObject();
+                lockChunkAccess(p_dataStructure.getID());
 
-                    // pool the im/exporters
-                    SmallObjectHeapDataStructureImExporter exporter = getImExporter(address);
-                    exporter.exportObject(p_dataStructure);
+                try {
+                    address = m_cidTable.get(p_dataStructure.getID());
+                    if (address > 0) {
+                        assert m_rawMemory.getSizeBlock(address) == p_dataStructure.sizeofObject();
 
-                    p_dataStructure.setState(ChunkState.OK);
-                } else {
-                    ret = false;
-                    p_dataStructure.setState(ChunkState.DOES_NOT_EXIST);
+                        // pool the im/exporters
+                        SmallObjectHeapDataStructureImExporter exporter = getImExporter(address);
+                        exporter.exportObject(p_dataStructure);
+
+                        p_dataStructure.setState(ChunkState.OK);
+                    } else {
+                        ret = false;
+                        p_dataStructure.setState(ChunkState.DOES_NOT_EXIST);
+                    }
+                } finally {
+                    unlockChunkAccess(p_dataStructure.getID());
                 }
 
                 // #ifdef STATISTICS
@@ -819,6 +972,158 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
         return ret;
     }
 
+    /**
+     * Batch get of multiple data structures. Cheaper than calling get for each data structure: The IDs are processed
+     * in sorted order to translate neighboring IDs with a single walk of the CIDTable and the statistics are updated
+     * once per batch.
+     * This is an access call and has to be locked using lockAccess().
+     *
+     * @param p_dataStructures
+     *         Data structures to read specified by their IDs. Null values are ignored. The state of each data
+     *         structure is set to OK, DOES_NOT_EXIST or INVALID_ID
+     * @param p_offset
+     *         Start offset within the array
+     * @param p_count
+     *         Number of data structures to read
+     * @return Number of data structures read successfully
+     */
+    public int get(final DataStructure[] p_dataStructures, final int p_offset, final int p_count) {
+        int ret;
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("ENTER get p_dataStructures %d", p_count);
+        // #endif /* LOGGER == TRACE */
+
+        // #ifdef STATISTICS
+        SOP_GET.start(p_count);
+        // #endif /* STATISTICS */
+
+        ret = batchAccess(p_dataStructures, p_offset, p_count, false);
+
+        // #ifdef STATISTICS
+        SOP_GET.stop();
+        // #endif /* STATISTICS */
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("EXIT get p_dataStructures %d", p_count);
+        // #endif /* LOGGER == TRACE */
+
+        return ret;
+    }
+
+    /**
+     * Batch put of multiple data structures. Cheaper than calling put for each data structure (see batch get).
+     * This is an access call and has to be locked using lockAccess().
+     * Note: lockAccess() does NOT take care of data races of the data to write.
+     * The caller has to take care of proper locking to avoid consistency issue with his data.
+     *
+     * @param p_dataStructures
+     *         Data structures to put. Null values are ignored. The state of each data structure is set to OK,
+     *         DOES_NOT_EXIST or INVALID_ID
+     * @param p_offset
+     *         Start offset within the array
+     * @param p_count
+     *         Number of data structures to put
+     * @return Number of data structures put successfully
+     */
+    public int put(final DataStructure[] p_dataStructures, final int p_offset, final int p_count) {
+        int ret;
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("ENTER put p_dataStructures %d", p_count);
+        // #endif /* LOGGER == TRACE */
+
+        // #ifdef STATISTICS
+        SOP_PUT.start(p_count);
+        // #endif /* STATISTICS */
+
+        ret = batchAccess(p_dataStructures, p_offset, p_count, true);
+
+        // #ifdef STATISTICS
+        SOP_PUT.stop();
+        // #endif /* STATISTICS */
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("EXIT put p_dataStructures %d", p_count);
+        // #endif /* LOGGER == TRACE */
+
+        return ret;
+    }
+
+    /**
+     * Batch get of the binary data of multiple chunks when the chunk sizes are unknown (see batch get of data
+     * structures).
+     * This is an access call and has to be locked using lockAccess().
+     *
+     * @param p_chunkIDs
+     *         Chunk IDs of the chunks to read
+     * @param p_data
+     *         Array (same length as the chunk ID array) to return the payloads in, null entries for chunks which
+     *         do not exist
+     * @return Number of chunks read successfully
+     */
+    public int get(final long[] p_chunkIDs, final byte[][] p_data) {
+        int ret;
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("ENTER get p_chunkIDs %d", p_chunkIDs.length);
+        // #endif /* LOGGER == TRACE */
+
+        // #ifdef STATISTICS
+        SOP_GET.start(p_chunkIDs.length);
+        // #endif /* STATISTICS */
+
+        ret = batchAccess(p_chunkIDs, p_data, null, false);
+
+        // #ifdef STATISTICS
+        SOP_GET.stop();
+        // #endif /* STATISTICS */
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("EXIT get p_chunkIDs %d", p_chunkIDs.length);
+        // #endif /* LOGGER == TRACE */
+
+        return ret;
+    }
+
+    /**
+     * Batch put of binary data to multiple chunks (see batch get of data structures).
+     * This is an access call and has to be locked using lockAccess().
+     * Note: lockAccess() does NOT take care of data races of the data to write.
+     * The caller has to take care of proper locking to avoid consistency issue with his data.
+     *
+     * @param p_chunkIDs
+     *         Chunk IDs of the chunks to write
+     * @param p_data
+     *         Payloads to write (same order as the chunk IDs)
+     * @param p_states
+     *         Optional (null) array to return the state of each chunk (OK, DOES_NOT_EXIST or INVALID_ID)
+     * @return Number of chunks written successfully
+     */
+    public int put(final long[] p_chunkIDs, final byte[][] p_data, final ChunkState[] p_states) {
+        int ret;
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("ENTER put p_chunkIDs %d", p_chunkIDs.length);
+        // #endif /* LOGGER == TRACE */
+
+        // #ifdef STATISTICS
+        SOP_PUT.start(p_chunkIDs.length);
+        // #endif /* STATISTICS */
+
+        ret = batchAccess(p_chunkIDs, p_data, p_states, true);
+
+        // #ifdef STATISTICS
+        SOP_PUT.stop();
+        // #endif /* STATISTICS */
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("EXIT put p_chunkIDs %d", p_chunkIDs.length);
+        // #endif /* LOGGER == TRACE */
+
+        return ret;
+    }
+
     /**
      * Put some data into a chunk.
      * This is an access call and has to be locked using lockAccess().
@@ -867,13 +1172,19 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
                 SOP_PUT.start(1);
                 // #endif /* STATISTICS */
 
-                address = m_cidTable.get(p_chunkID);
-                if (address > 0) {
-                    assert p_offset + p_length <= m_rawMemory.getSizeBlock(address);
+                lockChunkAccess(p_chunkID);
 
-                    m_rawMemory.writeBytes(address, 0, p_data, p_offset, p_length);
-                } else {
-                    ret = false;
+                try {
+                    address = m_cidTable.get(p_chunkID);
+                    if (address > 0) {
+                        assert p_offset + p_length <= m_rawMemory.getSizeBlock(address);
+
+                        m_rawMemory.writeBytes(address, 0, p_data, p_offset, p_length);
+                    } else {
+                        ret = false;
+                    }
+                } finally {
+                    unlockChunkAccess(p_chunkID);
                 }
 
                 // #ifdef STATISTICS
@@ -893,58 +1204,152 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
     }
 
     /**
-     * Removes a Chunk from the memory
-     * This is a management call and has to be locked using lockManage().
+     * Put data from a native address into a chunk without an intermediate heap buffer.
+     * This is an access call and has to be locked using lockAccess().
+     * Note: lockAccess() does NOT take care of data races of the data to write.
+     * The caller has to take care of proper locking to avoid consistency issue with his data.
      *
      * @param p_chunkID
-     *         the ChunkID of the Chunk
-     * @param p_wasMigrated
-     *         default value for this parameter should be false!
-     *         if chunk was deleted during migration this flag should be set to true
-     * @return The size of the deleted chunk if removing the data was successful, -1 if the chunk with the specified id
-     * does not exist
+     *         Chunk ID for the data to put
+     * @param p_dataAddress
+     *         Native address of the chunk data to put
+     * @param p_offset
+     *         Offset to add to the address
+     * @param p_length
+     *         Number of bytes to put
+     * @return True if putting the data was successful, false if no chunk with the specified id exists
      */
-    public int remove(final long p_chunkID, final boolean p_wasMigrated) {
-        int ret = -1;
-        long addressDeletedChunk;
-
-        // #if LOGGER == TRACE
-        LOGGER.trace("ENTER remove p_chunkID 0x%X, p_wasMigrated %d", p_chunkID, p_wasMigrated);
-        // #endif /* LOGGER == TRACE */
+    public boolean put(final long p_chunkID, final long p_dataAddress, final int p_offset, final int p_length) {
+        long address;
+        boolean ret = true;
 
         try {
             if (p_chunkID == ChunkID.INVALID_ID) {
-                ret = -1;
+                ret = false;
             } else {
                 // #ifdef STATISTICS
-                SOP_REMOVE.start(1);
+                SOP_PUT.start(1);
                 // #endif /* STATISTICS */
 
-                // Get and delete the address from the CIDTable, mark as zombie first
-                addressDeletedChunk = m_cidTable.delete(p_chunkID, true);
-                if (addressDeletedChunk > 0) {
+                lockChunkAccess(p_chunkID);
 
-                    if (p_wasMigrated) {
-                        // deleted and previously migrated chunks don't end up in the LID store
-                        m_cidTable.delete(p_chunkID, false);
+                try {
+                    address = m_cidTable.get(p_chunkID);
+                    if (address > 0) {
+                        assert p_length <= m_rawMemory.getSizeBlock(address);
+
+                        m_rawMemory.writeBytes(address, 0, p_dataAddress, p_offset, p_length);
                     } else {
-                        // more space for another zombie for reuse in LID store?
-                        if (m_cidTable.putChunkIDForReuse(ChunkID.getLocalID(p_chunkID))) {
-                            // kill zombie entry
-                            m_cidTable.delete(p_chunkID, false);
-                        } else {
-                            // no space for zombie in LID store, keep him "alive" in table
-                        }
+                        ret = false;
                     }
-                    ret = m_rawMemory.getSizeBlock(addressDeletedChunk);
-                    // #ifdef STATISTICS
-                    SOP_FREE.start(1);
-                    // #endif /* STATISTICS */
-                    m_rawMemory.free(addressDeletedChunk);
-                    // #ifdef STATISTICS
-                    SOP_FREE.stop();
-                    // #endif /* STATISTICS */
-                    m_numActiveChunks--;
+                } finally {
+                    unlockChunkAccess(p_chunkID);
+                }
+
+                // #ifdef STATISTICS
+                SOP_PUT.stop();
+                // #endif /* STATISTICS */
+            }
+        } catch (final MemoryRuntimeException e) {
+            handleMemDumpOnError(e, true);
+            throw e;
+        }
+
+        return ret;
+    }
+
+    /**
+     * Put the remaining data of a buffer into a chunk. The position of the buffer is advanced by the number of
+     * bytes put. Direct buffers are read without an intermediate heap buffer.
+     * This is an access call and has to be locked using lockAccess().
+     * Note: lockAccess() does NOT take care of data races of the data to write.
+     * The caller has to take care of proper locking to avoid consistency issue with his data.
+     *
+     * @param p_chunkID
+     *         Chunk ID for the data to put
+     * @param p_buffer
+     *         Buffer with the chunk data to put
+     * @return True if putting the data was successful, false if no chunk with the specified id exists
+     */
+    public boolean put(final long p_chunkID, final ByteBuffer p_buffer) {
+        boolean ret;
+
+        if (p_buffer.isDirect()) {
+            ret = put(p_chunkID, ByteBufferHelper.getDirectAddress(p_buffer), p_buffer.position(),
+                    p_buffer.remaining());
+        } else {
+            ret = put(p_chunkID, p_buffer.array(), p_buffer.arrayOffset() + p_buffer.position(),
+                    p_buffer.remaining());
+        }
+
+        if (ret) {
+            p_buffer.position(p_buffer.limit());
+        }
+
+        return ret;
+    }
+
+    /**
+     * Removes a Chunk from the memory
+     * This is a management call and has to be locked using lockManage() or lockAllocate().
+     *
+     * @param p_chunkID
+     *         the ChunkID of the Chunk
+     * @param p_wasMigrated
+     *         default value for this parameter should be false!
+     *         if chunk was deleted during migration this flag should be set to true
+     * @return The size of the deleted chunk if removing the data was successful, -1 if the chunk with the specified id
+     * does not exist
+     */
+    public int remove(final long p_chunkID, final boolean p_wasMigrated) {
+        int ret = -1;
+        long addressDeletedChunk;
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("ENTER remove p_chunkID 0x%X, p_wasMigrated %d", p_chunkID, p_wasMigrated);
+        // #endif /* LOGGER == TRACE */
+
+        try {
+            if (p_chunkID == ChunkID.INVALID_ID) {
+                ret = -1;
+            } else {
+                // #ifdef STATISTICS
+                SOP_REMOVE.start(1);
+                // #endif /* STATISTICS */
+
+                lockAllocator();
+
+                // Get and delete the address from the CIDTable, mark as zombie first
+                // wait for concurrent accesses to the chunk to finish before the block is free'd
+                lockChunkManage(p_chunkID);
+                try {
+                    addressDeletedChunk = m_cidTable.delete(p_chunkID, true);
+                } finally {
+                    unlockChunkManage(p_chunkID);
+                }
+                if (addressDeletedChunk > 0) {
+
+                    if (p_wasMigrated) {
+                        // deleted and previously migrated chunks don't end up in the LID store
+                        m_cidTable.delete(p_chunkID, false);
+                    } else {
+                        // more space for another zombie for reuse in LID store?
+                        if (m_cidTable.putChunkIDForReuse(ChunkID.getLocalID(p_chunkID))) {
+                            // kill zombie entry
+                            m_cidTable.delete(p_chunkID, false);
+                        } else {
+                            // no space for zombie in LID store, keep him "alive" in table
+                        }
+                    }
+                    ret = m_rawMemory.getSizeBlock(addressDeletedChunk);
+                    // #ifdef STATISTICS
+                    SOP_FREE.start(1);
+                    // #endif /* STATISTICS */
+                    m_rawMemory.free(addressDeletedChunk);
+                    // #ifdef STATISTICS
+                    SOP_FREE.stop();
+                    // #endif /* STATISTICS */
+                    m_numActiveChunks--;
                     m_totalActiveChunkMemory -= ret;
                 }
 
@@ -1111,6 +1516,139 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
 
     // -----------------------------------------------------------------------------
 
+    /**
+     * Read a part (offset and length) of a chunk. Use this to avoid reading a whole chunk if a slice of it is
+     * needed, only.
+     * This is an access call and has to be locked using lockAccess().
+     *
+     * @param p_chunkID
+     *         Chunk id of the chunk to read.
+     * @param p_offset
+     *         Offset within the chunk to start reading at.
+     * @param p_buffer
+     *         Buffer to read the data into.
+     * @param p_bufferOffset
+     *         Offset within the buffer.
+     * @param p_length
+     *         Number of bytes to read.
+     * @return OK on success, DOES_NOT_EXIST if the chunk is not stored here, INVALID_RANGE if the part exceeds
+     * the chunk
+     */
+    public ChunkState getPart(final long p_chunkID, final int p_offset, final byte[] p_buffer,
+            final int p_bufferOffset, final int p_length) {
+        if (p_chunkID == ChunkID.INVALID_ID) {
+            return ChunkState.INVALID_ID;
+        }
+
+        lockChunkAccess(p_chunkID);
+
+        try {
+            long address = m_cidTable.get(p_chunkID);
+            if (address <= 0) {
+                return ChunkState.DOES_NOT_EXIST;
+            }
+
+            if (p_offset < 0 || p_length < 0 || (long) p_offset + p_length > m_rawMemory.getSizeBlock(address)) {
+                return ChunkState.INVALID_RANGE;
+            }
+
+            m_rawMemory.readBytes(address, p_offset, p_buffer, p_bufferOffset, p_length);
+
+            return ChunkState.OK;
+        } catch (final MemoryRuntimeException e) {
+            handleMemDumpOnError(e, true);
+            throw e;
+        } finally {
+            unlockChunkAccess(p_chunkID);
+        }
+    }
+
+    /**
+     * Write a part (offset and length) of a chunk. Use this to avoid writing a whole chunk if a slice of it is
+     * modified, only.
+     * This is an access call and has to be locked using lockAccess().
+     * Note: lockAccess() does NOT take care of data races of the data to write.
+     * The caller has to take care of proper locking to avoid consistency issue with his data.
+     *
+     * @param p_chunkID
+     *         Chunk id of the chunk to write.
+     * @param p_offset
+     *         Offset within the chunk to start writing at.
+     * @param p_data
+     *         Array with the data to write.
+     * @param p_dataOffset
+     *         Offset within the array.
+     * @param p_length
+     *         Number of bytes to write.
+     * @return OK on success, DOES_NOT_EXIST if the chunk is not stored here, INVALID_RANGE if the part exceeds
+     * the chunk
+     */
+    public ChunkState putPart(final long p_chunkID, final int p_offset, final byte[] p_data, final int p_dataOffset,
+            final int p_length) {
+        if (p_chunkID == ChunkID.INVALID_ID) {
+            return ChunkState.INVALID_ID;
+        }
+
+        lockChunkAccess(p_chunkID);
+
+        try {
+            long address = m_cidTable.get(p_chunkID);
+            if (address <= 0) {
+                return ChunkState.DOES_NOT_EXIST;
+            }
+
+            if (p_offset < 0 || p_length < 0 || (long) p_offset + p_length > m_rawMemory.getSizeBlock(address)) {
+                return ChunkState.INVALID_RANGE;
+            }
+
+            m_rawMemory.writeBytes(address, p_offset, p_data, p_dataOffset, p_length);
+
+            return ChunkState.OK;
+        } catch (final MemoryRuntimeException e) {
+            handleMemDumpOnError(e, true);
+            throw e;
+        } finally {
+            unlockChunkAccess(p_chunkID);
+        }
+    }
+
+    /**
+     * Execute an atomic operation on a 4 or 8 byte field of a chunk. Fields aligned to their size in memory use the
+     * atomic instructions of the CPU. Chunks are not aligned on the heap, so unaligned fields are read, modified and
+     * written back while holding the chunk's stripe lock exclusively. Either way, the operation is atomic with
+     * respect to other atomic operations on the same field (on any thread).
+     * This is an access call and has to be locked using lockAccess().
+     *
+     * @param p_chunkID
+     *         Chunk id of the chunk to operate on.
+     * @param p_offset
+     *         Offset of the field within the chunk.
+     * @param p_size
+     *         Size of the field (4 or 8 bytes).
+     * @param p_operation
+     *         Operation to execute.
+     * @param p_expected
+     *         Expected value for compare and swap, ignored otherwise.
+     * @param p_operand
+     *         Value to set or to add.
+     * @return Result with the previous value of the field. DOES_NOT_EXIST if the chunk is not stored here,
+     * INVALID_RANGE if the field exceeds the chunk or the size is invalid
+     */
+    public ChunkAtomicResult atomic(final long p_chunkID, final int p_offset, final int p_size,
+            final ChunkAtomicOperation p_operation, final long p_expected, final long p_operand) {
+        if (p_chunkID == ChunkID.INVALID_ID) {
+            return new ChunkAtomicResult(ChunkState.INVALID_ID, 0);
+        }
+
+        ChunkAtomicResult result = atomic(p_chunkID, p_offset, p_size, p_operation, p_expected, p_operand, false);
+        if (result == null) {
+            // unaligned field, the chunk might have been moved in between but the exclusive path handles any address
+            result = atomic(p_chunkID, p_offset, p_size, p_operation, p_expected, p_operand, true);
+        }
+
+        return result;
+    }
+
     /**
      * Read a single byte from a chunk. Use this if you need to access a very specific value
      * once to avoid reading a huge chunk. Prefer the get-method if more data of the chunk is needed.
@@ -1122,6 +1660,8 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
      * @return The value read at the offset of the chunk.
      */
     public byte readByte(final long p_chunkID, final int p_offset) {
+        lockChunkAccess(p_chunkID);
+
         try {
             long address = m_cidTable.get(p_chunkID);
             if (address > 0) {
@@ -1132,6 +1672,8 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
         } catch (final MemoryRuntimeException e) {
             handleMemDumpOnError(e, true);
             throw e;
+        } finally {
+            unlockChunkAccess(p_chunkID);
         }
     }
 
@@ -1146,6 +1688,8 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
      * @return The value read at the offset of the chunk.
      */
     public short readShort(final long p_chunkID, final int p_offset) {
+        lockChunkAccess(p_chunkID);
+
         try {
             long address = m_cidTable.get(p_chunkID);
             if (address > 0) {
@@ -1156,6 +1700,8 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
         } catch (final MemoryRuntimeException e) {
             handleMemDumpOnError(e, true);
             throw e;
+        } finally {
+            unlockChunkAccess(p_chunkID);
         }
     }
 
@@ -1170,6 +1716,8 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
      * @return The value read at the offset of the chunk.
      */
     public int readInt(final long p_chunkID, final int p_offset) {
+        lockChunkAccess(p_chunkID);
+
         try {
             long address = m_cidTable.get(p_chunkID);
             if (address > 0) {
@@ -1180,6 +1728,8 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
         } catch (final MemoryRuntimeException e) {
             handleMemDumpOnError(e, true);
             throw e;
+        } finally {
+            unlockChunkAccess(p_chunkID);
         }
     }
 
@@ -1194,6 +1744,8 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
      * @return The value read at the offset of the chunk.
      */
     public long readLong(final long p_chunkID, final int p_offset) {
+        lockChunkAccess(p_chunkID);
+
         try {
             long address = m_cidTable.get(p_chunkID);
             if (address > 0) {
@@ -1204,6 +1756,8 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
         } catch (final MemoryRuntimeException e) {
             handleMemDumpOnError(e, true);
             throw e;
+        } finally {
+            unlockChunkAccess(p_chunkID);
         }
     }
 
@@ -1220,6 +1774,8 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
      * @return True if writing chunk was successful, false otherwise.
      */
     public boolean writeByte(final long p_chunkID, final int p_offset, final byte p_value) {
+        lockChunkAccess(p_chunkID);
+
         try {
             long address = m_cidTable.get(p_chunkID);
             if (address > 0) {
@@ -1230,6 +1786,8 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
         } catch (final MemoryRuntimeException e) {
             handleMemDumpOnError(e, true);
             throw e;
+        } finally {
+            unlockChunkAccess(p_chunkID);
         }
 
         return true;
@@ -1248,6 +1806,8 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
      * @return True if writing chunk was successful, false otherwise.
      */
     public boolean writeShort(final long p_chunkID, final int p_offset, final short p_value) {
+        lockChunkAccess(p_chunkID);
+
         try {
             long address = m_cidTable.get(p_chunkID);
             if (address > 0) {
@@ -1258,6 +1818,8 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
         } catch (final MemoryRuntimeException e) {
             handleMemDumpOnError(e, true);
             throw e;
+        } finally {
+            unlockChunkAccess(p_chunkID);
         }
 
         return true;
@@ -1276,6 +1838,8 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
      * @return True if writing chunk was successful, false otherwise.
      */
     public boolean writeInt(final long p_chunkID, final int p_offset, final int p_value) {
+        lockChunkAccess(p_chunkID);
+
         try {
             long address = m_cidTable.get(p_chunkID);
             if (address > 0) {
@@ -1286,6 +1850,8 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
         } catch (final MemoryRuntimeException e) {
             handleMemDumpOnError(e, true);
             throw e;
+        } finally {
+            unlockChunkAccess(p_chunkID);
         }
 
         return true;
@@ -1304,6 +1870,8 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
      * @return True if writing chunk was successful, false otherwise.
      */
     public boolean writeLong(final long p_chunkID, final int p_offset, final long p_value) {
+        lockChunkAccess(p_chunkID);
+
         try {
             long address = m_cidTable.get(p_chunkID);
             if (address > 0) {
@@ -1314,6 +1882,8 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
         } catch (final MemoryRuntimeException e) {
             handleMemDumpOnError(e, true);
             throw e;
+        } finally {
+            unlockChunkAccess(p_chunkID);
         }
 
         return true;
@@ -1344,6 +1914,32 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
         return address > 0;
     }
 
+    /**
+     * Get the size of a chunk's payload.
+     * This is an access call and has to be locked using lockAccess().
+     *
+     * @param p_chunkID
+     *         the ChunkID
+     * @return Size of the chunk in bytes or -1 if the chunk is not stored here
+     */
+    public int getSize(final long p_chunkID) {
+        lockChunkAccess(p_chunkID);
+
+        try {
+            long address = m_cidTable.get(p_chunkID);
+            if (address <= 0) {
+                return -1;
+            }
+
+            return m_rawMemory.getSizeBlock(address);
+        } catch (final MemoryRuntimeException e) {
+            handleMemDumpOnError(e, true);
+            throw e;
+        } finally {
+            unlockChunkAccess(p_chunkID);
+        }
+    }
+
     /**
      * Returns whether this Chunk was migrated here or not
      *
@@ -1357,12 +1953,14 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
 
     /**
      * Removes the ChunkID of a deleted Chunk that was migrated
-     * This is a management call and has to be locked using lockManage().
+     * This is a management call and has to be locked using lockManage() or lockAllocate().
      *
      * @param p_chunkID
      *         the ChunkID
      */
     public void prepareChunkIDForReuse(final long p_chunkID) {
+        lockAllocator();
+
         // more space for another zombie for reuse in LID store?
         if (m_cidTable.putChunkIDForReuse(ChunkID.getLocalID(p_chunkID))) {
             // kill zombie entry
@@ -1373,6 +1971,83 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
         }
     }
 
+    /**
+     * Get the current fragmentation of the key value store
+     *
+     * @return Fragmentation (0.0 - 1.0)
+     */
+    double getFragmentation() {
+        return m_rawMemory.getStatus().getFragmentation();
+    }
+
+    /**
+     * Get the next chunk ID stored in the CIDTable (local, migrated or recovered chunk). Used by the defragmenter to
+     * iterate all chunks
+     *
+     * @param p_chunkID
+     *         Chunk ID to start at (inclusive)
+     * @return Next chunk ID or ChunkID.INVALID_ID if there are no more chunks
+     */
+    long getNextChunkID(final long p_chunkID) {
+        lockAccess();
+
+        try {
+            return m_cidTable.getNextChunkID(p_chunkID);
+        } finally {
+            unlockAccess();
+        }
+    }
+
+    /**
+     * Move a chunk to a free block at a lower address of the heap, if there is one. Used by the defragmenter.
+     * The chunk is locked exclusively, the allocator and CIDTable are serialized with create and remove calls.
+     *
+     * @param p_chunkID
+     *         Chunk ID of the chunk to move
+     * @return Number of bytes moved, 0 if the chunk was not moved
+     */
+    int relocateChunk(final long p_chunkID) {
+        int moved = 0;
+
+        lockAllocate();
+        lockAllocator();
+        lockChunkManage(p_chunkID);
+
+        try {
+            long address = m_cidTable.get(p_chunkID);
+
+            // chunk might have been removed in the meantime
+            if (address > 0 && address != CIDTable.ZOMBIE_ADDRESS) {
+                int size = m_rawMemory.getSizeBlock(address);
+                long newAddress = m_rawMemory.malloc(size);
+
+                if (newAddress != SmallObjectHeap.INVALID_ADDRESS) {
+                    if (newAddress < address) {
+                        byte[] data = new byte[size];
+
+                        m_rawMemory.readBytes(address, 0, data, 0, size);
+                        m_rawMemory.writeBytes(newAddress, 0, data, 0, size);
+                        m_cidTable.set(p_chunkID, newAddress);
+                        m_rawMemory.free(address);
+
+                        moved = size;
+                    } else {
+                        // no better location for this chunk
+                        m_rawMemory.free(newAddress);
+                    }
+                }
+            }
+        } catch (final MemoryRuntimeException e) {
+            handleMemDumpOnError(e, false);
+            throw e;
+        } finally {
+            unlockChunkManage(p_chunkID);
+            unlockAllocate();
+        }
+
+        return moved;
+    }
+
     @Override
     protected boolean supportsSuperpeer() {
         return false;
@@ -1392,11 +2067,30 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
     protected boolean initComponent(final DXRAMContext.Config p_config) {
         initMemory();
 
+        if (getConfig().isDefragmentationEnabled()) {
+            m_defragmenter = new Defragmenter(this, getConfig().getDefragmentationThreshold(),
+                    getConfig().getDefragmentationTimeSlice().getMs(),
+                    getConfig().getDefragmentationInterval().getMs());
+            m_defragmenter.start();
+        }
+
         return true;
     }
 
     @Override
     protected boolean shutdownComponent() {
+        if (m_defragmenter != null) {
+            m_defragmenter.shutdown();
+            m_defragmenter.interrupt();
+
+            try {
+                m_defragmenter.join();
+            } catch (final InterruptedException ignored) {
+            }
+
+            m_defragmenter = null;
+        }
+
         shutdownMemory();
 
         return true;
@@ -1412,13 +2106,24 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
         // #endif /* LOGGER == INFO */
         // Runtime.getRuntime().load("/home/nothaas/dxram/jni/libJNINativeMemory.so");
         m_rawMemory = new SmallObjectHeap(new StorageUnsafeMemory(), getConfig().getKeyValueStoreSize().getBytes(),
-                (int) getConfig().getKeyValueStoreMaxBlockSize().getBytes());
+                (int) getConfig().getKeyValueStoreMaxBlockSize().getBytes(), getConfig().getKeyValueStoreArenas());
         m_cidTable = new CIDTable(m_boot.getNodeID());
         m_cidTable.initialize(m_rawMemory);
 
         m_lock = new AtomicInteger(0);
         //m_lock = new ReentrantReadWriteLock(false);
 
+        if (getConfig().getChunkLockStripes() > 0) {
+            m_chunkLocks = new ChunkLockStripes(getConfig().getChunkLockStripes());
+            m_allocLock = new AtomicLong(0);
+
+            // #if LOGGER == INFO
+            LOGGER.info("Chunk level locking enabled with %d lock stripes", m_chunkLocks.getStripeCount());
+            // #endif /* LOGGER == INFO */
+        } else {
+            m_atomicLocks = new ChunkLockStripes(ATOMIC_LOCK_STRIPES);
+        }
+
         m_numActiveChunks = 0;
         m_totalActiveChunkMemory = 0;
     }
@@ -1433,6 +2138,504 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
         m_cidTable = null;
         m_rawMemory = null;
         m_lock = null;
+        m_chunkLocks = null;
+        m_atomicLocks = null;
+        m_allocLock = null;
+    }
+
+    /**
+     * Execute an atomic operation on a field of a chunk
+     *
+     * @param p_chunkID
+     *         Chunk id of the chunk to operate on.
+     * @param p_offset
+     *         Offset of the field within the chunk.
+     * @param p_size
+     *         Size of the field (4 or 8 bytes).
+     * @param p_operation
+     *         Operation to execute.
+     * @param p_expected
+     *         Expected value for compare and swap, ignored otherwise.
+     * @param p_operand
+     *         Value to set or to add.
+     * @param p_exclusive
+     *         True to lock the chunk exclusively and read, modify and write the field, false to use the atomic
+     *         instructions of the CPU
+     * @return Result with the previous value of the field, null if the field is not aligned and p_exclusive is false
+     */
+    private ChunkAtomicResult atomic(final long p_chunkID, final int p_offset, final int p_size,
+            final ChunkAtomicOperation p_operation, final long p_expected, final long p_operand,
+            final boolean p_exclusive) {
+        if (p_exclusive) {
+            lockChunkAtomic(p_chunkID);
+        } else {
+            lockChunkAccess(p_chunkID);
+        }
+
+        try {
+            long address = m_cidTable.get(p_chunkID);
+            if (address <= 0) {
+                return new ChunkAtomicResult(ChunkState.DOES_NOT_EXIST, 0);
+            }
+
+            if (!isValidAtomicField(p_offset, p_size, m_rawMemory.getSizeBlock(address))) {
+                return new ChunkAtomicResult(ChunkState.INVALID_RANGE, 0);
+            }
+
+            long previous;
+
+            if (p_exclusive) {
+                previous = p_size == Integer.BYTES ? m_rawMemory.readInt(address, p_offset) :
+                        m_rawMemory.readLong(address, p_offset);
+
+                long value;
+                switch (p_operation) {
+                    case COMPARE_AND_SWAP:
+                        boolean equal = p_size == Integer.BYTES ? (int) previous == (int) p_expected :
+                                previous == p_expected;
+                        value = equal ? p_operand : previous;
+                        break;
+                    case FETCH_AND_ADD:
+                        value = previous + p_operand;
+                        break;
+                    case GET_AND_SET:
+                        value = p_operand;
+                        break;
+                    default:
+                        throw new DXRAMRuntimeException("Unhandled atomic operation " + p_operation);
+                }
+
+                if (p_size == Integer.BYTES) {
+                    m_rawMemory.writeInt(address, p_offset, (int) value);
+                } else {
+                    m_rawMemory.writeLong(address, p_offset, value);
+                }
+
+                return new ChunkAtomicResult(ChunkState.OK, previous);
+            }
+
+            // atomic instructions on fields crossing a cache line are not atomic
+            if (!m_rawMemory.isAligned(address, p_offset, p_size)) {
+                return null;
+            }
+
+            switch (p_operation) {
+                case COMPARE_AND_SWAP:
+                    // loop to return the current value if the swap failed
+                    if (p_size == Integer.BYTES) {
+                        do {
+                            previous = m_rawMemory.readInt(address, p_offset);
+                        } while (previous == (int) p_expected &&
+                                !m_rawMemory.compareAndSwapInt(address, p_offset, (int) p_expected, (int) p_operand));
+                    } else {
+                        do {
+                            previous = m_rawMemory.readLong(address, p_offset);
+                        } while (previous == p_expected &&
+                                !m_rawMemory.compareAndSwapLong(address, p_offset, p_expected, p_operand));
+                    }
+                    break;
+                case FETCH_AND_ADD:
+                    if (p_size == Integer.BYTES) {
+                        previous = m_rawMemory.getAndAddInt(address, p_offset, (int) p_operand);
+                    } else {
+                        previous = m_rawMemory.getAndAddLong(address, p_offset, p_operand);
+                    }
+                    break;
+                case GET_AND_SET:
+                    if (p_size == Integer.BYTES) {
+                        previous = m_rawMemory.getAndSetInt(address, p_offset, (int) p_operand);
+                    } else {
+                        previous = m_rawMemory.getAndSetLong(address, p_offset, p_operand);
+                    }
+                    break;
+                default:
+                    throw new DXRAMRuntimeException("Unhandled atomic operation " + p_operation);
+            }
+
+            return new ChunkAtomicResult(ChunkState.OK, previous);
+        } catch (final MemoryRuntimeException e) {
+            handleMemDumpOnError(e, true);
+            throw e;
+        } finally {
+            if (p_exclusive) {
+                unlockChunkAtomic(p_chunkID);
+            } else {
+                unlockChunkAccess(p_chunkID);
+            }
+        }
+    }
+
+    /**
+     * Check if a field can be operated on atomically
+     *
+     * @param p_offset
+     *         Offset of the field within the chunk.
+     * @param p_size
+     *         Size of the field.
+     * @param p_chunkSize
+     *         Size of the chunk.
+     * @return True if the field has a size of 4 or 8 bytes and is within the chunk.
+     */
+    static boolean isValidAtomicField(final int p_offset, final int p_size, final int p_chunkSize) {
+        return (p_size == Integer.BYTES || p_size == Long.BYTES) && p_offset >= 0 &&
+                (long) p_offset + p_size <= p_chunkSize;
+    }
+
+    /**
+     * Acquire the stripe lock of a chunk exclusively for an atomic operation on an unaligned field. Without chunk
+     * lock stripes, unaligned atomic operations are serialized with separate stripes (the address of the chunk
+     * can not change while the access lock is held).
+     *
+     * @param p_chunkID
+     *         Chunk ID of the chunk to operate on
+     */
+    private void lockChunkAtomic(final long p_chunkID) {
+        if (m_chunkLocks != null) {
+            m_chunkLocks.lockWrite(p_chunkID);
+        } else {
+            m_atomicLocks.lockWrite(p_chunkID);
+        }
+    }
+
+    /**
+     * Release the exclusive stripe lock of a chunk after an atomic operation on an unaligned field
+     *
+     * @param p_chunkID
+     *         Chunk ID of the chunk operated on
+     */
+    private void unlockChunkAtomic(final long p_chunkID) {
+        if (m_chunkLocks != null) {
+            m_chunkLocks.unlockWrite(p_chunkID);
+        } else {
+            m_atomicLocks.unlockWrite(p_chunkID);
+        }
+    }
+
+    /**
+     * Acquire the stripe lock of a chunk for accessing its payload (get, put), if chunk lock stripes are enabled
+     *
+     * @param p_chunkID
+     *         Chunk ID of the chunk to access
+     */
+    private void lockChunkAccess(final long p_chunkID) {
+        if (m_chunkLocks != null) {
+            m_chunkLocks.lockRead(p_chunkID);
+        }
+    }
+
+    /**
+     * Release the stripe lock of a chunk after accessing its payload
+     *
+     * @param p_chunkID
+     *         Chunk ID of the accessed chunk
+     */
+    private void unlockChunkAccess(final long p_chunkID) {
+        if (m_chunkLocks != null) {
+            m_chunkLocks.unlockRead(p_chunkID);
+        }
+    }
+
+    /**
+     * Acquire the stripe lock of a chunk exclusively for removing it (or changing its address), if chunk lock stripes
+     * are enabled
+     *
+     * @param p_chunkID
+     *         Chunk ID of the chunk to remove
+     */
+    private void lockChunkManage(final long p_chunkID) {
+        if (m_chunkLocks != null) {
+            m_chunkLocks.lockWrite(p_chunkID);
+        }
+    }
+
+    /**
+     * Release the exclusive stripe lock of a chunk
+     *
+     * @param p_chunkID
+     *         Chunk ID of the removed chunk
+     */
+    private void unlockChunkManage(final long p_chunkID) {
+        if (m_chunkLocks != null) {
+            m_chunkLocks.unlockWrite(p_chunkID);
+        }
+    }
+
+    /**
+     * Acquire the allocator lock (if chunk lock stripes are enabled) to serialize the allocator, the CIDTable and
+     * the chunk counters with other create and remove calls. The lock is held until unlockAllocate() or
+     * unlockManage() is called.
+     */
+    private void lockAllocator() {
+        if (m_allocLock != null) {
+            long tid = Thread.currentThread().getId();
+
+            if (m_allocLock.get() != tid) {
+                while (!m_allocLock.compareAndSet(0, tid)) {
+                    // spin, critical sections of allocator are short
+                }
+            }
+        }
+    }
+
+    /**
+     * Acquire the allocator lock before allocating memory on the heap if the heap is not thread safe (single arena).
+     * With multiple arenas, memory is allocated concurrently and the allocator lock is acquired afterwards.
+     */
+    private void lockAllocatorForMalloc() {
+        if (m_rawMemory.getArenaCount() == 1) {
+            lockAllocator();
+        }
+    }
+
+    /**
+     * Release the allocator lock if it is held by the current thread
+     */
+    private void unlockAllocator() {
+        if (m_allocLock != null && m_allocLock.get() == Thread.currentThread().getId()) {
+            m_allocLock.set(0);
+        }
+    }
+
+    /**
+     * Read or write the payloads of multiple data structures in order of their IDs
+     *
+     * @param p_dataStructures
+     *         Data structures to read or write
+     * @param p_offset
+     *         Start offset within the array
+     * @param p_count
+     *         Number of data structures
+     * @param p_put
+     *         True to write the data structures to memory, false to read them
+     * @return Number of data structures processed successfully
+     */
+    private int batchAccess(final DataStructure[] p_dataStructures, final int p_offset, final int p_count,
+            final boolean p_put) {
+        int ret = 0;
+        int count = 0;
+        int[] order = new int[p_count];
+        long[] chunkIDs = new long[p_count];
+
+        for (int i = p_offset; i < p_offset + p_count; i++) {
+            if (p_dataStructures[i] == null) {
+                continue;
+            }
+
+            if (p_dataStructures[i].getID() == ChunkID.INVALID_ID) {
+                p_dataStructures[i].setState(ChunkState.INVALID_ID);
+                continue;
+            }
+
+            order[count] = i;
+            chunkIDs[count] = p_dataStructures[i].getID();
+            count++;
+        }
+
+        sortByChunkID(chunkIDs, order, count);
+
+        try {
+            long[] lastTable = {ChunkID.INVALID_ID, 0};
+            SmallObjectHeapDataStructureImExporter imExporter = getImExporter(0);
+
+            for (int i = 0; i < count; i++) {
+                DataStructure dataStructure = p_dataStructures[order[i]];
+                long chunkID = chunkIDs[i];
+
+                lockChunkAccess(chunkID);
+
+                try {
+                    long address = getAddressBatched(chunkID, lastTable);
+
+                    if (address > 0) {
+                        assert m_rawMemory.getSizeBlock(address) == dataStructure.sizeofObject();
+
+                        imExporter.setAllocatedMemoryStartAddress(address);
+                        imExporter.setOffset(0);
+
+                        if (p_put) {
+                            imExporter.exportObject(dataStructure);
+                        } else {
+                            imExporter.importObject(dataStructure);
+                        }
+
+                        dataStructure.setState(ChunkState.OK);
+                        ret++;
+                    } else {
+                        dataStructure.setState(ChunkState.DOES_NOT_EXIST);
+                    }
+                } finally {
+                    unlockChunkAccess(chunkID);
+                }
+            }
+        } catch (final MemoryRuntimeException e) {
+            handleMemDumpOnError(e, true);
+            throw e;
+        }
+
+        return ret;
+    }
+
+    /**
+     * Read or write the payloads of multiple chunks (binary data) in order of their IDs
+     *
+     * @param p_chunkIDs
+     *         Chunk IDs of the chunks to read or write
+     * @param p_data
+     *         Payloads of the chunks. On read, the arrays are allocated (null if a chunk does not exist)
+     * @param p_states
+     *         Optional (null) array to return the state of each chunk (OK, DOES_NOT_EXIST or INVALID_ID)
+     * @param p_put
+     *         True to write the payloads to memory, false to read them
+     * @return Number of chunks processed successfully
+     */
+    private int batchAccess(final long[] p_chunkIDs, final byte[][] p_data, final ChunkState[] p_states,
+            final boolean p_put) {
+        int ret = 0;
+        int count = 0;
+        int[] order = new int[p_chunkIDs.length];
+        long[] chunkIDs = new long[p_chunkIDs.length];
+
+        for (int i = 0; i < p_chunkIDs.length; i++) {
+            if (p_chunkIDs[i] == ChunkID.INVALID_ID) {
+                if (p_states != null) {
+                    p_states[i] = ChunkState.INVALID_ID;
+                }
+
+                continue;
+            }
+
+            order[count] = i;
+            chunkIDs[count] = p_chunkIDs[i];
+            count++;
+        }
+
+        sortByChunkID(chunkIDs, order, count);
+
+        try {
+            long[] lastTable = {ChunkID.INVALID_ID, 0};
+
+            for (int i = 0; i < count; i++) {
+                int pos = order[i];
+                long chunkID = chunkIDs[i];
+                boolean exists;
+
+                lockChunkAccess(chunkID);
+
+                try {
+                    long address = getAddressBatched(chunkID, lastTable);
+                    exists = address > 0;
+
+                    if (exists) {
+                        if (p_put) {
+                            assert p_data[pos].length <= m_rawMemory.getSizeBlock(address);
+
+                            m_rawMemory.writeBytes(address, 0, p_data[pos], 0, p_data[pos].length);
+                        } else {
+                            p_data[pos] = new byte[m_rawMemory.getSizeBlock(address)];
+                            m_rawMemory.readBytes(address, 0, p_data[pos], 0, p_data[pos].length);
+                        }
+
+                        ret++;
+                    }
+                } finally {
+                    unlockChunkAccess(chunkID);
+                }
+
+                if (p_states != null) {
+                    p_states[pos] = exists ? ChunkState.OK : ChunkState.DOES_NOT_EXIST;
+                }
+            }
+        } catch (final MemoryRuntimeException e) {
+            handleMemDumpOnError(e, true);
+            throw e;
+        }
+
+        return ret;
+    }
+
+    /**
+     * Get the address of a chunk of a batch. The level 0 table is shared by neighboring IDs, the CIDTable is walked
+     * only if the chunk ID is not stored in the same table as the previous one.
+     * The chunk has to be locked by the caller.
+     *
+     * @param p_chunkID
+     *         Chunk ID to translate
+     * @param p_lastTable
+     *         Chunk ID the last level 0 table was resolved for and the address of that table (updated)
+     * @return Address of the chunk, 0 if the chunk does not exist
+     */
+    private long getAddressBatched(final long p_chunkID, final long[] p_lastTable) {
+        if (p_lastTable[0] == ChunkID.INVALID_ID || !CIDTable.isSameTableLevel0(p_lastTable[0], p_chunkID)) {
+            p_lastTable[0] = p_chunkID;
+            p_lastTable[1] = m_cidTable.getTableLevel0(p_chunkID);
+        }
+
+        return p_lastTable[1] > 0 ? m_cidTable.getFromTableLevel0(p_lastTable[1], p_chunkID) : 0;
+    }
+
+    /**
+     * Sort chunk IDs (unsigned, order of the CIDTable) and their positions. Already sorted IDs, which is the common
+     * case for batches of chunks created together, are detected and not touched
+     *
+     * @param p_chunkIDs
+     *         Chunk IDs to sort
+     * @param p_order
+     *         Positions of the chunk IDs, sorted along with the chunk IDs
+     * @param p_count
+     *         Number of chunk IDs
+     */
+    private static void sortByChunkID(final long[] p_chunkIDs, final int[] p_order, final int p_count) {
+        boolean sorted = true;
+
+        for (int i = 1; i < p_count; i++) {
+            if (Long.compareUnsigned(p_chunkIDs[i - 1], p_chunkIDs[i]) > 0) {
+                sorted = false;
+                break;
+            }
+        }
+
+        if (sorted) {
+            return;
+        }
+
+        // bottom up merge sort with one buffer
+        long[] chunkIDsTmp = new long[p_count];
+        int[] orderTmp = new int[p_count];
+        long[] srcIDs = p_chunkIDs;
+        int[] srcOrder = p_order;
+        long[] dstIDs = chunkIDsTmp;
+        int[] dstOrder = orderTmp;
+
+        for (int width = 1; width < p_count; width *= 2) {
+            for (int left = 0; left < p_count; left += 2 * width) {
+                int mid = Math.min(left + width, p_count);
+                int right = Math.min(left + 2 * width, p_count);
+                int i = left;
+                int j = mid;
+
+                for (int k = left; k < right; k++) {
+                    if (i < mid && (j >= right || Long.compareUnsigned(srcIDs[i], srcIDs[j]) <= 0)) {
+                        dstIDs[k] = srcIDs[i];
+                        dstOrder[k] = srcOrder[i++];
+                    } else {
+                        dstIDs[k] = srcIDs[j];
+                        dstOrder[k] = srcOrder[j++];
+                    }
+                }
+            }
+
+            long[] tmpIDs = srcIDs;
+            srcIDs = dstIDs;
+            dstIDs = tmpIDs;
+            int[] tmpOrder = srcOrder;
+            srcOrder = dstOrder;
+            dstOrder = tmpOrder;
+        }
+
+        if (srcIDs != p_chunkIDs) {
+            System.arraycopy(srcIDs, 0, p_chunkIDs, 0, p_count);
+            System.arraycopy(srcOrder, 0, p_order, 0, p_count);
+        }
     }
 
     /**
@@ -1443,16 +2646,11 @@ public final class MemoryManagerComponent extends AbstractDXRAMComponent<MemoryM
      * @return Im/Exporter for the chunk
      */
     private SmallObjectHeapDataStructureImExporter getImExporter(final long p_address) {
-        long tid = Thread.currentThread().getId();
-        if (tid > 65536) {
-            throw new RuntimeException("Exceeded max. thread id");
-        }
-
         // pool the im/exporters
-        SmallObjectHeapDataStructureImExporter importer = m_imexporter[(int) tid];
+        SmallObjectHeapDataStructureImExporter importer = m_imexporter.get();
         if (importer == null) {
-            m_imexporter[(int) tid] = new SmallObjectHeapDataStructureImExporter(m_rawMemory, p_address, 0);
-            importer = m_imexporter[(int) tid];
+            importer = new SmallObjectHeapDataStructureImExporter(m_rawMemory, p_address, 0);
+            m_imexporter.set(importer);
         } else {
             importer.setAllocatedMemoryStartAddress(p_address);
             importer.setOffset(0);
@@ -5,6 +5,7 @@ import com.google.gson.annotations.Expose;
 import de.hhu.bsinfo.dxram.engine.AbstractDXRAMComponentConfig;
 import de.hhu.bsinfo.dxram.engine.DXRAMContext;
 import de.hhu.bsinfo.dxutils.unit.StorageUnit;
+import de.hhu.bsinfo.dxutils.unit.TimeUnit;
 
 /**
  * Config for the MemoryManagerComponent
@@ -24,6 +25,24 @@ public class MemoryManagerComponentConfig extends AbstractDXRAMComponentConfig {
     @Expose
     private String m_memDumpFolderOnError = "";
 
+    @Expose
+    private int m_chunkLockStripes = 0;
+
+    @Expose
+    private int m_keyValueStoreArenas = 1;
+
+    @Expose
+    private boolean m_defragmentation = false;
+
+    @Expose
+    private double m_defragmentationThreshold = 0.75;
+
+    @Expose
+    private TimeUnit m_defragmentationTimeSlice = new TimeUnit(1, TimeUnit.MS);
+
+    @Expose
+    private TimeUnit m_defragmentationInterval = new TimeUnit(1, TimeUnit.SEC);
+
     /**
      * Constructor
      */
@@ -53,6 +72,52 @@ public class MemoryManagerComponentConfig extends AbstractDXRAMComponentConfig {
         return m_memDumpFolderOnError;
     }
 
+    /**
+     * Number of lock stripes for chunk level locking (power of two). With stripes enabled, creating and removing
+     * chunks does not block gets and puts on other chunks. 0 to use the single memory lock, only
+     */
+    public int getChunkLockStripes() {
+        return m_chunkLockStripes;
+    }
+
+    /**
+     * Number of arenas the key value store is split into. Each arena has its own free lists and lock which allows
+     * concurrent allocations from multiple threads. Requires chunk lock stripes to allocate outside of the memory lock
+     */
+    public int getKeyValueStoreArenas() {
+        return m_keyValueStoreArenas;
+    }
+
+    /**
+     * Enable the background defragmentation of the key value store
+     */
+    public boolean isDefragmentationEnabled() {
+        return m_defragmentation;
+    }
+
+    /**
+     * Fragmentation of the key value store (0.0 - 1.0, share of free blocks smaller than 64 bytes) to start
+     * defragmenting at
+     */
+    public double getDefragmentationThreshold() {
+        return m_defragmentationThreshold;
+    }
+
+    /**
+     * Max duration of a single defragmentation slice. Chunks are moved one at a time, this bounds the work done
+     * before the fragmentation is checked again
+     */
+    public TimeUnit getDefragmentationTimeSlice() {
+        return m_defragmentationTimeSlice;
+    }
+
+    /**
+     * Interval for checking the fragmentation of the key value store
+     */
+    public TimeUnit getDefragmentationInterval() {
+        return m_defragmentationInterval;
+    }
+
     @Override
     protected boolean verify(final DXRAMContext.Config p_config) {
         if (m_keyValueStoreSize.getBytes() < KEY_VALUE_STORE_SIZE_MIN.getBytes()) {
@@ -69,6 +134,43 @@ public class MemoryManagerComponentConfig extends AbstractDXRAMComponentConfig {
             return false;
         }
 
+        if (m_chunkLockStripes < 0 || m_chunkLockStripes > 0 && Integer.bitCount(m_chunkLockStripes) != 1) {
+            // #if LOGGER >= ERROR
+            LOGGER.error("Invalid value (%d) for m_chunkLockStripes, must be 0 or a power of two", m_chunkLockStripes);
+            // #endif /* LOGGER >= ERROR */
+            return false;
+        }
+
+        if (m_keyValueStoreArenas < 1) {
+            // #if LOGGER >= ERROR
+            LOGGER.error("Invalid value (%d) for m_keyValueStoreArenas, must be at least 1", m_keyValueStoreArenas);
+            // #endif /* LOGGER >= ERROR */
+            return false;
+        }
+
+        if (m_keyValueStoreSize.getBytes() / m_keyValueStoreArenas < 2 * m_keyValueStoreMaxBlockSize.getBytes()) {
+            // #if LOGGER >= ERROR
+            LOGGER.error("Arenas too small: m_keyValueStoreSize / m_keyValueStoreArenas must be at least twice " +
+                    "m_keyValueStoreMaxBlockSize");
+            // #endif /* LOGGER >= ERROR */
+            return false;
+        }
+
+        if (m_defragmentationThreshold < 0.0 || m_defragmentationThreshold > 1.0) {
+            // #if LOGGER >= ERROR
+            LOGGER.error("Invalid value (%f) for m_defragmentationThreshold, must be within 0.0 and 1.0",
+                    m_defragmentationThreshold);
+            // #endif /* LOGGER >= ERROR */
+            return false;
+        }
+
+        if (m_defragmentationTimeSlice.getMs() < 1 || m_defragmentationInterval.getMs() < 1) {
+            // #if LOGGER >= ERROR
+            LOGGER.error("m_defragmentationTimeSlice and m_defragmentationInterval must be at least 1 ms");
+            // #endif /* LOGGER >= ERROR */
+            return false;
+        }
+
         return true;
     }
 }
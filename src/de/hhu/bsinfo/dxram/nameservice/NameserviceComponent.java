@@ -16,6 +16,7 @@
 
 package de.hhu.bsinfo.dxram.nameservice;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -33,8 +34,7 @@ import de.hhu.bsinfo.dxram.lookup.overlay.storage.NameserviceEntry;
 
 /**
  * Nameservice component providing mappings of string identifiers to chunkIDs.
- * Note: The character set and length of the string are limited. Refer to
- * the convert class for details.
+ * Names are arbitrary (non empty) strings up to NameServiceIndexData.MAX_NAME_SIZE bytes in UTF-8.
  *
  * @author Stefan Nothaas, stefan.nothaas@hhu.de, 26.01.2016
  */
@@ -43,8 +43,6 @@ public class NameserviceComponent extends AbstractDXRAMComponent<NameserviceComp
     private LookupComponent m_lookup;
     private ChunkComponent m_chunk;
 
-    private NameServiceStringConverter m_converter;
-
     private NameServiceIndexData m_indexData;
     private boolean m_indexDataRegistered;
     private Lock m_indexDataLock;
@@ -77,19 +75,39 @@ public class NameserviceComponent extends AbstractDXRAMComponent<NameserviceComp
      *         Name to associate with the ID of the DataStructure.
      */
     public void register(final long p_chunkId, final String p_name) {
-        try {
-            final int id = m_converter.convert(p_name);
-            // #if LOGGER == TRACE
-            LOGGER.trace("Registering chunkID 0x%X, name %s, id %d", p_chunkId, p_name, id);
-            // #endif /* LOGGER == TRACE */
-
-            m_lookup.insertNameserviceEntry(id, p_chunkId);
-            insertMapping(id, p_chunkId);
-        } catch (final IllegalArgumentException e) {
-            // #if LOGGER >= ERROR
-            LOGGER.error("Lookup in name service failed", e);
-            // #endif /* LOGGER >= ERROR */
+        register(new long[] {p_chunkId}, new String[] {p_name});
+    }
+
+    /**
+     * Register chunk ids for multiple names. Requires a single request per responsible superpeer.
+     *
+     * @param p_chunkIds
+     *         Chunk ids to register.
+     * @param p_names
+     *         Names to associate with the chunk ids (same order).
+     */
+    public void register(final long[] p_chunkIds, final String[] p_names) {
+        byte[][] names = new byte[p_names.length][];
+
+        for (int i = 0; i < p_names.length; i++) {
+            names[i] = p_names[i] == null ? null : p_names[i].getBytes(StandardCharsets.UTF_8);
+            if (names[i] == null || names[i].length == 0 || names[i].length > NameServiceIndexData.MAX_NAME_SIZE) {
+                // #if LOGGER >= ERROR
+                LOGGER.error("Registering name %s failed, names must not be empty and not exceed %d bytes", p_names[i],
+                        NameServiceIndexData.MAX_NAME_SIZE);
+                // #endif /* LOGGER >= ERROR */
+                return;
+            }
         }
+
+        // #if LOGGER == TRACE
+        for (int i = 0; i < p_names.length; i++) {
+            LOGGER.trace("Registering chunkID 0x%X, name %s", p_chunkIds[i], p_names[i]);
+        }
+        // #endif /* LOGGER == TRACE */
+
+        m_lookup.insertNameserviceEntries(p_names, p_chunkIds);
+        insertMappings(names, p_chunkIds);
     }
 
     /**
@@ -99,27 +117,21 @@ public class NameserviceComponent extends AbstractDXRAMComponent<NameserviceComp
      *         Registered name to get the chunk ID for.
      * @param p_timeoutMs
      *         Timeout for trying to get the entry (if it does not exist, yet).
-     *         set this to -1 for infinite loop if you know for sure, that the entry has to exist
+     *         set this to -1 to wait until the entry is registered. Waiting threads are notified on registration
      * @return If the name was registered with a chunk ID before, returns the chunk ID, -1 otherwise.
      */
     public long getChunkID(final String p_name, final int p_timeoutMs) {
-        long ret = ChunkID.INVALID_ID;
-        try {
-            final int id = m_converter.convert(p_name);
-            // #if LOGGER == TRACE
-            LOGGER.trace("Lookup name %s, id %d", p_name, id);
-            // #endif /* LOGGER == TRACE */
-
-            ret = m_lookup.getChunkIDForNameserviceEntry(id, p_timeoutMs);
-
-            // #if LOGGER == TRACE
-            LOGGER.trace("Lookup name %s, resulting chunkID 0x%X", p_name, ret);
-            // #endif /* LOGGER == TRACE */
-        } catch (final IllegalArgumentException e) {
-            // #if LOGGER >= ERROR
-            LOGGER.error("Lookup in name service failed", e);
-            // #endif /* LOGGER >= ERROR */
-        }
+        long ret;
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("Lookup name %s", p_name);
+        // #endif /* LOGGER == TRACE */
+
+        ret = m_lookup.getChunkIDForNameserviceEntry(p_name, p_timeoutMs);
+
+        // #if LOGGER == TRACE
+        LOGGER.trace("Lookup name %s, resulting chunkID 0x%X", p_name, ret);
+        // #endif /* LOGGER == TRACE */
 
         return ret;
     }
@@ -179,9 +191,8 @@ public class NameserviceComponent extends AbstractDXRAMComponent<NameserviceComp
         ArrayList<NameserviceEntryStr> list = new ArrayList<>();
 
         ArrayList<NameserviceEntry> entries = m_lookup.getNameserviceEntries();
-        // convert index representation
         for (NameserviceEntry entry : entries) {
-            list.add(new NameserviceEntryStr(m_converter.convert(entry.getId()), entry.getValue()));
+            list.add(new NameserviceEntryStr(entry.getName(), entry.getValue()));
         }
 
         return list;
@@ -193,8 +204,6 @@ public class NameserviceComponent extends AbstractDXRAMComponent<NameserviceComp
      * @return True on success, false on error
      */
     private boolean initName() {
-        m_converter = new NameServiceStringConverter(getConfig().getType());
-
         m_indexData = new NameServiceIndexData();
 
         m_indexData.setID(m_chunk.createIndexChunk(m_indexData.sizeofObject()));
@@ -215,54 +224,57 @@ public class NameserviceComponent extends AbstractDXRAMComponent<NameserviceComp
      * Shut down the nameservice
      */
     private void shutdownName() {
-        m_converter = null;
-
         m_indexData = null;
         m_indexDataLock = null;
     }
 
     /**
-     * Inserts the nameservice entry to chunk with LocalID 0 for backup
+     * Inserts the nameservice entries to chunk with LocalID 0 for backup. All entries are added to the index first,
+     * every modified index chunk is put once.
      *
-     * @param p_key
-     *         the key
-     * @param p_chunkID
-     *         the ChunkID
+     * @param p_names
+     *         the UTF-8 encoded names
+     * @param p_chunkIDs
+     *         the ChunkIDs (same order)
      * @return whether this operation was successful
      */
-    private boolean insertMapping(final int p_key, final long p_chunkID) {
+    private boolean insertMappings(final byte[][] p_names, final long[] p_chunkIDs) {
         m_indexDataLock.lock();
         if (!m_indexDataRegistered) {
             m_chunk.registerIndexChunk(m_indexData.getID(), m_indexData.sizeofObject());
+            m_indexDataRegistered = true;
         }
 
-        if (!m_indexData.insertMapping(p_key, p_chunkID)) {
-            // index chunk full, create new one
-            final NameServiceIndexData nextIndexChunk = new NameServiceIndexData();
-            nextIndexChunk.setID(m_chunk.createIndexChunk(nextIndexChunk.sizeofObject()));
-            if (nextIndexChunk.getID() == ChunkID.INVALID_ID) {
-                // #if LOGGER >= ERROR
-                LOGGER.error("Creating next index chunk failed");
-                // #endif /* LOGGER >= ERROR */
-                m_indexDataLock.unlock();
-                return false;
+        for (int i = 0; i < p_names.length; i++) {
+            if (!m_indexData.insertMapping(p_names[i], p_chunkIDs[i])) {
+                // index chunk full, create new one
+                final NameServiceIndexData nextIndexChunk = new NameServiceIndexData();
+                nextIndexChunk.setID(m_chunk.createIndexChunk(nextIndexChunk.sizeofObject()));
+                if (nextIndexChunk.getID() == ChunkID.INVALID_ID) {
+                    // #if LOGGER >= ERROR
+                    LOGGER.error("Creating next index chunk failed");
+                    // #endif /* LOGGER >= ERROR */
+                    m_chunk.putChunk(m_indexData);
+                    m_indexDataLock.unlock();
+                    return false;
+                }
+
+                // link previous to new and update (previous one is not modified anymore)
+                m_indexData.setNextIndexDataChunk(nextIndexChunk.getID());
+                if (!m_chunk.putChunk(m_indexData)) {
+                    // #if LOGGER >= ERROR
+                    LOGGER.error("Updating current index chunk with successor failed");
+                    // #endif /* LOGGER >= ERROR */
+                    m_indexDataLock.unlock();
+                    return false;
+                }
+
+                m_indexData = nextIndexChunk;
+                m_indexData.insertMapping(p_names[i], p_chunkIDs[i]);
             }
-
-            // link previous to new and update
-            m_indexData.setNextIndexDataChunk(nextIndexChunk.getID());
-            if (!m_chunk.putChunk(m_indexData)) {
-                // #if LOGGER >= ERROR
-                LOGGER.error("Updating current index chunk with successor failed");
-                // #endif /* LOGGER >= ERROR */
-                m_indexDataLock.unlock();
-                return false;
-            }
-
-            m_indexData = nextIndexChunk;
         }
 
-        // insert mapping into current chunk and update
-        m_indexData.insertMapping(p_key, p_chunkID);
+        // update current chunk once for all mappings inserted into it
         if (!m_chunk.putChunk(m_indexData)) {
             // #if LOGGER >= ERROR
             LOGGER.error("Updating current index chunk failed");
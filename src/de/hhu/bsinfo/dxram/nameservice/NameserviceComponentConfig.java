@@ -11,9 +11,6 @@ import de.hhu.bsinfo.dxram.engine.DXRAMContext;
  * @author Stefan Nothaas, stefan.nothaas@hhu.de, 24.05.2017
  */
 public class NameserviceComponentConfig extends AbstractDXRAMComponentConfig {
-    @Expose
-    private String m_type = "NAME";
-
     @Expose
     private int m_nameserviceCacheEntries = 1000000;
 
@@ -24,13 +21,6 @@ public class NameserviceComponentConfig extends AbstractDXRAMComponentConfig {
         super(NameserviceComponent.class, false, true);
     }
 
-    /**
-     * Type of name service string converter to use to convert name service keys (available: NAME and INT)
-     */
-    public String getType() {
-        return m_type;
-    }
-
     /**
      * The maximum number of nameservice entries to cache locally.
      */
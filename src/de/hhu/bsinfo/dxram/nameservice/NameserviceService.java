@@ -25,8 +25,7 @@ import de.hhu.bsinfo.dxram.engine.DXRAMContext;
 
 /**
  * Nameservice service providing mappings of string identifiers to chunkIDs.
- * Note: The character set and length of the string are limited. Refer to
- * the convert class for details.
+ * Names are arbitrary (non empty) UTF-8 strings.
  *
  * @author Stefan Nothaas, stefan.nothaas@hhu.de, 26.01.2016
  */
@@ -41,15 +40,6 @@ public class NameserviceService extends AbstractDXRAMService<NameserviceServiceC
         super("name", NameserviceServiceConfig.class);
     }
 
-    /**
-     * Get the nameservice mode (NAME or ID)
-     *
-     * @return "NAME" or "ID"
-     */
-    public String getNameserviceMode() {
-        return m_nameservice.getConfig().getType();
-    }
-
     /**
      * Remove the name of a registered DataStructure from lookup.
      *
@@ -80,6 +70,18 @@ public class NameserviceService extends AbstractDXRAMService<NameserviceServiceC
         m_nameservice.register(p_chunkId, p_name);
     }
 
+    /**
+     * Register chunk ids for multiple names. Requires a single request per responsible superpeer.
+     *
+     * @param p_chunkIds
+     *         Chunk ids to register.
+     * @param p_names
+     *         Names to associate with the chunk ids (same order).
+     */
+    public void register(final long[] p_chunkIds, final String[] p_names) {
+        m_nameservice.register(p_chunkIds, p_names);
+    }
+
     /**
      * Register a DataStructure for a specific name.
      *
@@ -99,7 +101,7 @@ public class NameserviceService extends AbstractDXRAMService<NameserviceServiceC
      *         Registered name to get the chunk ID for.
      * @param p_timeoutMs
      *         Timeout for trying to get the entry (if it does not exist, yet).
-     *         set this to -1 for infinite loop if you know for sure, that the entry has to exist
+     *         set this to -1 to wait until the entry is registered. Waiting threads are notified on registration
      * @return If the name was registered with a chunk ID before, returns the chunk ID, -1 otherwise.
      */
     public long getChunkID(final String p_name, final int p_timeoutMs) {
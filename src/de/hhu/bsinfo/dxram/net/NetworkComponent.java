@@ -218,6 +218,56 @@ public class NetworkComponent extends AbstractDXRAMComponent<NetworkComponentCon
         }
     }
 
+    /**
+     * Wait for the response of a Request sent without waiting (default timeout).
+     *
+     * @param p_request
+     *         The request sent with sendSync(p_request, false).
+     * @throws NetworkException
+     *         If the response did not arrive in time or the request was cancelled
+     */
+    public void waitForResponse(final Request p_request) throws NetworkException {
+        waitForResponse(p_request, (int) getConfig().getCoreConfig().getRequestTimeOut().getMs());
+    }
+
+    /**
+     * Wait for the response of a Request sent without waiting (specific timeout). If the response does not arrive
+     * in time, the destination is handled like a lost connection (re-connect or failure handling).
+     *
+     * @param p_request
+     *         The request sent with sendSync(p_request, false).
+     * @param p_timeout
+     *         The amount of time to wait for the response
+     * @throws NetworkException
+     *         If the response did not arrive in time or the request was cancelled
+     */
+    public void waitForResponse(final Request p_request, final int p_timeout) throws NetworkException {
+        try {
+            p_request.waitForResponse(p_timeout);
+        } catch (final NetworkResponseDelayedException e) {
+            responseTimedOut(p_request);
+
+            throw e;
+        }
+    }
+
+    /**
+     * Trigger failure handling for the destination of a Request whose response did not arrive in time. Used by
+     * components tracking requests sent without waiting on their own.
+     *
+     * @param p_request
+     *         The request sent with sendSync(p_request, false).
+     */
+    public void responseTimedOut(final Request p_request) {
+        // #if LOGGER >= WARN
+        LOGGER.warn("Response of request %s to 0x%X timed out", p_request.getClass().getSimpleName(),
+                p_request.getDestination());
+        // #endif /* LOGGER >= WARN */
+
+        // Same as a connection lost by dxnet -> re-connect or initiate failure handling if the node is unreachable
+        m_event.fireEvent(new ConnectionLostEvent(getClass().getSimpleName(), p_request.getDestination()));
+    }
+
     /**
      * Registers a message receiver
      *
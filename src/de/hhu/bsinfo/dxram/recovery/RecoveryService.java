@@ -17,15 +17,25 @@
 package de.hhu.bsinfo.dxram.recovery;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.locks.ReentrantLock;
 
 import de.hhu.bsinfo.dxram.DXRAMMessageTypes;
 import de.hhu.bsinfo.dxram.backup.BackupComponent;
+import de.hhu.bsinfo.dxram.backup.BackupPeer;
 import de.hhu.bsinfo.dxram.backup.BackupRange;
+import de.hhu.bsinfo.dxram.backup.ErasureCoding;
 import de.hhu.bsinfo.dxram.boot.AbstractBootComponent;
 import de.hhu.bsinfo.dxram.chunk.ChunkBackupComponent;
 import de.hhu.bsinfo.dxram.data.ChunkID;
+import de.hhu.bsinfo.dxram.data.DSByteArray;
 import de.hhu.bsinfo.dxram.data.DataStructure;
 import de.hhu.bsinfo.dxram.engine.AbstractDXRAMService;
 import de.hhu.bsinfo.dxram.engine.DXRAMComponentAccessor;
@@ -33,9 +43,12 @@ import de.hhu.bsinfo.dxram.engine.DXRAMContext;
 import de.hhu.bsinfo.dxram.log.LogComponent;
 import de.hhu.bsinfo.dxram.lookup.LookupComponent;
 import de.hhu.bsinfo.dxram.net.NetworkComponent;
+import de.hhu.bsinfo.dxram.recovery.messages.GetBackupFragmentsRequest;
+import de.hhu.bsinfo.dxram.recovery.messages.GetBackupFragmentsResponse;
 import de.hhu.bsinfo.dxram.recovery.messages.RecoverBackupRangeRequest;
 import de.hhu.bsinfo.dxram.recovery.messages.RecoverBackupRangeResponse;
 import de.hhu.bsinfo.dxram.recovery.messages.RecoveryMessages;
+import de.hhu.bsinfo.dxram.recovery.messages.RemoveBackupFragmentsMessage;
 import de.hhu.bsinfo.dxram.recovery.messages.ReplicateBackupRangeRequest;
 import de.hhu.bsinfo.dxram.recovery.messages.ReplicateBackupRangeResponse;
 import de.hhu.bsinfo.dxram.util.HarddriveAccessMode;
@@ -51,6 +64,11 @@ import de.hhu.bsinfo.dxutils.NodeID;
  * @author Kevin Beineke, kevin.beineke@hhu.de, 31.03.16
  */
 public class RecoveryService extends AbstractDXRAMService<RecoveryServiceConfig> implements MessageReceiver {
+
+    private static final int FRAGMENT_PAGE_SIZE = 16 * 1024 * 1024;
+    private static final int FRAGMENT_REQUEST_TIMEOUT_MS = 30000;
+    private static final int FRAGMENT_CACHE_TIMEOUT_MS = 2 * FRAGMENT_REQUEST_TIMEOUT_MS;
+
     // component dependencies
     private AbstractBootComponent m_boot;
     private BackupComponent m_backup;
@@ -65,6 +83,11 @@ public class RecoveryService extends AbstractDXRAMService<RecoveryServiceConfig>
     private ArrayList<FinishedRecovery> m_finishedRecoveries;
     private ReentrantLock m_replicationLock;
 
+    // Fragments of erasure-coded backup ranges requested by a recovering peer (owner and RangeID -> fragments);
+    // accessed by the fragment executor's thread, only
+    private HashMap<Integer, BackupFragments> m_requestedFragments;
+    private ExecutorService m_fragmentExecutor;
+
     /**
      * Constructor
      */
@@ -83,6 +106,12 @@ public class RecoveryService extends AbstractDXRAMService<RecoveryServiceConfig>
                     case RecoveryMessages.SUBTYPE_REPLICATE_BACKUP_RANGE_REQUEST:
                         incomingReplicateBackupRangeRequest((ReplicateBackupRangeRequest) p_message);
                         break;
+                    case RecoveryMessages.SUBTYPE_GET_BACKUP_FRAGMENTS_REQUEST:
+                        incomingGetBackupFragmentsRequest((GetBackupFragmentsRequest) p_message);
+                        break;
+                    case RecoveryMessages.SUBTYPE_REMOVE_BACKUP_FRAGMENTS_MESSAGE:
+                        incomingRemoveBackupFragmentsMessage((RemoveBackupFragmentsMessage) p_message);
+                        break;
                     default:
                         break;
                 }
@@ -127,11 +156,21 @@ public class RecoveryService extends AbstractDXRAMService<RecoveryServiceConfig>
         m_finishedRecoveries = new ArrayList<>();
         m_replicationLock = new ReentrantLock(false);
 
+        m_requestedFragments = new HashMap<>();
+        m_fragmentExecutor = Executors.newSingleThreadExecutor(p_runnable -> {
+            Thread thread = new Thread(p_runnable);
+            thread.setName("Recovery: Fragment Thread");
+            thread.setDaemon(true);
+            return thread;
+        });
+
         return true;
     }
 
     @Override
     protected boolean shutdownService() {
+        m_fragmentExecutor.shutdownNow();
+
         return true;
     }
 
@@ -335,9 +374,18 @@ public class RecoveryService extends AbstractDXRAMService<RecoveryServiceConfig>
         Runnable task = () -> {
             short replacementBackupPeer;
             BackupRange backupRange = p_request.getBackupRange();
-
-            // Recover all chunks of given backup range, store them in chunk module and remove log
-            RecoveryMetadata recoveryMetadata = recoverBackupRange(p_request.getOwner(), backupRange);
+            short[] fragmentHolders = null;
+            RecoveryMetadata recoveryMetadata;
+
+            if (m_backup.isErasureCodingActive()) {
+                // Gather fragments from all backup peers, decode chunks, store them in chunk module and remove log
+                fragmentHolders = new short[m_backup.getErasureCoding().getNumberOfFragments()];
+                Arrays.fill(fragmentHolders, NodeID.INVALID_ID);
+                recoveryMetadata = recoverErasureCodedBackupRange(p_request.getOwner(), backupRange, fragmentHolders);
+            } else {
+                // Recover all chunks of given backup range, store them in chunk module and remove log
+                recoveryMetadata = recoverBackupRange(p_request.getOwner(), backupRange);
+            }
 
             if (recoveryMetadata == null) {
                 try {
@@ -348,9 +396,16 @@ public class RecoveryService extends AbstractDXRAMService<RecoveryServiceConfig>
                     // #endif /* LOGGER >= ERROR */
                 }
             } else {
+                short oldRangeID = backupRange.getRangeID();
+                BackupPeer[] oldBackupPeers = fragmentHolders != null ? backupRange.getBackupPeers().clone() : null;
+
                 // Initialize backup ranges in backup, lookup and log modules by joining recovered chunks with migrated chunks
-                replacementBackupPeer = m_backup.registerRecoveredChunks(recoveryMetadata, backupRange, p_request.getOwner());
+                replacementBackupPeer = m_backup.registerRecoveredChunks(recoveryMetadata, backupRange, p_request.getOwner(), fragmentHolders);
 
+                if (fragmentHolders != null && replacementBackupPeer != NodeID.INVALID_ID) {
+                    // Old backup peers which are not part of the recovered backup range keep their fragments otherwise
+                    removeLeftoverFragments(p_request.getOwner(), oldRangeID, oldBackupPeers, backupRange.getBackupPeers());
+                }
 
                 // Store recovery metadata for replication of recovered backup range to be handled by another thread after initialization by superpeer
                 m_replicationLock.lock();
@@ -371,6 +426,371 @@ public class RecoveryService extends AbstractDXRAMService<RecoveryServiceConfig>
     }
 
 
+    /**
+     * Recovers all Chunks of given erasure-coded backup range by gathering the fragments from the backup peers
+     *
+     * @param p_owner
+     *         the NodeID of the node whose Chunks have to be restored
+     * @param p_backupRange
+     *         the backup range
+     * @param p_fragmentHolders
+     *         array to store the backup peer of every fragment index in
+     * @return the recovery metadata
+     */
+    private RecoveryMetadata recoverErasureCodedBackupRange(final short p_owner, final BackupRange p_backupRange, final short[] p_fragmentHolders) {
+        RecoveryMetadata ret;
+        ErasureCoding erasureCoding = m_backup.getErasureCoding();
+        HashMap<Long, byte[][]> fragments = new HashMap<>();
+        short rangeID = p_backupRange.getRangeID();
+        int sources = 0;
+
+        // Own fragments
+        HashMap<Long, byte[]> ownFragments = collectFragments(p_owner, rangeID);
+        if (ownFragments != null) {
+            addFragments(fragments, ownFragments, p_fragmentHolders, m_boot.getNodeID());
+            sources++;
+        }
+
+        // Fragments of other backup peers until every chunk can be decoded
+        for (BackupPeer backupPeer : p_backupRange.getBackupPeers()) {
+            if (sources >= erasureCoding.getDataFragments() && isDecodable(fragments, erasureCoding)) {
+                break;
+            }
+
+            if (backupPeer != null && backupPeer.getNodeID() != m_boot.getNodeID() && backupPeer.getNodeID() != p_owner) {
+                if (requestFragments(backupPeer.getNodeID(), p_owner, rangeID, fragments, p_fragmentHolders)) {
+                    sources++;
+                }
+            }
+        }
+
+        if (sources < erasureCoding.getDataFragments()) {
+            // #if LOGGER >= ERROR
+            LOGGER.error("Backup range %d of 0x%X could not be recovered. Only %d of %d backup peers are available!", rangeID, p_owner, sources,
+                    erasureCoding.getDataFragments());
+            // #endif /* LOGGER >= ERROR */
+
+            return null;
+        }
+
+        // Decode and store all chunks
+        long[] chunkIDs = new long[fragments.size()];
+        DataStructure[] chunks = new DataStructure[fragments.size()];
+        int counter = 0;
+        for (Map.Entry<Long, byte[][]> entry : fragments.entrySet()) {
+            byte[] data = erasureCoding.decode(entry.getValue());
+            if (data == null) {
+                // #if LOGGER >= ERROR
+                LOGGER.error("Chunk 0x%X could not be decoded. Not enough fragments of the same version!", entry.getKey());
+                // #endif /* LOGGER >= ERROR */
+                continue;
+            }
+
+            chunkIDs[counter] = entry.getKey();
+            chunks[counter] = new DSByteArray(entry.getKey(), data);
+            counter++;
+        }
+        fragments.clear();
+
+        chunkIDs = Arrays.copyOf(chunkIDs, counter);
+        Arrays.sort(chunkIDs);
+
+        ret = new RecoveryMetadata();
+        ret.setChunkIDRanges(determineRanges(chunkIDs));
+        m_chunkBackup.putRecoveredChunks(ret, Arrays.copyOf(chunks, counter));
+
+        if (ownFragments != null) {
+            m_recoveryLock.lock();
+            m_log.removeBackupRange(p_owner, rangeID);
+            m_recoveryLock.unlock();
+        }
+
+        return ret;
+    }
+
+    /**
+     * Reads all fragments of an erasure-coded backup range from the local log. The log is kept.
+     *
+     * @param p_owner
+     *         the NodeID of the node whose Chunks have to be restored
+     * @param p_rangeID
+     *         the RangeID
+     * @return all fragments (ChunkID -> fragment) or null if the backup range could not be read
+     */
+    private HashMap<Long, byte[]> collectFragments(final short p_owner, final short p_rangeID) {
+        RecoveryMetadata metadata;
+        HashMap<Long, byte[]> ret;
+
+        m_recoveryLock.lock();
+        m_chunkBackup.startCollectingRecoveredChunks();
+        metadata = m_log.recoverBackupRange(p_owner, p_rangeID);
+        ret = m_chunkBackup.stopCollectingRecoveredChunks();
+        m_recoveryLock.unlock();
+
+        if (metadata == null) {
+            return null;
+        }
+
+        return ret;
+    }
+
+    /**
+     * Requests all fragments of an erasure-coded backup range from a backup peer
+     *
+     * @param p_backupPeer
+     *         the backup peer
+     * @param p_owner
+     *         the NodeID of the node whose Chunks have to be restored
+     * @param p_rangeID
+     *         the RangeID
+     * @param p_fragments
+     *         the fragments gathered so far (ChunkID -> fragment per index)
+     * @param p_fragmentHolders
+     *         the backup peer of every fragment index
+     * @return whether all fragments of the backup peer were received or not
+     */
+    private boolean requestFragments(final short p_backupPeer, final short p_owner, final short p_rangeID, final HashMap<Long, byte[][]> p_fragments,
+            final short[] p_fragmentHolders) {
+        HashMap<Long, byte[]> received = new HashMap<>();
+        int index = 0;
+
+        while (index != -1) {
+            GetBackupFragmentsRequest request = new GetBackupFragmentsRequest(p_backupPeer, p_owner, p_rangeID, index);
+            try {
+                m_network.sendSync(request, FRAGMENT_REQUEST_TIMEOUT_MS);
+            } catch (final NetworkException e) {
+                // #if LOGGER >= WARN
+                LOGGER.warn("Could not get fragments of backup range %d from 0x%X: %s", p_rangeID, p_backupPeer, e);
+                // #endif /* LOGGER >= WARN */
+
+                return false;
+            }
+
+            GetBackupFragmentsResponse response = request.getResponse(GetBackupFragmentsResponse.class);
+            if (!response.wasSuccessful()) {
+                return false;
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(response.getFragments());
+            while (buffer.hasRemaining()) {
+                long chunkID = buffer.getLong();
+                byte[] fragment = new byte[buffer.getInt()];
+                buffer.get(fragment);
+                received.put(chunkID, fragment);
+            }
+            index = response.getNextIndex();
+        }
+
+        addFragments(p_fragments, received, p_fragmentHolders, p_backupPeer);
+
+        return true;
+    }
+
+    /**
+     * Adds the fragments of one backup peer
+     *
+     * @param p_fragments
+     *         the fragments gathered so far (ChunkID -> fragment per index)
+     * @param p_newFragments
+     *         the fragments of the backup peer
+     * @param p_fragmentHolders
+     *         the backup peer of every fragment index
+     * @param p_backupPeer
+     *         the backup peer
+     */
+    private static void addFragments(final HashMap<Long, byte[][]> p_fragments, final HashMap<Long, byte[]> p_newFragments,
+            final short[] p_fragmentHolders, final short p_backupPeer) {
+        for (Map.Entry<Long, byte[]> entry : p_newFragments.entrySet()) {
+            int index = ErasureCoding.getFragmentIndex(entry.getValue());
+            if (index < 0 || index >= p_fragmentHolders.length) {
+                continue;
+            }
+
+            byte[][] chunkFragments = p_fragments.get(entry.getKey());
+            if (chunkFragments == null) {
+                chunkFragments = new byte[p_fragmentHolders.length][];
+                p_fragments.put(entry.getKey(), chunkFragments);
+            }
+            chunkFragments[index] = entry.getValue();
+            p_fragmentHolders[index] = p_backupPeer;
+        }
+    }
+
+    /**
+     * Checks if there are enough fragments of the same version for every chunk
+     *
+     * @param p_fragments
+     *         the fragments gathered so far (ChunkID -> fragment per index)
+     * @param p_erasureCoding
+     *         the erasure coding
+     * @return true if every chunk can be decoded
+     */
+    private static boolean isDecodable(final HashMap<Long, byte[][]> p_fragments, final ErasureCoding p_erasureCoding) {
+        for (byte[][] chunkFragments : p_fragments.values()) {
+            if (!p_erasureCoding.isDecodable(chunkFragments)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Determines all ChunkID ranges
+     *
+     * @param p_chunkIDs
+     *         the sorted ChunkIDs
+     * @return the ChunkID ranges
+     */
+    private static long[] determineRanges(final long[] p_chunkIDs) {
+        long[] ret = new long[p_chunkIDs.length * 2];
+        int counter = 0;
+
+        for (int i = 0; i < p_chunkIDs.length; i++) {
+            if (counter > 0 && ret[counter - 1] + 1 == p_chunkIDs[i]) {
+                ret[counter - 1] = p_chunkIDs[i];
+            } else {
+                ret[counter++] = p_chunkIDs[i];
+                ret[counter++] = p_chunkIDs[i];
+            }
+        }
+
+        return Arrays.copyOf(ret, counter);
+    }
+
+    /**
+     * Handles an incoming GetBackupFragmentsRequest
+     *
+     * @param p_request
+     *         the GetBackupFragmentsRequest
+     */
+    private void incomingGetBackupFragmentsRequest(final GetBackupFragmentsRequest p_request) {
+        // Outsource reading the log to the fragment thread to avoid blocking a message handler
+        m_fragmentExecutor.execute(() -> {
+            int key = (p_request.getOwner() & 0xFFFF) << 16 | p_request.getRangeID() & 0xFFFF;
+            BackupFragments backupFragments;
+
+            // Drop fragments of requesters which did not ask for the next page in time (e.g. failed during recovery)
+            evictRequestedFragments();
+
+            backupFragments = m_requestedFragments.get(key);
+            if (p_request.getStartIndex() == 0 || backupFragments == null) {
+                HashMap<Long, byte[]> fragments = collectFragments(p_request.getOwner(), p_request.getRangeID());
+                if (fragments == null) {
+                    try {
+                        m_network.sendMessage(new GetBackupFragmentsResponse(p_request, false, -1, new byte[0]));
+                    } catch (final NetworkException ignored) {
+
+                    }
+                    return;
+                }
+
+                backupFragments = new BackupFragments(fragments);
+                m_requestedFragments.put(key, backupFragments);
+            }
+            backupFragments.m_lastAccess = System.currentTimeMillis();
+
+            // Gather one page of fragments
+            int index = p_request.getStartIndex();
+            int size = 0;
+            while (index < backupFragments.m_chunkIDs.length &&
+                    (size == 0 || size + Long.BYTES + Integer.BYTES + backupFragments.m_fragments[index].length <= FRAGMENT_PAGE_SIZE)) {
+                size += Long.BYTES + Integer.BYTES + backupFragments.m_fragments[index].length;
+                index++;
+            }
+
+            ByteBuffer page = ByteBuffer.allocate(size);
+            for (int i = p_request.getStartIndex(); i < index; i++) {
+                page.putLong(backupFragments.m_chunkIDs[i]);
+                page.putInt(backupFragments.m_fragments[i].length);
+                page.put(backupFragments.m_fragments[i]);
+            }
+
+            if (index == backupFragments.m_chunkIDs.length) {
+                // Last page -> fragments are not needed anymore
+                index = -1;
+                m_requestedFragments.remove(key);
+            }
+
+            try {
+                m_network.sendMessage(new GetBackupFragmentsResponse(p_request, true, index, page.array()));
+            } catch (final NetworkException ignored) {
+
+            }
+        });
+    }
+
+    /**
+     * Handles an incoming RemoveBackupFragmentsMessage
+     *
+     * @param p_message
+     *         the RemoveBackupFragmentsMessage
+     */
+    private void incomingRemoveBackupFragmentsMessage(final RemoveBackupFragmentsMessage p_message) {
+        // Run on fragment thread to not interfere with a page request for the same backup range
+        m_fragmentExecutor.execute(() -> {
+            m_requestedFragments.remove((p_message.getOwner() & 0xFFFF) << 16 | p_message.getRangeID() & 0xFFFF);
+
+            m_recoveryLock.lock();
+            m_log.removeBackupRange(p_message.getOwner(), p_message.getRangeID());
+            m_recoveryLock.unlock();
+        });
+    }
+
+    /**
+     * Removes all cached fragments which were not requested within FRAGMENT_CACHE_TIMEOUT_MS
+     */
+    private void evictRequestedFragments() {
+        long now = System.currentTimeMillis();
+        Iterator<BackupFragments> iterator = m_requestedFragments.values().iterator();
+
+        while (iterator.hasNext()) {
+            if (now - iterator.next().m_lastAccess > FRAGMENT_CACHE_TIMEOUT_MS) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Tells all old backup peers which do not store the recovered backup range to remove their fragments
+     *
+     * @param p_owner
+     *         the NodeID of the failed peer
+     * @param p_rangeID
+     *         the RangeID on the failed peer
+     * @param p_oldBackupPeers
+     *         the backup peers before recovery
+     * @param p_newBackupPeers
+     *         the backup peers of the recovered backup range
+     */
+    private void removeLeftoverFragments(final short p_owner, final short p_rangeID, final BackupPeer[] p_oldBackupPeers,
+            final BackupPeer[] p_newBackupPeers) {
+        for (BackupPeer oldPeer : p_oldBackupPeers) {
+            if (oldPeer == null || oldPeer.getNodeID() == m_boot.getNodeID() || oldPeer.getNodeID() == p_owner) {
+                continue;
+            }
+
+            boolean transferred = false;
+            for (BackupPeer newPeer : p_newBackupPeers) {
+                if (newPeer != null && newPeer.getNodeID() == oldPeer.getNodeID()) {
+                    // The log was transferred to the recovered backup range
+                    transferred = true;
+                    break;
+                }
+            }
+
+            if (!transferred) {
+                try {
+                    m_network.sendMessage(new RemoveBackupFragmentsMessage(oldPeer.getNodeID(), p_owner, p_rangeID));
+                } catch (final NetworkException ignored) {
+                    // #if LOGGER >= WARN
+                    LOGGER.warn("Fragments of backup range %d of 0x%X could not be removed on 0x%X", p_rangeID, p_owner, oldPeer.getNodeID());
+                    // #endif /* LOGGER >= WARN */
+                }
+            }
+        }
+    }
+
     /**
      * Recovers all Chunks of given backup range
      *
@@ -393,7 +813,8 @@ public class RecoveryService extends AbstractDXRAMService<RecoveryServiceConfig>
             // Send replicas to backup peers
             if (finishedRecovery.getReplacementBackupPeer() != NodeID.INVALID_ID) {
                 m_chunkBackup.replicateBackupRange(finishedRecovery.getReplacementBackupPeer(), finishedRecovery.getCIDRanges(),
-                        finishedRecovery.getNumberOfChunks(), finishedRecovery.getRangeID());
+                        finishedRecovery.getNumberOfChunks(), finishedRecovery.getRangeID(), m_backup.getErasureCoding(),
+                        m_backup.getFragmentIndex(finishedRecovery.getRangeID(), finishedRecovery.getReplacementBackupPeer()));
             }
         }
     }
@@ -429,6 +850,12 @@ public class RecoveryService extends AbstractDXRAMService<RecoveryServiceConfig>
                 ReplicateBackupRangeRequest.class);
         m_network.registerMessageType(DXRAMMessageTypes.RECOVERY_MESSAGES_TYPE, RecoveryMessages.SUBTYPE_REPLICATE_BACKUP_RANGE_RESPONSE,
                 ReplicateBackupRangeResponse.class);
+        m_network.registerMessageType(DXRAMMessageTypes.RECOVERY_MESSAGES_TYPE, RecoveryMessages.SUBTYPE_GET_BACKUP_FRAGMENTS_REQUEST,
+                GetBackupFragmentsRequest.class);
+        m_network.registerMessageType(DXRAMMessageTypes.RECOVERY_MESSAGES_TYPE, RecoveryMessages.SUBTYPE_GET_BACKUP_FRAGMENTS_RESPONSE,
+                GetBackupFragmentsResponse.class);
+        m_network.registerMessageType(DXRAMMessageTypes.RECOVERY_MESSAGES_TYPE, RecoveryMessages.SUBTYPE_REMOVE_BACKUP_FRAGMENTS_MESSAGE,
+                RemoveBackupFragmentsMessage.class);
     }
 
     /**
@@ -437,6 +864,38 @@ public class RecoveryService extends AbstractDXRAMService<RecoveryServiceConfig>
     private void registerNetworkMessageListener() {
         m_network.register(DXRAMMessageTypes.RECOVERY_MESSAGES_TYPE, RecoveryMessages.SUBTYPE_RECOVER_BACKUP_RANGE_REQUEST, this);
         m_network.register(DXRAMMessageTypes.RECOVERY_MESSAGES_TYPE, RecoveryMessages.SUBTYPE_REPLICATE_BACKUP_RANGE_REQUEST, this);
+        m_network.register(DXRAMMessageTypes.RECOVERY_MESSAGES_TYPE, RecoveryMessages.SUBTYPE_GET_BACKUP_FRAGMENTS_REQUEST, this);
+        m_network.register(DXRAMMessageTypes.RECOVERY_MESSAGES_TYPE, RecoveryMessages.SUBTYPE_REMOVE_BACKUP_FRAGMENTS_MESSAGE, this);
+    }
+
+    /**
+     * Fragments of an erasure-coded backup range sorted by ChunkID
+     */
+    private static final class BackupFragments {
+
+        private long[] m_chunkIDs;
+        private byte[][] m_fragments;
+        private long m_lastAccess;
+
+        /**
+         * Creates an instance of BackupFragments
+         *
+         * @param p_fragments
+         *         all fragments (ChunkID -> fragment)
+         */
+        private BackupFragments(final HashMap<Long, byte[]> p_fragments) {
+            m_chunkIDs = new long[p_fragments.size()];
+            int counter = 0;
+            for (long chunkID : p_fragments.keySet()) {
+                m_chunkIDs[counter++] = chunkID;
+            }
+            Arrays.sort(m_chunkIDs);
+
+            m_fragments = new byte[m_chunkIDs.length][];
+            for (int i = 0; i < m_chunkIDs.length; i++) {
+                m_fragments[i] = p_fragments.get(m_chunkIDs[i]);
+            }
+        }
     }
 
 }
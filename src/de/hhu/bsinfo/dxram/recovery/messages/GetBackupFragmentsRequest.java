@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.recovery.messages;
+
+import de.hhu.bsinfo.dxram.DXRAMMessageTypes;
+import de.hhu.bsinfo.dxram.backup.RangeID;
+import de.hhu.bsinfo.dxnet.core.AbstractMessageExporter;
+import de.hhu.bsinfo.dxnet.core.AbstractMessageImporter;
+import de.hhu.bsinfo.dxnet.core.Request;
+import de.hhu.bsinfo.dxutils.NodeID;
+
+/**
+ * Request for the fragments of an erasure-coded backup range stored on a backup peer. Fragments are transferred in
+ * pages, the first request starts with index 0.
+ */
+public class GetBackupFragmentsRequest extends Request {
+
+    // Attributes
+    private short m_owner;
+    private short m_rangeID;
+    private int m_startIndex;
+
+    // Constructors
+
+    /**
+     * Creates an instance of GetBackupFragmentsRequest
+     */
+    public GetBackupFragmentsRequest() {
+        super();
+
+        m_owner = NodeID.INVALID_ID;
+        m_rangeID = RangeID.INVALID_ID;
+        m_startIndex = 0;
+    }
+
+    /**
+     * Creates an instance of GetBackupFragmentsRequest
+     *
+     * @param p_destination
+     *         the destination
+     * @param p_owner
+     *         the NodeID of the failed owner
+     * @param p_rangeID
+     *         the range ID
+     * @param p_startIndex
+     *         the index of the first fragment of the requested page
+     */
+    public GetBackupFragmentsRequest(final short p_destination, final short p_owner, final short p_rangeID, final int p_startIndex) {
+        super(p_destination, DXRAMMessageTypes.RECOVERY_MESSAGES_TYPE, RecoveryMessages.SUBTYPE_GET_BACKUP_FRAGMENTS_REQUEST);
+
+        m_owner = p_owner;
+        m_rangeID = p_rangeID;
+        m_startIndex = p_startIndex;
+    }
+
+    // Getters
+
+    /**
+     * Get the owner
+     *
+     * @return the NodeID
+     */
+    public final short getOwner() {
+        return m_owner;
+    }
+
+    /**
+     * Get the range ID
+     *
+     * @return the RangeID
+     */
+    public final short getRangeID() {
+        return m_rangeID;
+    }
+
+    /**
+     * Get the index of the first requested fragment
+     *
+     * @return the index
+     */
+    public final int getStartIndex() {
+        return m_startIndex;
+    }
+
+    @Override
+    protected final int getPayloadLength() {
+        return 2 * Short.BYTES + Integer.BYTES;
+    }
+
+    // Methods
+    @Override
+    protected final void writePayload(final AbstractMessageExporter p_exporter) {
+        p_exporter.writeShort(m_owner);
+        p_exporter.writeShort(m_rangeID);
+        p_exporter.writeInt(m_startIndex);
+    }
+
+    @Override
+    protected final void readPayload(final AbstractMessageImporter p_importer) {
+        m_owner = p_importer.readShort(m_owner);
+        m_rangeID = p_importer.readShort(m_rangeID);
+        m_startIndex = p_importer.readInt(m_startIndex);
+    }
+
+}
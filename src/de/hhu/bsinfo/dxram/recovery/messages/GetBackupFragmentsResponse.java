@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.recovery.messages;
+
+import de.hhu.bsinfo.dxnet.core.AbstractMessageExporter;
+import de.hhu.bsinfo.dxnet.core.AbstractMessageImporter;
+import de.hhu.bsinfo.dxnet.core.Response;
+import de.hhu.bsinfo.dxutils.serialization.ObjectSizeUtil;
+
+/**
+ * Response to a GetBackupFragmentsRequest
+ */
+public class GetBackupFragmentsResponse extends Response {
+
+    // Attributes
+    private boolean m_success;
+    private int m_nextIndex;
+    private byte[] m_fragments;
+
+    // Constructors
+
+    /**
+     * Creates an instance of GetBackupFragmentsResponse
+     */
+    public GetBackupFragmentsResponse() {
+        super();
+
+        m_success = false;
+        m_nextIndex = -1;
+        m_fragments = null;
+    }
+
+    /**
+     * Creates an instance of GetBackupFragmentsResponse
+     *
+     * @param p_request
+     *         the corresponding GetBackupFragmentsRequest
+     * @param p_success
+     *         whether the backup range could be read or not
+     * @param p_nextIndex
+     *         the index of the first fragment of the next page or -1 if this is the last page
+     * @param p_fragments
+     *         the fragments of this page (ChunkID, length, fragment - for every chunk)
+     */
+    public GetBackupFragmentsResponse(final GetBackupFragmentsRequest p_request, final boolean p_success, final int p_nextIndex,
+            final byte[] p_fragments) {
+        super(p_request, RecoveryMessages.SUBTYPE_GET_BACKUP_FRAGMENTS_RESPONSE);
+
+        m_success = p_success;
+        m_nextIndex = p_nextIndex;
+        m_fragments = p_fragments;
+    }
+
+    // Getters
+
+    /**
+     * Returns whether the backup range could be read or not
+     *
+     * @return true if successful
+     */
+    public final boolean wasSuccessful() {
+        return m_success;
+    }
+
+    /**
+     * Returns the index of the next page
+     *
+     * @return the index or -1 if this was the last page
+     */
+    public final int getNextIndex() {
+        return m_nextIndex;
+    }
+
+    /**
+     * Returns the fragments of this page (ChunkID, length, fragment - for every chunk)
+     *
+     * @return the fragments
+     */
+    public final byte[] getFragments() {
+        return m_fragments;
+    }
+
+    @Override
+    protected final int getPayloadLength() {
+        return Byte.BYTES + Integer.BYTES + ObjectSizeUtil.sizeofByteArray(m_fragments);
+    }
+
+    // Methods
+    @Override
+    protected final void writePayload(final AbstractMessageExporter p_exporter) {
+        p_exporter.writeBoolean(m_success);
+        p_exporter.writeInt(m_nextIndex);
+        p_exporter.writeByteArray(m_fragments);
+    }
+
+    @Override
+    protected final void readPayload(final AbstractMessageImporter p_importer) {
+        m_success = p_importer.readBoolean(m_success);
+        m_nextIndex = p_importer.readInt(m_nextIndex);
+        m_fragments = p_importer.readByteArray(m_fragments);
+    }
+
+}
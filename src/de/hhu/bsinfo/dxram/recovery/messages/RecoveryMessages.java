@@ -28,6 +28,9 @@ public final class RecoveryMessages {
     public static final byte SUBTYPE_RECOVER_BACKUP_RANGE_RESPONSE = 2;
     public static final byte SUBTYPE_REPLICATE_BACKUP_RANGE_REQUEST = 3;
     public static final byte SUBTYPE_REPLICATE_BACKUP_RANGE_RESPONSE = 4;
+    public static final byte SUBTYPE_GET_BACKUP_FRAGMENTS_REQUEST = 5;
+    public static final byte SUBTYPE_GET_BACKUP_FRAGMENTS_RESPONSE = 6;
+    public static final byte SUBTYPE_REMOVE_BACKUP_FRAGMENTS_MESSAGE = 7;
 
     /**
      * Static class
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2018 Heinrich-Heine-Universitaet Duesseldorf, Institute of Computer Science,
+ * Department Operating Systems
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package de.hhu.bsinfo.dxram.recovery.messages;
+
+import de.hhu.bsinfo.dxram.DXRAMMessageTypes;
+import de.hhu.bsinfo.dxram.backup.RangeID;
+import de.hhu.bsinfo.dxnet.core.AbstractMessageExporter;
+import de.hhu.bsinfo.dxnet.core.AbstractMessageImporter;
+import de.hhu.bsinfo.dxnet.core.Message;
+import de.hhu.bsinfo.dxutils.NodeID;
+
+/**
+ * Message to remove the fragments of an erasure-coded backup range of a failed peer after the backup range was
+ * recovered. Logs transferred to the recovered backup range are not affected.
+ */
+public class RemoveBackupFragmentsMessage extends Message {
+
+    // Attributes
+    private short m_owner;
+    private short m_rangeID;
+
+    // Constructors
+
+    /**
+     * Creates an instance of RemoveBackupFragmentsMessage
+     */
+    public RemoveBackupFragmentsMessage() {
+        super();
+
+        m_owner = NodeID.INVALID_ID;
+        m_rangeID = RangeID.INVALID_ID;
+    }
+
+    /**
+     * Creates an instance of RemoveBackupFragmentsMessage
+     *
+     * @param p_destination
+     *         the destination
+     * @param p_owner
+     *         the NodeID of the failed owner
+     * @param p_rangeID
+     *         the range ID
+     */
+    public RemoveBackupFragmentsMessage(final short p_destination, final short p_owner, final short p_rangeID) {
+        super(p_destination, DXRAMMessageTypes.RECOVERY_MESSAGES_TYPE, RecoveryMessages.SUBTYPE_REMOVE_BACKUP_FRAGMENTS_MESSAGE);
+
+        m_owner = p_owner;
+        m_rangeID = p_rangeID;
+    }
+
+    // Getters
+
+    /**
+     * Get the owner
+     *
+     * @return the NodeID
+     */
+    public final short getOwner() {
+        return m_owner;
+    }
+
+    /**
+     * Get the range ID
+     *
+     * @return the RangeID
+     */
+    public final short getRangeID() {
+        return m_rangeID;
+    }
+
+    @Override
+    protected final int getPayloadLength() {
+        return 2 * Short.BYTES;
+    }
+
+    // Methods
+    @Override
+    protected final void writePayload(final AbstractMessageExporter p_exporter) {
+        p_exporter.writeShort(m_owner);
+        p_exporter.writeShort(m_rangeID);
+    }
+
+    @Override
+    protected final void readPayload(final AbstractMessageImporter p_importer) {
+        m_owner = p_importer.readShort(m_owner);
+        m_rangeID = p_importer.readShort(m_rangeID);
+    }
+
+}
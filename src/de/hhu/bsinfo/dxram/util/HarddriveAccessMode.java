@@ -22,9 +22,10 @@ package de.hhu.bsinfo.dxram.util;
  * @author Kevin Beineke, kevin.beineke@hhu.de, 25.11.2016
  */
 public enum HarddriveAccessMode {
-    RANDOM_ACCESS_FILE, ODIRECT, RAW_DEVICE;
+    RANDOM_ACCESS_FILE, FILE_CHANNEL, ODIRECT, RAW_DEVICE;
 
     private static final String RANDOM_ACCESS_FILE_STR = "raf";
+    private static final String FILE_CHANNEL_STR = "nio";
     private static final String ODIRECT_STR = "dir";
     private static final String RAW_DEVICE_STR = "raw";
 
@@ -40,6 +41,8 @@ public enum HarddriveAccessMode {
         switch (str) {
             case RANDOM_ACCESS_FILE_STR:
                 return RANDOM_ACCESS_FILE;
+            case FILE_CHANNEL_STR:
+                return FILE_CHANNEL;
             case ODIRECT_STR:
                 return ODIRECT;
             default:
@@ -55,7 +58,7 @@ public enum HarddriveAccessMode {
      * @return the name
      */
     public static String getJNIFileName(final HarddriveAccessMode p_mode) {
-        if (p_mode == RANDOM_ACCESS_FILE) {
+        if (p_mode == RANDOM_ACCESS_FILE || p_mode == FILE_CHANNEL) {
             return "";
         } else if (p_mode == ODIRECT) {
             return "JNIFileDirect";
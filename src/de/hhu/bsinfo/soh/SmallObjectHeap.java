@@ -19,6 +19,7 @@ package de.hhu.bsinfo.soh;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -53,6 +54,8 @@ public final class SmallObjectHeap implements Importable, Exportable {
     private int m_maxBlockSize;
     private int m_freeBlocksListCount = -1;
     private Status m_status;
+    private Arena[] m_arenas;
+    private long m_arenaSize;
 
     /**
      * Creates an instance of the object heap
@@ -63,13 +66,45 @@ public final class SmallObjectHeap implements Importable, Exportable {
      *         The size of the memory in bytes.
      */
     public SmallObjectHeap(final Storage p_memory, final long p_size, final int p_maxBlockSize) {
+        this(p_memory, p_size, p_maxBlockSize, 1);
+    }
+
+    /**
+     * Creates an instance of the object heap split into multiple arenas. Every arena manages an equally sized
+     * part of the memory with its own free block lists and lock. A thread allocates from its home arena and
+     * falls back to the other arenas if the home arena is exhausted. Free returns a block to the arena owning it.
+     * With more than one arena, malloc and free are thread safe and can be called concurrently.
+     *
+     * @param p_memory
+     *         The underlying storage to use for this memory.
+     * @param p_size
+     *         The size of the memory in bytes.
+     * @param p_maxBlockSize
+     *         Max size of a single memory block
+     * @param p_arenaCount
+     *         Number of arenas to split the memory into (1 for a single, not thread safe, arena)
+     */
+    public SmallObjectHeap(final Storage p_memory, final long p_size, final int p_maxBlockSize,
+            final int p_arenaCount) {
         m_memory = p_memory;
         m_status = new Status();
         m_status.m_size = p_size;
         m_status.m_maxBlockSize = p_maxBlockSize;
 
+        if (p_arenaCount < 1) {
+            throw new MemoryRuntimeException("Invalid arena count " + p_arenaCount);
+        }
+
+        m_arenaSize = p_size / p_arenaCount;
+
+        // an arena must be able to hold at least one block of max size
+        if (m_arenaSize < 2L * p_maxBlockSize) {
+            throw new MemoryRuntimeException(
+                    "Arena size " + m_arenaSize + " too small for max block size " + p_maxBlockSize + ", reduce arena count " + p_arenaCount);
+        }
+
         // #if LOGGER >= INFO
-        LOGGER.info("Creating SmallObjectHeap, size %d bytes, max block size %d bytes", p_size, p_maxBlockSize);
+        LOGGER.info("Creating SmallObjectHeap, size %d bytes, max block size %d bytes, arenas %d", p_size, p_maxBlockSize, p_arenaCount);
         // #endif /* LOGGER >= INFO */
 
         m_memory.allocate(p_size);
@@ -88,9 +123,8 @@ public final class SmallObjectHeap implements Importable, Exportable {
         // -2, because we don't need a free block list for the full memory
         // and the first size greater than the full memory size
         // detect highest bit using log2 to have proper memory sizes
-        m_freeBlocksListCount = (int) (Math.log(p_size) / Math.log(2)) - 2;
+        m_freeBlocksListCount = (int) (Math.log(m_arenaSize) / Math.log(2)) - 2;
         m_freeBlocksListSize = m_freeBlocksListCount * POINTER_SIZE;
-        m_baseFreeBlockList = m_status.m_size - m_freeBlocksListSize;
 
         // Initializes the list sizes
         m_freeBlockListSizes = new long[m_freeBlocksListCount];
@@ -105,17 +139,40 @@ public final class SmallObjectHeap implements Importable, Exportable {
             m_freeBlockListSizes[i] = (long) Math.pow(2, i + 2);
         }
 
+        // every arena holds its free block lists at the end of its memory area, the last arena gets the remainder
+        m_arenas = new Arena[p_arenaCount];
+
+        for (int i = 0; i < p_arenaCount; i++) {
+            long start = i * m_arenaSize;
+            long end = i == p_arenaCount - 1 ? p_size : start + m_arenaSize;
+            Status status;
+
+            if (p_arenaCount == 1) {
+                status = m_status;
+            } else {
+                status = new Status();
+                status.m_size = end - start;
+                status.m_maxBlockSize = p_maxBlockSize;
+            }
+
+            m_arenas[i] = new Arena(start, end - m_freeBlocksListSize, status, p_arenaCount > 1);
+
+            // Create one big free block
+            // -2 for the marker bytes
+            status.m_free = end - start - m_freeBlocksListSize - SIZE_MARKER_BYTE * 2;
+            status.m_freeBlocks = 0;
+            status.m_freeSmall64ByteBlocks = 0;
+            createFreeBlock(m_arenas[i], start + SIZE_MARKER_BYTE, status.m_free);
+        }
+
+        m_baseFreeBlockList = m_arenas[0].m_baseFreeBlockList;
+
         // #if LOGGER >= DEBUG
         LOGGER.debug("Created free block lists, m_freeBlocksListCount %d, m_freeBlocksListSize %d, m_baseFreeBlockList %d", m_freeBlocksListCount,
                 m_freeBlocksListSize, m_baseFreeBlockList);
         // #endif /* LOGGER >= DEBUG */
 
-        // Create one big free block
-        // -2 for the marker bytes
-        m_status.m_free = m_status.m_size - m_freeBlocksListSize - SIZE_MARKER_BYTE * 2;
-        createFreeBlock(SIZE_MARKER_BYTE, m_status.m_free);
-        m_status.m_freeBlocks = 1;
-        m_status.m_freeSmall64ByteBlocks = 0;
+        updateStatus();
     }
 
     public SmallObjectHeap(final String p_memDumpFile, final Storage p_memory) {
@@ -211,9 +268,22 @@ public final class SmallObjectHeap implements Importable, Exportable {
      * @return the status
      */
     public Status getStatus() {
+        if (m_arenas.length > 1) {
+            updateStatus();
+        }
+
         return m_status;
     }
 
+    /**
+     * Get the number of arenas the heap is split into
+     *
+     * @return Number of arenas
+     */
+    public int getArenaCount() {
+        return m_arenas.length;
+    }
+
     /**
      * Free all memory of the storage instance
      */
@@ -265,7 +335,26 @@ public final class SmallObjectHeap implements Importable, Exportable {
      * @return the address of the block or 0 if no free blocks available for the specified size
      */
     public long malloc(final int p_size) {
-        return reserveBlock(p_size);
+        int home = getHomeArena();
+
+        // try home arena first, fall back to the others if exhausted
+        for (int i = 0; i < m_arenas.length; i++) {
+            Arena arena = m_arenas[(home + i) % m_arenas.length];
+            long address;
+
+            arena.lock();
+            try {
+                address = reserveBlock(arena, p_size);
+            } finally {
+                arena.unlock();
+            }
+
+            if (address != INVALID_ADDRESS) {
+                return address;
+            }
+        }
+
+        return INVALID_ADDRESS;
     }
 
     /**
@@ -310,7 +399,14 @@ public final class SmallObjectHeap implements Importable, Exportable {
             bigChunkSize += calculateLengthFieldSizeAllocBlock(p_sizes[i]);
         }
 
-        ret = multiReserveBlocks(bigChunkSize, p_sizes, p_usedEntries);
+        Arena arena = m_arenas[getHomeArena()];
+
+        arena.lock();
+        try {
+            ret = multiReserveBlocks(arena, bigChunkSize, p_sizes, p_usedEntries);
+        } finally {
+            arena.unlock();
+        }
 
         if (ret == null) {
             // fallback to single malloc calls on failure
@@ -363,7 +459,14 @@ public final class SmallObjectHeap implements Importable, Exportable {
         bigChunkSize += p_size * p_count;
         bigChunkSize += calculateLengthFieldSizeAllocBlock(p_size) * p_count;
 
-        ret = multiReserveBlocks(bigChunkSize, p_size, p_count);
+        Arena arena = m_arenas[getHomeArena()];
+
+        arena.lock();
+        try {
+            ret = multiReserveBlocks(arena, bigChunkSize, p_size, p_count);
+        } finally {
+            arena.unlock();
+        }
 
         if (ret == null) {
             // fallback to single malloc calls on failure
@@ -398,9 +501,16 @@ public final class SmallObjectHeap implements Importable, Exportable {
 
     public void free(final long p_address) {
         int lengthFieldSize;
+        Arena arena = getArena(p_address);
 
         lengthFieldSize = getSizeFromMarker(readRightPartOfMarker(p_address - SIZE_MARKER_BYTE));
-        freeReservedBlock(p_address, lengthFieldSize, getSizeMemoryBlock(p_address));
+
+        arena.lock();
+        try {
+            freeReservedBlock(arena, p_address, lengthFieldSize, getSizeMemoryBlock(p_address));
+        } finally {
+            arena.unlock();
+        }
     }
 
     /**
@@ -551,6 +661,35 @@ public final class SmallObjectHeap implements Importable, Exportable {
         return m_memory.readBytes(p_address + lengthFieldSize + p_offset, p_buffer, p_offsetArray, p_length);
     }
 
+    /**
+     * Read data to a native address.
+     *
+     * @param p_address
+     *         Address in heap to start at.
+     * @param p_offset
+     *         Offset to add to start address.
+     * @param p_bufferAddress
+     *         Native address to read the data to.
+     * @param p_bufferOffset
+     *         Address offset.
+     * @param p_length
+     *         Number of elements to read.
+     * @return Number of elements read.
+     */
+    public int readBytes(final long p_address, final long p_offset, final long p_bufferAddress,
+            final int p_bufferOffset, final int p_length) {
+        assert assertMemoryBounds(p_address, p_offset);
+
+        int lengthFieldSize;
+        // skip length byte(s)
+        lengthFieldSize = getSizeFromMarker(readRightPartOfMarker(p_address - SIZE_MARKER_BYTE));
+
+        assert assertMemoryBlockBounds(p_address, lengthFieldSize, read(p_address, lengthFieldSize), p_offset,
+                p_length * Byte.BYTES);
+
+        return m_memory.readBytes(p_address + lengthFieldSize + p_offset, p_bufferAddress, p_bufferOffset, p_length);
+    }
+
     /**
      * Read data into a short array.
      *
@@ -720,6 +859,202 @@ public final class SmallObjectHeap implements Importable, Exportable {
         m_memory.writeLong(p_address + lengthFieldSize + p_offset, p_value);
     }
 
+    /**
+     * Check if a field of a block is naturally aligned, i.e. if atomic operations can be executed on it.
+     * The position of the payload depends on the size of the length field, so the same offset can be aligned in
+     * one block and unaligned in another one.
+     *
+     * @param p_address
+     *         Address of the block.
+     * @param p_offset
+     *         Offset of the field within the block.
+     * @param p_size
+     *         Size of the field (4 or 8 bytes).
+     * @return True if the field is aligned to its size.
+     */
+    public boolean isAligned(final long p_address, final long p_offset, final int p_size) {
+        int lengthFieldSize;
+        // skip length byte(s)
+        lengthFieldSize = getSizeFromMarker(readRightPartOfMarker(p_address - SIZE_MARKER_BYTE));
+
+        // the storage base address is at least 8 byte aligned
+        return (p_address + lengthFieldSize + p_offset) % p_size == 0;
+    }
+
+    /**
+     * Reject unaligned atomic accesses, the CPU does not guarantee atomicity for fields crossing a cache line
+     *
+     * @param p_address
+     *         Address of the field.
+     * @param p_size
+     *         Size of the field.
+     */
+    private static void checkAlignment(final long p_address, final int p_size) {
+        if (p_address % p_size != 0) {
+            throw new MemoryRuntimeException("Unaligned atomic access to address " + p_address + " with size " + p_size);
+        }
+    }
+
+    /**
+     * Atomically set an int at the specified address + offset if it equals the expected value.
+     *
+     * @param p_address
+     *         Address.
+     * @param p_offset
+     *         Offset to add to the address.
+     * @param p_expected
+     *         Expected current value.
+     * @param p_value
+     *         Value to set.
+     * @return True if the value was set, false if the current value differs.
+     */
+    public boolean compareAndSwapInt(final long p_address, final long p_offset, final int p_expected, final int p_value) {
+        assert assertMemoryBounds(p_address, p_offset);
+
+        int lengthFieldSize;
+        // skip length byte(s)
+        lengthFieldSize = getSizeFromMarker(readRightPartOfMarker(p_address - SIZE_MARKER_BYTE));
+
+        assert assertMemoryBlockBounds(p_address, lengthFieldSize, read(p_address, lengthFieldSize), p_offset,
+                Integer.BYTES);
+
+        checkAlignment(p_address + lengthFieldSize + p_offset, Integer.BYTES);
+
+        return m_memory.compareAndSwapInt(p_address + lengthFieldSize + p_offset, p_expected, p_value);
+    }
+
+    /**
+     * Atomically set a long at the specified address + offset if it equals the expected value.
+     *
+     * @param p_address
+     *         Address.
+     * @param p_offset
+     *         Offset to add to the address.
+     * @param p_expected
+     *         Expected current value.
+     * @param p_value
+     *         Value to set.
+     * @return True if the value was set, false if the current value differs.
+     */
+    public boolean compareAndSwapLong(final long p_address, final long p_offset, final long p_expected, final long p_value) {
+        assert assertMemoryBounds(p_address, p_offset);
+
+        int lengthFieldSize;
+        // skip length byte(s)
+        lengthFieldSize = getSizeFromMarker(readRightPartOfMarker(p_address - SIZE_MARKER_BYTE));
+
+        assert assertMemoryBlockBounds(p_address, lengthFieldSize, read(p_address, lengthFieldSize), p_offset,
+                Long.BYTES);
+
+        checkAlignment(p_address + lengthFieldSize + p_offset, Long.BYTES);
+
+        return m_memory.compareAndSwapLong(p_address + lengthFieldSize + p_offset, p_expected, p_value);
+    }
+
+    /**
+     * Atomically add to an int at the specified address + offset.
+     *
+     * @param p_address
+     *         Address.
+     * @param p_offset
+     *         Offset to add to the address.
+     * @param p_delta
+     *         Value to add.
+     * @return Previous value.
+     */
+    public int getAndAddInt(final long p_address, final long p_offset, final int p_delta) {
+        assert assertMemoryBounds(p_address, p_offset);
+
+        int lengthFieldSize;
+        // skip length byte(s)
+        lengthFieldSize = getSizeFromMarker(readRightPartOfMarker(p_address - SIZE_MARKER_BYTE));
+
+        assert assertMemoryBlockBounds(p_address, lengthFieldSize, read(p_address, lengthFieldSize), p_offset,
+                Integer.BYTES);
+
+        checkAlignment(p_address + lengthFieldSize + p_offset, Integer.BYTES);
+
+        return m_memory.getAndAddInt(p_address + lengthFieldSize + p_offset, p_delta);
+    }
+
+    /**
+     * Atomically add to a long at the specified address + offset.
+     *
+     * @param p_address
+     *         Address.
+     * @param p_offset
+     *         Offset to add to the address.
+     * @param p_delta
+     *         Value to add.
+     * @return Previous value.
+     */
+    public long getAndAddLong(final long p_address, final long p_offset, final long p_delta) {
+        assert assertMemoryBounds(p_address, p_offset);
+
+        int lengthFieldSize;
+        // skip length byte(s)
+        lengthFieldSize = getSizeFromMarker(readRightPartOfMarker(p_address - SIZE_MARKER_BYTE));
+
+        assert assertMemoryBlockBounds(p_address, lengthFieldSize, read(p_address, lengthFieldSize), p_offset,
+                Long.BYTES);
+
+        checkAlignment(p_address + lengthFieldSize + p_offset, Long.BYTES);
+
+        return m_memory.getAndAddLong(p_address + lengthFieldSize + p_offset, p_delta);
+    }
+
+    /**
+     * Atomically set an int at the specified address + offset.
+     *
+     * @param p_address
+     *         Address.
+     * @param p_offset
+     *         Offset to add to the address.
+     * @param p_value
+     *         Value to set.
+     * @return Previous value.
+     */
+    public int getAndSetInt(final long p_address, final long p_offset, final int p_value) {
+        assert assertMemoryBounds(p_address, p_offset);
+
+        int lengthFieldSize;
+        // skip length byte(s)
+        lengthFieldSize = getSizeFromMarker(readRightPartOfMarker(p_address - SIZE_MARKER_BYTE));
+
+        assert assertMemoryBlockBounds(p_address, lengthFieldSize, read(p_address, lengthFieldSize), p_offset,
+                Integer.BYTES);
+
+        checkAlignment(p_address + lengthFieldSize + p_offset, Integer.BYTES);
+
+        return m_memory.getAndSetInt(p_address + lengthFieldSize + p_offset, p_value);
+    }
+
+    /**
+     * Atomically set a long at the specified address + offset.
+     *
+     * @param p_address
+     *         Address.
+     * @param p_offset
+     *         Offset to add to the address.
+     * @param p_value
+     *         Value to set.
+     * @return Previous value.
+     */
+    public long getAndSetLong(final long p_address, final long p_offset, final long p_value) {
+        assert assertMemoryBounds(p_address, p_offset);
+
+        int lengthFieldSize;
+        // skip length byte(s)
+        lengthFieldSize = getSizeFromMarker(readRightPartOfMarker(p_address - SIZE_MARKER_BYTE));
+
+        assert assertMemoryBlockBounds(p_address, lengthFieldSize, read(p_address, lengthFieldSize), p_offset,
+                Long.BYTES);
+
+        checkAlignment(p_address + lengthFieldSize + p_offset, Long.BYTES);
+
+        return m_memory.getAndSetLong(p_address + lengthFieldSize + p_offset, p_value);
+    }
+
     /**
      * Write an array of bytes to the specified address + offset.
      *
@@ -859,7 +1194,7 @@ public final class SmallObjectHeap implements Importable, Exportable {
 
     @Override
     public String toString() {
-        return "Memory: " + "m_baseFreeBlockList " + m_baseFreeBlockList + ", status: " + m_status;
+        return "Memory: " + "m_baseFreeBlockList " + m_baseFreeBlockList + ", arenas " + m_arenas.length + ", status: " + m_status;
     }
 
     @Override
@@ -869,7 +1204,17 @@ public final class SmallObjectHeap implements Importable, Exportable {
         p_exporter.writeInt(m_freeBlocksListSize);
         p_exporter.writeLongArray(m_freeBlockListSizes);
         p_exporter.writeInt(m_freeBlocksListCount);
+        updateStatus();
         p_exporter.exportObject(m_status);
+        p_exporter.writeInt(m_arenas.length);
+        p_exporter.writeLong(m_arenaSize);
+
+        if (m_arenas.length > 1) {
+            for (Arena arena : m_arenas) {
+                p_exporter.exportObject(arena.m_status);
+            }
+        }
+
         // separate metadata from VMB with padding
         p_exporter.writeLong(0xFFFFEEDDDDEEFFFFL);
 
@@ -900,6 +1245,26 @@ public final class SmallObjectHeap implements Importable, Exportable {
         m_freeBlocksListCount = p_importer.readInt(m_freeBlocksListCount);
         m_status = new Status();
         p_importer.importObject(m_status);
+        int arenaCount = p_importer.readInt(0);
+        m_arenaSize = p_importer.readLong(m_arenaSize);
+
+        m_arenas = new Arena[arenaCount];
+
+        for (int i = 0; i < arenaCount; i++) {
+            long start = i * m_arenaSize;
+            long end = i == arenaCount - 1 ? m_status.getSize() : start + m_arenaSize;
+            Status status;
+
+            if (arenaCount == 1) {
+                status = m_status;
+            } else {
+                status = new Status();
+                p_importer.importObject(status);
+            }
+
+            m_arenas[i] = new Arena(start, end - m_freeBlocksListSize, status, arenaCount > 1);
+        }
+
         // get rid of padding separating metadata from VMB
         p_importer.readLong(0);
 
@@ -999,11 +1364,13 @@ public final class SmallObjectHeap implements Importable, Exportable {
     /**
      * Reserve a free block of memory.
      *
+     * @param p_arena
+     *         Arena to operate on
      * @param p_size
      *         Size of the block (payload size).
      * @return Address of the reserved block or null if out of memory of no block for requested size was found.
      */
-    private long reserveBlock(final int p_size) {
+    private long reserveBlock(final Arena p_arena, final int p_size) {
         assert p_size > 0;
 
         long address;
@@ -1019,11 +1386,11 @@ public final class SmallObjectHeap implements Importable, Exportable {
 
         blockMarker = (byte) (ALLOC_BLOCK_FLAGS_OFFSET + lengthFieldSize);
         blockSize = p_size + lengthFieldSize;
-        address = findFreeBlock(blockSize);
+        address = findFreeBlock(p_arena, blockSize);
 
         if (address != INVALID_ADDRESS) {
-            unhookFreeBlock(address);
-            trimFreeBlockToSize(address, blockSize);
+            unhookFreeBlock(p_arena, address);
+            trimFreeBlockToSize(p_arena, address, blockSize);
 
             // Write marker
             writeLeftPartOfMarker(address + blockSize, blockMarker);
@@ -1031,8 +1398,8 @@ public final class SmallObjectHeap implements Importable, Exportable {
 
             write(address, p_size, lengthFieldSize);
 
-            m_status.m_allocatedPayload += p_size;
-            m_status.m_allocatedBlocks++;
+            p_arena.m_status.m_allocatedPayload += p_size;
+            p_arena.m_status.m_allocatedBlocks++;
         }
 
         return address;
@@ -1041,11 +1408,13 @@ public final class SmallObjectHeap implements Importable, Exportable {
     /**
      * Find a free block with a minimum size
      *
+     * @param p_arena
+     *         Arena to operate on
      * @param p_size
      *         Number of bytes that have to fit into that block
      * @return Address of the still hooked free block
      */
-    private long findFreeBlock(final int p_size) {
+    private long findFreeBlock(final Arena p_arena, final int p_size) {
         int list;
         int listIdx;
         long address;
@@ -1054,16 +1423,16 @@ public final class SmallObjectHeap implements Importable, Exportable {
 
         // Get the list with a free block which is big enough
         list = getList(p_size) + 1;
-        while (list < m_freeBlocksListCount && readPointer(m_baseFreeBlockList + list * POINTER_SIZE) == 0) {
+        while (list < m_freeBlocksListCount && readPointer(p_arena.m_baseFreeBlockList + list * POINTER_SIZE) == 0) {
             list++;
         }
         if (list < m_freeBlocksListCount) {
             // A list is found
-            address = readPointer(m_baseFreeBlockList + list * POINTER_SIZE);
+            address = readPointer(p_arena.m_baseFreeBlockList + list * POINTER_SIZE);
         } else {
             // Traverse through the lower list
             list = getList(p_size);
-            address = readPointer(m_baseFreeBlockList + list * POINTER_SIZE);
+            address = readPointer(p_arena.m_baseFreeBlockList + list * POINTER_SIZE);
             if (address != INVALID_ADDRESS) {
                 freeLengthFieldSize = readRightPartOfMarker(address - 1);
                 freeSize = read(address, freeLengthFieldSize);
@@ -1084,72 +1453,64 @@ public final class SmallObjectHeap implements Importable, Exportable {
      * Uses an unhooked block and trims it to the right size to exactly fit the
      * specified number of bytes. The unused space is hooked back as free space.
      *
+     * @param p_arena
+     *         Arena to operate on
      * @param p_address
      *         Address of the unhooked block to trim
      * @param p_size
      *         Size to trim the block to
      */
-    private void trimFreeBlockToSize(final long p_address, final long p_size) {
+    private void trimFreeBlockToSize(final Arena p_arena, final long p_address, final long p_size) {
         long freeSize;
         int freeLengthFieldSize;
 
         freeLengthFieldSize = readRightPartOfMarker(p_address - SIZE_MARKER_BYTE);
         freeSize = read(p_address, freeLengthFieldSize);
         if (freeSize == p_size) {
-            m_status.m_free -= p_size;
-            m_status.m_freeBlocks--;
-            if (freeSize < SMALL_BLOCK_SIZE) {
-                m_status.m_freeSmall64ByteBlocks--;
-            }
+            p_arena.m_status.m_free -= p_size;
         } else if (freeSize == p_size + 1) {
             // 1 Byte to big -> write two markers on the right
             writeRightPartOfMarker(p_address + p_size, SINGLE_BYTE_MARKER);
             writeLeftPartOfMarker(p_address + p_size + 1, SINGLE_BYTE_MARKER);
 
             // +1 for the marker byte added
-            m_status.m_free -= p_size + 1;
-            m_status.m_freeBlocks--;
-            if (freeSize + 1 < SMALL_BLOCK_SIZE) {
-                m_status.m_freeSmall64ByteBlocks--;
-            }
+            p_arena.m_status.m_free -= p_size + 1;
         } else {
             // Block is too big -> create a new free block with the remaining size
-            createFreeBlock(p_address + p_size + 1, freeSize - p_size - 1);
+            createFreeBlock(p_arena, p_address + p_size + 1, freeSize - p_size - 1);
 
             // +1 for the marker byte added
-            m_status.m_free -= p_size + 1;
-
-            if (freeSize >= SMALL_BLOCK_SIZE && freeSize - p_size - 1 < SMALL_BLOCK_SIZE) {
-                m_status.m_freeSmall64ByteBlocks++;
-            }
+            p_arena.m_status.m_free -= p_size + 1;
         }
     }
 
     /**
      * Reserve multiple blocks with a single call reducing metadata processing overhead
      *
+     * @param p_arena
+     *         Arena to operate on
      * @param p_bigBlockSize
      *         Total size of the block to reserve. This already needs to include all marker bytes and length fields aside the payload sizes
      * @param p_sizes
      *         List of block sizes (payloads, only)
      * @return Addresses of the allocated blocks
      */
-    private long[] multiReserveBlocks(final int p_bigBlockSize, final int[] p_sizes, final int p_usedEntries) {
+    private long[] multiReserveBlocks(final Arena p_arena, final int p_bigBlockSize, final int[] p_sizes, final int p_usedEntries) {
         long[] ret;
         int size;
         long address;
         int lengthFieldSize;
         byte blockMarker;
 
-        address = findFreeBlock(p_bigBlockSize);
+        address = findFreeBlock(p_arena, p_bigBlockSize);
 
         // no free block found
         if (address == INVALID_ADDRESS) {
             return null;
         }
 
-        unhookFreeBlock(address);
-        trimFreeBlockToSize(address, p_bigBlockSize);
+        unhookFreeBlock(p_arena, address);
+        trimFreeBlockToSize(p_arena, address, p_bigBlockSize);
 
         ret = new long[p_usedEntries];
 
@@ -1174,8 +1535,8 @@ public final class SmallObjectHeap implements Importable, Exportable {
             address += lengthFieldSize + size + 1;
 
             // update full size
-            m_status.m_allocatedPayload += p_sizes[i];
-            m_status.m_allocatedBlocks++;
+            p_arena.m_status.m_allocatedPayload += p_sizes[i];
+            p_arena.m_status.m_allocatedBlocks++;
         }
 
         return ret;
@@ -1184,6 +1545,8 @@ public final class SmallObjectHeap implements Importable, Exportable {
     /**
      * Reserve multiple blocks with a single call reducing metadata processing overhead
      *
+     * @param p_arena
+     *         Arena to operate on
      * @param p_bigBlockSize
      *         Total size of the block to reserve. This already needs to include all marker bytes and length fields aside the payload sizes
      * @param p_size
@@ -1192,22 +1555,22 @@ public final class SmallObjectHeap implements Importable, Exportable {
      *         Number of blocks of p_size each
      * @return Addresses of the allocated blocks
      */
-    private long[] multiReserveBlocks(final int p_bigBlockSize, final int p_size, final int p_count) {
+    private long[] multiReserveBlocks(final Arena p_arena, final int p_bigBlockSize, final int p_size, final int p_count) {
         long[] ret;
         int size;
         long address;
         int lengthFieldSize;
         byte blockMarker;
 
-        address = findFreeBlock(p_bigBlockSize);
+        address = findFreeBlock(p_arena, p_bigBlockSize);
 
         // no free block found
         if (address == INVALID_ADDRESS) {
             return null;
         }
 
-        unhookFreeBlock(address);
-        trimFreeBlockToSize(address, p_bigBlockSize);
+        unhookFreeBlock(p_arena, address);
+        trimFreeBlockToSize(p_arena, address, p_bigBlockSize);
 
         ret = new long[p_count];
 
@@ -1232,8 +1595,8 @@ public final class SmallObjectHeap implements Importable, Exportable {
             address += lengthFieldSize + size + 1;
 
             // update full size
-            m_status.m_allocatedPayload += p_size;
-            m_status.m_allocatedBlocks++;
+            p_arena.m_status.m_allocatedPayload += p_size;
+            p_arena.m_status.m_allocatedBlocks++;
         }
 
         return ret;
@@ -1242,6 +1605,8 @@ public final class SmallObjectHeap implements Importable, Exportable {
     /**
      * Free a reserved block of memory
      *
+     * @param p_arena
+     *         Arena to operate on
      * @param p_address
      *         Address of the block
      * @param p_lengthFieldSize
@@ -1249,7 +1614,7 @@ public final class SmallObjectHeap implements Importable, Exportable {
      * @param p_blockSize
      *         Size of the block's payload
      */
-    private void freeReservedBlock(final long p_address, final int p_lengthFieldSize, final long p_blockSize) {
+    private void freeReservedBlock(final Arena p_arena, final long p_address, final int p_lengthFieldSize, final long p_blockSize) {
         long blockSize;
         long freeSize;
         long address;
@@ -1268,8 +1633,8 @@ public final class SmallObjectHeap implements Importable, Exportable {
         freeSize = blockSize + lengthFieldSize;
         address = p_address;
 
-        // only merge if left neighbor exists (beginning of memory area)
-        if (address - SIZE_MARKER_BYTE != 0) {
+        // only merge if left neighbor exists (beginning of memory area of the arena)
+        if (address - SIZE_MARKER_BYTE != p_arena.m_start) {
             // Read left part of the marker on the left
             leftMarker = readLeftPartOfMarker(address - 1);
             leftFree = true;
@@ -1278,6 +1643,9 @@ public final class SmallObjectHeap implements Importable, Exportable {
                     // Left neighbor block (<= 12 byte) is free -> merge free blocks
                     // -1, length field size is 1
                     leftSize = read(address - SIZE_MARKER_BYTE - 1, 1);
+                    // not hooked in the lists, no unhook but still gone as a separate block
+                    p_arena.m_status.m_freeBlocks--;
+                    p_arena.m_status.m_freeSmall64ByteBlocks--;
                     // merge marker byte
                     leftSize += SIZE_MARKER_BYTE;
                     break;
@@ -1289,7 +1657,7 @@ public final class SmallObjectHeap implements Importable, Exportable {
                     // Left neighbor block is free -> merge free blocks
                     leftSize = read(address - SIZE_MARKER_BYTE - leftMarker, leftMarker);
                     // skip leftSize and marker byte from address to get block offset
-                    unhookFreeBlock(address - leftSize - SIZE_MARKER_BYTE);
+                    unhookFreeBlock(p_arena, address - leftSize - SIZE_MARKER_BYTE);
                     // we also merge the marker byte
                     leftSize += SIZE_MARKER_BYTE;
                     break;
@@ -1312,7 +1680,7 @@ public final class SmallObjectHeap implements Importable, Exportable {
         freeSize += leftSize;
 
         // Only merge if right neighbor within valid area (not inside or past free blocks list)
-        if (address + blockSize + SIZE_MARKER_BYTE != m_baseFreeBlockList) {
+        if (p_address + lengthFieldSize + blockSize + SIZE_MARKER_BYTE != p_arena.m_baseFreeBlockList) {
 
             // Read right part of the marker on the right
             rightMarker = readRightPartOfMarker(p_address + lengthFieldSize + blockSize);
@@ -1322,6 +1690,9 @@ public final class SmallObjectHeap implements Importable, Exportable {
                     // Right neighbor block (<= 12 byte) is free -> merge free blocks
                     // + 1 to skip marker byte
                     rightSize = read(p_address + lengthFieldSize + blockSize + SIZE_MARKER_BYTE, 1);
+                    // not hooked in the lists, no unhook but still gone as a separate block
+                    p_arena.m_status.m_freeBlocks--;
+                    p_arena.m_status.m_freeSmall64ByteBlocks--;
                     // merge marker byte
                     rightSize += SIZE_MARKER_BYTE;
                     break;
@@ -1333,7 +1704,7 @@ public final class SmallObjectHeap implements Importable, Exportable {
                     // Right neighbor block is free -> merge free blocks
                     // + 1 to skip marker byte
                     rightSize = getSizeMemoryBlock(p_address + lengthFieldSize + blockSize + SIZE_MARKER_BYTE);
-                    unhookFreeBlock(p_address + lengthFieldSize + blockSize + SIZE_MARKER_BYTE);
+                    unhookFreeBlock(p_arena, p_address + lengthFieldSize + blockSize + SIZE_MARKER_BYTE);
                     // we also merge the marker byte
                     rightSize += SIZE_MARKER_BYTE;
                     break;
@@ -1355,40 +1726,20 @@ public final class SmallObjectHeap implements Importable, Exportable {
         freeSize += rightSize;
 
         // Create a free block
-        createFreeBlock(address, freeSize);
+        createFreeBlock(p_arena, address, freeSize);
 
+        // free block counters are maintained by createFreeBlock and unhookFreeBlock
         if (!leftFree && !rightFree) {
-            m_status.m_free += blockSize + lengthFieldSize;
-            m_status.m_freeBlocks++;
-            if (blockSize + lengthFieldSize < SMALL_BLOCK_SIZE) {
-                m_status.m_freeSmall64ByteBlocks++;
-            }
-        } else if (leftFree && !rightFree) {
-            m_status.m_free += blockSize + lengthFieldSize + SIZE_MARKER_BYTE;
-            if (blockSize + lengthFieldSize + leftSize >= SMALL_BLOCK_SIZE && leftSize < SMALL_BLOCK_SIZE) {
-                m_status.m_freeSmall64ByteBlocks--;
-            }
-        } else if (!leftFree /*&& rightFree*/) {
-            m_status.m_free += blockSize + lengthFieldSize + SIZE_MARKER_BYTE;
-            if (blockSize + lengthFieldSize + rightSize >= SMALL_BLOCK_SIZE && rightSize < SMALL_BLOCK_SIZE) {
-                m_status.m_freeSmall64ByteBlocks--;
-            }
-            // leftFree && rightFree
+            p_arena.m_status.m_free += blockSize + lengthFieldSize;
+        } else if (leftFree != rightFree) {
+            p_arena.m_status.m_free += blockSize + lengthFieldSize + SIZE_MARKER_BYTE;
         } else {
             // +2 for two marker bytes being merged
-            m_status.m_free += blockSize + lengthFieldSize + 2 * SIZE_MARKER_BYTE;
-            m_status.m_freeBlocks--;
-            if (blockSize + lengthFieldSize + leftSize + rightSize >= SMALL_BLOCK_SIZE) {
-                if (rightSize < SMALL_BLOCK_SIZE && leftSize < SMALL_BLOCK_SIZE) {
-                    m_status.m_freeSmall64ByteBlocks--;
-                } else if (rightSize >= SMALL_BLOCK_SIZE && leftSize >= SMALL_BLOCK_SIZE) {
-                    m_status.m_freeSmall64ByteBlocks++;
-                }
-            }
+            p_arena.m_status.m_free += blockSize + lengthFieldSize + 2 * SIZE_MARKER_BYTE;
         }
 
-        m_status.m_allocatedPayload -= blockSize;
-        m_status.m_allocatedBlocks--;
+        p_arena.m_status.m_allocatedPayload -= blockSize;
+        p_arena.m_status.m_allocatedBlocks--;
     }
 
     /**
@@ -1426,12 +1777,14 @@ public final class SmallObjectHeap implements Importable, Exportable {
     /**
      * Creates a free block
      *
+     * @param p_arena
+     *         Arena to operate on
      * @param p_address
      *         the address
      * @param p_size
      *         the size
      */
-    private void createFreeBlock(final long p_address, final long p_size) {
+    private void createFreeBlock(final Arena p_arena, final long p_address, final long p_size) {
         long listOffset;
         int lengthFieldSize;
         long anchor;
@@ -1455,7 +1808,7 @@ public final class SmallObjectHeap implements Importable, Exportable {
             }
 
             // Get the corresponding list
-            listOffset = m_baseFreeBlockList + getList(p_size) * POINTER_SIZE;
+            listOffset = p_arena.m_baseFreeBlockList + getList(p_size) * POINTER_SIZE;
 
             // Hook block in list
             anchor = readPointer(listOffset);
@@ -1480,15 +1833,22 @@ public final class SmallObjectHeap implements Importable, Exportable {
         // Write right and left marker
         writeRightPartOfMarker(p_address - SIZE_MARKER_BYTE, lengthFieldSize);
         writeLeftPartOfMarker(p_address + p_size, lengthFieldSize);
+
+        p_arena.m_status.m_freeBlocks++;
+        if (p_size < SMALL_BLOCK_SIZE) {
+            p_arena.m_status.m_freeSmall64ByteBlocks++;
+        }
     }
 
     /**
      * Unhooks a free block
      *
+     * @param p_arena
+     *         Arena to operate on
      * @param p_address
      *         the address
      */
-    private void unhookFreeBlock(final long p_address) {
+    private void unhookFreeBlock(final Arena p_arena, final long p_address) {
         int lengthFieldSize;
         long prevPointer;
         long nextPointer;
@@ -1500,7 +1860,7 @@ public final class SmallObjectHeap implements Importable, Exportable {
         prevPointer = readPointer(p_address + lengthFieldSize);
         nextPointer = readPointer(p_address + lengthFieldSize + POINTER_SIZE);
 
-        if (prevPointer >= m_baseFreeBlockList) {
+        if (prevPointer >= p_arena.m_baseFreeBlockList) {
             // Write Pointer of list
             writePointer(prevPointer, nextPointer);
         } else {
@@ -1512,6 +1872,61 @@ public final class SmallObjectHeap implements Importable, Exportable {
             // Write pointer of successor
             writePointer(nextPointer + lengthFieldSize, prevPointer);
         }
+
+        p_arena.m_status.m_freeBlocks--;
+        if (read(p_address, lengthFieldSize) < SMALL_BLOCK_SIZE) {
+            p_arena.m_status.m_freeSmall64ByteBlocks--;
+        }
+    }
+
+    /**
+     * Get the home arena of the current thread
+     *
+     * @return Index of the home arena
+     */
+    private int getHomeArena() {
+        return (int) (Thread.currentThread().getId() % m_arenas.length);
+    }
+
+    /**
+     * Get the arena owning the specified address
+     *
+     * @param p_address
+     *         Address of a memory block
+     * @return Arena the block belongs to
+     */
+    private Arena getArena(final long p_address) {
+        return m_arenas[(int) Math.min(p_address / m_arenaSize, m_arenas.length - 1)];
+    }
+
+    /**
+     * Aggregate the status of all arenas
+     */
+    private void updateStatus() {
+        if (m_arenas.length == 1) {
+            // single arena works on the heap status directly
+            return;
+        }
+
+        long free = 0;
+        long allocatedPayload = 0;
+        long allocatedBlocks = 0;
+        long freeBlocks = 0;
+        long freeSmall64ByteBlocks = 0;
+
+        for (Arena arena : m_arenas) {
+            free += arena.m_status.m_free;
+            allocatedPayload += arena.m_status.m_allocatedPayload;
+            allocatedBlocks += arena.m_status.m_allocatedBlocks;
+            freeBlocks += arena.m_status.m_freeBlocks;
+            freeSmall64ByteBlocks += arena.m_status.m_freeSmall64ByteBlocks;
+        }
+
+        m_status.m_free = free;
+        m_status.m_allocatedPayload = allocatedPayload;
+        m_status.m_allocatedBlocks = allocatedBlocks;
+        m_status.m_freeBlocks = freeBlocks;
+        m_status.m_freeSmall64ByteBlocks = freeSmall64ByteBlocks;
     }
 
     /**
@@ -1591,6 +2006,54 @@ public final class SmallObjectHeap implements Importable, Exportable {
 
     // Classes
 
+    /**
+     * Part of the memory with its own free block lists and status
+     */
+    private static final class Arena {
+        private final long m_start;
+        private final long m_baseFreeBlockList;
+        private final Status m_status;
+        private final ReentrantLock m_lock;
+
+        /**
+         * Constructor
+         *
+         * @param p_start
+         *         Start address of the arena (first marker byte)
+         * @param p_baseFreeBlockList
+         *         Address of the free block lists of the arena
+         * @param p_status
+         *         Status to account allocations of the arena
+         * @param p_locked
+         *         True to lock the arena on malloc and free (concurrent arenas)
+         */
+        private Arena(final long p_start, final long p_baseFreeBlockList, final Status p_status,
+                final boolean p_locked) {
+            m_start = p_start;
+            m_baseFreeBlockList = p_baseFreeBlockList;
+            m_status = p_status;
+            m_lock = p_locked ? new ReentrantLock(false) : null;
+        }
+
+        /**
+         * Lock the arena (if locking is required)
+         */
+        private void lock() {
+            if (m_lock != null) {
+                m_lock.lock();
+            }
+        }
+
+        /**
+         * Unlock the arena (if locking is required)
+         */
+        private void unlock() {
+            if (m_lock != null) {
+                m_lock.unlock();
+            }
+        }
+    }
+
     /**
      * Holds fragmentation information of the memory
      *
@@ -39,6 +39,10 @@ public final class SmallObjectHeapAnalyzer {
      *     Heap to analyze
      */
     public SmallObjectHeapAnalyzer(final SmallObjectHeap p_heap) {
+        if (p_heap.getArenaCount() > 1) {
+            throw new MemoryRuntimeException("Analyzing heaps with multiple arenas is not supported");
+        }
+
         m_memory = p_heap;
     }
 
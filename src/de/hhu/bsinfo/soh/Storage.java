@@ -72,6 +72,21 @@ public interface Storage {
      */
     int readBytes(long p_ptr, byte[] p_array, int p_arrayOffset, int p_length);
 
+    /**
+     * Read data from the storage to a native address.
+     *
+     * @param p_ptr
+     *         Start position in storage.
+     * @param p_bufferAddress
+     *         Native address to read the data to.
+     * @param p_bufferOffset
+     *         Address offset.
+     * @param p_length
+     *         Number of bytes to read from specified start.
+     * @return Number of read elements.
+     */
+    int readBytes(long p_ptr, long p_bufferAddress, int p_bufferOffset, int p_length);
+
     /**
      * Read data from the storage into a short array.
      *
@@ -290,4 +305,74 @@ public interface Storage {
      *         Number of bytes the value should occupy.
      */
     void writeVal(long p_ptr, long p_val, int p_count);
+
+    /**
+     * Atomically set an int value if it equals the expected one.
+     *
+     * @param p_ptr
+     *         Address of the value.
+     * @param p_expected
+     *         Expected current value.
+     * @param p_value
+     *         Value to set.
+     * @return True if the value was set, false if the current value differs from the expected one.
+     */
+    boolean compareAndSwapInt(long p_ptr, int p_expected, int p_value);
+
+    /**
+     * Atomically set a long value if it equals the expected one.
+     *
+     * @param p_ptr
+     *         Address of the value.
+     * @param p_expected
+     *         Expected current value.
+     * @param p_value
+     *         Value to set.
+     * @return True if the value was set, false if the current value differs from the expected one.
+     */
+    boolean compareAndSwapLong(long p_ptr, long p_expected, long p_value);
+
+    /**
+     * Atomically add to an int value.
+     *
+     * @param p_ptr
+     *         Address of the value.
+     * @param p_delta
+     *         Value to add.
+     * @return Previous value.
+     */
+    int getAndAddInt(long p_ptr, int p_delta);
+
+    /**
+     * Atomically add to a long value.
+     *
+     * @param p_ptr
+     *         Address of the value.
+     * @param p_delta
+     *         Value to add.
+     * @return Previous value.
+     */
+    long getAndAddLong(long p_ptr, long p_delta);
+
+    /**
+     * Atomically set an int value.
+     *
+     * @param p_ptr
+     *         Address of the value.
+     * @param p_value
+     *         Value to set.
+     * @return Previous value.
+     */
+    int getAndSetInt(long p_ptr, int p_value);
+
+    /**
+     * Atomically set a long value.
+     *
+     * @param p_ptr
+     *         Address of the value.
+     * @param p_value
+     *         Value to set.
+     * @return Previous value.
+     */
+    long getAndSetLong(long p_ptr, long p_value);
 }
@@ -16,6 +16,9 @@
 
 package de.hhu.bsinfo.soh;
 
+import sun.misc.Unsafe;
+
+import de.hhu.bsinfo.dxutils.UnsafeHandler;
 import de.hhu.bsinfo.dxutils.UnsafeMemory;
 
 /**
@@ -25,6 +28,9 @@ import de.hhu.bsinfo.dxutils.UnsafeMemory;
  * @author Stefan Nothaas, stefan.nothaas@hhu.de, 11.11.2015
  */
 public class StorageUnsafeMemory implements Storage {
+    // atomic operations are not covered by UnsafeMemory
+    private static final Unsafe UNSAFE = UnsafeHandler.getInstance().getUnsafe();
+
     private long m_memoryBase = -1;
     private long m_memorySize = -1;
 
@@ -87,6 +93,14 @@ public class StorageUnsafeMemory implements Storage {
         return UnsafeMemory.readBytes(m_memoryBase + p_ptr, p_array, p_arrayOffset, p_length);
     }
 
+    @Override
+    public int readBytes(final long p_ptr, final long p_bufferAddress, final int p_bufferOffset, final int p_length) {
+        assert assertMemoryBounds(p_ptr, Byte.BYTES * p_length);
+
+        UnsafeMemory.copyBytes(p_bufferAddress + p_bufferOffset, m_memoryBase + p_ptr, p_length);
+        return p_length;
+    }
+
     @Override
     public int readShorts(final long p_ptr, final short[] p_array, final int p_arrayOffset, final int p_length) {
         assert assertMemoryBounds(p_ptr, Short.BYTES * p_length);
@@ -223,6 +237,48 @@ public class StorageUnsafeMemory implements Storage {
         }
     }
 
+    @Override
+    public boolean compareAndSwapInt(final long p_ptr, final int p_expected, final int p_value) {
+        assert assertMemoryBounds(p_ptr, Integer.BYTES);
+
+        return UNSAFE.compareAndSwapInt(null, m_memoryBase + p_ptr, p_expected, p_value);
+    }
+
+    @Override
+    public boolean compareAndSwapLong(final long p_ptr, final long p_expected, final long p_value) {
+        assert assertMemoryBounds(p_ptr, Long.BYTES);
+
+        return UNSAFE.compareAndSwapLong(null, m_memoryBase + p_ptr, p_expected, p_value);
+    }
+
+    @Override
+    public int getAndAddInt(final long p_ptr, final int p_delta) {
+        assert assertMemoryBounds(p_ptr, Integer.BYTES);
+
+        return UNSAFE.getAndAddInt(null, m_memoryBase + p_ptr, p_delta);
+    }
+
+    @Override
+    public long getAndAddLong(final long p_ptr, final long p_delta) {
+        assert assertMemoryBounds(p_ptr, Long.BYTES);
+
+        return UNSAFE.getAndAddLong(null, m_memoryBase + p_ptr, p_delta);
+    }
+
+    @Override
+    public int getAndSetInt(final long p_ptr, final int p_value) {
+        assert assertMemoryBounds(p_ptr, Integer.BYTES);
+
+        return UNSAFE.getAndSetInt(null, m_memoryBase + p_ptr, p_value);
+    }
+
+    @Override
+    public long getAndSetLong(final long p_ptr, final long p_value) {
+        assert assertMemoryBounds(p_ptr, Long.BYTES);
+
+        return UNSAFE.getAndSetLong(null, m_memoryBase + p_ptr, p_value);
+    }
+
     private boolean assertMemoryBounds(final long p_ptr, final long p_length) {
         if (p_ptr < 0) {
             throw new MemoryRuntimeException("Pointer is negative " + p_ptr);